@@ -0,0 +1,73 @@
+package org.enso.languageserver.filemanager
+
+import java.io.{File, FileOutputStream}
+import java.nio.ByteBuffer
+
+import akka.util.ByteString
+import com.google.flatbuffers.FlatBufferBuilder
+import org.apache.commons.io.FileUtils
+import org.enso.languageserver.protocol.binary.{EnsoUUID, FileContentsReply}
+import org.enso.languageserver.protocol.binary.factory.FileContentsReplyFactory
+import org.scalameter.{Bench, Gen}
+
+/**
+  * Compares reading the binary files into the outbound packets through an
+  * intermediate array with reading them directly into the packet buffer.
+  *
+  * Reading the 1 GB file through the array requires a heap of at least
+  * 4 GB.
+  */
+object ReadBinaryBench extends Bench.LocalTime {
+
+  val fileSystem = new FileSystem
+
+  val correlationId: EnsoUUID =
+    new EnsoUUID().__assign(0, ByteBuffer.wrap(new Array[Byte](16)))
+
+  def createFile(megabytes: Int): File = {
+    val file = File.createTempFile("read-binary-bench", ".bin")
+    file.deleteOnExit()
+    val chunk = Array.tabulate[Byte](1024 * 1024)(_.toByte)
+    val out   = new FileOutputStream(file)
+    try {
+      (1 to megabytes).foreach(_ => out.write(chunk))
+    } finally {
+      out.close()
+    }
+    file
+  }
+
+  def readThroughArray(file: File): ByteString = {
+    val contents       = FileUtils.readFileToByteArray(file)
+    val builder        = new FlatBufferBuilder(1024)
+    val contentsOffset = builder.createByteVector(contents)
+    val reply =
+      FileContentsReply.createFileContentsReply(builder, contentsOffset)
+    builder.finish(reply)
+    ByteString(builder.dataBuffer())
+  }
+
+  def readIntoPacket(file: File): ByteString = {
+    val sink = FileContentsReplyFactory.createSink(correlationId)
+    val Right(packet) =
+      zio.Runtime.default.unsafeRun(fileSystem.readBinaryTo(file, sink).either)
+    ByteString.fromArrayUnsafe(
+      packet.array(),
+      packet.arrayOffset() + packet.position(),
+      packet.remaining()
+    )
+  }
+
+  val megabytes: Gen[Int] = Gen.enumeration("megabytes")(1, 100, 1024)
+  val files: Gen[File]    = megabytes.map(createFile)
+
+  performance of "FileSystem" in {
+    measure method "readBinary" in {
+      using(files) in readThroughArray
+    }
+
+    measure method "readBinaryTo" in {
+      using(files) in readIntoPacket
+    }
+  }
+}
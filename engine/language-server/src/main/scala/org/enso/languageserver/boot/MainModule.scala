@@ -10,8 +10,11 @@ import org.enso.languageserver.capability.CapabilityRouter
 import org.enso.languageserver.data._
 import org.enso.languageserver.effect.ZioExec
 import org.enso.languageserver.filemanager.{
+  CachingFileSystem,
   FileManager,
   FileSystem,
+  MetadataCache,
+  MetadataCacheInvalidator,
   ReceivesTreeUpdatesHandler
 }
 import org.enso.languageserver.http.server.BinaryWebSocketServer
@@ -75,8 +78,16 @@ class MainModule(serverConfig: LanguageServerConfig) {
   lazy val runtimeConnector =
     system.actorOf(RuntimeConnector.props, "runtime-connector")
 
+  lazy val metadataCache =
+    new MetadataCache(languageServerConfig.fileManager.metadataCacheSize)
+
   lazy val fileManager = system.actorOf(
-    FileManager.pool(languageServerConfig, fileSystem, zioExec),
+    FileManager.pool(
+      languageServerConfig,
+      new CachingFileSystem(fileSystem, metadataCache),
+      zioExec,
+      Some(metadataCache)
+    ),
     "file-manager"
   )
 
@@ -93,6 +104,16 @@ class MainModule(serverConfig: LanguageServerConfig) {
       "file-event-registry"
     )
 
+  val metadataCacheInvalidator =
+    system.actorOf(
+      MetadataCacheInvalidator.props(
+        languageServerConfig,
+        metadataCache,
+        receivesTreeUpdatesHandler
+      ),
+      "metadata-cache-invalidator"
+    )
+
   lazy val capabilityRouter =
     system.actorOf(
       CapabilityRouter.props(bufferRegistry, receivesTreeUpdatesHandler),
@@ -106,8 +127,8 @@ class MainModule(serverConfig: LanguageServerConfig) {
       "context-registry"
     )
 
-  val stdOut    = new ObservableOutputStream
-  val stdErr    = new ObservableOutputStream
+  val stdOut    = BufferedObservableOutputStream()
+  val stdErr    = BufferedObservableOutputStream()
   val stdInSink = new ObservableOutputStream
   val stdIn     = new ObservablePipedInputStream(stdInSink)
 
@@ -18,11 +18,19 @@ import scala.concurrent.duration._
   * @param restartTimeout timeout before watcher is restarted on error
   * @param maxRestarts maximum number of unsuccessful restarts
   *                    before returning an error
+  * @param debounceTimeout a time window in which the file events are
+  *                        coalesced before sending them to the clients
+  * @param maxEventsPerDirectory maximum number of events sent for the
+  *                              entries of a single directory in one time
+  *                              window, the excess events are collapsed
+  *                              into a modification of the directory
   */
 case class PathWatcherConfig(
   timeout: FiniteDuration,
   restartTimeout: FiniteDuration,
-  maxRestarts: Int
+  maxRestarts: Int,
+  debounceTimeout: FiniteDuration,
+  maxEventsPerDirectory: Int
 )
 
 object PathWatcherConfig {
@@ -32,9 +40,11 @@ object PathWatcherConfig {
     */
   def apply(): PathWatcherConfig =
     PathWatcherConfig(
-      timeout        = 5.seconds,
-      restartTimeout = 5.seconds,
-      maxRestarts    = 10
+      timeout               = 5.seconds,
+      restartTimeout        = 5.seconds,
+      maxRestarts           = 10,
+      debounceTimeout       = 100.millis,
+      maxEventsPerDirectory = 100
     )
 }
 
@@ -43,8 +53,20 @@ object PathWatcherConfig {
   *
   * @param timeout IO operation timeout
   * @param parallelism number of processes working with the file system
+  * @param metadataCacheSize maximum number of entries in the file system
+  *                          metadata cache, zero disables the cache
+  * @param maxRunningOperations maximum number of file system operations
+  *                             running at the same time
+  * @param maxSegmentSize maximum number of bytes read from a file in a single
+  *                       request
   */
-case class FileManagerConfig(timeout: FiniteDuration, parallelism: Int)
+case class FileManagerConfig(
+  timeout: FiniteDuration,
+  parallelism: Int,
+  metadataCacheSize: Int,
+  maxRunningOperations: Int,
+  maxSegmentSize: Long
+)
 
 object FileManagerConfig {
 
@@ -55,8 +77,11 @@ object FileManagerConfig {
     */
   def apply(timeout: FiniteDuration): FileManagerConfig =
     FileManagerConfig(
-      timeout     = timeout,
-      parallelism = Runtime.getRuntime().availableProcessors()
+      timeout              = timeout,
+      parallelism          = Runtime.getRuntime().availableProcessors(),
+      metadataCacheSize    = 10000,
+      maxRunningOperations = 2 * Runtime.getRuntime().availableProcessors(),
+      maxSegmentSize       = 16L * 1024 * 1024
     )
 }
 
@@ -0,0 +1,31 @@
+package org.enso.languageserver.filemanager
+
+import java.nio.ByteBuffer
+
+/**
+  * A destination of the binary contents read from a file. It allows the
+  * file system to read the contents directly into the buffer of their final
+  * representation, like an outbound packet, without intermediate copies.
+  *
+  * @tparam A a type of the final representation
+  */
+trait BinaryContentsSink[A] {
+
+  /**
+    * Allocates a buffer for the contents. The file system fills the
+    * returned buffer from its position up to its limit.
+    *
+    * @param size the size of the contents in bytes
+    * @return a buffer for the contents
+    */
+  def allocate(size: Int): ByteBuffer
+
+  /**
+    * Completes the final representation after the allocated buffer has
+    * been filled.
+    *
+    * @return the final representation of the contents
+    */
+  def complete(): A
+
+}
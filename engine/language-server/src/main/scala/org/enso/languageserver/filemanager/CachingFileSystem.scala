@@ -0,0 +1,157 @@
+package org.enso.languageserver.filemanager
+
+import java.io.File
+
+import org.enso.languageserver.effect.BlockingIO
+import org.enso.languageserver.filemanager.FileSystemApi._
+import org.enso.languageserver.filemanager.MetadataCache._
+import zio._
+
+/**
+  * File manipulation facility serving the file system metadata from the
+  * [[MetadataCache]]. The modifications made through this facility
+  * invalidate the cache immediately, while the external modifications are
+  * reported to the cache by the [[MetadataCacheInvalidator]].
+  *
+  * @param fs the underlying file system
+  * @param cache the metadata cache
+  */
+class CachingFileSystem(fs: FileSystemApi[BlockingIO], cache: MetadataCache)
+    extends FileSystemApi[BlockingIO] {
+
+  /** @inheritdoc **/
+  override def write(
+    file: File,
+    content: String
+  ): BlockingIO[FileSystemFailure, Unit] =
+    invalidating(file)(fs.write(file, content))
+
+  /** @inheritdoc **/
+  override def writeBinary(
+    file: File,
+    contents: Array[Byte]
+  ): BlockingIO[FileSystemFailure, Unit] =
+    invalidating(file)(fs.writeBinary(file, contents))
+
+  /** @inheritdoc **/
+  override def read(file: File): BlockingIO[FileSystemFailure, String] =
+    fs.read(file)
+
+  /** @inheritdoc **/
+  override def readBinary(
+    file: File
+  ): BlockingIO[FileSystemFailure, Array[Byte]] =
+    fs.readBinary(file)
+
+  /** @inheritdoc **/
+  override def readBinaryTo[A](
+    file: File,
+    sink: BinaryContentsSink[A]
+  ): BlockingIO[FileSystemFailure, A] =
+    fs.readBinaryTo(file, sink)
+
+  /** @inheritdoc **/
+  override def writeBytes(
+    file: File,
+    byteOffset: Long,
+    overwriteExisting: Boolean,
+    bytes: Array[Byte]
+  ): BlockingIO[FileSystemFailure, Array[Byte]] =
+    invalidating(file)(
+      fs.writeBytes(file, byteOffset, overwriteExisting, bytes)
+    )
+
+  /** @inheritdoc **/
+  override def readBytes(
+    file: File,
+    byteOffset: Long,
+    length: Long
+  ): BlockingIO[FileSystemFailure, ReadBytesResult] =
+    fs.readBytes(file, byteOffset, length)
+
+  /** @inheritdoc **/
+  override def checksumBytes(
+    file: File,
+    byteOffset: Long,
+    length: Long
+  ): BlockingIO[FileSystemFailure, Array[Byte]] =
+    fs.checksumBytes(file, byteOffset, length)
+
+  /** @inheritdoc **/
+  override def delete(file: File): BlockingIO[FileSystemFailure, Unit] =
+    invalidating(file)(fs.delete(file))
+
+  /** @inheritdoc **/
+  override def createFile(file: File): BlockingIO[FileSystemFailure, Unit] =
+    invalidating(file)(fs.createFile(file))
+
+  /** @inheritdoc **/
+  override def createDirectory(
+    file: File
+  ): BlockingIO[FileSystemFailure, Unit] =
+    invalidating(file)(fs.createDirectory(file))
+
+  /** @inheritdoc **/
+  override def copy(
+    from: File,
+    to: File
+  ): BlockingIO[FileSystemFailure, Unit] =
+    invalidating(to)(fs.copy(from, to))
+
+  /** @inheritdoc **/
+  override def move(
+    from: File,
+    to: File
+  ): BlockingIO[FileSystemFailure, Unit] =
+    invalidating(from)(invalidating(to)(fs.move(from, to)))
+
+  /** @inheritdoc **/
+  override def exists(file: File): BlockingIO[FileSystemFailure, Boolean] =
+    cached(ExistsKey(normalize(file.toPath)))(fs.exists(file))
+
+  /** @inheritdoc **/
+  override def list(path: File): BlockingIO[FileSystemFailure, Vector[Entry]] =
+    cached(ListKey(normalize(path.toPath)))(fs.list(path))
+
+  /** @inheritdoc **/
+  override def tree(
+    path: File,
+    depth: Option[Int]
+  ): BlockingIO[FileSystemFailure, DirectoryEntry] =
+    cached(TreeKey(normalize(path.toPath), depth))(fs.tree(path, depth))
+
+  /** @inheritdoc **/
+  override def info(path: File): BlockingIO[FileSystemFailure, Attributes] =
+    cached(InfoKey(normalize(path.toPath)))(fs.info(path))
+
+  /**
+    * Serves the value from the cache, or loads and caches it. The failures
+    * are not cached.
+    *
+    * @param key the cache key
+    * @param load the effect loading the value
+    * @return the cached or loaded value
+    */
+  private def cached[A](key: Key[A])(
+    load: BlockingIO[FileSystemFailure, A]
+  ): BlockingIO[FileSystemFailure, A] =
+    IO.effectTotal(cache.lookup(key)).flatMap {
+      case Right(value) =>
+        IO.succeed(value)
+      case Left(generation) =>
+        load.tap(value => IO.effectTotal(cache.put(key, value, generation)))
+    }
+
+  /**
+    * Invalidates the cached metadata of the file after the modification,
+    * regardless of its result.
+    *
+    * @param file the modified file
+    * @param modify the effect modifying the file
+    * @return the result of the modification
+    */
+  private def invalidating[A](file: File)(
+    modify: BlockingIO[FileSystemFailure, A]
+  ): BlockingIO[FileSystemFailure, A] =
+    modify.ensuring(IO.effectTotal(cache.invalidate(file.toPath)))
+}
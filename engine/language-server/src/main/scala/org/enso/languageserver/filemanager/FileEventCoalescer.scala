@@ -0,0 +1,131 @@
+package org.enso.languageserver.filemanager
+
+import java.nio.file.Path
+
+import org.enso.languageserver.filemanager.WatcherAdapter._
+
+import scala.collection.mutable
+
+/**
+  * Accumulates the watcher events and coalesces them into a minimal
+  * sequence of events describing the same changes.
+  *
+  * The sequence of events of a single path is merged into one event, e.g.
+  * a file that was created and then modified is reported as created, and a
+  * file that was created and then deleted is not reported at all. The
+  * events of the paths inside created or deleted directories are implied by
+  * the event of the directory, and are dropped. When the number of changed
+  * entries of a directory exceeds the limit, they are collapsed into a
+  * single modification of the directory.
+  *
+  * @param maxEventsPerDirectory the maximum number of events reported for
+  *                              the entries of a single directory
+  */
+final class FileEventCoalescer(maxEventsPerDirectory: Int) {
+
+  private val events = mutable.LinkedHashMap[Path, EventType]()
+
+  /**
+    * Checks if there are no accumulated events.
+    */
+  def isEmpty: Boolean =
+    events.isEmpty
+
+  /**
+    * Adds the event to the accumulated events.
+    *
+    * @param event the watcher event
+    */
+  def add(event: WatcherEvent): Unit =
+    events.get(event.path) match {
+      case None =>
+        events.update(event.path, event.eventType)
+      case Some(previous) =>
+        FileEventCoalescer.merge(previous, event.eventType) match {
+          case Some(merged) => events.update(event.path, merged)
+          case None         => events.remove(event.path): Unit
+        }
+    }
+
+  /**
+    * Returns the coalesced events, and clears the accumulated events.
+    *
+    * @return the coalesced events in the order of their first occurrence
+    */
+  def flush(): Vector[WatcherEvent] = {
+    val independent = events.iterator.collect {
+      case (path, eventType) if !isImplied(path) =>
+        WatcherEvent(path, eventType)
+    }.toVector
+    events.clear()
+    collapseDirectories(independent)
+  }
+
+  /**
+    * Checks if the change of the path is implied by the creation or the
+    * deletion of one of its ancestors.
+    */
+  private def isImplied(path: Path): Boolean =
+    Iterator
+      .iterate(path.getParent)(_.getParent)
+      .takeWhile(_ ne null)
+      .exists { ancestor =>
+        events.get(ancestor).exists(_ != EventTypeModify)
+      }
+
+  /**
+    * Replaces the events of the entries of the directories with too many
+    * changed entries by the modification of these directories.
+    */
+  private def collapseDirectories(
+    independent: Vector[WatcherEvent]
+  ): Vector[WatcherEvent] = {
+    val collapsed = independent
+      .groupBy(_.path.getParent)
+      .collect {
+        case (directory, entries)
+            if (directory ne null) && entries.size > maxEventsPerDirectory =>
+          directory
+      }
+      .toSet
+    if (collapsed.isEmpty) {
+      independent
+    } else {
+      val result = mutable.LinkedHashMap[Path, EventType]()
+      independent.foreach { event =>
+        if (collapsed.contains(event.path.getParent)) {
+          if (!result.contains(event.path.getParent)) {
+            result.update(event.path.getParent, EventTypeModify)
+          }
+        } else if (collapsed.contains(event.path)) {
+          result.update(event.path, EventTypeModify)
+        } else {
+          result.update(event.path, event.eventType)
+        }
+      }
+      result.iterator.map {
+        case (path, eventType) => WatcherEvent(path, eventType)
+      }.toVector
+    }
+  }
+}
+
+object FileEventCoalescer {
+
+  /**
+    * Merges two consecutive events of the same path.
+    *
+    * @param previous the earlier event
+    * @param next the later event
+    * @return the event describing both changes, or `None` if the changes
+    *         cancel out
+    */
+  def merge(previous: EventType, next: EventType): Option[EventType] =
+    (previous, next) match {
+      case (EventTypeCreate, EventTypeDelete) => None
+      case (EventTypeCreate, _)               => Some(EventTypeCreate)
+      case (_, EventTypeDelete)               => Some(EventTypeDelete)
+      case (EventTypeDelete, _)               => Some(EventTypeModify)
+      case (EventTypeModify, _)               => Some(EventTypeModify)
+    }
+}
@@ -1,26 +1,35 @@
 package org.enso.languageserver.filemanager
 
-import akka.actor.{Actor, ActorLogging, Props}
+import akka.actor.{Actor, ActorLogging, Props, Terminated}
 import akka.routing.SmallestMailboxPool
 import akka.pattern.pipe
 import org.enso.languageserver.effect._
 import org.enso.languageserver.data.Config
-import org.enso.languageserver.monitoring.MonitoringProtocol.{Ping, Pong}
+import org.enso.languageserver.monitoring.MonitoringProtocol.{
+  FileManagerStats,
+  GetFileManagerStats,
+  Ping,
+  Pong
+}
 import org.enso.languageserver.util.UnhandledLogging
 import zio._
 
+import scala.concurrent.Future
+
 /**
   * Handles the [[FileManagerProtocol]] messages, executes the [[FileSystem]]
   * effects and forms the responses.
   *
   * @param config configuration
   * @param fs an instance of a [[FileSystem]] that creates the effects
-  * @param exec effects executor
+  * @param scheduler the scheduler running the effects
+  * @param metadataCache the file system metadata cache used by `fs`, if any
   */
 class FileManager(
   config: Config,
   fs: FileSystemApi[BlockingIO],
-  exec: Exec[BlockingIO]
+  scheduler: FileOperationScheduler,
+  metadataCache: Option[MetadataCache]
 ) extends Actor
     with ActorLogging
     with UnhandledLogging {
@@ -31,6 +40,12 @@ class FileManager(
     case Ping =>
       sender() ! Pong
 
+    case GetFileManagerStats =>
+      sender() ! FileManagerStats(scheduler.stats, metadataCache.map(_.stats))
+
+    case Terminated(requester) =>
+      scheduler.cancel(requester)
+
     case FileManagerProtocol.GetContentRoots =>
       sender() ! FileManagerProtocol.ContentRootsResult(
         config.contentRoots.keySet
@@ -42,8 +57,7 @@ class FileManager(
           rootPath <- IO.fromEither(config.findContentRoot(path.rootId))
           _        <- fs.write(path.toFile(rootPath), content)
         } yield ()
-      exec
-        .execTimed(config.fileManager.timeout, result)
+      schedule(result)
         .map(FileManagerProtocol.WriteFileResult)
         .pipeTo(sender())
       ()
@@ -54,8 +68,7 @@ class FileManager(
           rootPath <- IO.fromEither(config.findContentRoot(path.rootId))
           _        <- fs.writeBinary(path.toFile(rootPath), contents)
         } yield ()
-      exec
-        .execTimed(config.fileManager.timeout, result)
+      schedule(result)
         .map(FileManagerProtocol.WriteFileResult)
         .pipeTo(sender())
 
@@ -66,31 +79,74 @@ class FileManager(
           file = path.toFile(rootPath)
           content <- fs.read(file)
         } yield FileManagerProtocol.TextualFileContent(file, content)
-      exec
-        .execTimed(config.fileManager.timeout, result)
+      schedule(result)
         .map(FileManagerProtocol.ReadTextualFileResult)
         .pipeTo(sender())
 
-    case FileManagerProtocol.ReadBinaryFile(path) =>
+    case FileManagerProtocol.ReadBinaryFile(path, sink) =>
       val result =
         for {
           rootPath <- IO.fromEither(config.findContentRoot(path.rootId))
-          file = path.toFile(rootPath)
-          contents <- fs.readBinary(file)
-        } yield FileManagerProtocol.BinaryFileContent(file, contents)
-      exec
-        .execTimed(config.fileManager.timeout, result)
+          packet   <- fs.readBinaryTo(path.toFile(rootPath), sink)
+        } yield packet
+      schedule(result)
         .map(FileManagerProtocol.ReadBinaryFileResult)
         .pipeTo(sender())
 
+    case FileManagerProtocol.WriteBytes(path, byteOffset, overwrite, bytes) =>
+      val result =
+        for {
+          rootPath <- IO.fromEither(config.findContentRoot(path.rootId))
+          checksum <- fs.writeBytes(
+            path.toFile(rootPath),
+            byteOffset,
+            overwrite,
+            bytes
+          )
+        } yield checksum
+      schedule(result)
+        .map(FileManagerProtocol.WriteBytesResult)
+        .pipeTo(sender())
+      ()
+
+    case FileManagerProtocol.ReadBytes(segment) =>
+      val result =
+        for {
+          _        <- validateSegmentSize(segment.length)
+          rootPath <- IO.fromEither(config.findContentRoot(segment.path.rootId))
+          contents <- fs.readBytes(
+            segment.path.toFile(rootPath),
+            segment.byteOffset,
+            segment.length
+          )
+        } yield contents
+      schedule(result)
+        .map(FileManagerProtocol.ReadBytesResult)
+        .pipeTo(sender())
+      ()
+
+    case FileManagerProtocol.ChecksumBytes(segment) =>
+      val result =
+        for {
+          rootPath <- IO.fromEither(config.findContentRoot(segment.path.rootId))
+          checksum <- fs.checksumBytes(
+            segment.path.toFile(rootPath),
+            segment.byteOffset,
+            segment.length
+          )
+        } yield checksum
+      schedule(result)
+        .map(FileManagerProtocol.ChecksumBytesResult)
+        .pipeTo(sender())
+      ()
+
     case FileManagerProtocol.CreateFile(FileSystemObject.File(name, path)) =>
       val result =
         for {
           rootPath <- IO.fromEither(config.findContentRoot(path.rootId))
           _        <- fs.createFile(path.toFile(rootPath, name))
         } yield ()
-      exec
-        .execTimed(config.fileManager.timeout, result)
+      schedule(result)
         .map(FileManagerProtocol.CreateFileResult)
         .pipeTo(sender())
       ()
@@ -103,8 +159,7 @@ class FileManager(
           rootPath <- IO.fromEither(config.findContentRoot(path.rootId))
           _        <- fs.createDirectory(path.toFile(rootPath, name))
         } yield ()
-      exec
-        .execTimed(config.fileManager.timeout, result)
+      schedule(result)
         .map(FileManagerProtocol.CreateFileResult)
         .pipeTo(sender())
       ()
@@ -115,8 +170,7 @@ class FileManager(
           rootPath <- IO.fromEither(config.findContentRoot(path.rootId))
           _        <- fs.delete(path.toFile(rootPath))
         } yield ()
-      exec
-        .execTimed(config.fileManager.timeout, result)
+      schedule(result)
         .map(FileManagerProtocol.DeleteFileResult)
         .pipeTo(sender())
       ()
@@ -128,8 +182,7 @@ class FileManager(
           rootPathTo   <- IO.fromEither(config.findContentRoot(to.rootId))
           _            <- fs.copy(from.toFile(rootPathFrom), to.toFile(rootPathTo))
         } yield ()
-      exec
-        .execTimed(config.fileManager.timeout, result)
+      schedule(result)
         .map(FileManagerProtocol.CopyFileResult)
         .pipeTo(sender())
       ()
@@ -141,8 +194,7 @@ class FileManager(
           rootPathTo   <- IO.fromEither(config.findContentRoot(to.rootId))
           _            <- fs.move(from.toFile(rootPathFrom), to.toFile(rootPathTo))
         } yield ()
-      exec
-        .execTimed(config.fileManager.timeout, result)
+      schedule(result)
         .map(FileManagerProtocol.MoveFileResult)
         .pipeTo(sender())
       ()
@@ -153,20 +205,20 @@ class FileManager(
           rootPath <- IO.fromEither(config.findContentRoot(path.rootId))
           exists   <- fs.exists(path.toFile(rootPath))
         } yield exists
-      exec
-        .execTimed(config.fileManager.timeout, result)
+      schedule(result)
         .map(FileManagerProtocol.ExistsFileResult)
         .pipeTo(sender())
       ()
 
-    case FileManagerProtocol.ListFile(path) =>
+    case FileManagerProtocol.ListFile(path, offset, limit) =>
       val result =
         for {
           rootPath <- IO.fromEither(config.findContentRoot(path.rootId))
           entries  <- fs.list(path.toFile(rootPath))
-        } yield entries.map(FileSystemObject.fromEntry(rootPath, path, _))
-      exec
-        .execTimed(config.fileManager.timeout, result)
+          page      = entries.drop(offset.getOrElse(0))
+          limited   = limit.fold(page)(page.take)
+        } yield limited.map(FileSystemObject.fromEntry(rootPath, path, _))
+      schedule(result)
         .map(FileManagerProtocol.ListFileResult)
         .pipeTo(sender())
       ()
@@ -177,8 +229,7 @@ class FileManager(
           rootPath  <- IO.fromEither(config.findContentRoot(path.rootId))
           directory <- fs.tree(path.toFile(rootPath), depth)
         } yield DirectoryTree.fromDirectoryEntry(rootPath, path, directory)
-      exec
-        .execTimed(config.fileManager.timeout, result)
+      schedule(result)
         .map(FileManagerProtocol.TreeFileResult)
         .pipeTo(sender())
       ()
@@ -189,20 +240,75 @@ class FileManager(
           rootPath <- IO.fromEither(config.findContentRoot(path.rootId))
           attrs    <- fs.info(path.toFile(rootPath))
         } yield FileAttributes.fromFileSystemAttributes(rootPath, path, attrs)
-      exec
-        .execTimed(config.fileManager.timeout, result)
+      schedule(result)
         .map(FileManagerProtocol.InfoFileResult)
         .pipeTo(sender())
       ()
   }
+
+  /**
+    * Schedules the effect, cancelling it when the requester stops before
+    * the effect is started.
+    *
+    * @param op the effect to run
+    * @return a future containing either a failure or a result
+    */
+  private def schedule[E, A](op: BlockingIO[E, A]): Future[Either[E, A]] = {
+    context.watch(sender())
+    scheduler.submit(sender(), config.fileManager.timeout, op)
+  }
+
+  /**
+    * Checks that the requested segment fits in a single reply.
+    *
+    * @param length the requested number of bytes
+    * @return a failure if the segment is larger than the maximum segment size
+    */
+  private def validateSegmentSize(length: Long): IO[FileSystemFailure, Unit] =
+    ZIO.when(length > config.fileManager.maxSegmentSize)(
+      IO.fail(SegmentTooLarge(config.fileManager.maxSegmentSize))
+    )
 }
 
 object FileManager {
 
-  def props(config: Config, fs: FileSystem, exec: Exec[BlockingIO]): Props =
-    Props(new FileManager(config, fs, exec))
+  def props(
+    config: Config,
+    fs: FileSystemApi[BlockingIO],
+    exec: Exec[BlockingIO],
+    metadataCache: Option[MetadataCache] = None
+  ): Props =
+    props(config, fs, scheduler(config, exec), metadataCache)
+
+  def props(
+    config: Config,
+    fs: FileSystemApi[BlockingIO],
+    scheduler: FileOperationScheduler,
+    metadataCache: Option[MetadataCache]
+  ): Props =
+    Props(new FileManager(config, fs, scheduler, metadataCache))
 
-  def pool(config: Config, fs: FileSystem, exec: Exec[BlockingIO]): Props =
+  /**
+    * Creates a configuration object used to create a pool of file managers
+    * sharing the limit of running operations.
+    *
+    * @param config configuration
+    * @param fs file system
+    * @param exec effects executor
+    * @param metadataCache the file system metadata cache used by `fs`, if any
+    */
+  def pool(
+    config: Config,
+    fs: FileSystemApi[BlockingIO],
+    exec: Exec[BlockingIO],
+    metadataCache: Option[MetadataCache] = None
+  ): Props =
     SmallestMailboxPool(config.fileManager.parallelism)
-      .props(props(config, fs, exec))
+      .props(props(config, fs, scheduler(config, exec), metadataCache))
+
+  private def scheduler(
+    config: Config,
+    exec: Exec[BlockingIO]
+  ): FileOperationScheduler =
+    new FileOperationScheduler(config.fileManager.maxRunningOperations, exec)
 }
@@ -99,7 +99,7 @@ object FileManagerApi {
 
   case object ListFile extends Method("file/list") {
 
-    case class Params(path: Path)
+    case class Params(path: Path, offset: Option[Int], limit: Option[Int])
 
     case class Result(paths: Vector[FileSystemObject])
 
@@ -164,4 +164,7 @@ object FileManagerApi {
 
   case object NotDirectoryError extends Error(1006, "Path is not a directory")
 
+  case class SegmentTooLargeError(maxSize: Long)
+      extends Error(1007, s"Segment is larger than $maxSize bytes")
+
 }
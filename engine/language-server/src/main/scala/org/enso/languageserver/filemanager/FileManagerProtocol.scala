@@ -1,6 +1,7 @@
 package org.enso.languageserver.filemanager
 
 import java.io.File
+import java.nio.ByteBuffer
 import java.util.UUID
 
 object FileManagerProtocol {
@@ -13,14 +14,6 @@ object FileManagerProtocol {
     */
   case class TextualFileContent(path: File, content: String)
 
-  /**
-    * Transfer object containing binary contents of the file with its path.
-    *
-    * @param path a path to a file
-    * @param contents the binary contents
-    */
-  case class BinaryFileContent(path: File, contents: Array[Byte])
-
   /**
     * Gets all content roots.
     */
@@ -67,8 +60,9 @@ object FileManagerProtocol {
     * Requests the Language Server to read a binary content of a file.
     *
     * @param path a path to a file
+    * @param sink the destination of the contents building the reply packet
     */
-  case class ReadBinaryFile(path: Path)
+  case class ReadBinaryFile(path: Path, sink: BinaryContentsSink[ByteBuffer])
 
   /**
     * Returns a result of reading a file.
@@ -82,10 +76,77 @@ object FileManagerProtocol {
   /**
     * Returns a result of reading binary contents of a file.
     *
-    * @param result either file system failure or content of a file
+    * @param result either file system failure or the reply packet created by
+    *               the sink
+    */
+  case class ReadBinaryFileResult(result: Either[FileSystemFailure, ByteBuffer])
+
+  /**
+    * A range of bytes in a file.
+    *
+    * @param path a path to a file
+    * @param byteOffset an offset of the first byte of the segment
+    * @param length a number of bytes in the segment
+    */
+  case class FileSegment(path: Path, byteOffset: Long, length: Long)
+
+  /**
+    * Requests the Language Server to write bytes to a file at the given
+    * offset.
+    *
+    * @param path a path to a file
+    * @param byteOffset an offset in the file where the bytes are written
+    * @param overwriteExisting whether the bytes may overwrite the existing
+    *                          contents of the file
+    * @param bytes the bytes to write
+    */
+  case class WriteBytes(
+    path: Path,
+    byteOffset: Long,
+    overwriteExisting: Boolean,
+    bytes: Array[Byte]
+  )
+
+  /**
+    * Returns a result of writing bytes to a file.
+    *
+    * @param result either file system failure or the checksum of the written
+    *               bytes
+    */
+  case class WriteBytesResult(result: Either[FileSystemFailure, Array[Byte]])
+
+  /**
+    * Requests the Language Server to read a segment of a file.
+    *
+    * @param segment a segment to read
+    */
+  case class ReadBytes(segment: FileSegment)
+
+  /**
+    * Returns a result of reading a segment of a file.
+    *
+    * @param result either file system failure or the read bytes with their
+    *               checksum
+    */
+  case class ReadBytesResult(
+    result: Either[FileSystemFailure, FileSystemApi.ReadBytesResult]
+  )
+
+  /**
+    * Requests the Language Server to compute a checksum of a segment of
+    * a file.
+    *
+    * @param segment a segment to compute the checksum of
+    */
+  case class ChecksumBytes(segment: FileSegment)
+
+  /**
+    * Returns a result of computing a checksum of a segment of a file.
+    *
+    * @param result either file system failure or the checksum
     */
-  case class ReadBinaryFileResult(
-    result: Either[FileSystemFailure, BinaryFileContent]
+  case class ChecksumBytesResult(
+    result: Either[FileSystemFailure, Array[Byte]]
   )
 
   /**
@@ -161,11 +222,15 @@ object FileManagerProtocol {
   case class ExistsFileResult(result: Either[FileSystemFailure, Boolean])
 
   /**
-    * Requests the Language Server to list a directory contents.
+    * Requests the Language Server to list a directory contents. The
+    * contents can be requested in pages, by providing the number of entries
+    * to skip and the maximum number of entries to return.
     *
     * @param path to the file system object
+    * @param offset the number of entries to skip
+    * @param limit the maximum number of entries to return
     */
-  case class ListFile(path: Path)
+  case class ListFile(path: Path, offset: Option[Int], limit: Option[Int])
 
   /**
     * Returns a tree representation of a file system object.
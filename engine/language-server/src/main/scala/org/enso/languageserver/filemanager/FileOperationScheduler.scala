@@ -0,0 +1,194 @@
+package org.enso.languageserver.filemanager
+
+import java.util.concurrent.{CancellationException, TimeUnit}
+
+import akka.actor.{ActorPath, ActorRef}
+import org.enso.languageserver.effect._
+import zio.IO
+
+import scala.collection.mutable
+import scala.concurrent.duration._
+import scala.concurrent.{ExecutionContext, Future, Promise}
+
+/**
+  * Runs the file system operations, limiting the number of operations
+  * running at the same time.
+  *
+  * The pending operations are queued per client, and the clients are served
+  * in a round-robin fashion, so that a client issuing many expensive
+  * operations doesn't delay the operations of the other clients. The
+  * requests are grouped by the parent of the requesting actor, i.e. the
+  * connection controller that created the request handler. The pending
+  * operations of a requester can be cancelled, e.g. when the requester
+  * stopped because the request timed out.
+  *
+  * @param maxRunning the maximum number of operations running at the same
+  *                   time
+  * @param exec effects executor
+  */
+final class FileOperationScheduler(maxRunning: Int, exec: Exec[BlockingIO]) {
+
+  import FileOperationScheduler._
+
+  private val queues = mutable.LinkedHashMap[ActorPath, mutable.Queue[Task]]()
+
+  private var queued: Int         = 0
+  private var running: Int        = 0
+  private var completed: Long     = 0
+  private var cancelled: Long     = 0
+  private var totalWaitTime: Long = 0
+  private var totalRunTime: Long  = 0
+
+  /**
+    * Schedules the operation.
+    *
+    * @param requester the actor requesting the operation
+    * @param timeout the timeout of the operation, counted from its start
+    * @param op the operation to run
+    * @return a future containing either a failure or a result. The future
+    *         is failed with `CancellationException` if the operation was
+    *         cancelled before it started.
+    */
+  def submit[E, A](
+    requester: ActorRef,
+    timeout: FiniteDuration,
+    op: BlockingIO[E, A]
+  ): Future[Either[E, A]] = {
+    val promise  = Promise[Either[E, A]]()
+    val enqueued = System.nanoTime()
+    val task = new Task(
+      requester,
+      () => {
+        val started = System.nanoTime()
+        val timed   = op.ensuring(IO.effectTotal(finished(enqueued, started)))
+        exec
+          .execTimed(timeout, timed)
+          .onComplete(promise.complete)(ExecutionContext.parasitic)
+      },
+      () => promise.failure(new CancellationException("Request cancelled"))
+    )
+    synchronized {
+      queues
+        .getOrElseUpdate(requester.path.parent, mutable.Queue())
+        .enqueue(task)
+      queued += 1
+    }
+    dispatch()
+    promise.future
+  }
+
+  /**
+    * Cancels the pending operations of the requester. The running
+    * operations are not affected.
+    *
+    * @param requester the actor requesting the operations
+    */
+  def cancel(requester: ActorRef): Unit = {
+    val client = requester.path.parent
+    val tasks = synchronized {
+      queues.get(client).fold(Seq[Task]()) { queue =>
+        val removed = queue.removeAll(_.requester == requester)
+        if (queue.isEmpty) queues.remove(client)
+        queued -= removed.size
+        cancelled += removed.size.toLong
+        removed
+      }
+    }
+    tasks.foreach(_.cancel())
+  }
+
+  /**
+    * Returns the statistics of the scheduler.
+    */
+  def stats: Stats =
+    synchronized {
+      Stats(
+        queued          = queued,
+        running         = running,
+        completed       = completed,
+        cancelled       = cancelled,
+        averageWaitTime = average(totalWaitTime),
+        averageRunTime  = average(totalRunTime)
+      )
+    }
+
+  /**
+    * Starts the pending operations while the number of running operations
+    * is below the limit.
+    */
+  private def dispatch(): Unit = {
+    var next = synchronized(dequeue())
+    while (next.isDefined) {
+      next.foreach(_.run())
+      next = synchronized(dequeue())
+    }
+  }
+
+  /**
+    * Takes the next operation to run from the queue of the client that is
+    * waiting the longest. Must be called while holding the lock.
+    */
+  private def dequeue(): Option[Task] =
+    if (running < maxRunning && queues.nonEmpty) {
+      val (client, queue) = queues.head
+      val task            = queue.dequeue()
+      queues.remove(client)
+      if (queue.nonEmpty) queues.update(client, queue)
+      queued  -= 1
+      running += 1
+      Some(task)
+    } else {
+      None
+    }
+
+  private def finished(enqueued: Long, started: Long): Unit = {
+    synchronized {
+      running       -= 1
+      completed     += 1
+      totalWaitTime += started - enqueued
+      totalRunTime  += System.nanoTime() - started
+    }
+    dispatch()
+  }
+
+  private def average(totalTime: Long): FiniteDuration =
+    if (completed == 0) Duration.Zero
+    else Duration(totalTime / completed, TimeUnit.NANOSECONDS)
+}
+
+object FileOperationScheduler {
+
+  /**
+    * The statistics of the scheduler.
+    *
+    * @param queued the number of pending operations
+    * @param running the number of running operations
+    * @param completed the number of completed operations
+    * @param cancelled the number of cancelled operations
+    * @param averageWaitTime the average time the completed operations spent
+    *                        in the queue
+    * @param averageRunTime the average running time of the completed
+    *                       operations
+    */
+  case class Stats(
+    queued: Int,
+    running: Int,
+    completed: Long,
+    cancelled: Long,
+    averageWaitTime: FiniteDuration,
+    averageRunTime: FiniteDuration
+  )
+
+  /**
+    * A pending operation.
+    *
+    * @param requester the actor requesting the operation
+    * @param run starts the operation
+    * @param cancel cancels the operation
+    */
+  private class Task(
+    val requester: ActorRef,
+    val run: () => Unit,
+    val cancel: () => Unit
+  )
+}
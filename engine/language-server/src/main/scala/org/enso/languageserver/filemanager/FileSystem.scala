@@ -1,15 +1,20 @@
 package org.enso.languageserver.filemanager
 
-import java.io.{File, FileNotFoundException}
+import java.io.{File, FileNotFoundException, IOException}
+import java.nio.ByteBuffer
+import java.nio.channels.FileChannel
 import java.nio.file._
 import java.nio.file.attribute.BasicFileAttributes
+import java.util.concurrent.{ForkJoinPool, ForkJoinTask, RecursiveAction}
 
 import org.apache.commons.io.{FileExistsException, FileUtils}
+import org.bouncycastle.jcajce.provider.digest.SHA3
 import org.enso.languageserver.effect.BlockingIO
 import zio._
 import zio.blocking.effectBlocking
 
 import scala.collection.mutable
+import scala.jdk.CollectionConverters._
 
 /**
   * File manipulation facility.
@@ -59,6 +64,106 @@ class FileSystem extends FileSystemApi[BlockingIO] {
     effectBlocking(FileUtils.readFileToByteArray(file))
       .mapError(errorHandling)
 
+  /** @inheritdoc **/
+  override def readBinaryTo[A](
+    file: File,
+    sink: BinaryContentsSink[A]
+  ): BlockingIO[FileSystemFailure, A] =
+    effectBlocking {
+      val channel = FileChannel.open(file.toPath, StandardOpenOption.READ)
+      try {
+        val size = channel.size()
+        if (size > Int.MaxValue) {
+          throw new IllegalArgumentException(
+            s"File of $size bytes is too large to be read at once"
+          )
+        }
+        readFully(channel, sink.allocate(size.toInt), 0L)
+        sink.complete()
+      } finally {
+        channel.close()
+      }
+    }.mapError(errorHandling)
+
+  /** @inheritdoc **/
+  override def writeBytes(
+    file: File,
+    byteOffset: Long,
+    overwriteExisting: Boolean,
+    bytes: Array[Byte]
+  ): BlockingIO[FileSystemFailure, Array[Byte]] =
+    effectBlocking {
+      FileUtils.forceMkdirParent(file)
+      val channel = FileChannel.open(
+        file.toPath,
+        StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE
+      )
+      try {
+        if (!overwriteExisting && byteOffset < channel.size()) {
+          throw new FileExistsException(file)
+        }
+        writeFully(channel, ByteBuffer.wrap(bytes), byteOffset)
+      } finally {
+        channel.close()
+      }
+      new SHA3.Digest224().digest(bytes)
+    }.mapError(errorHandling)
+
+  /** @inheritdoc **/
+  override def readBytes(
+    file: File,
+    byteOffset: Long,
+    length: Long
+  ): BlockingIO[FileSystemFailure, ReadBytesResult] =
+    effectBlocking {
+      val channel = FileChannel.open(file.toPath, StandardOpenOption.READ)
+      try {
+        val size = segmentSize(channel, byteOffset, length)
+        if (size > Int.MaxValue) {
+          Left(SegmentTooLarge(Int.MaxValue.toLong))
+        } else {
+          val buffer = ByteBuffer.allocate(size.toInt)
+          readFully(channel, buffer, byteOffset)
+          val bytes = buffer.array()
+          Right(ReadBytesResult(new SHA3.Digest224().digest(bytes), bytes))
+        }
+      } finally {
+        channel.close()
+      }
+    }.mapError(errorHandling).absolve
+
+  /** @inheritdoc **/
+  override def checksumBytes(
+    file: File,
+    byteOffset: Long,
+    length: Long
+  ): BlockingIO[FileSystemFailure, Array[Byte]] =
+    effectBlocking {
+      val channel = FileChannel.open(file.toPath, StandardOpenOption.READ)
+      try {
+        val digest    = new SHA3.Digest224()
+        val buffer    = ByteBuffer.allocate(ChecksumBufferSize)
+        var remaining = segmentSize(channel, byteOffset, length)
+        var position  = byteOffset
+        var read      = 0
+        while (remaining > 0 && read >= 0) {
+          buffer.clear()
+          buffer.limit(Math.min(buffer.capacity().toLong, remaining).toInt)
+          read = channel.read(buffer, position)
+          if (read > 0) {
+            buffer.flip()
+            digest.update(buffer)
+            position += read.toLong
+            remaining -= read.toLong
+          }
+        }
+        digest.digest()
+      } finally {
+        channel.close()
+      }
+    }.mapError(errorHandling)
+
   /**
     * Deletes the specified file or directory recursively.
     *
@@ -197,13 +302,9 @@ class FileSystem extends FileSystemApi[BlockingIO] {
       if (path.isDirectory) {
         effectBlocking {
           val directory = DirectoryEntry.empty(path.toPath)
-          FileSystem.readDirectoryEntry(
-            directory,
-            limit.goDeeper,
-            Vector(),
-            mutable.Queue().appendAll(FileSystem.list(path.toPath)),
-            mutable.Queue()
-          )
+          val root      = FileSystem.Subdir(directory, limit.goDeeper, Vector())
+          val task      = new FileSystem.ReadDirectoryTask(root)
+          FileSystem.TraversalPool.invoke(task)
           directory
         }.mapError(errorHandling)
       } else {
@@ -247,6 +348,74 @@ object FileSystem {
 
   import FileSystemApi._
 
+  /**
+    * The size of a buffer used to compute checksums of the file segments.
+    */
+  private val ChecksumBufferSize: Int = 64 * 1024
+
+  /**
+    * The maximum number of bytes read from a channel at once. The channel
+    * reads into heap buffers through a temporary direct buffer of the read
+    * size, so reading large files at once would allocate the direct memory
+    * of the file size.
+    */
+  private val ReadChunkSize: Int = 1024 * 1024
+
+  /**
+    * Computes the size of a file segment truncated to the end of the file.
+    *
+    * @param channel a file channel
+    * @param byteOffset an offset of the first byte of the segment
+    * @param length a number of bytes in the segment
+    * @return the number of bytes in the segment
+    */
+  private def segmentSize(
+    channel: FileChannel,
+    byteOffset: Long,
+    length: Long
+  ): Long =
+    Math.max(0L, Math.min(length, channel.size() - byteOffset))
+
+  /**
+    * Reads from the channel in chunks until the buffer is full or the end of
+    * the channel is reached.
+    *
+    * @param channel a file channel
+    * @param buffer a buffer to fill
+    * @param position the position in the file of the first byte to read
+    */
+  private def readFully(
+    channel: FileChannel,
+    buffer: ByteBuffer,
+    position: Long
+  ): Unit = {
+    val chunk        = buffer.duplicate()
+    var filePosition = position
+    var read         = 0
+    while (chunk.position() < buffer.limit() && read >= 0) {
+      val chunkSize = Math.min(buffer.limit() - chunk.position(), ReadChunkSize)
+      chunk.limit(chunk.position() + chunkSize)
+      read = channel.read(chunk, filePosition)
+      if (read > 0) filePosition += read.toLong
+    }
+  }
+
+  /**
+    * Writes the whole buffer to the channel.
+    *
+    * @param channel a file channel
+    * @param buffer a buffer to write
+    * @param position the position in the file of the first byte to write
+    */
+  private def writeFully(
+    channel: FileChannel,
+    buffer: ByteBuffer,
+    position: Long
+  ): Unit =
+    while (buffer.hasRemaining) {
+      channel.write(buffer, position + buffer.position().toLong)
+    }
+
   /**
     * Represent a depth limit when recursively traversing a directory.
     */
@@ -294,38 +463,48 @@ object FileSystem {
     visited: Vector[SymbolicLinkEntry]
   )
 
+  /**
+    * The pool traversing the directory trees. The directories are read in
+    * parallel, and the pool is separate from the blocking pool of the
+    * effects, so that a large tree doesn't starve the other requests.
+    */
+  private lazy val TraversalPool: ForkJoinPool =
+    new ForkJoinPool(java.lang.Runtime.getRuntime.availableProcessors())
+
   /**
     * Read an entry without following the symlinks.
     */
-  private def readEntry(path: Path): Entry = {
-    if (Files.isRegularFile(path, LinkOption.NOFOLLOW_LINKS)) {
-      FileEntry(path)
-    } else if (Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
-      DirectoryEntryTruncated(path)
-    } else if (Files.isSymbolicLink(path)) {
-      val target = Files.readSymbolicLink(path)
-      if (Files.exists(target)) {
-        SymbolicLinkEntry(path, target)
+  private def readEntry(path: Path): Entry =
+    try {
+      val attrs = Files.readAttributes(
+        path,
+        classOf[BasicFileAttributes],
+        LinkOption.NOFOLLOW_LINKS
+      )
+      if (attrs.isSymbolicLink) {
+        val target = Files.readSymbolicLink(path)
+        if (Files.exists(target)) {
+          SymbolicLinkEntry(path, target)
+        } else {
+          OtherEntry(path)
+        }
       } else {
-        OtherEntry(path)
+        Entry.fromBasicAttributes(path, attrs)
       }
-    } else {
-      OtherEntry(path)
+    } catch {
+      case _: NoSuchFileException => OtherEntry(path)
     }
-  }
 
   /**
     * Read the target of a symlink.
     */
-  private def readSymbolicLink(path: Path): Entry = {
-    if (Files.isRegularFile(path)) {
-      FileEntry(path)
-    } else if (Files.isDirectory(path)) {
-      DirectoryEntryTruncated(path)
-    } else {
-      OtherEntry(path)
+  private def readSymbolicLink(path: Path): Entry =
+    try {
+      val attrs = Files.readAttributes(path, classOf[BasicFileAttributes])
+      Entry.fromBasicAttributes(path, attrs)
+    } catch {
+      case _: IOException => OtherEntry(path)
     }
-  }
 
   /**
     * Returns the entries of the provided path. Symlinks are not resolved.
@@ -334,73 +513,53 @@ object FileSystem {
     * @return list of entries
     */
   private def list(path: Path): Vector[Entry] = {
-    def accumulator(acc: Vector[Entry], path: Path): Vector[Entry] =
-      acc :+ readEntry(path)
-    def combiner(as: Vector[Entry], bs: Vector[Entry]): Vector[Entry] =
-      as ++ bs
-    Files
-      .list(path)
-      .reduce(Vector(), accumulator, combiner)
-      .sortBy(_.path)
+    val stream = Files.newDirectoryStream(path)
+    try {
+      stream.iterator().asScala.map(readEntry).toVector.sortBy(_.path)
+    } finally {
+      stream.close()
+    }
   }
 
   /**
-    * Makes BFS traversal and updates provided directory [[DirectoryEntry]].
+    * Reads the contents of a directory tree. The subdirectories are read in
+    * parallel by the forked tasks.
+    *
+    * @param subdir the root of the tree
+    */
+  private class ReadDirectoryTask(subdir: Subdir) extends RecursiveAction {
+
+    /** @inheritdoc **/
+    override def compute(): Unit = {
+      val tasks = readDirectoryEntry(subdir).map(new ReadDirectoryTask(_))
+      ForkJoinTask.invokeAll(tasks.asJava)
+    }
+  }
+
+  /**
+    * Updates provided directory [[DirectoryEntry]] with its children.
     * Symlinks are resolved. Returned [[SymbolicLinkEntry]] indicates a loop.
     *
-    * @param directory current directory
-    * @param level a maximum depth of the directory tree
-    * @param visited symlinked directories
-    * @param entryQueue unprocessed directory entries
-    * @param subdirQueue unprocessed subdirectories
+    * @param subdir the directory to read
+    * @return the subdirectories to read next
     */
-  @scala.annotation.tailrec
-  private def readDirectoryEntry(
-    directory: DirectoryEntry,
-    level: Depth,
-    visited: Vector[SymbolicLinkEntry],
-    entryQueue: mutable.Queue[Entry],
-    subdirQueue: mutable.Queue[Subdir]
-  ): Unit = {
-    if (entryQueue.isEmpty) {
-      // done with the current directory, sort children and go to the next one
-      directory.children.sortInPlaceBy(_.path)
-      if (subdirQueue.nonEmpty) {
-        val subdir = subdirQueue.dequeue()
-        readDirectoryEntry(
-          subdir.entry,
-          subdir.level,
-          subdir.visited,
-          mutable.Queue().appendAll(list(subdir.entry.path)),
-          subdirQueue
-        )
-      }
-    } else {
-      // process next entry
+  private def readDirectoryEntry(subdir: Subdir): Vector[Subdir] = {
+    val directory  = subdir.entry
+    val level      = subdir.level
+    val entryQueue = mutable.Queue.from(list(directory.path))
+    val subdirs    = Vector.newBuilder[Subdir]
+    var visited    = subdir.visited
+    while (entryQueue.nonEmpty) {
       entryQueue.dequeue() match {
         case DirectoryEntryTruncated(path) =>
           if (level.canGoDeeper) {
-            // can go deeper, enqueue subdirectory and continue
-            val subdir = DirectoryEntry.empty(path)
-            directory.children.append(subdir)
-            subdirQueue.enqueue(Subdir(subdir, level.goDeeper, visited))
-            readDirectoryEntry(
-              directory,
-              level,
-              visited,
-              entryQueue,
-              subdirQueue
-            )
+            // can go deeper, schedule subdirectory and continue
+            val child = DirectoryEntry.empty(path)
+            directory.children.append(child)
+            subdirs += Subdir(child, level.goDeeper, visited)
           } else {
-            // can't go deeper, add truncated directory to children and continue
+            // can't go deeper, add truncated directory to children
             directory.children.append(DirectoryEntryTruncated(path))
-            readDirectoryEntry(
-              directory,
-              level,
-              visited,
-              entryQueue,
-              subdirQueue
-            )
           }
         case symlink @ SymbolicLinkEntry(path, target) =>
           if (Files.isDirectory(target, LinkOption.NOFOLLOW_LINKS)) {
@@ -408,46 +567,20 @@ object FileSystem {
               case Some(SymbolicLinkEntry(visitedPath, _)) =>
                 // symlink has been already visited, break the loop
                 directory.children.append(SymbolicLinkEntry(path, visitedPath))
-                readDirectoryEntry(
-                  directory,
-                  level,
-                  visited,
-                  entryQueue,
-                  subdirQueue
-                )
               case None =>
-                // add symlink to visited, enqueue resolved symlink and continue
+                // add symlink to visited, enqueue resolved symlink
+                visited :+= symlink
                 entryQueue.enqueue(readSymbolicLink(path))
-                readDirectoryEntry(
-                  directory,
-                  level,
-                  visited :+ symlink,
-                  entryQueue,
-                  subdirQueue
-                )
             }
           } else {
-            // symlink is not a directory, enqueue resolved symlink and continue
+            // symlink is not a directory, enqueue resolved symlink
             entryQueue.enqueue(readSymbolicLink(path))
-            readDirectoryEntry(
-              directory,
-              level,
-              visited,
-              entryQueue,
-              subdirQueue
-            )
           }
         case entry =>
-          // add entry and continue
           directory.children.append(entry)
-          readDirectoryEntry(
-            directory,
-            level,
-            visited,
-            entryQueue,
-            subdirQueue
-          )
       }
     }
+    directory.children.sortInPlaceBy(_.path)
+    subdirs.result()
   }
 }
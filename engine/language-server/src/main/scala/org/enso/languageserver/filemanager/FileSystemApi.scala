@@ -59,6 +59,69 @@ trait FileSystemApi[F[_, _]] {
     */
   def readBinary(file: File): BlockingIO[FileSystemFailure, Array[Byte]]
 
+  /**
+    * Reads the contents of a binary file directly into a buffer allocated by
+    * the sink.
+    *
+    * @param file path to the file
+    * @param sink the destination of the contents
+    * @return either [[FileSystemFailure]] or the representation of the
+    *         contents created by the sink
+    */
+  def readBinaryTo[A](
+    file: File,
+    sink: BinaryContentsSink[A]
+  ): BlockingIO[FileSystemFailure, A]
+
+  /**
+    * Writes bytes to a file at the given offset, creating the file if it
+    * doesn't exist.
+    *
+    * @param file path to the file
+    * @param byteOffset an offset in the file where the bytes are written
+    * @param overwriteExisting whether the bytes may overwrite the existing
+    *                          contents of the file
+    * @param bytes the bytes to write
+    * @return either [[FileSystemFailure]] or the checksum of written bytes
+    */
+  def writeBytes(
+    file: File,
+    byteOffset: Long,
+    overwriteExisting: Boolean,
+    bytes: Array[Byte]
+  ): BlockingIO[FileSystemFailure, Array[Byte]]
+
+  /**
+    * Reads a segment of a file. The segment is truncated to the end of the
+    * file.
+    *
+    * @param file path to the file
+    * @param byteOffset an offset of the first byte to read
+    * @param length a number of bytes to read
+    * @return either [[FileSystemFailure]] or the read bytes with their
+    *         checksum
+    */
+  def readBytes(
+    file: File,
+    byteOffset: Long,
+    length: Long
+  ): BlockingIO[FileSystemFailure, ReadBytesResult]
+
+  /**
+    * Computes a checksum of a segment of a file without loading the
+    * segment into memory. The segment is truncated to the end of the file.
+    *
+    * @param file path to the file
+    * @param byteOffset an offset of the first byte of the segment
+    * @param length a number of bytes in the segment
+    * @return either [[FileSystemFailure]] or the checksum of the segment
+    */
+  def checksumBytes(
+    file: File,
+    byteOffset: Long,
+    length: Long
+  ): BlockingIO[FileSystemFailure, Array[Byte]]
+
   /**
     * Deletes the specified file or directory recursively.
     *
@@ -147,6 +210,14 @@ trait FileSystemApi[F[_, _]] {
 
 object FileSystemApi {
 
+  /**
+    * A result of reading a segment of a file.
+    *
+    * @param checksum the SHA3-224 checksum of the bytes
+    * @param bytes the read bytes
+    */
+  case class ReadBytesResult(checksum: Array[Byte], bytes: Array[Byte])
+
   /**
     * An object representing abstract file system entry.
     */
@@ -35,6 +35,14 @@ case object OperationTimeout extends FileSystemFailure
   */
 case object NotDirectory extends FileSystemFailure
 
+/**
+  * Signals that the requested file segment is larger than the maximum
+  * segment size.
+  *
+  * @param maxSize the maximum segment size in bytes
+  */
+case class SegmentTooLarge(maxSize: Long) extends FileSystemFailure
+
 /**
   * Signals file system specific errors.
   *
@@ -6,7 +6,8 @@ import org.enso.languageserver.filemanager.FileManagerApi.{
   FileNotFoundError,
   FileSystemError,
   NotDirectoryError,
-  OperationTimeoutError
+  OperationTimeoutError,
+  SegmentTooLargeError
 }
 import org.enso.jsonrpc.Error
 import org.enso.languageserver.protocol.json.ErrorApi
@@ -27,6 +28,7 @@ object FileSystemFailureMapper {
       case FileExists                       => FileExistsError
       case OperationTimeout                 => OperationTimeoutError
       case NotDirectory                     => NotDirectoryError
+      case SegmentTooLarge(maxSize)         => SegmentTooLargeError(maxSize)
       case GenericFileSystemFailure(reason) => FileSystemError(reason)
     }
 
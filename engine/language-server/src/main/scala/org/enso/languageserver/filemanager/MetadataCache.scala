@@ -0,0 +1,210 @@
+package org.enso.languageserver.filemanager
+
+import java.nio.file.Path
+import java.util
+
+import org.enso.languageserver.filemanager.FileSystemApi.{
+  Attributes,
+  DirectoryEntry,
+  Entry
+}
+
+/**
+  * An in-memory cache of the file system metadata: the attributes, the
+  * directory listings and the directory trees.
+  *
+  * The cache is only consulted when it's enabled, i.e. when the file system
+  * changes are observed by a watcher that invalidates the affected entries.
+  * When the number of entries exceeds the limit, the least recently used
+  * entries are evicted.
+  *
+  * @param maxEntries the maximum number of cached entries
+  */
+final class MetadataCache(maxEntries: Int) {
+
+  import MetadataCache._
+
+  private val entries =
+    new util.LinkedHashMap[Key[_], Any](16, 0.75f, true) {
+      override def removeEldestEntry(
+        eldest: util.Map.Entry[Key[_], Any]
+      ): Boolean = {
+        val isFull = size() > maxEntries
+        if (isFull) evictions += 1
+        isFull
+      }
+    }
+
+  private var enabled: Boolean    = false
+  private var generation: Long    = 0
+  private var hits: Long          = 0
+  private var misses: Long        = 0
+  private var evictions: Long     = 0
+  private var invalidations: Long = 0
+
+  /**
+    * Starts serving the entries from the cache.
+    */
+  def enable(): Unit =
+    synchronized {
+      enabled = maxEntries > 0
+    }
+
+  /**
+    * Stops serving the entries from the cache and removes all entries.
+    */
+  def disable(): Unit =
+    synchronized {
+      enabled = false
+      entries.clear()
+      generation += 1
+    }
+
+  /**
+    * Looks up the cache.
+    *
+    * @param key the cache key
+    * @return either the current generation of the cache, that should be
+    *         passed to the [[put]] method when the value is loaded, or the
+    *         cached value
+    */
+  def lookup[A](key: Key[A]): Either[Long, A] =
+    synchronized {
+      if (enabled) {
+        val value = entries.get(key)
+        if (value == null) {
+          misses += 1
+          Left(generation)
+        } else {
+          hits += 1
+          Right(value.asInstanceOf[A])
+        }
+      } else {
+        Left(generation)
+      }
+    }
+
+  /**
+    * Puts the value in the cache, unless the cache was invalidated after
+    * the value started loading.
+    *
+    * @param key the cache key
+    * @param value the loaded value
+    * @param loadedGeneration the generation of the cache when the value
+    *                         started loading
+    */
+  def put[A](key: Key[A], value: A, loadedGeneration: Long): Unit =
+    synchronized {
+      if (enabled && loadedGeneration == generation) {
+        entries.put(key, value)
+      }
+    }
+
+  /**
+    * Invalidates the entries affected by a change of the file system
+    * object. The removed entries are the ones describing the object itself,
+    * its descendants and its parent directory, and the trees containing the
+    * object.
+    *
+    * @param path the path to the changed object
+    */
+  def invalidate(path: Path): Unit = {
+    val changed = normalize(path)
+    val parent  = changed.getParent
+    synchronized {
+      generation += 1
+      entries.keySet().removeIf { key =>
+        val isAffected =
+          key.path.startsWith(changed) ||
+          key.path == parent ||
+          (key.isInstanceOf[TreeKey] && changed.startsWith(key.path))
+        if (isAffected) invalidations += 1
+        isAffected
+      }
+    }
+  }
+
+  /**
+    * Returns the statistics of the cache.
+    */
+  def stats: Stats =
+    synchronized {
+      Stats(hits, misses, evictions, invalidations, entries.size())
+    }
+}
+
+object MetadataCache {
+
+  /**
+    * A key of the cached value.
+    *
+    * @tparam A the type of the cached value
+    */
+  sealed trait Key[A] {
+
+    /** The normalized absolute path to the file system object. */
+    def path: Path
+  }
+
+  /**
+    * A key of the file attributes.
+    *
+    * @param path the path to the file system object
+    */
+  case class InfoKey(path: Path) extends Key[Attributes]
+
+  /**
+    * A key of the file existence flag.
+    *
+    * @param path the path to the file system object
+    */
+  case class ExistsKey(path: Path) extends Key[Boolean]
+
+  /**
+    * A key of the directory contents.
+    *
+    * @param path the path to the directory
+    */
+  case class ListKey(path: Path) extends Key[Vector[Entry]]
+
+  /**
+    * A key of the directory tree.
+    *
+    * @param path the path to the directory
+    * @param depth the maximum depth of the tree
+    */
+  case class TreeKey(path: Path, depth: Option[Int])
+      extends Key[DirectoryEntry]
+
+  /**
+    * The statistics of the cache.
+    *
+    * @param hits the number of lookups served from the cache
+    * @param misses the number of lookups that missed the cache
+    * @param evictions the number of entries evicted because of the size limit
+    * @param invalidations the number of entries invalidated by the changes
+    * @param size the current number of entries
+    */
+  case class Stats(
+    hits: Long,
+    misses: Long,
+    evictions: Long,
+    invalidations: Long,
+    size: Int
+  ) {
+
+    /** The ratio of the lookups served from the cache. */
+    def hitRate: Double =
+      if (hits + misses == 0) 0.0 else hits.toDouble / (hits + misses).toDouble
+  }
+
+  /**
+    * Normalizes the path, so that the keys created for different
+    * representations of the same path are equal.
+    *
+    * @param path the path to normalize
+    * @return the absolute normalized path
+    */
+  def normalize(path: Path): Path =
+    path.toAbsolutePath.normalize()
+}
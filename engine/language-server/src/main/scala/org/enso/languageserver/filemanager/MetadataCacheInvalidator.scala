@@ -0,0 +1,147 @@
+package org.enso.languageserver.filemanager
+
+import java.util.UUID
+
+import akka.actor.{Actor, ActorLogging, ActorRef, Props, Terminated}
+import org.enso.languageserver.capability.CapabilityProtocol.{
+  AcquireCapability,
+  CapabilityAcquired,
+  CapabilityAcquisitionFileSystemFailure,
+  CapabilityForceReleased,
+  CapabilityNotAcquiredResponse,
+  CapabilityReleased,
+  ReleaseCapability
+}
+import org.enso.languageserver.data.{
+  CapabilityRegistration,
+  Config,
+  ReceivesTreeUpdates
+}
+import org.enso.languageserver.session.JsonSession
+import org.enso.languageserver.util.UnhandledLogging
+
+/**
+  * Subscribes to the file events of the content roots, reported by the
+  * [[PathWatcher]]s, and invalidates the [[MetadataCache]] entries affected
+  * by them. The cache is enabled only while all the content roots are
+  * watched, and when one of the watchers stops it is disabled until the
+  * content roots are watched again.
+  *
+  * @param config configuration
+  * @param cache the metadata cache
+  * @param receivesTreeUpdatesHandler the handler of the file event
+  *                                   subscriptions
+  */
+final class MetadataCacheInvalidator(
+  config: Config,
+  cache: MetadataCache,
+  receivesTreeUpdatesHandler: ActorRef
+) extends Actor
+    with ActorLogging
+    with UnhandledLogging {
+
+  import context.dispatcher, MetadataCacheInvalidator._
+
+  private val session = JsonSession(UUID.randomUUID(), self)
+
+  override def preStart(): Unit = {
+    self ! Start
+  }
+
+  override def postStop(): Unit = {
+    releaseRoots()
+  }
+
+  override def receive: Receive = watching(restarts = 0, Set())
+
+  private def watching(restarts: Int, watchers: Set[ActorRef]): Receive = {
+    case Start =>
+      config.contentRoots.keys.foreach { rootId =>
+        receivesTreeUpdatesHandler ! AcquireCapability(
+          session,
+          registration(rootId)
+        )
+      }
+
+    case CapabilityAcquired =>
+      context.watch(sender())
+      val acquired = watchers + sender()
+      if (acquired.size == config.contentRoots.size) {
+        cache.enable()
+        log.debug("Metadata cache enabled.")
+      }
+      context.become(watching(restarts, acquired))
+
+    case PathWatcherProtocol.FileEventResult(events) =>
+      events.foreach { event =>
+        config
+          .findContentRoot(event.path.rootId)
+          .foreach(root => cache.invalidate(event.path.toFile(root).toPath))
+      }
+
+    case CapabilityAcquisitionFileSystemFailure(error) =>
+      restart(restarts, watchers, error.toString)
+
+    case CapabilityForceReleased(_) =>
+      restart(restarts, watchers, "watcher released")
+
+    case Terminated(watcher) if watchers.contains(watcher) =>
+      restart(restarts, watchers - watcher, "watcher stopped")
+
+    case CapabilityReleased | CapabilityNotAcquiredResponse =>
+  }
+
+  private def restart(
+    restarts: Int,
+    watchers: Set[ActorRef],
+    reason: String
+  ): Unit = {
+    cache.disable()
+    watchers.foreach(context.unwatch)
+    releaseRoots()
+    log.debug(s"Metadata cache disabled. ${cache.stats}")
+    if (restarts < config.pathWatcher.maxRestarts) {
+      log.error(s"Restart metadata cache watch on error#$restarts: $reason")
+      context.system.scheduler
+        .scheduleOnce(config.pathWatcher.restartTimeout, self, Start)
+      context.become(watching(restarts + 1, Set()))
+    } else {
+      log.error(s"Hit maximum number of metadata cache restarts: $reason")
+      context.stop(self)
+    }
+  }
+
+  private def releaseRoots(): Unit =
+    config.contentRoots.keys.foreach { rootId =>
+      receivesTreeUpdatesHandler ! ReleaseCapability(
+        session,
+        registration(rootId)
+      )
+    }
+
+  private def registration(rootId: UUID): CapabilityRegistration =
+    CapabilityRegistration(ReceivesTreeUpdates(Path(rootId, Vector())))
+}
+
+object MetadataCacheInvalidator {
+
+  private case object Start
+
+  /**
+    * Creates a configuration object used to create a
+    * [[MetadataCacheInvalidator]].
+    *
+    * @param config configuration
+    * @param cache the metadata cache
+    * @param receivesTreeUpdatesHandler the handler of the file event
+    *                                   subscriptions
+    */
+  def props(
+    config: Config,
+    cache: MetadataCache,
+    receivesTreeUpdatesHandler: ActorRef
+  ): Props =
+    Props(
+      new MetadataCacheInvalidator(config, cache, receivesTreeUpdatesHandler)
+    )
+}
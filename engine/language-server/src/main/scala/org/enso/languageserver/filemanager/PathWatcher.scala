@@ -1,8 +1,9 @@
 package org.enso.languageserver.filemanager
 
 import java.io.File
+import java.util.concurrent.Executor
 
-import akka.actor.{Actor, ActorLogging, ActorRef, Props}
+import akka.actor.{Actor, ActorLogging, ActorRef, Cancellable, Props}
 import akka.pattern.pipe
 import cats.implicits._
 import org.enso.languageserver.capability.CapabilityProtocol.{
@@ -25,7 +26,8 @@ import scala.concurrent.Await
 
 /**
   * Starts [[WatcherAdapter]], handles errors, converts and sends
-  * events to the client.
+  * events to the client. The watch is acquired once the watched directories
+  * are registered, so that no later change is missed.
   *
   * @param config configuration
   * @param fs file system
@@ -39,17 +41,24 @@ final class PathWatcher(
     with ActorLogging
     with UnhandledLogging {
 
-  import context.dispatcher, PathWatcherProtocol._
+  import context.dispatcher, PathWatcher._, PathWatcherProtocol._
 
   private val restartCounter =
     new PathWatcher.RestartCounter(config.pathWatcher.maxRestarts)
   private var fileWatcher: Option[WatcherAdapter] = None
+  private val coalescer =
+    new FileEventCoalescer(config.pathWatcher.maxEventsPerDirectory)
+  private var flushCancellable: Option[Cancellable] = None
+
+  private val eventLoopExecutor: Executor =
+    command => exec.exec_(IO(command.run()))
 
   override def preStart(): Unit = {
     context.system.eventStream
       .subscribe(self, classOf[JsonSessionTerminated]): Unit
   }
   override def postStop(): Unit = {
+    flushCancellable.foreach(_.cancel())
     stopWatcher(): Unit
   }
 
@@ -65,7 +74,7 @@ final class PathWatcher(
           pathToWatch <- IO.fromEither(pathToWatchResult)
           _           <- validatePath(pathToWatch)
           watcher     <- IO.fromEither(buildWatcher(pathToWatch))
-          _           <- IO.fromEither(startWatcher(watcher))
+          _           <- startWatcher(watcher)
         } yield ()
 
       exec
@@ -103,10 +112,20 @@ final class PathWatcher(
 
     case e: WatcherAdapter.WatcherEvent =>
       restartCounter.reset()
-      val event = FileEvent.fromWatcherEvent(root, base, e)
-      clients.foreach(_ ! FileEventResult(event))
+      coalescer.add(e)
+      if (flushCancellable.isEmpty) {
+        flushCancellable = Some(
+          context.system.scheduler
+            .scheduleOnce(config.pathWatcher.debounceTimeout, self, Flush)
+        )
+      }
+
+    case Flush =>
+      flushCancellable = None
+      flushEvents(root, base, clients)
 
     case WatcherAdapter.WatcherError(e) =>
+      flushEvents(root, base, clients)
       stopWatcher()
       restartCounter.inc()
       if (restartCounter.canRestart) {
@@ -139,6 +158,18 @@ final class PathWatcher(
     }
   }
 
+  private def flushEvents(
+    root: File,
+    base: Path,
+    clients: Set[ActorRef]
+  ): Unit = {
+    if (!coalescer.isEmpty) {
+      val events =
+        coalescer.flush().map(FileEvent.fromWatcherEvent(root, base, _))
+      clients.foreach(_ ! FileEventResult(events))
+    }
+  }
+
   private def validatePath(path: File): BlockingIO[FileSystemFailure, Unit] =
     for {
       pathExists <- fs.exists(path)
@@ -154,13 +185,9 @@ final class PathWatcher(
 
   private def startWatcher(
     watcher: WatcherAdapter
-  ): Either[FileSystemFailure, Unit] =
-    Either
-      .catchNonFatal {
-        fileWatcher = Some(watcher)
-        exec.exec_(watcher.start())
-      }
-      .leftMap(errorHandler)
+  ): BlockingIO[FileSystemFailure, Unit] =
+    IO.effectTotal { fileWatcher = Some(watcher) } *>
+    watcher.startAsync(eventLoopExecutor).mapError(errorHandler)
 
   private def stopWatcher(): Either[FileSystemFailure, Unit] =
     Either
@@ -178,6 +205,11 @@ final class PathWatcher(
 
 object PathWatcher {
 
+  /**
+    * Signals the end of the time window in which the events are coalesced.
+    */
+  private case object Flush
+
   /**
     * Conunt unsuccessful file watcher restarts
     *
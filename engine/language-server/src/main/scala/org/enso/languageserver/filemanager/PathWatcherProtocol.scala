@@ -23,10 +23,10 @@ object PathWatcherProtocol {
   case class UnwatchPath(client: ActorRef)
 
   /**
-    * Returns a file event result.
+    * Returns the file events coalesced in a time window.
     *
-    * @param result file event
+    * @param result file events
     */
-  case class FileEventResult(result: FileEvent)
+  case class FileEventResult(result: Vector[FileEvent])
 
 }
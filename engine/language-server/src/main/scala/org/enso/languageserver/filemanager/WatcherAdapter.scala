@@ -1,6 +1,7 @@
 package org.enso.languageserver.filemanager
 
 import java.nio.file.Path
+import java.util.concurrent.Executor
 
 import io.methvin.watcher._
 import zio._
@@ -32,6 +33,14 @@ final class WatcherAdapter(
   def start(): IO[Throwable, Unit] =
     IO(watcher.watch())
 
+  /**
+    * Start watcher, completing when the watched directories are registered.
+    *
+    * @param executor the executor running the watcher event loop
+    */
+  def startAsync(executor: Executor): IO[Throwable, Unit] =
+    IO(watcher.watchAsync(executor)).unit
+
   /**
     * Stop watcher.
     */
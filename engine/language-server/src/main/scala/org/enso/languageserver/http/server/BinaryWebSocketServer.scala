@@ -1,5 +1,7 @@
 package org.enso.languageserver.http.server
 
+import java.nio.ByteBuffer
+
 import akka.NotUsed
 import akka.actor.{ActorRef, ActorSystem}
 import akka.http.scaladsl.Http
@@ -107,10 +109,29 @@ class BinaryWebSocketServer[A, B](
       }
       .map { (outMsg: B) =>
         val bytes = encoder.encode(outMsg)
-        BinaryMessage(ByteString.apply(bytes))
+        BinaryMessage(toByteString(bytes))
       }
   }
 
+  /**
+    * Wraps the encoded packet in a [[ByteString]]. The packets backed by an
+    * array are wrapped without copying, because the encoded packets are not
+    * modified after they are sent.
+    *
+    * @param bytes the encoded packet
+    * @return the byte string containing the packet
+    */
+  private def toByteString(bytes: ByteBuffer): ByteString =
+    if (bytes.hasArray) {
+      ByteString.fromArrayUnsafe(
+        bytes.array(),
+        bytes.arrayOffset() + bytes.position(),
+        bytes.remaining()
+      )
+    } else {
+      ByteString(bytes)
+    }
+
   private def completionMatcher: PartialFunction[Any, CompletionStrategy] = {
     case CloseConnection => CompletionStrategy.draining
   }
@@ -0,0 +1,188 @@
+package org.enso.languageserver.io
+
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.locks.LockSupport
+
+import scala.concurrent.duration._
+
+/**
+  * An observable output stream that buffers the output and delivers it to
+  * the observers asynchronously, in batches.
+  *
+  * The written bytes are stored in a ring buffer. The writers reserve space
+  * in the buffer by atomically advancing the claimed position, copy their
+  * bytes, and publish them by advancing the committed position in the claim
+  * order. The flusher thread periodically takes the committed bytes and
+  * notifies the observers, and it's woken up earlier when the pending
+  * output reaches the batch size. When the buffer is full, the writers wait
+  * for the flusher to free the space.
+  *
+  * @param capacity the size of the ring buffer in bytes, a power of two
+  * @param batchSize the size of the pending output that triggers the flush
+  * @param flushInterval the maximum delay of delivering the output
+  */
+class BufferedObservableOutputStream(
+  capacity: Int,
+  batchSize: Int,
+  flushInterval: FiniteDuration
+) extends ObservableOutputStream {
+
+  require(
+    capacity > 0 && (capacity & (capacity - 1)) == 0,
+    "Capacity must be a power of two."
+  )
+
+  private val buffer = new Array[Byte](capacity)
+  private val mask   = capacity - 1
+
+  private val claimed   = new AtomicLong(0L)
+  private val committed = new AtomicLong(0L)
+
+  @volatile private var flushed: Long   = 0
+  @volatile private var closed: Boolean = false
+
+  private val flushLock = new AnyRef
+
+  private val flusher = new Thread(() => runFlusher(), "output-flusher")
+  flusher.setDaemon(true)
+  flusher.start()
+
+  /** @inheritdoc **/
+  override def write(byte: Int): Unit = {
+    val position = claim(1)
+    buffer((position & mask).toInt) = byte.toByte
+    commit(position, 1)
+  }
+
+  /** @inheritdoc **/
+  override def write(bytes: Array[Byte]): Unit =
+    write(bytes, 0, bytes.length)
+
+  /** @inheritdoc **/
+  override def write(bytes: Array[Byte], off: Int, len: Int): Unit = {
+    var written = 0
+    while (written < len) {
+      val chunk    = Math.min(len - written, capacity)
+      val position = claim(chunk)
+      copyIn(bytes, off + written, position, chunk)
+      commit(position, chunk)
+      written += chunk
+    }
+  }
+
+  /**
+    * Delivers the pending output to the observers.
+    */
+  override def flush(): Unit =
+    drain()
+
+  /**
+    * Delivers the pending output and stops the flusher.
+    */
+  override def close(): Unit = {
+    closed = true
+    LockSupport.unpark(flusher)
+    drain()
+  }
+
+  /**
+    * Reserves the space for the bytes in the buffer, waiting for the flusher
+    * if the buffer is full.
+    *
+    * @param length the number of bytes to write
+    * @return the position of the reserved space
+    */
+  private def claim(length: Int): Long = {
+    var position = claimed.get()
+    while (
+      position + length - flushed > capacity ||
+      !claimed.compareAndSet(position, position + length)
+    ) {
+      if (position + length - flushed > capacity) {
+        LockSupport.unpark(flusher)
+        Thread.`yield`()
+      }
+      position = claimed.get()
+    }
+    position
+  }
+
+  /**
+    * Publishes the written bytes to the flusher, after the bytes claimed
+    * earlier by the other writers are published.
+    *
+    * @param position the position of the written bytes
+    * @param length the number of written bytes
+    */
+  private def commit(position: Long, length: Int): Unit = {
+    while (committed.get() != position) {
+      Thread.`yield`()
+    }
+    committed.set(position + length)
+    if (position + length - flushed >= batchSize) {
+      LockSupport.unpark(flusher)
+    }
+  }
+
+  private def copyIn(
+    bytes: Array[Byte],
+    off: Int,
+    position: Long,
+    length: Int
+  ): Unit = {
+    val start = (position & mask).toInt
+    val head  = Math.min(length, capacity - start)
+    System.arraycopy(bytes, off, buffer, start, head)
+    System.arraycopy(bytes, off + head, buffer, 0, length - head)
+  }
+
+  private def copyOut(position: Long, length: Int): Array[Byte] = {
+    val output = new Array[Byte](length)
+    val start  = (position & mask).toInt
+    val head   = Math.min(length, capacity - start)
+    System.arraycopy(buffer, start, output, 0, head)
+    System.arraycopy(buffer, 0, output, head, length - head)
+    output
+  }
+
+  /**
+    * Takes the committed bytes from the buffer and notifies the observers.
+    */
+  private def drain(): Unit =
+    flushLock.synchronized {
+      val end = committed.get()
+      if (end > flushed) {
+        val output = copyOut(flushed, (end - flushed).toInt)
+        flushed = end
+        notify(output)
+      }
+    }
+
+  private def runFlusher(): Unit =
+    while (!closed) {
+      LockSupport.parkNanos(flushInterval.toNanos)
+      drain()
+    }
+}
+
+object BufferedObservableOutputStream {
+
+  /** The default size of the ring buffer. */
+  val DefaultCapacity: Int = 1024 * 1024
+
+  /** The default size of the output triggering the flush. */
+  val DefaultBatchSize: Int = 64 * 1024
+
+  /** The default maximum delay of delivering the output. */
+  val DefaultFlushInterval: FiniteDuration = 20.millis
+
+  /**
+    * Creates the stream with the default settings.
+    */
+  def apply(): BufferedObservableOutputStream =
+    new BufferedObservableOutputStream(
+      DefaultCapacity,
+      DefaultBatchSize,
+      DefaultFlushInterval
+    )
+}
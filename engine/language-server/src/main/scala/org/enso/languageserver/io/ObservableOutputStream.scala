@@ -13,7 +13,7 @@ class ObservableOutputStream extends OutputStream {
 
   private val lock = new AnyRef
 
-  private var observers = Set.empty[OutputObserver]
+  @volatile private var observers = Set.empty[OutputObserver]
 
   /** @inheritdoc **/
   override def write(byte: Int): Unit = lock.synchronized {
@@ -18,4 +18,33 @@ object MonitoringApi {
     }
   }
 
+  case object FileManagerStats extends Method("monitoring/fileManagerStats") {
+
+    case class MetadataCacheStats(
+      hits: Long,
+      misses: Long,
+      evictions: Long,
+      invalidations: Long,
+      size: Int,
+      hitRate: Double
+    )
+
+    case class Result(
+      queuedOperations: Int,
+      runningOperations: Int,
+      completedOperations: Long,
+      cancelledOperations: Long,
+      averageWaitTime: Long,
+      averageRunTime: Long,
+      metadataCache: Option[MetadataCacheStats]
+    )
+
+    implicit val hasParams = new HasParams[this.type] {
+      type Params = Unused.type
+    }
+    implicit val hasResult = new HasResult[this.type] {
+      type Result = FileManagerStats.Result
+    }
+  }
+
 }
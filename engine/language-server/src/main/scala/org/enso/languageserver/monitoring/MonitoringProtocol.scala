@@ -1,5 +1,10 @@
 package org.enso.languageserver.monitoring
 
+import org.enso.languageserver.filemanager.{
+  FileOperationScheduler,
+  MetadataCache
+}
+
 object MonitoringProtocol {
 
   /**
@@ -12,4 +17,20 @@ object MonitoringProtocol {
     */
   case object Pong
 
+  /**
+    * Requests the file manager statistics.
+    */
+  case object GetFileManagerStats
+
+  /**
+    * Returns the file manager statistics.
+    *
+    * @param stats the statistics of the file operations
+    * @param metadataCache the statistics of the metadata cache, if it's used
+    */
+  case class FileManagerStats(
+    stats: FileOperationScheduler.Stats,
+    metadataCache: Option[MetadataCache.Stats]
+  )
+
 }
@@ -3,7 +3,7 @@ package org.enso.languageserver.protocol.binary
 import java.nio.ByteBuffer
 import java.util.UUID
 
-import akka.actor.{Actor, ActorLogging, ActorRef, Props, Stash}
+import akka.actor.{Actor, ActorLogging, ActorRef, Props, Stash, Terminated}
 import akka.http.scaladsl.model.RemoteAddress
 import com.google.flatbuffers.FlatBufferBuilder
 import org.enso.languageserver.event.{
@@ -17,8 +17,11 @@ import org.enso.languageserver.http.server.BinaryWebSocketControlProtocol.{
 }
 import org.enso.languageserver.protocol.binary.BinaryConnectionController.InboundPayloadType
 import org.enso.languageserver.protocol.binary.InboundPayload.{
+  CHECKSUM_BYTES_CMD,
   INIT_SESSION_CMD,
+  READ_BYTES_CMD,
   READ_FILE_CMD,
+  WRITE_BYTES_CMD,
   WRITE_FILE_CMD
 }
 import org.enso.languageserver.protocol.binary.factory.{
@@ -28,8 +31,11 @@ import org.enso.languageserver.protocol.binary.factory.{
   VisualisationUpdateFactory
 }
 import org.enso.languageserver.requesthandler.file.{
+  ChecksumBytesHandler,
   ReadBinaryFileHandler,
-  WriteBinaryFileHandler
+  ReadBytesHandler,
+  WriteBinaryFileHandler,
+  WriteBytesHandler
 }
 import org.enso.languageserver.runtime.ContextRegistryProtocol.{
   VisualisationEvaluationFailed,
@@ -52,12 +58,22 @@ import scala.concurrent.duration._
   * language server. It acts as a front controller responsible for handling
   * all incoming requests and dispatching commands.
   *
+  * The number of requests processed concurrently is limited, and the
+  * requests above the limit wait until the pending ones are completed. It
+  * bounds the memory used by the clients transferring large files in
+  * chunks.
+  *
   * @param clientIp a client ip that the connection controller is created for
+  * @param fileManager a file system manager actor
+  * @param requestTimeout a request timeout
+  * @param maxPendingRequests a maximum number of requests processed
+  *                           concurrently
   */
 class BinaryConnectionController(
   clientIp: RemoteAddress.IP,
   fileManager: ActorRef,
-  requestTimeout: FiniteDuration = 10.seconds
+  requestTimeout: FiniteDuration = 10.seconds,
+  maxPendingRequests: Int        = 16
 ) extends Actor
     with Stash
     with ActorLogging
@@ -111,8 +127,13 @@ class BinaryConnectionController(
   ): Receive = {
     case Right(msg: InboundMessage) =>
       if (handlers.contains(msg.payloadType())) {
-        val handler = context.actorOf(handlers(msg.payloadType()))
-        handler.forward(msg)
+        if (context.children.size >= maxPendingRequests) {
+          stash()
+        } else {
+          val handler = context.actorOf(handlers(msg.payloadType()))
+          context.watch(handler)
+          handler.forward(msg)
+        }
       } else {
         log.error(
           s"Received InboundMessage with unknown payload type: ${msg.payloadType()}"
@@ -126,6 +147,9 @@ class BinaryConnectionController(
     case VisualisationEvaluationFailed(_, msg) =>
       val errorPacket = ErrorFactory.createVisualisationEvaluationError(msg)
       outboundChannel ! errorPacket
+
+    case Terminated(_) =>
+      unstashAll()
   }
 
   private def connectionEndHandler(
@@ -205,6 +229,12 @@ class BinaryConnectionController(
       WRITE_FILE_CMD -> WriteBinaryFileHandler
         .props(requestTimeout, fileManager, outboundChannel),
       READ_FILE_CMD -> ReadBinaryFileHandler
+        .props(requestTimeout, fileManager, outboundChannel),
+      WRITE_BYTES_CMD -> WriteBytesHandler
+        .props(requestTimeout, fileManager, outboundChannel),
+      READ_BYTES_CMD -> ReadBytesHandler
+        .props(requestTimeout, fileManager, outboundChannel),
+      CHECKSUM_BYTES_CMD -> ChecksumBytesHandler
         .props(requestTimeout, fileManager, outboundChannel)
     )
   }
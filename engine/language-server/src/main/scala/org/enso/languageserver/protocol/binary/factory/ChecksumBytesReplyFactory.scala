@@ -0,0 +1,41 @@
+package org.enso.languageserver.protocol.binary.factory
+
+import java.nio.ByteBuffer
+import java.util.UUID
+
+import com.google.flatbuffers.FlatBufferBuilder
+import org.enso.languageserver.protocol.binary.{
+  ChecksumBytesReply,
+  EnsoUUID,
+  OutboundPayload
+}
+
+object ChecksumBytesReplyFactory {
+
+  /**
+    * Creates a [[ChecksumBytesReply]] inside a [[FlatBufferBuilder]].
+    *
+    * @param checksum the checksum of the file segment
+    * @param correlationId correlation id used to correlate a response with a
+    *                      request
+    * @return an FlatBuffer representation of the created reply
+    */
+  def createPacket(
+    checksum: Array[Byte],
+    correlationId: EnsoUUID
+  ): ByteBuffer = {
+    implicit val builder = new FlatBufferBuilder(1024)
+    val checksumOffset   = EnsoDigestFactory.create(checksum)
+    val reply =
+      ChecksumBytesReply.createChecksumBytesReply(builder, checksumOffset)
+    val outMsg = OutboundMessageFactory.create(
+      UUID.randomUUID(),
+      Some(correlationId),
+      OutboundPayload.CHECKSUM_BYTES_REPLY,
+      reply
+    )
+    builder.finish(outMsg)
+    builder.dataBuffer()
+  }
+
+}
@@ -0,0 +1,22 @@
+package org.enso.languageserver.protocol.binary.factory
+
+import com.google.flatbuffers.FlatBufferBuilder
+import org.enso.languageserver.protocol.binary.EnsoDigest
+
+object EnsoDigestFactory {
+
+  /**
+    * Creates an [[EnsoDigest]] inside a [[FlatBufferBuilder]].
+    *
+    * @param bytes the bytes of the digest
+    * @param builder a class that helps build a FlatBuffer representation of
+    *                complex objects
+    * @return an offset pointing to the FlatBuffer representation of the
+    *         created object
+    */
+  def create(bytes: Array[Byte])(implicit builder: FlatBufferBuilder): Int = {
+    val bytesOffset = builder.createByteVector(bytes)
+    EnsoDigest.createEnsoDigest(builder, bytesOffset)
+  }
+
+}
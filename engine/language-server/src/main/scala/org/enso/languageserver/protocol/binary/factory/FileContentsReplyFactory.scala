@@ -4,6 +4,7 @@ import java.nio.ByteBuffer
 import java.util.UUID
 
 import com.google.flatbuffers.FlatBufferBuilder
+import org.enso.languageserver.filemanager.BinaryContentsSink
 import org.enso.languageserver.protocol.binary.OutboundPayload
 import org.enso.languageserver.protocol.binary.FileContentsReply
 import org.enso.languageserver.protocol.binary.EnsoUUID
@@ -11,29 +12,55 @@ import org.enso.languageserver.protocol.binary.EnsoUUID
 object FileContentsReplyFactory {
 
   /**
-    * Creates a [[FileContentsReply]] inside a [[FlatBufferBuilder]].
+    * Creates a sink that reads the contents of a file directly into
+    * a [[FileContentsReply]] packet.
     *
-    * @param contents the binary contents of a file
     * @param correlationId correlation id used to correlate a response with a
     *                      request
-    * @return an FlatBuffer representation of the created error
+    * @return a sink creating an FlatBuffer representation of the reply
     */
-  def createPacket(
-    contents: Array[Byte],
-    correlationId: EnsoUUID
-  ): ByteBuffer = {
-    implicit val builder = new FlatBufferBuilder(1024)
-    val contentsOffset   = builder.createByteVector(contents)
-    val reply =
-      FileContentsReply.createFileContentsReply(builder, contentsOffset)
-    val outMsg = OutboundMessageFactory.create(
-      UUID.randomUUID(),
-      Some(correlationId),
-      OutboundPayload.FILE_CONTENTS_REPLY,
-      reply
-    )
-    builder.finish(outMsg)
-    builder.dataBuffer()
+  def createSink(correlationId: EnsoUUID): BinaryContentsSink[ByteBuffer] =
+    new PacketSink(correlationId)
+
+  /**
+    * A sink allocating the contents vector inside a [[FlatBufferBuilder]]
+    * sized for the whole packet, so that the contents are copied neither
+    * into an intermediate array, nor when the builder grows.
+    *
+    * @param correlationId correlation id used to correlate a response with a
+    *                      request
+    */
+  private class PacketSink(correlationId: EnsoUUID)
+      extends BinaryContentsSink[ByteBuffer] {
+
+    private var builder: FlatBufferBuilder = _
+
+    /** @inheritdoc **/
+    override def allocate(size: Int): ByteBuffer = {
+      builder = new FlatBufferBuilder(size + PacketOverhead)
+      builder.createUnintializedVector(1, size, 1)
+    }
+
+    /** @inheritdoc **/
+    override def complete(): ByteBuffer = {
+      implicit val b: FlatBufferBuilder = builder
+      val contentsOffset                = builder.endVector()
+      val reply =
+        FileContentsReply.createFileContentsReply(builder, contentsOffset)
+      val outMsg = OutboundMessageFactory.create(
+        UUID.randomUUID(),
+        Some(correlationId),
+        OutboundPayload.FILE_CONTENTS_REPLY,
+        reply
+      )
+      builder.finish(outMsg)
+      builder.dataBuffer()
+    }
   }
 
+  /**
+    * The space reserved in the packet for everything except the contents.
+    */
+  private val PacketOverhead: Int = 1024
+
 }
@@ -0,0 +1,44 @@
+package org.enso.languageserver.protocol.binary.factory
+
+import java.nio.ByteBuffer
+import java.util.UUID
+
+import com.google.flatbuffers.FlatBufferBuilder
+import org.enso.languageserver.protocol.binary.{
+  EnsoUUID,
+  OutboundPayload,
+  ReadBytesReply
+}
+
+object ReadBytesReplyFactory {
+
+  /**
+    * Creates a [[ReadBytesReply]] inside a [[FlatBufferBuilder]].
+    *
+    * @param checksum the checksum of the read bytes
+    * @param bytes the read bytes
+    * @param correlationId correlation id used to correlate a response with a
+    *                      request
+    * @return an FlatBuffer representation of the created reply
+    */
+  def createPacket(
+    checksum: Array[Byte],
+    bytes: Array[Byte],
+    correlationId: EnsoUUID
+  ): ByteBuffer = {
+    implicit val builder = new FlatBufferBuilder(bytes.length + 1024)
+    val bytesOffset      = builder.createByteVector(bytes)
+    val checksumOffset   = EnsoDigestFactory.create(checksum)
+    val reply =
+      ReadBytesReply.createReadBytesReply(builder, checksumOffset, bytesOffset)
+    val outMsg = OutboundMessageFactory.create(
+      UUID.randomUUID(),
+      Some(correlationId),
+      OutboundPayload.READ_BYTES_REPLY,
+      reply
+    )
+    builder.finish(outMsg)
+    builder.dataBuffer()
+  }
+
+}
@@ -21,7 +21,10 @@ import org.enso.languageserver.filemanager.PathWatcherProtocol
 import org.enso.languageserver.io.InputOutputApi._
 import org.enso.languageserver.io.{InputOutputApi, InputOutputProtocol}
 import org.enso.languageserver.io.OutputKind.{StandardError, StandardOutput}
-import org.enso.languageserver.monitoring.MonitoringApi.Ping
+import org.enso.languageserver.monitoring.MonitoringApi.{
+  FileManagerStats,
+  Ping
+}
 import org.enso.languageserver.requesthandler._
 import org.enso.languageserver.requesthandler.capability._
 import org.enso.languageserver.requesthandler.io.{
@@ -31,7 +34,10 @@ import org.enso.languageserver.requesthandler.io.{
   SuppressStdErrHandler,
   SuppressStdOutHandler
 }
-import org.enso.languageserver.requesthandler.monitoring.PingHandler
+import org.enso.languageserver.requesthandler.monitoring.{
+  FileManagerStatsHandler,
+  PingHandler
+}
 import org.enso.languageserver.requesthandler.session.InitProtocolConnectionHandler
 import org.enso.languageserver.requesthandler.text._
 import org.enso.languageserver.requesthandler.visualisation.{
@@ -151,11 +157,13 @@ class JsonConnectionController(
     case TextProtocol.TextDidChange(changes) =>
       webActor ! Notification(TextDidChange, TextDidChange.Params(changes))
 
-    case PathWatcherProtocol.FileEventResult(event) =>
-      webActor ! Notification(
-        EventFile,
-        EventFile.Params(event.path, event.kind)
-      )
+    case PathWatcherProtocol.FileEventResult(events) =>
+      events.foreach { event =>
+        webActor ! Notification(
+          EventFile,
+          EventFile.Params(event.path, event.kind)
+        )
+      }
 
     case ContextRegistryProtocol
           .ExpressionValuesComputedNotification(contextId, updates) =>
@@ -210,6 +218,8 @@ class JsonConnectionController(
         ),
         requestTimeout
       ),
+      FileManagerStats -> FileManagerStatsHandler
+        .props(requestTimeout, fileManager),
       AcquireCapability -> AcquireCapabilityHandler
         .props(capabilityRouter, requestTimeout, rpcSession),
       ReleaseCapability -> ReleaseCapabilityHandler
@@ -19,7 +19,10 @@ import org.enso.languageserver.io.InputOutputApi.{
   SuppressStandardOutput,
   WaitingForStandardInput
 }
-import org.enso.languageserver.monitoring.MonitoringApi.Ping
+import org.enso.languageserver.monitoring.MonitoringApi.{
+  FileManagerStats,
+  Ping
+}
 import org.enso.languageserver.runtime.ExecutionApi._
 import org.enso.languageserver.runtime.VisualisationApi._
 import org.enso.languageserver.session.SessionApi.InitProtocolConnection
@@ -32,6 +35,7 @@ object JsonRpc {
     */
   val protocol: Protocol = Protocol.empty
     .registerRequest(Ping)
+    .registerRequest(FileManagerStats)
     .registerRequest(InitProtocolConnection)
     .registerRequest(AcquireCapability)
     .registerRequest(ReleaseCapability)
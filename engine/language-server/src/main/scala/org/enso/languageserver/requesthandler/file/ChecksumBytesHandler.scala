@@ -0,0 +1,106 @@
+package org.enso.languageserver.requesthandler.file
+
+import akka.actor._
+import org.enso.languageserver.filemanager.{
+  FileManagerProtocol,
+  FileSystemFailureMapper
+}
+import org.enso.languageserver.protocol.binary.{
+  EnsoUUID,
+  InboundMessage,
+  ChecksumBytesCommand
+}
+import org.enso.languageserver.protocol.binary.factory.{
+  ErrorFactory,
+  ChecksumBytesReplyFactory
+}
+import org.enso.languageserver.requesthandler.RequestTimeout
+import org.enso.languageserver.util.UnhandledLogging
+import org.enso.languageserver.util.file.PathUtils
+
+import scala.concurrent.duration.FiniteDuration
+
+/**
+  * A request handler for [[ChecksumBytesCommand]].
+  *
+  * @param requestTimeout a request timeout
+  * @param fileManager a file system manager actor
+  * @param replyTo the outbound channel delivering replies to the client
+  */
+class ChecksumBytesHandler(
+  requestTimeout: FiniteDuration,
+  fileManager: ActorRef,
+  replyTo: ActorRef
+) extends Actor
+    with ActorLogging
+    with UnhandledLogging {
+
+  import context.dispatcher
+
+  override def receive: Receive = requestStage
+
+  private def requestStage: Receive = {
+    case msg: InboundMessage =>
+      val payload =
+        msg.payload(new ChecksumBytesCommand).asInstanceOf[ChecksumBytesCommand]
+      val segment = PathUtils.convertBinarySegment(payload.segment())
+      fileManager ! FileManagerProtocol.ChecksumBytes(segment)
+      val cancellable = context.system.scheduler
+        .scheduleOnce(requestTimeout, self, RequestTimeout)
+      context.become(responseStage(msg.messageId(), cancellable))
+  }
+
+  private def responseStage(
+    requestId: EnsoUUID,
+    cancellable: Cancellable
+  ): Receive = {
+    case Status.Failure(ex) =>
+      log.error(s"Failure during ChecksumBytes operation:", ex)
+      val packet = ErrorFactory.createServiceError(Some(requestId))
+      replyTo ! packet
+      cancellable.cancel()
+      context.stop(self)
+
+    case RequestTimeout =>
+      log.error(s"Request ChecksumBytes timed out")
+      val packet = ErrorFactory.createServiceError(Some(requestId))
+      replyTo ! packet
+      context.stop(self)
+
+    case FileManagerProtocol.ChecksumBytesResult(Left(failure)) =>
+      val error = FileSystemFailureMapper.mapFailure(failure)
+      val packet = ErrorFactory.createGenericError(
+        error.code,
+        error.message,
+        Some(requestId)
+      )
+      replyTo ! packet
+      cancellable.cancel()
+      context.stop(self)
+
+    case FileManagerProtocol.ChecksumBytesResult(Right(checksum)) =>
+      val packet = ChecksumBytesReplyFactory.createPacket(checksum, requestId)
+      replyTo ! packet
+      cancellable.cancel()
+      context.stop(self)
+  }
+
+}
+
+object ChecksumBytesHandler {
+
+  /**
+    * Creates a configuration object used to create a [[ChecksumBytesHandler]]
+    *
+    * @param timeout a request timeout
+    * @param fileManager a file system manager actor
+    * @param replyTo the outbound channel delivering replies to the client
+    */
+  def props(
+    timeout: FiniteDuration,
+    fileManager: ActorRef,
+    replyTo: ActorRef
+  ): Props =
+    Props(new ChecksumBytesHandler(timeout, fileManager, replyTo))
+
+}
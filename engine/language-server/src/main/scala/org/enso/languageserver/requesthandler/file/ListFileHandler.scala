@@ -24,7 +24,11 @@ class ListFileHandler(requestTimeout: FiniteDuration, fileManager: ActorRef)
 
   private def requestStage: Receive = {
     case Request(ListFile, id, params: ListFile.Params) =>
-      fileManager ! FileManagerProtocol.ListFile(params.path)
+      fileManager ! FileManagerProtocol.ListFile(
+        params.path,
+        params.offset,
+        params.limit
+      )
       val cancellable = context.system.scheduler
         .scheduleOnce(requestTimeout, self, RequestTimeout)
       context.become(responseStage(id, sender(), cancellable))
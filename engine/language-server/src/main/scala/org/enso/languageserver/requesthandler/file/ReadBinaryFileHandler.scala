@@ -44,7 +44,8 @@ class ReadBinaryFileHandler(
       val payload =
         msg.payload(new ReadFileCommand).asInstanceOf[ReadFileCommand]
       val path = PathUtils.convertBinaryPath(payload.path())
-      fileManager ! FileManagerProtocol.ReadBinaryFile(path)
+      val sink = FileContentsReplyFactory.createSink(msg.messageId())
+      fileManager ! FileManagerProtocol.ReadBinaryFile(path, sink)
       val cancellable = context.system.scheduler
         .scheduleOnce(requestTimeout, self, RequestTimeout)
       context.become(responseStage(msg.messageId(), cancellable))
@@ -78,9 +79,7 @@ class ReadBinaryFileHandler(
       cancellable.cancel()
       context.stop(self)
 
-    case FileManagerProtocol.ReadBinaryFileResult(Right(fileContent)) =>
-      val packet =
-        FileContentsReplyFactory.createPacket(fileContent.contents, requestId)
+    case FileManagerProtocol.ReadBinaryFileResult(Right(packet)) =>
       replyTo ! packet
       cancellable.cancel()
       context.stop(self)
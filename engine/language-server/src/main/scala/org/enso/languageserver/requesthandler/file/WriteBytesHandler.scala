@@ -0,0 +1,114 @@
+package org.enso.languageserver.requesthandler.file
+
+import akka.actor._
+import org.enso.languageserver.filemanager.{
+  FileManagerProtocol,
+  FileSystemFailureMapper
+}
+import org.enso.languageserver.protocol.binary.{
+  EnsoUUID,
+  InboundMessage,
+  WriteBytesCommand
+}
+import org.enso.languageserver.protocol.binary.factory.{
+  ErrorFactory,
+  WriteBytesReplyFactory
+}
+import org.enso.languageserver.requesthandler.RequestTimeout
+import org.enso.languageserver.util.UnhandledLogging
+import org.enso.languageserver.util.file.PathUtils
+
+import scala.concurrent.duration.FiniteDuration
+
+/**
+  * A request handler for [[WriteBytesCommand]].
+  *
+  * @param requestTimeout a request timeout
+  * @param fileManager a file system manager actor
+  * @param replyTo the outbound channel delivering replies to the client
+  */
+class WriteBytesHandler(
+  requestTimeout: FiniteDuration,
+  fileManager: ActorRef,
+  replyTo: ActorRef
+) extends Actor
+    with ActorLogging
+    with UnhandledLogging {
+
+  import context.dispatcher
+
+  override def receive: Receive = requestStage
+
+  private def requestStage: Receive = {
+    case msg: InboundMessage =>
+      val payload =
+        msg.payload(new WriteBytesCommand).asInstanceOf[WriteBytesCommand]
+      val path   = PathUtils.convertBinaryPath(payload.path())
+      val buffer = payload.bytesAsByteBuffer()
+      val bytes  = Array.fill[Byte](buffer.remaining())(0)
+      buffer.get(bytes)
+      fileManager ! FileManagerProtocol.WriteBytes(
+        path,
+        payload.byteOffset(),
+        payload.overwriteExisting(),
+        bytes
+      )
+      val cancellable = context.system.scheduler
+        .scheduleOnce(requestTimeout, self, RequestTimeout)
+      context.become(responseStage(msg.messageId(), cancellable))
+  }
+
+  private def responseStage(
+    requestId: EnsoUUID,
+    cancellable: Cancellable
+  ): Receive = {
+    case Status.Failure(ex) =>
+      log.error(s"Failure during WriteBytes operation:", ex)
+      val packet = ErrorFactory.createServiceError(Some(requestId))
+      replyTo ! packet
+      cancellable.cancel()
+      context.stop(self)
+
+    case RequestTimeout =>
+      log.error(s"Request WriteBytes timed out")
+      val packet = ErrorFactory.createServiceError(Some(requestId))
+      replyTo ! packet
+      context.stop(self)
+
+    case FileManagerProtocol.WriteBytesResult(Left(failure)) =>
+      val error = FileSystemFailureMapper.mapFailure(failure)
+      val packet = ErrorFactory.createGenericError(
+        error.code,
+        error.message,
+        Some(requestId)
+      )
+      replyTo ! packet
+      cancellable.cancel()
+      context.stop(self)
+
+    case FileManagerProtocol.WriteBytesResult(Right(checksum)) =>
+      val packet = WriteBytesReplyFactory.createPacket(checksum, requestId)
+      replyTo ! packet
+      cancellable.cancel()
+      context.stop(self)
+  }
+
+}
+
+object WriteBytesHandler {
+
+  /**
+    * Creates a configuration object used to create a [[WriteBytesHandler]]
+    *
+    * @param timeout a request timeout
+    * @param fileManager a file system manager actor
+    * @param replyTo the outbound channel delivering replies to the client
+    */
+  def props(
+    timeout: FiniteDuration,
+    fileManager: ActorRef,
+    replyTo: ActorRef
+  ): Props =
+    Props(new WriteBytesHandler(timeout, fileManager, replyTo))
+
+}
@@ -0,0 +1,89 @@
+package org.enso.languageserver.requesthandler.monitoring
+
+import akka.actor.{Actor, ActorLogging, ActorRef, Cancellable, Props}
+import org.enso.jsonrpc.Errors.ServiceError
+import org.enso.jsonrpc.{Id, Request, ResponseError, ResponseResult, Unused}
+import org.enso.languageserver.monitoring.MonitoringApi
+import org.enso.languageserver.monitoring.MonitoringProtocol.{
+  FileManagerStats,
+  GetFileManagerStats
+}
+import org.enso.languageserver.requesthandler.RequestTimeout
+import org.enso.languageserver.util.UnhandledLogging
+
+import scala.concurrent.duration.FiniteDuration
+
+/**
+  * A request handler for `monitoring/fileManagerStats` commands.
+  *
+  * @param requestTimeout a request timeout
+  * @param fileManager a file system manager actor
+  */
+class FileManagerStatsHandler(
+  requestTimeout: FiniteDuration,
+  fileManager: ActorRef
+) extends Actor
+    with ActorLogging
+    with UnhandledLogging {
+
+  import context.dispatcher
+
+  override def receive: Receive = requestStage
+
+  private def requestStage: Receive = {
+    case Request(MonitoringApi.FileManagerStats, id, Unused) =>
+      fileManager ! GetFileManagerStats
+      val cancellable = context.system.scheduler
+        .scheduleOnce(requestTimeout, self, RequestTimeout)
+      context.become(responseStage(id, sender(), cancellable))
+  }
+
+  private def responseStage(
+    id: Id,
+    replyTo: ActorRef,
+    cancellable: Cancellable
+  ): Receive = {
+    case RequestTimeout =>
+      log.error(s"Request $id timed out")
+      replyTo ! ResponseError(Some(id), ServiceError)
+      context.stop(self)
+
+    case FileManagerStats(stats, metadataCache) =>
+      val result = MonitoringApi.FileManagerStats.Result(
+        queuedOperations    = stats.queued,
+        runningOperations   = stats.running,
+        completedOperations = stats.completed,
+        cancelledOperations = stats.cancelled,
+        averageWaitTime     = stats.averageWaitTime.toMillis,
+        averageRunTime      = stats.averageRunTime.toMillis,
+        metadataCache = metadataCache.map { cache =>
+          MonitoringApi.FileManagerStats.MetadataCacheStats(
+            hits          = cache.hits,
+            misses        = cache.misses,
+            evictions     = cache.evictions,
+            invalidations = cache.invalidations,
+            size          = cache.size,
+            hitRate       = cache.hitRate
+          )
+        }
+      )
+      replyTo ! ResponseResult(MonitoringApi.FileManagerStats, id, result)
+      cancellable.cancel()
+      context.stop(self)
+  }
+}
+
+object FileManagerStatsHandler {
+
+  /**
+    * Creates a configuration object used to create a
+    * [[FileManagerStatsHandler]].
+    *
+    * @param requestTimeout a request timeout
+    * @param fileManager a file system manager actor
+    * @return a configuration object
+    */
+  def props(requestTimeout: FiniteDuration, fileManager: ActorRef): Props =
+    Props(new FileManagerStatsHandler(requestTimeout, fileManager))
+
+}
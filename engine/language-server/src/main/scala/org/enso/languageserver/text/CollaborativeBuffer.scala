@@ -26,7 +26,10 @@ import org.enso.languageserver.filemanager.{
 }
 import org.enso.languageserver.session.JsonSession
 import org.enso.languageserver.text.Buffer.Version
-import org.enso.languageserver.text.CollaborativeBuffer.IOTimeout
+import org.enso.languageserver.text.CollaborativeBuffer.{
+  FlushEdits,
+  IOTimeout
+}
 import org.enso.languageserver.text.TextProtocol._
 import org.enso.languageserver.util.UnhandledLogging
 import org.enso.polyglot.runtime.Runtime.Api
@@ -39,17 +42,25 @@ import scala.language.postfixOps
 /**
   * An actor enabling multiple users edit collaboratively a file.
   *
+  * The edits are sent to the clients immediately, while the runtime is
+  * notified about them in batches. The edits applied in a time window are
+  * coalesced into a single edit notification, so that the runtime doesn't
+  * recompile the file on every keystroke.
+  *
   * @param bufferPath a path to a file
   * @param fileManager a file manger actor
   * @param runtimeConnector a gateway to the runtime
   * @param timeout a request timeout
+  * @param editNotificationWindow a time window in which the edits are
+  *                               coalesced before notifying the runtime
   * @param versionCalculator a content based version calculator
   */
 class CollaborativeBuffer(
   bufferPath: Path,
   fileManager: ActorRef,
   runtimeConnector: ActorRef,
-  timeout: FiniteDuration
+  timeout: FiniteDuration,
+  editNotificationWindow: FiniteDuration
 )(
   implicit versionCalculator: ContentBasedVersioning
 ) extends Actor
@@ -59,11 +70,18 @@ class CollaborativeBuffer(
 
   import context.dispatcher
 
+  private var pendingEdits: Vector[TextEdit]         = Vector()
+  private var flushCancellable: Option[Cancellable] = None
+
   override def preStart(): Unit = {
     context.system.eventStream
       .subscribe(self, classOf[JsonSessionTerminated]): Unit
   }
 
+  override def postStop(): Unit = {
+    flushCancellable.foreach(_.cancel())
+  }
+
   override def receive: Receive = uninitialized
 
   private def uninitialized: Receive = {
@@ -127,6 +145,10 @@ class CollaborativeBuffer(
 
     case SaveFile(clientId, _, clientVersion) =>
       saveFile(buffer, clients, lockHolder, clientId, clientVersion)
+
+    case FlushEdits =>
+      flushCancellable = None
+      flushEdits(buffer)
   }
 
   private def saving(
@@ -199,15 +221,32 @@ class CollaborativeBuffer(
         sender() ! ApplyEditSuccess
         val subscribers = clients.filterNot(_._1 == clientId).values
         subscribers foreach { _.rpcController ! TextDidChange(List(change)) }
-        runtimeConnector ! Api.Request(
-          Api.EditFileNotification(buffer.file, change.edits)
-        )
+        scheduleEditNotification(change.edits)
         context.become(
           collaborativeEditing(modifiedBuffer, clients, lockHolder)
         )
     }
   }
 
+  private def scheduleEditNotification(edits: List[TextEdit]): Unit = {
+    pendingEdits ++= edits
+    if (flushCancellable.isEmpty) {
+      flushCancellable = Some(
+        context.system.scheduler
+          .scheduleOnce(editNotificationWindow, self, FlushEdits)
+      )
+    }
+  }
+
+  private def flushEdits(buffer: Buffer): Unit = {
+    if (pendingEdits.nonEmpty) {
+      runtimeConnector ! Api.Request(
+        Api.EditFileNotification(buffer.file, pendingEdits)
+      )
+      pendingEdits = Vector()
+    }
+  }
+
   private def applyEdits(
     buffer: Buffer,
     lockHolder: Option[JsonSession],
@@ -330,6 +369,7 @@ class CollaborativeBuffer(
       }
     val newClientMap = clients - clientId
     if (newClientMap.isEmpty) {
+      flushEdits(buffer)
       runtimeConnector ! Api.Request(Api.CloseFileNotification(buffer.file))
       stop()
     } else {
@@ -394,6 +434,11 @@ object CollaborativeBuffer {
 
   case object IOTimeout
 
+  /**
+    * Signals the end of the time window in which the edits are coalesced.
+    */
+  private case object FlushEdits
+
   /**
     * Creates a configuration object used to create a [[CollaborativeBuffer]]
     *
@@ -401,6 +446,8 @@ object CollaborativeBuffer {
     * @param fileManager a file manager actor
     * @param runtimeConnector a gateway to the runtime
     * @param timeout a request timeout
+    * @param editNotificationWindow a time window in which the edits are
+    *                               coalesced before notifying the runtime
     * @param versionCalculator a content based version calculator
     * @return a configuration object
     */
@@ -408,14 +455,16 @@ object CollaborativeBuffer {
     bufferPath: Path,
     fileManager: ActorRef,
     runtimeConnector: ActorRef,
-    timeout: FiniteDuration = 10 seconds
+    timeout: FiniteDuration                = 10 seconds,
+    editNotificationWindow: FiniteDuration = 100 millis
   )(implicit versionCalculator: ContentBasedVersioning): Props =
     Props(
       new CollaborativeBuffer(
         bufferPath,
         fileManager,
         runtimeConnector,
-        timeout
+        timeout,
+        editNotificationWindow
       )
     )
 
@@ -1,7 +1,11 @@
 package org.enso.languageserver.util.file
 
+import org.enso.languageserver.filemanager.FileManagerProtocol.FileSegment
 import org.enso.languageserver.filemanager.Path
-import org.enso.languageserver.protocol.binary.{Path => BinaryPath}
+import org.enso.languageserver.protocol.binary.{
+  FileSegment => BinaryFileSegment,
+  Path => BinaryPath
+}
 
 object PathUtils {
 
@@ -21,4 +25,18 @@ object PathUtils {
     Path(rootId, segments.toVector)
   }
 
+  /**
+    * Converts a file segment generated by the FlatBuffers lib. to value of
+    * type [[FileSegment]].
+    *
+    * @param segment a binary file segment
+    * @return
+    */
+  def convertBinarySegment(segment: BinaryFileSegment): FileSegment =
+    FileSegment(
+      convertBinaryPath(segment.path()),
+      segment.byteOffset(),
+      segment.length()
+    )
+
 }
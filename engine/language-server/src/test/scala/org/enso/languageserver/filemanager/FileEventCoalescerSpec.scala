@@ -0,0 +1,72 @@
+package org.enso.languageserver.filemanager
+
+import java.nio.file.Paths
+
+import org.enso.languageserver.filemanager.WatcherAdapter._
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should.Matchers
+
+class FileEventCoalescerSpec extends AnyFlatSpec with Matchers {
+
+  val root = Paths.get("root")
+  val dir  = root.resolve("dir")
+  val file = root.resolve("file.txt")
+
+  "A file event coalescer" should "merge the events of a path" in {
+    val coalescer = new FileEventCoalescer(100)
+
+    coalescer.add(WatcherEvent(file, EventTypeCreate))
+    coalescer.add(WatcherEvent(file, EventTypeModify))
+    coalescer.add(WatcherEvent(file, EventTypeModify))
+
+    coalescer.flush() shouldEqual Vector(WatcherEvent(file, EventTypeCreate))
+    coalescer.isEmpty shouldBe true
+  }
+
+  it should "drop the events that cancel out" in {
+    val coalescer = new FileEventCoalescer(100)
+
+    coalescer.add(WatcherEvent(file, EventTypeCreate))
+    coalescer.add(WatcherEvent(file, EventTypeModify))
+    coalescer.add(WatcherEvent(file, EventTypeDelete))
+
+    coalescer.flush() shouldEqual Vector()
+  }
+
+  it should "report a replaced path as modified" in {
+    val coalescer = new FileEventCoalescer(100)
+
+    coalescer.add(WatcherEvent(file, EventTypeDelete))
+    coalescer.add(WatcherEvent(file, EventTypeCreate))
+
+    coalescer.flush() shouldEqual Vector(WatcherEvent(file, EventTypeModify))
+  }
+
+  it should "drop the events inside a created directory" in {
+    val coalescer = new FileEventCoalescer(100)
+
+    coalescer.add(WatcherEvent(dir, EventTypeCreate))
+    coalescer.add(WatcherEvent(dir.resolve("a.txt"), EventTypeCreate))
+    coalescer.add(WatcherEvent(dir.resolve("b.txt"), EventTypeModify))
+    coalescer.add(WatcherEvent(file, EventTypeModify))
+
+    coalescer.flush() shouldEqual Vector(
+      WatcherEvent(dir, EventTypeCreate),
+      WatcherEvent(file, EventTypeModify)
+    )
+  }
+
+  it should "collapse the events of a directory with many changes" in {
+    val coalescer = new FileEventCoalescer(2)
+
+    coalescer.add(WatcherEvent(file, EventTypeModify))
+    coalescer.add(WatcherEvent(dir.resolve("a.txt"), EventTypeCreate))
+    coalescer.add(WatcherEvent(dir.resolve("b.txt"), EventTypeModify))
+    coalescer.add(WatcherEvent(dir.resolve("c.txt"), EventTypeDelete))
+
+    coalescer.flush() shouldEqual Vector(
+      WatcherEvent(file, EventTypeModify),
+      WatcherEvent(dir, EventTypeModify)
+    )
+  }
+}
@@ -0,0 +1,68 @@
+package org.enso.languageserver.filemanager
+
+import java.util.concurrent.{CancellationException, CountDownLatch}
+
+import akka.actor.ActorSystem
+import akka.testkit.{TestKit, TestProbe}
+import org.enso.languageserver.effect.ZioExec
+import org.scalatest.BeforeAndAfterAll
+import org.scalatest.flatspec.AnyFlatSpecLike
+import org.scalatest.matchers.should.Matchers
+import zio.blocking.effectBlocking
+
+import scala.concurrent.Await
+import scala.concurrent.duration._
+
+class FileOperationSchedulerSpec
+    extends TestKit(ActorSystem("TestSystem"))
+    with AnyFlatSpecLike
+    with Matchers
+    with BeforeAndAfterAll {
+
+  override def afterAll(): Unit = {
+    TestKit.shutdownActorSystem(system)
+  }
+
+  "A file operation scheduler" should "limit the running operations" in {
+    val scheduler = newScheduler(maxRunning = 1)
+    val requester = TestProbe()
+    val latch     = new CountDownLatch(1)
+
+    val first =
+      scheduler.submit(requester.ref, 5.seconds, effectBlocking(latch.await()))
+    val second =
+      scheduler.submit(requester.ref, 5.seconds, effectBlocking(42))
+
+    scheduler.stats.running shouldEqual 1
+    scheduler.stats.queued shouldEqual 1
+    latch.countDown()
+    Await.result(first, 5.seconds) shouldEqual Right(())
+    Await.result(second, 5.seconds) shouldEqual Right(42)
+    awaitAssert(scheduler.stats.completed shouldEqual 2)
+  }
+
+  it should "cancel the pending operations of a requester" in {
+    val scheduler = newScheduler(maxRunning = 1)
+    val requester = TestProbe()
+    val other     = TestProbe()
+    val latch     = new CountDownLatch(1)
+
+    val running =
+      scheduler.submit(other.ref, 5.seconds, effectBlocking(latch.await()))
+    val pending =
+      scheduler.submit(requester.ref, 5.seconds, effectBlocking(42))
+
+    scheduler.cancel(requester.ref)
+    latch.countDown()
+
+    Await.result(running, 5.seconds) shouldEqual Right(())
+    an[CancellationException] should be thrownBy Await.result(
+      pending,
+      5.seconds
+    )
+    scheduler.stats.cancelled shouldEqual 1
+  }
+
+  private def newScheduler(maxRunning: Int): FileOperationScheduler =
+    new FileOperationScheduler(maxRunning, ZioExec(zio.Runtime.default))
+}
@@ -1,8 +1,10 @@
 package org.enso.languageserver.filemanager
 
+import java.nio.ByteBuffer
 import java.nio.file.{Files, Path, Paths}
 import java.nio.file.attribute.BasicFileAttributes
 
+import org.bouncycastle.jcajce.provider.digest.SHA3
 import org.enso.languageserver.effect.Effects
 import org.scalatest.flatspec.AnyFlatSpec
 import org.scalatest.matchers.should.Matchers
@@ -66,6 +68,100 @@ class FileSystemSpec extends AnyFlatSpec with Matchers with Effects {
     savedContent.toList shouldBe newContent.toList
   }
 
+  it should "read binary contents into a sink" in new TestCtx {
+    //given
+    val path    = Paths.get(testDirPath.toString, "foo.bin")
+    val content = Array.tabulate[Byte](3 * 1024 * 1024)(_.toByte)
+    objectUnderTest.writeBinary(path.toFile, content).unsafeRunSync()
+    val sink = new BinaryContentsSink[Array[Byte]] {
+      val buffer = ByteBuffer.allocate(content.length + 2)
+      override def allocate(size: Int): ByteBuffer = {
+        buffer.position(1)
+        val slice = buffer.slice()
+        slice.limit(size)
+        slice
+      }
+      override def complete(): Array[Byte] = buffer.array()
+    }
+    //when
+    val Right(savedContent) =
+      objectUnderTest.readBinaryTo(path.toFile, sink).unsafeRunSync()
+    //then
+    savedContent.toList shouldBe (0.toByte +: content :+ 0.toByte).toList
+  }
+
+  it should "write bytes at an offset" in new TestCtx {
+    //given
+    val path = Paths.get(testDirPath.toString, "foo.bin")
+    objectUnderTest
+      .writeBinary(path.toFile, Array[Byte](1, 2, 3))
+      .unsafeRunSync()
+    val bytes = Array[Byte](4, 5)
+    //when
+    val Right(checksum) =
+      objectUnderTest
+        .writeBytes(path.toFile, 3L, overwriteExisting = false, bytes)
+        .unsafeRunSync()
+    val Right(savedContent) =
+      objectUnderTest.readBinary(path.toFile).unsafeRunSync()
+    //then
+    checksum.toList shouldBe sha3(bytes).toList
+    savedContent.toList shouldBe List[Byte](1, 2, 3, 4, 5)
+  }
+
+  it should "not overwrite existing bytes unless requested" in new TestCtx {
+    //given
+    val path = Paths.get(testDirPath.toString, "foo.bin")
+    objectUnderTest
+      .writeBinary(path.toFile, Array[Byte](1, 2, 3))
+      .unsafeRunSync()
+    //when
+    val result =
+      objectUnderTest
+        .writeBytes(path.toFile, 1L, overwriteExisting = false, Array[Byte](7))
+        .unsafeRunSync()
+    objectUnderTest
+      .writeBytes(path.toFile, 2L, overwriteExisting = true, Array[Byte](7, 8))
+      .unsafeRunSync()
+    val Right(savedContent) =
+      objectUnderTest.readBinary(path.toFile).unsafeRunSync()
+    //then
+    result shouldBe Left(FileExists)
+    savedContent.toList shouldBe List[Byte](1, 2, 7, 8)
+  }
+
+  it should "read a segment of a file" in new TestCtx {
+    //given
+    val path = Paths.get(testDirPath.toString, "foo.bin")
+    objectUnderTest
+      .writeBinary(path.toFile, Array[Byte](1, 2, 3, 4, 5))
+      .unsafeRunSync()
+    //when
+    val Right(segment) =
+      objectUnderTest.readBytes(path.toFile, 1L, 3L).unsafeRunSync()
+    val Right(truncated) =
+      objectUnderTest.readBytes(path.toFile, 3L, 10L).unsafeRunSync()
+    val Right(beyondEnd) =
+      objectUnderTest.readBytes(path.toFile, 10L, 10L).unsafeRunSync()
+    //then
+    segment.bytes.toList shouldBe List[Byte](2, 3, 4)
+    segment.checksum.toList shouldBe sha3(Array[Byte](2, 3, 4)).toList
+    truncated.bytes.toList shouldBe List[Byte](4, 5)
+    beyondEnd.bytes shouldBe empty
+  }
+
+  it should "compute a checksum of a segment of a file" in new TestCtx {
+    //given
+    val path     = Paths.get(testDirPath.toString, "foo.bin")
+    val contents = Array.tabulate[Byte](200000)(_.toByte)
+    objectUnderTest.writeBinary(path.toFile, contents).unsafeRunSync()
+    //when
+    val Right(checksum) =
+      objectUnderTest.checksumBytes(path.toFile, 1000L, 150000L).unsafeRunSync()
+    //then
+    checksum.toList shouldBe sha3(contents.slice(1000, 151000)).toList
+  }
+
   it should "create the parent directory if it doesn't exist" in new TestCtx {
     //given
     val path    = Paths.get(testDirPath.toString, "foo.txt")
@@ -651,6 +747,9 @@ class FileSystemSpec extends AnyFlatSpec with Matchers with Effects {
     Files.createFile(path)
   }
 
+  def sha3(bytes: Array[Byte]): Array[Byte] =
+    new SHA3.Digest224().digest(bytes)
+
   trait TestCtx {
 
     val testDirPath = Files.createTempDirectory(null)
@@ -0,0 +1,92 @@
+package org.enso.languageserver.filemanager
+
+import java.nio.file.Paths
+
+import org.enso.languageserver.filemanager.FileSystemApi.FileEntry
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should.Matchers
+
+class MetadataCacheSpec extends AnyFlatSpec with Matchers {
+
+  import MetadataCache._
+
+  val root    = MetadataCache.normalize(Paths.get("root"))
+  val dir     = root.resolve("dir")
+  val file    = dir.resolve("file.txt")
+  val listing = Vector(FileEntry(file))
+
+  "A metadata cache" should "serve the cached values" in {
+    val cache = newCache(10)
+
+    val Left(generation) = cache.lookup(ListKey(dir))
+    cache.put(ListKey(dir), listing, generation)
+
+    cache.lookup(ListKey(dir)) shouldEqual Right(listing)
+    cache.stats.hits shouldEqual 1
+    cache.stats.misses shouldEqual 1
+    cache.stats.hitRate shouldEqual 0.5
+  }
+
+  it should "not serve the values when disabled" in {
+    val cache = newCache(10)
+    cache.put(ExistsKey(file), true, 0L)
+
+    cache.disable()
+
+    cache.lookup(ExistsKey(file)).isLeft shouldBe true
+    cache.stats.size shouldEqual 0
+  }
+
+  it should "invalidate the entries affected by a change" in {
+    val cache = newCache(10)
+    cache.put(ExistsKey(file), true, 0L)
+    cache.put(ListKey(dir), listing, 0L)
+    cache.put(ExistsKey(root.resolve("other")), true, 0L)
+
+    cache.invalidate(file)
+
+    cache.lookup(ExistsKey(file)).isLeft shouldBe true
+    cache.lookup(ListKey(dir)).isLeft shouldBe true
+    cache.lookup(ExistsKey(root.resolve("other"))) shouldEqual Right(true)
+    cache.stats.invalidations shouldEqual 2
+  }
+
+  it should "invalidate the trees containing the changed path" in {
+    val cache = newCache(10)
+    val tree  = FileSystemApi.DirectoryEntry.empty(root)
+    cache.put(TreeKey(root, None), tree, 0L)
+
+    cache.invalidate(file)
+
+    cache.lookup(TreeKey(root, None)).isLeft shouldBe true
+  }
+
+  it should "not cache values loaded before an invalidation" in {
+    val cache            = newCache(10)
+    val Left(generation) = cache.lookup(ExistsKey(file))
+
+    cache.invalidate(file)
+    cache.put(ExistsKey(file), true, generation)
+
+    cache.lookup(ExistsKey(file)).isLeft shouldBe true
+  }
+
+  it should "evict the least recently used entries" in {
+    val cache = newCache(2)
+    cache.put(ExistsKey(root.resolve("a")), true, 0L)
+    cache.put(ExistsKey(root.resolve("b")), true, 0L)
+    cache.lookup(ExistsKey(root.resolve("a")))
+
+    cache.put(ExistsKey(root.resolve("c")), true, 0L)
+
+    cache.lookup(ExistsKey(root.resolve("a"))) shouldEqual Right(true)
+    cache.lookup(ExistsKey(root.resolve("b"))).isLeft shouldBe true
+    cache.stats.evictions shouldEqual 1
+  }
+
+  private def newCache(maxEntries: Int): MetadataCache = {
+    val cache = new MetadataCache(maxEntries)
+    cache.enable()
+    cache
+  }
+}
@@ -0,0 +1,86 @@
+package org.enso.languageserver.io
+
+import java.io.ByteArrayOutputStream
+
+import org.enso.languageserver.io.ObservableOutputStream.OutputObserver
+import org.scalatest.concurrent.Eventually
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should.Matchers
+
+import scala.concurrent.duration._
+
+class BufferedObservableOutputStreamSpec
+    extends AnyFlatSpec
+    with Matchers
+    with Eventually {
+
+  class Collector extends OutputObserver {
+    private val collected = new ByteArrayOutputStream
+    var notifications     = 0
+
+    override def update(output: Array[Byte]): Unit =
+      synchronized {
+        collected.write(output)
+        notifications += 1
+      }
+
+    def output: String = synchronized(collected.toString("UTF-8"))
+  }
+
+  "A buffered output stream" should "batch the written output" in {
+    val stream    = new BufferedObservableOutputStream(1024, 1024, 1.hour)
+    val collector = new Collector
+    stream.attach(collector)
+
+    "hello".foreach(char => stream.write(char.toInt))
+    stream.write(" world".getBytes)
+    stream.flush()
+
+    collector.output shouldEqual "hello world"
+    collector.notifications shouldEqual 1
+    stream.close()
+  }
+
+  it should "deliver the output after the flush interval" in {
+    val stream    = new BufferedObservableOutputStream(1024, 1024, 10.millis)
+    val collector = new Collector
+    stream.attach(collector)
+
+    stream.write("test".getBytes)
+
+    eventually {
+      collector.output shouldEqual "test"
+    }
+    stream.close()
+  }
+
+  it should "accept output larger than the buffer" in {
+    val stream    = new BufferedObservableOutputStream(16, 8, 10.millis)
+    val collector = new Collector
+    stream.attach(collector)
+    val output = (1 to 100).mkString(",")
+
+    stream.write(output.getBytes)
+    stream.flush()
+
+    collector.output shouldEqual output
+    stream.close()
+  }
+
+  it should "not lose the output of concurrent writers" in {
+    val stream    = new BufferedObservableOutputStream(64, 32, 1.millis)
+    val collector = new Collector
+    stream.attach(collector)
+
+    val writers = (1 to 4).map { _ =>
+      new Thread(() => (1 to 1000).foreach(_ => stream.write("ab".getBytes)))
+    }
+    writers.foreach(_.start())
+    writers.foreach(_.join())
+    stream.flush()
+
+    collector.output.length shouldEqual 8000
+    collector.output.grouped(2).forall(_ == "ab") shouldBe true
+    stream.close()
+  }
+}
@@ -6,17 +6,26 @@ import java.util.UUID
 
 import com.google.flatbuffers.FlatBufferBuilder
 import org.apache.commons.io.FileUtils
+import org.bouncycastle.jcajce.provider.digest.SHA3
 import org.enso.jsonrpc.test.FlakySpec
 import org.enso.languageserver.protocol.binary.{
+  ChecksumBytesReply,
+  Error => ErrorReply,
   InboundPayload,
   OutboundMessage,
-  OutboundPayload
+  OutboundPayload,
+  ReadBytesReply,
+  WriteBytesReply
 }
 import org.enso.languageserver.protocol.binary.FileContentsReply
 import org.enso.languageserver.websocket.binary.factory.{
+  ChecksumBytesCommandFactory,
+  FileSegmentFactory,
   InboundMessageFactory,
   PathFactory,
+  ReadBytesCommandFactory,
   ReadFileCommandFactory,
+  WriteBytesCommandFactory,
   WriteFileCommandFactory
 }
 
@@ -93,6 +102,224 @@ class BinaryFileManipulationTest extends BaseBinaryServerTest with FlakySpec {
 
   }
 
+  "A WriteBytesCommand" must {
+
+    "write bytes at an offset" in {
+      //given
+      val requestId = UUID.randomUUID()
+      val filename  = "baz.bin"
+      val bazFile   = new File(testContentRoot.toFile, filename)
+      val bytes     = Array[Byte](68, 69) //DE
+      FileUtils.writeByteArrayToFile(bazFile, Array[Byte](65, 66, 67))
+      val client = newWsClient()
+      client.send(createSessionInitCmd())
+      client.expectFrame()
+      val writeBytesCommand = createWriteBytesCmdPacket(
+        requestId,
+        filename,
+        testContentRootId,
+        3L,
+        bytes
+      )
+      //when
+      client.send(writeBytesCommand)
+      val Right(msg) = client.receiveMessage[OutboundMessage]()
+      //then
+      msg.payloadType() shouldBe OutboundPayload.WRITE_BYTES_REPLY
+      msg
+        .correlationId()
+        .leastSigBits() shouldBe requestId.getLeastSignificantBits
+      val reply =
+        msg.payload(new WriteBytesReply).asInstanceOf[WriteBytesReply]
+      reply
+        .checksum()
+        .bytesAsByteBuffer()
+        .compareTo(ByteBuffer.wrap(sha3(bytes))) shouldBe 0
+      Source.fromFile(bazFile).mkString shouldBe "ABCDE"
+    }
+
+  }
+
+  "A ReadBytesCommand" must {
+
+    "read a segment of a file" in {
+      //given
+      val requestId = UUID.randomUUID()
+      val filename  = "qux.bin"
+      val quxFile   = new File(testContentRoot.toFile, filename)
+      FileUtils.writeByteArrayToFile(quxFile, Array[Byte](65, 66, 67, 68))
+      val client = newWsClient()
+      client.send(createSessionInitCmd())
+      client.expectFrame()
+      val readBytesCommand = createReadBytesCmdPacket(
+        requestId,
+        filename,
+        testContentRootId,
+        1L,
+        2L
+      )
+      //when
+      client.send(readBytesCommand)
+      val Right(msg) = client.receiveMessage[OutboundMessage]()
+      //then
+      msg.payloadType() shouldBe OutboundPayload.READ_BYTES_REPLY
+      msg
+        .correlationId()
+        .leastSigBits() shouldBe requestId.getLeastSignificantBits
+      val reply =
+        msg.payload(new ReadBytesReply).asInstanceOf[ReadBytesReply]
+      val expected = Array[Byte](66, 67) //BC
+      reply
+        .bytesAsByteBuffer()
+        .compareTo(ByteBuffer.wrap(expected)) shouldBe 0
+      reply
+        .checksum()
+        .bytesAsByteBuffer()
+        .compareTo(ByteBuffer.wrap(sha3(expected))) shouldBe 0
+    }
+
+    "reject a segment larger than the maximum segment size" in {
+      //given
+      val requestId = UUID.randomUUID()
+      val filename  = "corge.bin"
+      val corgeFile = new File(testContentRoot.toFile, filename)
+      FileUtils.writeByteArrayToFile(corgeFile, Array[Byte](65, 66, 67, 68))
+      val client = newWsClient()
+      client.send(createSessionInitCmd())
+      client.expectFrame()
+      val readBytesCommand = createReadBytesCmdPacket(
+        requestId,
+        filename,
+        testContentRootId,
+        0L,
+        config.fileManager.maxSegmentSize + 1
+      )
+      //when
+      client.send(readBytesCommand)
+      val Right(msg) = client.receiveMessage[OutboundMessage]()
+      //then
+      msg.payloadType() shouldBe OutboundPayload.ERROR
+      msg
+        .correlationId()
+        .leastSigBits() shouldBe requestId.getLeastSignificantBits
+      val error = msg.payload(new ErrorReply).asInstanceOf[ErrorReply]
+      error.code() shouldBe 1007
+    }
+
+  }
+
+  "A ChecksumBytesCommand" must {
+
+    "compute a checksum of a segment of a file" in {
+      //given
+      val requestId = UUID.randomUUID()
+      val filename  = "quux.bin"
+      val quuxFile  = new File(testContentRoot.toFile, filename)
+      FileUtils.writeByteArrayToFile(quuxFile, Array[Byte](65, 66, 67, 68))
+      val client = newWsClient()
+      client.send(createSessionInitCmd())
+      client.expectFrame()
+      val checksumBytesCommand = createChecksumBytesCmdPacket(
+        requestId,
+        filename,
+        testContentRootId,
+        0L,
+        3L
+      )
+      //when
+      client.send(checksumBytesCommand)
+      val Right(msg) = client.receiveMessage[OutboundMessage]()
+      //then
+      msg.payloadType() shouldBe OutboundPayload.CHECKSUM_BYTES_REPLY
+      val reply =
+        msg.payload(new ChecksumBytesReply).asInstanceOf[ChecksumBytesReply]
+      reply
+        .checksum()
+        .bytesAsByteBuffer()
+        .compareTo(ByteBuffer.wrap(sha3(Array[Byte](65, 66, 67)))) shouldBe 0
+    }
+
+  }
+
+  def sha3(bytes: Array[Byte]): Array[Byte] =
+    new SHA3.Digest224().digest(bytes)
+
+  def createWriteBytesCmdPacket(
+    requestId: UUID,
+    pathSegment: String,
+    rootId: UUID,
+    byteOffset: Long,
+    bytes: Array[Byte]
+  ): ByteBuffer = {
+    implicit val builder = new FlatBufferBuilder(1024)
+
+    val path = PathFactory.create(rootId, Seq(pathSegment))
+
+    val cmd = WriteBytesCommandFactory.create(
+      path,
+      byteOffset,
+      overwriteExisting = false,
+      bytes
+    )
+
+    val inMsg = InboundMessageFactory.create(
+      requestId,
+      None,
+      InboundPayload.WRITE_BYTES_CMD,
+      cmd
+    )
+    builder.finish(inMsg)
+    builder.dataBuffer()
+  }
+
+  def createReadBytesCmdPacket(
+    requestId: UUID,
+    pathSegment: String,
+    rootId: UUID,
+    byteOffset: Long,
+    length: Long
+  ): ByteBuffer = {
+    implicit val builder = new FlatBufferBuilder(1024)
+
+    val path    = PathFactory.create(rootId, Seq(pathSegment))
+    val segment = FileSegmentFactory.create(path, byteOffset, length)
+
+    val cmd = ReadBytesCommandFactory.create(segment)
+
+    val inMsg = InboundMessageFactory.create(
+      requestId,
+      None,
+      InboundPayload.READ_BYTES_CMD,
+      cmd
+    )
+    builder.finish(inMsg)
+    builder.dataBuffer()
+  }
+
+  def createChecksumBytesCmdPacket(
+    requestId: UUID,
+    pathSegment: String,
+    rootId: UUID,
+    byteOffset: Long,
+    length: Long
+  ): ByteBuffer = {
+    implicit val builder = new FlatBufferBuilder(1024)
+
+    val path    = PathFactory.create(rootId, Seq(pathSegment))
+    val segment = FileSegmentFactory.create(path, byteOffset, length)
+
+    val cmd = ChecksumBytesCommandFactory.create(segment)
+
+    val inMsg = InboundMessageFactory.create(
+      requestId,
+      None,
+      InboundPayload.CHECKSUM_BYTES_CMD,
+      cmd
+    )
+    builder.finish(inMsg)
+    builder.dataBuffer()
+  }
+
   def createWriteFileCmdPacket(
     requestId: UUID,
     pathSegment: String,
@@ -0,0 +1,15 @@
+package org.enso.languageserver.websocket.binary.factory
+
+import com.google.flatbuffers.FlatBufferBuilder
+import org.enso.languageserver.protocol.binary.FileSegment
+
+object FileSegmentFactory {
+
+  def create(
+    path: Int,
+    byteOffset: Long,
+    length: Long
+  )(implicit builder: FlatBufferBuilder): Int =
+    FileSegment.createFileSegment(builder, path, byteOffset, length)
+
+}
@@ -0,0 +1,11 @@
+package org.enso.languageserver.websocket.binary.factory
+
+import com.google.flatbuffers.FlatBufferBuilder
+import org.enso.languageserver.protocol.binary.ReadBytesCommand
+
+object ReadBytesCommandFactory {
+
+  def create(segment: Int)(implicit builder: FlatBufferBuilder): Int =
+    ReadBytesCommand.createReadBytesCommand(builder, segment)
+
+}
@@ -0,0 +1,24 @@
+package org.enso.languageserver.websocket.binary.factory
+
+import com.google.flatbuffers.FlatBufferBuilder
+import org.enso.languageserver.protocol.binary.WriteBytesCommand
+
+object WriteBytesCommandFactory {
+
+  def create(
+    path: Int,
+    byteOffset: Long,
+    overwriteExisting: Boolean,
+    bytes: Array[Byte]
+  )(implicit builder: FlatBufferBuilder): Int = {
+    val bytesOffset = builder.createByteVector(bytes)
+    WriteBytesCommand.createWriteBytesCommand(
+      builder,
+      path,
+      byteOffset,
+      overwriteExisting,
+      bytesOffset
+    )
+  }
+
+}
@@ -1527,6 +1527,57 @@ class FileManagerTest extends BaseServerTest {
           """)
     }
 
+    "list a page of a directory" in {
+      val client = getInitialisedWsClient()
+      // create:
+      //
+      //  paged
+      //  ├── a.txt
+      //  ├── b.txt
+      //  └── c.txt
+      val paged = Paths.get(testContentRoot.toString, "paged")
+      Files.createDirectories(paged)
+      Seq("a.txt", "b.txt", "c.txt").foreach { name =>
+        Files.createFile(paged.resolve(name))
+      }
+
+      // list the second page of size 1
+      client.send(json"""
+          { "jsonrpc": "2.0",
+            "method": "file/list",
+            "id": 49,
+            "params": {
+              "path": {
+                "rootId": $testContentRootId,
+                "segments": [ "paged" ]
+              },
+              "offset": 1,
+              "limit": 1
+            }
+          }
+      """)
+      // expect: b.txt
+      client.expectJson(json"""
+          { "jsonrpc": "2.0",
+            "id": 49,
+            "result" : {
+              "paths" : [
+                {
+                  "type" : "File",
+                  "name" : "b.txt",
+                  "path" : {
+                    "rootId" : $testContentRootId,
+                    "segments" : [
+                      "paged"
+                    ]
+                  }
+                }
+              ]
+            }
+          }
+          """)
+    }
+
     "get file info" in {
       val client = getInitialisedWsClient()
       // create a file
@@ -257,6 +257,148 @@ class FileNotificationsTest extends BaseServerTest {
         Api.Request(Api.CloseFileNotification(file("foo.txt")))
       )
     }
+
+    "coalesce the edit notifications sent to runtime" in {
+      // Interaction:
+      // 1. Client creates a file.
+      // 2. Client opens the file.
+      // 3. Runtime receives open notification.
+      // 4. Client edits the file twice.
+      // 5. Runtime receives a single edit notification.
+      val client = getInitialisedWsClient()
+
+      // 1
+      client.send(json"""
+          { "jsonrpc": "2.0",
+            "method": "file/write",
+            "id": 0,
+            "params": {
+              "path": {
+                "rootId": $testContentRootId,
+                "segments": [ "foo.txt" ]
+              },
+              "contents": "123456789"
+            }
+          }
+          """)
+      client.expectJson(json"""
+          { "jsonrpc": "2.0",
+            "id": 0,
+            "result": null
+          }
+          """)
+
+      // 2
+      client.send(json"""
+          { "jsonrpc": "2.0",
+            "method": "text/openFile",
+            "id": 1,
+            "params": {
+              "path": {
+                "rootId": $testContentRootId,
+                "segments": [ "foo.txt" ]
+              }
+            }
+          }
+          """)
+      client.expectJson(json"""
+          { "jsonrpc": "2.0",
+            "id": 1,
+            "result": {
+              "writeCapability": {
+                "method": "text/canEdit",
+                "registerOptions": { "path": {
+                  "rootId": $testContentRootId,
+                  "segments": ["foo.txt"]
+                } }
+              },
+              "content": "123456789",
+              "currentVersion": "5795c3d628fd638c9835a4c79a55809f265068c88729a1a3fcdf8522"
+            }
+          }
+          """)
+      // 3
+      runtimeConnectorProbe.expectMsg(
+        Api.Request(Api.OpenFileNotification(file("foo.txt"), "123456789"))
+      )
+
+      // 4
+      client.send(json"""
+          { "jsonrpc": "2.0",
+            "method": "text/applyEdit",
+            "id": 2,
+            "params": {
+              "edit": {
+                "path": {
+                  "rootId": $testContentRootId,
+                  "segments": [ "foo.txt" ]
+                },
+                "oldVersion": "5795c3d628fd638c9835a4c79a55809f265068c88729a1a3fcdf8522",
+                "newVersion": "7602967cab172183d1a67ea40cb8e92e23218764bc9934c3795fcea5",
+                "edits": [
+                  {
+                    "range": {
+                      "start": { "line": 0, "character": 0 },
+                      "end": { "line": 0, "character": 0 }
+                    },
+                    "text": "bar"
+                  }
+                ]
+              }
+            }
+          }
+          """)
+      client.send(json"""
+          { "jsonrpc": "2.0",
+            "method": "text/applyEdit",
+            "id": 3,
+            "params": {
+              "edit": {
+                "path": {
+                  "rootId": $testContentRootId,
+                  "segments": [ "foo.txt" ]
+                },
+                "oldVersion": "7602967cab172183d1a67ea40cb8e92e23218764bc9934c3795fcea5",
+                "newVersion": "a25e3598d1f41a403100b2baad654efbcaf4d554d59251a1418939a0",
+                "edits": [
+                  {
+                    "range": {
+                      "start": { "line": 0, "character": 0 },
+                      "end": { "line": 0, "character": 0 }
+                    },
+                    "text": "baz"
+                  }
+                ]
+              }
+            }
+          }
+          """)
+      client.expectJson(json"""
+          { "jsonrpc": "2.0",
+            "id": 2,
+            "result": null
+          }
+          """)
+      client.expectJson(json"""
+          { "jsonrpc": "2.0",
+            "id": 3,
+            "result": null
+          }
+          """)
+      // 5
+      runtimeConnectorProbe.expectMsg(
+        Api.Request(
+          Api.EditFileNotification(
+            file("foo.txt"),
+            Seq(
+              TextEdit(Range(Position(0, 0), Position(0, 0)), "bar"),
+              TextEdit(Range(Position(0, 0), Position(0, 0)), "baz")
+            )
+          )
+        )
+      )
+      runtimeConnectorProbe.expectNoMessage()
+    }
   }
 
 }
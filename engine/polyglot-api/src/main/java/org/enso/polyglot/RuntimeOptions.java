@@ -24,6 +24,21 @@ public class RuntimeOptions {
   private static final OptionDescriptor DISABLE_INLINE_CACHES_DESCRIPTOR =
       OptionDescriptor.newBuilder(DISABLE_INLINE_CACHES_KEY, DISABLE_INLINE_CACHES).build();
 
+  public static final String LAZY_CODEGEN = optionName("lazyCodegen");
+  public static final OptionKey<Boolean> LAZY_CODEGEN_KEY = new OptionKey<>(false);
+  private static final OptionDescriptor LAZY_CODEGEN_DESCRIPTOR =
+      OptionDescriptor.newBuilder(LAZY_CODEGEN_KEY, LAZY_CODEGEN).build();
+
+  public static final String DUMP_IR_PATH = optionName("dumpIrPath");
+  public static final OptionKey<String> DUMP_IR_PATH_KEY = new OptionKey<>("");
+  private static final OptionDescriptor DUMP_IR_PATH_DESCRIPTOR =
+      OptionDescriptor.newBuilder(DUMP_IR_PATH_KEY, DUMP_IR_PATH).build();
+
+  public static final String DUMP_IR_PASSES = optionName("dumpIrPasses");
+  public static final OptionKey<String> DUMP_IR_PASSES_KEY = new OptionKey<>("");
+  private static final OptionDescriptor DUMP_IR_PASSES_DESCRIPTOR =
+      OptionDescriptor.newBuilder(DUMP_IR_PASSES_KEY, DUMP_IR_PASSES).build();
+
   public static final String LOG_LEVEL = "log.level";
   public static final OptionKey<String> LOG_LEVEL_KEY = new OptionKey<>(Level.INFO.toString());
   private static final OptionDescriptor LOG_LEVEL_DESCRIPTOR =
@@ -35,7 +50,10 @@ public class RuntimeOptions {
               PACKAGES_PATH_DESCRIPTOR,
               STRICT_ERRORS_DESCRIPTOR,
               LOG_LEVEL_DESCRIPTOR,
-              DISABLE_INLINE_CACHES_DESCRIPTOR));
+              DISABLE_INLINE_CACHES_DESCRIPTOR,
+              LAZY_CODEGEN_DESCRIPTOR,
+              DUMP_IR_PATH_DESCRIPTOR,
+              DUMP_IR_PASSES_DESCRIPTOR));
 
   /**
    * Canonicalizes the option name by prefixing it with the language name.
@@ -139,6 +139,44 @@ class ModuleManagementTest extends AnyFlatSpec with Matchers {
     mainFun.execute(assocCons).asLong shouldEqual 21L
   }
 
+  subject should "recompile the modules importing a changed module" in {
+    val ctx = new TestContext("Test")
+
+    ctx.writeMain("""
+                    |import Test.Foo
+                    |
+                    |main = case Foo.make of
+                    |    Bar x -> x
+                    |    _ -> 0
+                    |""".stripMargin)
+
+    Files.write(
+      new File(ctx.pkg.sourceDir, "Foo.enso").toPath,
+      """
+        |type Bar x
+        |
+        |make = Bar 1
+        |""".stripMargin.getBytes
+    )
+
+    val topScope   = ctx.executionContext.getTopScope
+    val mainModule = topScope.getModule("Test.Main")
+    val assocCons  = mainModule.getAssociatedConstructor
+    val mainFun1   = mainModule.getMethod(assocCons, "main")
+    mainFun1.execute(assocCons).asLong shouldEqual 1L
+
+    val fooModule = topScope.getModule("Test.Foo")
+    fooModule.setSource("""
+                          |type Bar y
+                          |
+                          |make = Bar 2
+                          |""".stripMargin)
+    fooModule.reparse()
+
+    val mainFun2 = mainModule.getMethod(assocCons, "main")
+    mainFun2.execute(assocCons).asLong shouldEqual 2L
+  }
+
   subject should "allow for module deletions" in {
     val ctx = new TestContext("Test")
 
@@ -0,0 +1,44 @@
+package org.enso.compiler.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.enso.compiler.bench.fixtures.CompilerFixtures;
+import org.openjdk.jmh.annotations.*;
+
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class CompilerPassesBenchmarks {
+
+  private CompilerFixtures fixtures;
+
+  @Param({"100", "1000"})
+  public int methodCount;
+
+  @Setup
+  public void setup() {
+    fixtures = new CompilerFixtures(methodCount);
+  }
+
+  @Setup(Level.Invocation)
+  public void prepare() {
+    fixtures.prepare();
+  }
+
+  @Benchmark
+  public Object benchCompileModule() {
+    return fixtures.compile();
+  }
+
+  @Benchmark
+  public Object benchLocalRewritesSeparately() {
+    return fixtures.runLocalRewritesSeparately();
+  }
+
+  @Benchmark
+  public Object benchLocalRewritesFused() {
+    return fixtures.runLocalRewritesFused();
+  }
+}
@@ -0,0 +1,39 @@
+package org.enso.compiler.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.enso.compiler.bench.fixtures.DataflowFixtures;
+import org.openjdk.jmh.annotations.*;
+
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class DataflowAnalysisBenchmarks {
+
+  private DataflowFixtures fixtures;
+
+  @Param({"1000", "100000"})
+  public int chainLength;
+
+  @Setup
+  public void setup() {
+    fixtures = new DataflowFixtures(chainLength);
+  }
+
+  @Setup(Level.Invocation)
+  public void prepare() {
+    fixtures.prepare();
+  }
+
+  @Benchmark
+  public Object benchInvalidateChainHead() {
+    return fixtures.invalidate(0);
+  }
+
+  @Benchmark
+  public Object benchInvalidateChainMiddle() {
+    return fixtures.invalidate(chainLength / 2);
+  }
+}
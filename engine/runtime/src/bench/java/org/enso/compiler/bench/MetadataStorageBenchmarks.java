@@ -0,0 +1,34 @@
+package org.enso.compiler.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.enso.compiler.bench.fixtures.MetadataStorageFixtures;
+import org.openjdk.jmh.annotations.*;
+
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class MetadataStorageBenchmarks {
+
+  private MetadataStorageFixtures fixtures;
+
+  @Param({"1000"})
+  public int nodeCount;
+
+  @Setup
+  public void setup() {
+    fixtures = new MetadataStorageFixtures(nodeCount);
+  }
+
+  @Benchmark
+  public Object benchArrayStorage() {
+    return fixtures.runArrayStorage();
+  }
+
+  @Benchmark
+  public Object benchMapStorage() {
+    return fixtures.runMapStorage();
+  }
+}
@@ -28,6 +28,16 @@ public class RecursionBenchmarks {
     runOnHundredMillion(recursionFixtures.sumTCO());
   }
 
+  @Benchmark
+  public void benchSumTCOWithIfZero() {
+    runOnHundredMillion(recursionFixtures.sumTCOWithIfZero());
+  }
+
+  @Benchmark
+  public void benchSumTCOWithLazyCombinator() {
+    runOnHundredMillion(recursionFixtures.sumTCOWithLazyCombinator());
+  }
+
   @Benchmark
   public void benchSumTCOWithEval() {
     runOnHundredMillion(recursionFixtures.sumTCOWithEval());
@@ -0,0 +1,69 @@
+package org.enso.compiler.bench.fixtures
+
+import org.enso.compiler.Passes
+import org.enso.compiler.codegen.AstToIr
+import org.enso.compiler.context.{FreshNameSupply, ModuleContext}
+import org.enso.compiler.core.IR
+import org.enso.compiler.pass.lint.ShadowedPatternFields
+import org.enso.compiler.pass.optimise.UnreachableMatchBranches
+import org.enso.compiler.pass.{IRPass, PassConfiguration, PassManager}
+import org.enso.syntax.text.Parser
+
+class CompilerFixtures(methodCount: Int) {
+
+  val source: String =
+    (1 to methodCount)
+      .map(i => s"""
+        |method_$i x y =
+        |    a = case x of
+        |        Cons h h -> h + y
+        |        Nil -> (+ y) <| (f _ $i)
+        |        _ -> y
+        |        Cons _ _ -> 0
+        |    a * $i
+        |""".stripMargin)
+      .mkString
+
+  val passes = new Passes
+
+  val localRewrites: List[IRPass.LocalRewrite] =
+    List(ShadowedPatternFields, UnreachableMatchBranches)
+
+  val module: IR.Module = {
+    val parser = Parser()
+    AstToIr.translate(parser.dropMacroMeta(parser.runWithIds(source)))
+  }
+
+  val preparedModule: IR.Module = {
+    val precursors = new PassManager(
+      passes.getPrecursors(ShadowedPatternFields).get,
+      PassConfiguration()
+    )
+    precursors.runPassesOnModule(module.duplicate(), newModuleContext)
+  }
+
+  private var moduleCopy: IR.Module         = module
+  private var preparedModuleCopy: IR.Module = preparedModule
+
+  /** Copies the inputs, as the passes annotate the IR nodes in place. */
+  def prepare(): Unit = {
+    moduleCopy         = module.duplicate()
+    preparedModuleCopy = preparedModule.duplicate()
+  }
+
+  def compile(): IR.Module =
+    passes.passManager.runPassesOnModule(moduleCopy, newModuleContext)
+
+  def runLocalRewritesSeparately(): IR.Module = {
+    val moduleContext = newModuleContext
+    localRewrites.foldLeft(preparedModuleCopy)((ir, pass) =>
+      pass.runModule(ir, moduleContext)
+    )
+  }
+
+  def runLocalRewritesFused(): IR.Module =
+    IRPass.LocalRewrite.runModule(preparedModuleCopy, localRewrites)
+
+  private def newModuleContext: ModuleContext =
+    ModuleContext(freshNameSupply = Some(new FreshNameSupply))
+}
@@ -0,0 +1,36 @@
+package org.enso.compiler.bench.fixtures
+
+import java.util.UUID
+
+import org.enso.compiler.core.IR
+import org.enso.compiler.pass.analyse.DataflowAnalysis.DependencyInfo
+
+class DataflowFixtures(chainLength: Int) {
+
+  val nodes: Vector[DependencyInfo.Type] =
+    Vector.fill(chainLength)(
+      DependencyInfo.Type.Static(UUID.randomUUID(), Some(UUID.randomUUID()))
+    )
+
+  val dependencyInfo: DependencyInfo = {
+    val info = new DependencyInfo
+    nodes.zip(nodes.tail).foreach {
+      case (node, next) => info(node) = Set(next)
+    }
+    nodes.zip(nodes.drop(2)).foreach {
+      case (node, next) => info.updateAt(node, Set(next))
+    }
+    info
+  }
+
+  /** Updates the graph, so that the next query recomputes the transitive
+    * dependents instead of reading the memoized ones.
+    *
+    * The update re-adds an existing edge, leaving the graph unchanged.
+    */
+  def prepare(): Unit =
+    dependencyInfo.updateAt(nodes.head, Set(nodes(1)))
+
+  def invalidate(index: Int): Option[Set[IR.ExternalId]] =
+    dependencyInfo.getExternal(nodes(index))
+}
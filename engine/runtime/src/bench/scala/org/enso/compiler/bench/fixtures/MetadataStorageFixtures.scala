@@ -0,0 +1,76 @@
+package org.enso.compiler.bench.fixtures
+
+import org.enso.compiler.Passes
+import org.enso.compiler.core.ir.MetadataStorage
+import org.enso.compiler.pass.IRPass
+
+class MetadataStorageFixtures(nodeCount: Int) {
+
+  val passes: List[IRPass] = new Passes().passOrdering
+
+  /** Mirrors the life of the metadata of an IR node during compilation: every
+    * pass annotates the node, the node is copied by the passes that rewrite it
+    * and duplicated once, and the metadata is read back.
+    */
+  def runArrayStorage(): Int = {
+    var found = 0
+    for (_ <- 0 until nodeCount) {
+      var storage = new MetadataStorage()
+      passes.foreach { pass =>
+        storage = storage.copy
+        storage.update(pass)(newMetadata(pass))
+      }
+      val duplicate = storage.duplicate
+      passes.foreach { pass =>
+        if (duplicate.get(pass).isDefined) found += 1
+      }
+    }
+    found
+  }
+
+  /** Runs the same workload as [[runArrayStorage]] on the map-based storage
+    * that [[MetadataStorage]] replaced.
+    */
+  def runMapStorage(): Int = {
+    var found = 0
+    for (_ <- 0 until nodeCount) {
+      var storage = new MapMetadataStorage
+      passes.foreach { pass =>
+        storage = storage.copy
+        storage.update(pass, IRPass.Metadata.Empty())
+      }
+      val duplicate = storage.duplicate
+      passes.foreach { pass =>
+        if (duplicate.get(pass).isDefined) found += 1
+      }
+    }
+    found
+  }
+
+  private def newMetadata(pass: IRPass): pass.Metadata =
+    IRPass.Metadata.Empty().asInstanceOf[pass.Metadata]
+
+  /** The map-based metadata storage, kept as the benchmark baseline. */
+  class MapMetadataStorage {
+    private var metadata: Map[IRPass, IRPass.Metadata] = Map()
+
+    def update(pass: IRPass, newMeta: IRPass.Metadata): Unit =
+      metadata = metadata + (pass -> newMeta)
+
+    def get(pass: IRPass): Option[IRPass.Metadata] = metadata.get(pass)
+
+    def copy: MapMetadataStorage = {
+      val res = new MapMetadataStorage
+      res.metadata = this.metadata
+      res
+    }
+
+    def duplicate: MapMetadataStorage = {
+      val res = new MapMetadataStorage
+      res.metadata = this.metadata.map {
+        case (pass, meta) => (pass, meta.duplicate)
+      }
+      res
+    }
+  }
+}
@@ -19,6 +19,29 @@ class RecursionFixtures extends DefaultInterpreterRunner {
     """.stripMargin
   val sumTCO = getMain(sumTCOCode)
 
+  val sumTCOWithIfZeroCode =
+    """
+      |main = sumTo ->
+      |    summator = acc -> current ->
+      |        ifZero current acc (summator acc+current current-1)
+      |
+      |    res = summator 0 sumTo
+      |    res
+      |""".stripMargin
+  val sumTCOWithIfZero = getMain(sumTCOWithIfZeroCode)
+
+  val sumTCOWithLazyCombinatorCode =
+    """
+      |main = sumTo ->
+      |    ifTest = c -> ~ifT -> ~ifF -> if c == 0 then ifT else ifF
+      |    summator = acc -> current ->
+      |        ifTest current acc (summator acc+current current-1)
+      |
+      |    res = summator 0 sumTo
+      |    res
+      |""".stripMargin
+  val sumTCOWithLazyCombinator = getMain(sumTCOWithLazyCombinatorCode)
+
   val sumTCOFoldLikeCode =
     """
       |main = sumTo ->
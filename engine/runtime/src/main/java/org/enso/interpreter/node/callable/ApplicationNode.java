@@ -94,11 +94,12 @@ public class ApplicationNode extends ExpressionNode {
    */
   @Override
   public Object executeGeneric(VirtualFrame frame) {
+    Object callableValue = this.callable.executeGeneric(frame);
+    Object[] arguments = evaluateArguments(frame);
+    // The strict arguments are evaluated here, so the state is read after they have updated it.
     Object state = FrameUtil.getObjectSafe(frame, getStateFrameSlot());
 
-    Stateful result =
-        this.invokeCallableNode.execute(
-            this.callable.executeGeneric(frame), frame, state, evaluateArguments(frame));
+    Stateful result = this.invokeCallableNode.execute(callableValue, frame, state, arguments);
     frame.setObject(getStateFrameSlot(), result.getState());
     return result.getValue();
   }
@@ -14,11 +14,11 @@ import org.enso.interpreter.node.callable.dispatch.IndirectInvokeFunctionNode;
 import org.enso.interpreter.node.callable.thunk.ThunkExecutorNode;
 import org.enso.interpreter.runtime.callable.UnresolvedSymbol;
 import org.enso.interpreter.runtime.callable.argument.CallArgumentInfo;
-import org.enso.interpreter.runtime.callable.argument.Thunk;
 import org.enso.interpreter.runtime.callable.atom.AtomConstructor;
 import org.enso.interpreter.runtime.callable.function.Function;
 import org.enso.interpreter.runtime.error.NotInvokableException;
 import org.enso.interpreter.runtime.state.Stateful;
+import org.enso.interpreter.runtime.type.TypesGen;
 
 import java.util.concurrent.locks.Lock;
 
@@ -116,8 +116,10 @@ public abstract class IndirectInvokeCallableNode extends Node {
     int thisArgumentPosition = thisArg == null ? 0 : thisArg;
     if (canApplyThis) {
       Object selfArgument = arguments[thisArgumentPosition];
-      if (argumentsExecutionMode.shouldExecute()) {
-        Stateful selfResult = thisExecutor.executeThunk((Thunk) selfArgument, state, false);
+      // Note [Strict This Argument]
+      if (argumentsExecutionMode.shouldExecute() && TypesGen.isThunk(selfArgument)) {
+        Stateful selfResult =
+            thisExecutor.executeThunk(TypesGen.asThunk(selfArgument), state, false);
         selfArgument = selfResult.getValue();
         state = selfResult.getState();
         arguments[thisArgumentPosition] = selfArgument;
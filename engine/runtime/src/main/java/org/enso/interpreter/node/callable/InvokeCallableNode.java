@@ -17,6 +17,7 @@ import org.enso.interpreter.runtime.callable.atom.AtomConstructor;
 import org.enso.interpreter.runtime.callable.function.Function;
 import org.enso.interpreter.runtime.error.NotInvokableException;
 import org.enso.interpreter.runtime.state.Stateful;
+import org.enso.interpreter.runtime.type.TypesGen;
 
 import java.util.UUID;
 import java.util.concurrent.locks.Lock;
@@ -172,7 +173,8 @@ public abstract class InvokeCallableNode extends BaseNode {
       UnresolvedSymbol symbol, VirtualFrame callerFrame, Object state, Object[] arguments) {
     if (canApplyThis) {
       Object selfArgument = arguments[thisArgumentPosition];
-      if (argumentsExecutionMode.shouldExecute()) {
+      // Note [Strict This Argument]
+      if (argumentsExecutionMode.shouldExecute() && TypesGen.isThunk(selfArgument)) {
         if (thisExecutor == null) {
           CompilerDirectives.transferToInterpreterAndInvalidate();
           Lock lock = getLock();
@@ -185,7 +187,8 @@ public abstract class InvokeCallableNode extends BaseNode {
             lock.unlock();
           }
         }
-        Stateful selfResult = thisExecutor.executeThunk((Thunk) selfArgument, state, false);
+        Stateful selfResult =
+            thisExecutor.executeThunk(TypesGen.asThunk(selfArgument), state, false);
         selfArgument = selfResult.getValue();
         state = selfResult.getState();
         arguments[thisArgumentPosition] = selfArgument;
@@ -197,6 +200,14 @@ public abstract class InvokeCallableNode extends BaseNode {
     }
   }
 
+  /* Note [Strict This Argument]
+   * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+   * The `this` argument of a method call is always forced to resolve the method, so the compiler
+   * evaluates it eagerly at the call site instead of allocating a thunk for it (see
+   * `StrictnessAnalysis`). It is only executed here when it is still passed as a thunk, e.g. when
+   * it refers to a suspended variable.
+   */
+
   /**
    * A fallback that should never be called.
    *
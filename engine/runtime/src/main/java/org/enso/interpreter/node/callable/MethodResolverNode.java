@@ -26,6 +26,9 @@ import org.enso.interpreter.runtime.error.RuntimeError;
  *
  * <p>The dispatch algorithm works by matching the kind of value the method is requested for and
  * delegating to the proper lookup method of {@link UnresolvedSymbol}.
+ *
+ * <p>The cached methods are guarded by the methods assumption of the scope the symbol is resolved
+ * in, so that they are resolved again when the module is recompiled.
  */
 @NodeInfo(shortName = "MethodResolver", description = "Resolves method calls to concrete targets")
 @GenerateUncached
@@ -51,7 +54,12 @@ public abstract class MethodResolverNode extends Node {
    */
   public abstract Function execute(UnresolvedSymbol symbol, Object self);
 
-  @Specialization(guards = "isValidAtomCache(symbol, cachedSymbol, atom, cachedConstructor)")
+  @Specialization(
+      guards = "isValidAtomCache(symbol, cachedSymbol, atom, cachedConstructor)",
+      assumptions = {
+        "cachedSymbol.getScope().getMethodsAssumption()",
+        "cachedConstructor.getDefinitionScope().getMethodsAssumption()"
+      })
   Function resolveAtom(
       UnresolvedSymbol symbol,
       Atom atom,
@@ -63,7 +71,12 @@ public abstract class MethodResolverNode extends Node {
     return function;
   }
 
-  @Specialization(guards = {"cachedSymbol == symbol", "atomConstructor == cachedConstructor"})
+  @Specialization(
+      guards = {"cachedSymbol == symbol", "atomConstructor == cachedConstructor"},
+      assumptions = {
+        "cachedSymbol.getScope().getMethodsAssumption()",
+        "cachedConstructor.getDefinitionScope().getMethodsAssumption()"
+      })
   Function resolveAtomConstructor(
       UnresolvedSymbol symbol,
       AtomConstructor atomConstructor,
@@ -74,7 +87,9 @@ public abstract class MethodResolverNode extends Node {
     return function;
   }
 
-  @Specialization(guards = "cachedSymbol == symbol")
+  @Specialization(
+      guards = "cachedSymbol == symbol",
+      assumptions = "cachedSymbol.getScope().getMethodsAssumption()")
   Function resolveNumber(
       UnresolvedSymbol symbol,
       long self,
@@ -84,7 +99,9 @@ public abstract class MethodResolverNode extends Node {
     return function;
   }
 
-  @Specialization(guards = {"cachedSymbol == symbol", "function != null"})
+  @Specialization(
+      guards = {"cachedSymbol == symbol", "function != null"},
+      assumptions = "cachedSymbol.getScope().getMethodsAssumption()")
   Function resolveBoolean(
       UnresolvedSymbol symbol,
       boolean self,
@@ -99,6 +116,7 @@ public abstract class MethodResolverNode extends Node {
 
   @Specialization(
       guards = {"cachedSymbol == symbol", "self"},
+      assumptions = "cachedSymbol.getScope().getMethodsAssumption()",
       replaces = "resolveBoolean")
   Function resolveTrue(
       UnresolvedSymbol symbol,
@@ -114,6 +132,7 @@ public abstract class MethodResolverNode extends Node {
 
   @Specialization(
       guards = {"cachedSymbol == symbol", "!self"},
+      assumptions = "cachedSymbol.getScope().getMethodsAssumption()",
       replaces = "resolveBoolean")
   Function resolveFalse(
       UnresolvedSymbol symbol,
@@ -127,7 +146,9 @@ public abstract class MethodResolverNode extends Node {
     return function;
   }
 
-  @Specialization(guards = "cachedSymbol == symbol")
+  @Specialization(
+      guards = "cachedSymbol == symbol",
+      assumptions = "cachedSymbol.getScope().getMethodsAssumption()")
   Function resolveString(
       UnresolvedSymbol symbol,
       String self,
@@ -137,7 +158,9 @@ public abstract class MethodResolverNode extends Node {
     return function;
   }
 
-  @Specialization(guards = "cachedSymbol == symbol")
+  @Specialization(
+      guards = "cachedSymbol == symbol",
+      assumptions = "cachedSymbol.getScope().getMethodsAssumption()")
   Function resolveFunction(
       UnresolvedSymbol symbol,
       Function self,
@@ -147,7 +170,9 @@ public abstract class MethodResolverNode extends Node {
     return function;
   }
 
-  @Specialization(guards = "cachedSymbol == symbol")
+  @Specialization(
+      guards = "cachedSymbol == symbol",
+      assumptions = "cachedSymbol.getScope().getMethodsAssumption()")
   Function resolveError(
       UnresolvedSymbol symbol,
       RuntimeError self,
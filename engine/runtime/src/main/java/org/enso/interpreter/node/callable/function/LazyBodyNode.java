@@ -0,0 +1,59 @@
+package org.enso.interpreter.node.callable.function;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.NodeInfo;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
+import org.enso.interpreter.node.ExpressionNode;
+
+/**
+ * This node stands in for the body of a function until the function is first executed. It then
+ * generates the body and replaces itself with it, so that the code is only generated for the
+ * functions that actually run.
+ */
+@NodeInfo(shortName = "LazyBody", description = "Generates a function body on first execution")
+public class LazyBodyNode extends ExpressionNode {
+  private final Supplier<ExpressionNode> generator;
+  private ExpressionNode body;
+
+  private LazyBodyNode(Supplier<ExpressionNode> generator) {
+    this.generator = generator;
+  }
+
+  /**
+   * Creates an instance of this node.
+   *
+   * @param generator the code generator for the function body
+   * @return a node generating the function body on its first execution
+   */
+  public static LazyBodyNode build(Supplier<ExpressionNode> generator) {
+    return new LazyBodyNode(generator);
+  }
+
+  /**
+   * Generates the function body, replaces this node with it and executes it.
+   *
+   * @param frame the stack frame for execution
+   * @return the result of executing the function body
+   */
+  @Override
+  public Object executeGeneric(VirtualFrame frame) {
+    CompilerDirectives.transferToInterpreterAndInvalidate();
+    return generateBody().executeGeneric(frame);
+  }
+
+  private ExpressionNode generateBody() {
+    Lock lock = getLock();
+    lock.lock();
+    try {
+      if (body == null) {
+        body = replace(generator.get());
+        notifyInserted(body);
+      }
+      return body;
+    } finally {
+      lock.unlock();
+    }
+  }
+}
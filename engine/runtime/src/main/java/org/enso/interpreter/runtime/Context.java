@@ -83,14 +83,7 @@ public class Context {
           classPathItems.forEach(environment::addToHostClassPath);
         });
 
-    Map<String, Module> knownFiles =
-        packages.stream()
-            .flatMap(p -> ScalaConversions.asJava(p.listSources()).stream())
-            .collect(
-                Collectors.toMap(
-                    srcFile -> srcFile.qualifiedName().toString(),
-                    srcFile -> new Module(srcFile.qualifiedName(), srcFile.file())));
-    topScope = new TopLevelScope(new Builtins(this), knownFiles);
+    topScope = new TopLevelScope(new Builtins(this), packages);
 
     this.compiler = new Compiler(this);
   }
@@ -184,11 +177,13 @@ public class Context {
   }
 
   /**
-   * Removes all contents from a given scope.
+   * Removes all contents from a given scope, along with the imports recorded for its module in the
+   * module dependency graph.
    *
    * @param scope the scope to reset.
    */
   public void resetScope(ModuleScope scope) {
+    getTopScope().getDependencyGraph().clearDependencies(scope.getModule().getName().toString());
     scope.reset();
     initializeScope(scope);
   }
@@ -280,6 +275,15 @@ public class Context {
     return getEnvironment().getOptions().get(RuntimeOptions.STRICT_ERRORS_KEY);
   }
 
+  /**
+   * Checks whether the lazy codegen option was set for this context.
+   *
+   * @return true if the method bodies are generated on their first execution, false otherwise.
+   */
+  public boolean isLazyCodegen() {
+    return getEnvironment().getOptions().get(RuntimeOptions.LAZY_CODEGEN_KEY);
+  }
+
   /** Creates a new thread that has access to the current language context. */
   public Thread createThread(Runnable runnable) {
     return environment.createThread(runnable);
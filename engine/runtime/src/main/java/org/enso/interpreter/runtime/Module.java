@@ -13,6 +13,7 @@ import com.oracle.truffle.api.library.ExportLibrary;
 import com.oracle.truffle.api.library.ExportMessage;
 import com.oracle.truffle.api.source.Source;
 import java.io.File;
+import java.util.List;
 import org.enso.compiler.core.IR;
 import org.enso.interpreter.Language;
 import org.enso.interpreter.node.callable.dispatch.CallOptimiserNode;
@@ -37,6 +38,7 @@ public class Module implements TruffleObject {
   private TruffleFile sourceFile;
   private Rope literalSource;
   private boolean isParsed = false;
+  private boolean isInvalidatedByImports = false;
   private IR ir;
   private final QualifiedName name;
 
@@ -98,6 +100,7 @@ public class Module implements TruffleObject {
   public void unsetLiteralSource() {
     this.literalSource = null;
     this.isParsed = false;
+    this.isInvalidatedByImports = false;
   }
 
   /** @return the literal source of this module. */
@@ -122,6 +125,7 @@ public class Module implements TruffleObject {
   public void setLiteralSource(Rope source) {
     this.literalSource = source;
     this.isParsed = false;
+    this.isInvalidatedByImports = false;
   }
 
   /**
@@ -133,6 +137,27 @@ public class Module implements TruffleObject {
     this.literalSource = null;
     this.sourceFile = file;
     this.isParsed = false;
+    this.isInvalidatedByImports = false;
+  }
+
+  /**
+   * Marks the module as needing to be compiled again, because a module it imports changed.
+   *
+   * <p>The modules importing this one are invalidated together with it, so recompiling it does not
+   * invalidate its dependents again, unless its own sources change in the meantime. Otherwise, the
+   * modules importing each other would keep invalidating each other on every recompilation.
+   */
+  public void invalidate() {
+    this.isParsed = false;
+    this.isInvalidatedByImports = true;
+    if (scope != null) {
+      scope.invalidateMethods();
+    }
+  }
+
+  /** @return whether the module is compiled and up to date with its sources. */
+  public boolean isParsed() {
+    return isParsed;
   }
 
   /** @return the location of this module. */
@@ -171,8 +196,10 @@ public class Module implements TruffleObject {
 
   private void parse(Context context) {
     ensureScopeExists(context);
+    boolean isChanged = ir != null && !isInvalidatedByImports;
     context.resetScope(scope);
     isParsed = true;
+    isInvalidatedByImports = false;
     if (literalSource != null) {
       Source source =
           Source.newBuilder(LanguageInfo.ID, literalSource.characters(), name.toString()).build();
@@ -180,6 +207,9 @@ public class Module implements TruffleObject {
     } else if (sourceFile != null) {
       ir = context.getCompiler().run(sourceFile, scope);
     }
+    if (isChanged) {
+      context.getTopScope().invalidateDependents(List.of(this));
+    }
   }
 
   /** @return IR defined by this module. */
@@ -233,6 +263,7 @@ public class Module implements TruffleObject {
     private static Module reparse(Module module, Object[] args, Context context)
         throws ArityException {
       Types.extractArguments(args);
+      module.isInvalidatedByImports = false;
       module.parse(context);
       return module;
     }
@@ -33,6 +33,15 @@ public class UnresolvedSymbol implements TruffleObject {
     return name;
   }
 
+  /**
+   * Gets the scope in which this symbol is resolved.
+   *
+   * @return the scope in which this symbol was created
+   */
+  public ModuleScope getScope() {
+    return scope;
+  }
+
   /**
    * Resolves the symbol for a given hierarchy of constructors.
    *
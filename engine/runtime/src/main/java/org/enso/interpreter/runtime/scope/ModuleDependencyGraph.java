@@ -0,0 +1,113 @@
+package org.enso.interpreter.runtime.scope;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * An index of the imports between modules, kept up to date as the modules get compiled.
+ *
+ * <p>The modules are identified by their qualified names, so that the index survives the modules
+ * being re-registered. It is used to find the modules that have to be recompiled after a module
+ * they import changes.
+ */
+public class ModuleDependencyGraph {
+  private final Map<String, Set<String>> dependencies = new HashMap<>();
+  private final Map<String, Set<String>> dependents = new HashMap<>();
+
+  /**
+   * Records that a module imports another module.
+   *
+   * @param module the name of the importing module
+   * @param dependency the name of the imported module
+   */
+  public synchronized void addDependency(String module, String dependency) {
+    dependencies.computeIfAbsent(module, k -> new TreeSet<>()).add(dependency);
+    dependents.computeIfAbsent(dependency, k -> new TreeSet<>()).add(module);
+  }
+
+  /**
+   * Forgets the imports of a module, before it is compiled again.
+   *
+   * @param module the name of the module
+   */
+  public synchronized void clearDependencies(String module) {
+    Set<String> removed = dependencies.remove(module);
+    if (removed != null) {
+      removed.forEach(dependency -> dependents.get(dependency).remove(module));
+    }
+  }
+
+  /**
+   * Returns the modules imported by a module.
+   *
+   * @param module the name of the module
+   * @return the names of the modules imported by {@code module}
+   */
+  public synchronized Set<String> getDependencies(String module) {
+    return new TreeSet<>(dependencies.getOrDefault(module, Set.of()));
+  }
+
+  /**
+   * Returns the modules depending on the given modules, directly or transitively.
+   *
+   * <p>The modules are returned in the order they should be recompiled in, that is with each module
+   * following the modules it imports. The modules taking part in an import cycle are returned
+   * after all the others.
+   *
+   * @param modules the names of the changed modules
+   * @return the names of the modules depending on {@code modules}, not including them
+   */
+  public synchronized List<String> getDependents(Collection<String> modules) {
+    Set<String> affected = new TreeSet<>();
+    Deque<String> toVisit = new ArrayDeque<>(modules);
+    while (!toVisit.isEmpty()) {
+      for (String dependent : dependents.getOrDefault(toVisit.pop(), Set.of())) {
+        if (!modules.contains(dependent) && affected.add(dependent)) {
+          toVisit.push(dependent);
+        }
+      }
+    }
+
+    Map<String, Integer> pendingDependencies = new HashMap<>();
+    Set<String> ready = new TreeSet<>();
+    for (String module : affected) {
+      int count = 0;
+      for (String dependency : dependencies.getOrDefault(module, Set.of())) {
+        if (affected.contains(dependency)) {
+          count++;
+        }
+      }
+      pendingDependencies.put(module, count);
+      if (count == 0) {
+        ready.add(module);
+      }
+    }
+
+    List<String> result = new ArrayList<>(affected.size());
+    while (!ready.isEmpty()) {
+      String module = ready.iterator().next();
+      ready.remove(module);
+      result.add(module);
+      for (String dependent : dependents.getOrDefault(module, Set.of())) {
+        if (affected.contains(dependent)
+            && pendingDependencies.merge(dependent, -1, Integer::sum) == 0) {
+          ready.add(dependent);
+        }
+      }
+    }
+
+    for (String module : affected) {
+      if (pendingDependencies.get(module) > 0) {
+        result.add(module);
+      }
+    }
+    return result;
+  }
+}
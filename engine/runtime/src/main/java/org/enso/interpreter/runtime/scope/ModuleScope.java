@@ -1,12 +1,15 @@
 package org.enso.interpreter.runtime.scope;
 
+import com.oracle.truffle.api.Assumption;
 import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.Truffle;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import org.enso.compiler.codegen.CodegenCache;
 import org.enso.interpreter.runtime.Module;
 import org.enso.interpreter.runtime.callable.atom.AtomConstructor;
 import org.enso.interpreter.runtime.callable.function.Function;
@@ -20,6 +23,8 @@ public class ModuleScope {
   private Map<String, AtomConstructor> constructors = new HashMap<>();
   private Map<AtomConstructor, Map<String, Function>> methods = new HashMap<>();
   private Set<ModuleScope> imports = new HashSet<>();
+  private CodegenCache codegenCache = CodegenCache.empty();
+  private Assumption methodsUnchanged = createMethodsAssumption();
 
   /**
    * Creates a new object of this class.
@@ -179,9 +184,53 @@ public class ModuleScope {
     return methods;
   }
 
+  /**
+   * Returns the definitions generated for this module by its last compilation.
+   *
+   * <p>Unlike the rest of the scope, these are kept when the scope is reset, so that recompiling
+   * the module can reuse the definitions that did not change.
+   *
+   * @return the definitions generated for this module by its last compilation
+   */
+  public CodegenCache getCodegenCache() {
+    return codegenCache;
+  }
+
+  /**
+   * Sets the definitions generated for this module by its last compilation.
+   *
+   * @param codegenCache the definitions generated for this module
+   */
+  public void setCodegenCache(CodegenCache codegenCache) {
+    this.codegenCache = codegenCache;
+  }
+
+  /**
+   * Returns the assumption that the methods visible in this scope did not change.
+   *
+   * <p>The method dispatch caches of the code compiled in this scope are guarded by this
+   * assumption, as the code generated for a module can outlive the recompilations of the module.
+   *
+   * @return the assumption that the methods visible in this scope did not change
+   */
+  public Assumption getMethodsAssumption() {
+    return methodsUnchanged;
+  }
+
+  /** Invalidates the method dispatch caches of the code compiled in this scope. */
+  public void invalidateMethods() {
+    methodsUnchanged.invalidate();
+    methodsUnchanged = createMethodsAssumption();
+  }
+
+  private static Assumption createMethodsAssumption() {
+    return Truffle.getRuntime().createAssumption("Methods unchanged");
+  }
+
   public void reset() {
     imports = new HashSet<>();
     methods = new HashMap<>();
     constructors = new HashMap<>();
+    invalidateMethods();
   }
 }
@@ -13,14 +13,22 @@ import com.oracle.truffle.api.interop.UnsupportedTypeException;
 import com.oracle.truffle.api.library.ExportLibrary;
 import com.oracle.truffle.api.library.ExportMessage;
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 import org.enso.interpreter.Language;
 import org.enso.interpreter.runtime.builtin.Builtins;
 import org.enso.interpreter.runtime.Context;
 import org.enso.interpreter.runtime.Module;
 import org.enso.interpreter.runtime.data.Vector;
 import org.enso.interpreter.runtime.type.Types;
+import org.enso.interpreter.util.ScalaConversions;
+import org.enso.pkg.Package;
 import org.enso.pkg.QualifiedName;
 import org.enso.polyglot.MethodNames;
 
@@ -28,19 +36,24 @@ import org.enso.polyglot.MethodNames;
 @ExportLibrary(InteropLibrary.class)
 public class TopLevelScope implements TruffleObject {
   private final Builtins builtins;
-  private final Map<String, Module> modules;
+  private final List<Package<TruffleFile>> packages;
+  private final Map<String, Module> modules = new ConcurrentHashMap<>();
+  private final Set<String> unregisteredModules = ConcurrentHashMap.newKeySet();
+  private final ModuleDependencyGraph dependencyGraph = new ModuleDependencyGraph();
   private final Scope scope = Scope.newBuilder("top_scope", this).build();
 
-
   /**
    * Creates a new instance of top scope.
    *
+   * <p>The modules of the packages are only looked up when they are first requested, so that the
+   * packages do not have to be scanned upfront.
+   *
    * @param builtins the automatically-imported builtin module.
-   * @param modules the initial modules this scope contains.
+   * @param packages the packages providing the modules this scope contains.
    */
-  public TopLevelScope(Builtins builtins, Map<String, Module> modules) {
+  public TopLevelScope(Builtins builtins, List<Package<TruffleFile>> packages) {
     this.builtins = builtins;
-    this.modules = modules;
+    this.packages = packages;
   }
 
   /**
@@ -62,7 +75,22 @@ public class TopLevelScope implements TruffleObject {
     if (name.equals(Builtins.MODULE_NAME)) {
       return Optional.of(builtins.getModule());
     }
-    return Optional.ofNullable(modules.get(name));
+    return Optional.ofNullable(modules.computeIfAbsent(name, this::findPackageModule));
+  }
+
+  private Module findPackageModule(String name) {
+    if (unregisteredModules.contains(name)) {
+      return null;
+    }
+    return ScalaConversions.asJava(QualifiedName.fromString(name))
+        .flatMap(
+            qualName ->
+                packages.stream()
+                    .map(pkg -> ScalaConversions.asJava(pkg.findSource(qualName)))
+                    .flatMap(Optional::stream)
+                    .findFirst())
+        .map(srcFile -> new Module(srcFile.qualifiedName(), srcFile.file()))
+        .orElse(null);
   }
 
   /**
@@ -74,10 +102,51 @@ public class TopLevelScope implements TruffleObject {
    */
   public Module createModule(QualifiedName name, TruffleFile sourceFile) {
     Module module = new Module(name, sourceFile);
-    modules.put(name.toString(), module);
+    registerModule(module);
     return module;
   }
 
+  private void registerModule(Module module) {
+    String name = module.getName().toString();
+    unregisteredModules.remove(name);
+    modules.put(name, module);
+  }
+
+  private void unregisterModule(String name) {
+    unregisteredModules.add(name);
+    modules.remove(name);
+  }
+
+  /**
+   * Returns the index of the imports between the modules of this scope.
+   *
+   * @return the module dependency graph.
+   */
+  public ModuleDependencyGraph getDependencyGraph() {
+    return dependencyGraph;
+  }
+
+  /**
+   * Marks the modules depending on the given modules, directly or transitively, as needing to be
+   * compiled again.
+   *
+   * @param changedModules the modules that changed.
+   * @return the invalidated modules, in the order they should be compiled in.
+   */
+  public List<Module> invalidateDependents(Collection<Module> changedModules) {
+    List<String> names =
+        changedModules.stream().map(m -> m.getName().toString()).collect(Collectors.toList());
+    List<Module> dependents = new ArrayList<>();
+    for (String name : dependencyGraph.getDependents(names)) {
+      Module module = modules.get(name);
+      if (module != null) {
+        module.invalidate();
+        dependents.add(module);
+      }
+    }
+    return dependents;
+  }
+
   /**
    * Returns the builtins module.
    *
@@ -124,15 +193,12 @@ public class TopLevelScope implements TruffleObject {
         throws ArityException, UnsupportedTypeException, UnknownIdentifierException {
       String moduleName = Types.extractArguments(arguments, String.class);
 
-      if (moduleName.equals(Builtins.MODULE_NAME)) {
-        return scope.builtins.getModule();
-      }
-      Module module = scope.modules.get(moduleName);
-      if (module == null) {
+      Optional<Module> module = scope.getModule(moduleName);
+      if (module.isEmpty()) {
         throw UnknownIdentifierException.create(moduleName);
       }
 
-      return module;
+      return module.get();
     }
 
     private static Module createModule(TopLevelScope scope, Object[] arguments, Context context)
@@ -148,14 +214,14 @@ public class TopLevelScope implements TruffleObject {
       QualifiedName qualName = QualifiedName.fromString(args.getFirst()).get();
       File location = new File(args.getSecond());
       Module module = new Module(qualName, context.getTruffleFile(location));
-      scope.modules.put(qualName.toString(), module);
+      scope.registerModule(module);
       return module;
     }
 
     private static Object unregisterModule(TopLevelScope scope, Object[] arguments, Context context)
         throws ArityException, UnsupportedTypeException {
       String name = Types.extractArguments(arguments, String.class);
-      scope.modules.remove(name);
+      scope.unregisterModule(name);
       return context.getUnit().newInstance();
     }
 
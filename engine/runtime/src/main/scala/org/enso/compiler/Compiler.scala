@@ -9,7 +9,7 @@ import org.enso.compiler.context.{FreshNameSupply, InlineContext, ModuleContext}
 import org.enso.compiler.core.IR
 import org.enso.compiler.core.IR.{Expression, Module}
 import org.enso.compiler.exception.{CompilationAbortedException, CompilerError}
-import org.enso.compiler.pass.PassManager
+import org.enso.compiler.pass.{IRPass, PassManager}
 import org.enso.compiler.pass.analyse._
 import org.enso.interpreter.Language
 import org.enso.interpreter.node.{ExpressionNode => RuntimeExpression}
@@ -25,6 +25,7 @@ import org.enso.syntax.text.Parser.IDMap
 import org.enso.syntax.text.{AST, Parser}
 
 import scala.annotation.unused
+import scala.collection.mutable
 
 /** This class encapsulates the static transformation processes that take place
   * on source code, including parsing, desugaring, type-checking, static
@@ -36,6 +37,7 @@ class Compiler(private val context: Context) {
   private val freshNameSupply: FreshNameSupply = new FreshNameSupply
   private val passes: Passes                   = new Passes
   private val passManager: PassManager         = passes.passManager
+  private val irDump: Option[IrDump]           = IrDump(context)
 
   /**
     * Processes the provided language sources, registering any bindings in the
@@ -51,11 +53,25 @@ class Compiler(private val context: Context) {
       moduleScope     = Some(scope),
       freshNameSupply = Some(freshNameSupply)
     )
-    val parsedAST      = parse(source)
-    val expr           = generateIR(parsedAST)
-    val compilerOutput = runCompilerPhases(expr, moduleContext)
+    val parsedAST   = parse(source)
+    val expr        = generateIR(parsedAST)
+    val passOutputs = mutable.ListBuffer[(IRPass, IR.Module)]()
+    val compilerOutput = runCompilerPhases(
+      expr,
+      moduleContext,
+      (pass, ir) => if (irDump.isDefined) passOutputs += ((pass, ir))
+    )
+    irDump.foreach(_.dumpPasses(scope.getModule.getName, passOutputs.toList))
     runErrorHandling(compilerOutput, source, moduleContext)
+    val previousDefinitions = scope.getCodegenCache
     truffleCodegen(compilerOutput, source, scope)
+    irDump.foreach(
+      _.dumpCodegen(
+        scope.getModule.getName,
+        previousDefinitions,
+        scope.getCodegenCache
+      )
+    )
     expr
   }
 
@@ -106,15 +122,24 @@ class Compiler(private val context: Context) {
     * Finds and processes a language source by its qualified name.
     *
     * The results of this operation are cached internally so we do not need to
-    * process the same source file multiple times.
+    * process the same source file multiple times. The import is recorded in
+    * the module dependency graph, so that the importing module is compiled
+    * again when the imported one changes.
     *
     * @param qualifiedName the qualified name of the module
+    * @param importer the scope of the module containing the import
     * @return the scope containing all definitions in the requested module
     */
-  def processImport(qualifiedName: String): ModuleScope = {
+  def processImport(
+    qualifiedName: String,
+    importer: ModuleScope
+  ): ModuleScope = {
     val module = context.getTopScope.getModule(qualifiedName)
     if (module.isPresent) {
-      module.get().parseScope(context)
+      val scope = module.get().parseScope(context)
+      context.getTopScope.getDependencyGraph
+        .addDependency(importer.getModule.getName.toString, qualifiedName)
+      scope
     } else {
       throw new ModuleDoesNotExistException(qualifiedName)
     }
@@ -161,13 +186,15 @@ class Compiler(private val context: Context) {
   /** Runs the various compiler passes.
     *
     * @param ir the compiler intermediate representation to transform
+    * @param afterPass a callback invoked with each pass and the IR it produced
     * @return the output result of the
     */
   def runCompilerPhases(
     ir: IR.Module,
-    moduleContext: ModuleContext
+    moduleContext: ModuleContext,
+    afterPass: (IRPass, IR.Module) => Unit = (_, _) => ()
   ): IR.Module = {
-    passManager.runPassesOnModule(ir, moduleContext)
+    passManager.runPassesOnModule(ir, moduleContext, afterPass)
   }
 
   /** Runs the various compiler passes in an inline context.
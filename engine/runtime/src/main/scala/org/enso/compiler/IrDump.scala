@@ -0,0 +1,138 @@
+package org.enso.compiler
+
+import java.io.File
+
+import com.oracle.truffle.api.TruffleFile
+import com.oracle.truffle.api.nodes.NodeUtil
+import io.circe.Json
+import org.enso.compiler.codegen.CodegenCache
+import org.enso.compiler.core.IR
+import org.enso.compiler.pass.IRPass
+import org.enso.interpreter.runtime.Context
+import org.enso.pkg.QualifiedName
+import org.enso.polyglot.RuntimeOptions
+
+import scala.util.Using
+
+/** Writes the output of the compiler for the compiled modules to a directory,
+  * so that it can be inspected and compared across compiler versions.
+  *
+  * For every module, two JSON files are written:
+  * - `<module>.passes.json`, containing the IR of the module after each of
+  *   the selected passes, along with the number of its nodes;
+  * - `<module>.codegen.json`, containing for each method the number of
+  *   Truffle nodes and call targets generated for it. The node count is what
+  *   Graal measures the inlining budget of the method against.
+  *
+  * The files are overwritten on every compilation of the module.
+  *
+  * @param directory the directory to write to
+  * @param passNames the names of the passes after which the IR is written,
+  *                  or all the passes if empty
+  */
+final class IrDump(directory: TruffleFile, passNames: Set[String]) {
+
+  /** Checks whether the IR should be written after a pass.
+    *
+    * @param pass the pass
+    * @return `true` if the IR should be written after `pass`, otherwise
+    *         `false`
+    */
+  def shouldDump(pass: IRPass): Boolean =
+    passNames.isEmpty || passNames.contains(pass.toString)
+
+  /** Writes the IR of a module after each of the selected passes.
+    *
+    * @param moduleName the name of the module
+    * @param passes the passes, in order, with the IR they produced
+    */
+  def dumpPasses(
+    moduleName: QualifiedName,
+    passes: List[(IRPass, IR.Module)]
+  ): Unit = {
+    val entries = passes.zipWithIndex.collect {
+      case ((pass, ir), index) if shouldDump(pass) =>
+        Json.obj(
+          "index"     -> Json.fromInt(index),
+          "pass"      -> Json.fromString(pass.toString),
+          "nodeCount" -> Json.fromInt(ir.preorder.length),
+          "ir"        -> Json.fromString(ir.showCode())
+        )
+    }
+
+    write(
+      s"$moduleName.passes.json",
+      Json.obj(
+        "module" -> Json.fromString(moduleName.toString),
+        "passes" -> Json.arr(entries: _*)
+      )
+    )
+  }
+
+  /** Writes the sizes of the code generated for the methods of a module.
+    *
+    * Only the methods tracked by the codegen cache are reported, so the
+    * methods without a location in the source and the methods generated
+    * lazily are left out.
+    *
+    * @param moduleName the name of the module
+    * @param previous the codegen cache of the module before the compilation
+    * @param current the codegen cache of the module after the compilation
+    */
+  def dumpCodegen(
+    moduleName: QualifiedName,
+    previous: CodegenCache,
+    current: CodegenCache
+  ): Unit = {
+    val entries = current.methods.toList.sortBy(_._1).map {
+      case (key @ (typeName, methodName), entry) =>
+        val isReused  = previous.methods.get(key).exists(_ eq entry)
+        val nodeCount =
+          entry.callTargets.map(c => NodeUtil.countNodes(c.getRootNode)).sum
+        Json.obj(
+          "type"            -> Json.fromString(typeName),
+          "method"          -> Json.fromString(methodName),
+          "reused"          -> Json.fromBoolean(isReused),
+          "nodeCount"       -> Json.fromInt(nodeCount),
+          "callTargetCount" -> Json.fromInt(entry.callTargets.length)
+        )
+    }
+
+    write(
+      s"$moduleName.codegen.json",
+      Json.obj(
+        "module"  -> Json.fromString(moduleName.toString),
+        "methods" -> Json.arr(entries: _*)
+      )
+    )
+  }
+
+  private def write(fileName: String, json: Json): Unit = {
+    directory.createDirectories()
+    Using.resource(directory.resolve(fileName).newBufferedWriter())(
+      _.write(json.spaces2)
+    )
+  }
+}
+object IrDump {
+
+  /** Creates an IR dump as configured by the runtime options of a context.
+    *
+    * @param context the language context
+    * @return the IR dump, if the dump path option is set in `context`
+    */
+  def apply(context: Context): Option[IrDump] = {
+    val options = context.getEnvironment.getOptions
+    val path    = options.get(RuntimeOptions.DUMP_IR_PATH_KEY)
+    val passNames = options
+      .get(RuntimeOptions.DUMP_IR_PASSES_KEY)
+      .split(',')
+      .map(_.trim)
+      .filter(_.nonEmpty)
+      .toSet
+
+    Option.when(path.nonEmpty)(
+      new IrDump(context.getTruffleFile(new File(path)), passNames)
+    )
+  }
+}
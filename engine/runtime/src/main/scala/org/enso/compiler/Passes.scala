@@ -44,6 +44,7 @@ class Passes(passes: Option[List[IRPass]] = None) {
       DemandAnalysis,
       AliasAnalysis,
       ApplicationSaturation,
+      StrictnessAnalysis,
       TailCall,
       AliasAnalysis,
       DataflowAnalysis,
@@ -0,0 +1,173 @@
+package org.enso.compiler.codegen
+
+import com.oracle.truffle.api.RootCallTarget
+import com.oracle.truffle.api.source.Source
+import org.enso.compiler.core.IR
+import org.enso.compiler.core.IR.IdentifiedLocation
+import org.enso.interpreter.runtime.callable.atom.AtomConstructor
+import org.enso.interpreter.runtime.callable.function.{
+  Function => RuntimeFunction
+}
+import org.enso.interpreter.runtime.scope.ModuleScope
+
+import scala.jdk.OptionConverters._
+
+/** The runtime definitions generated for a module by the last run of
+  * [[IrToTruffle]] on it.
+  *
+  * The cache outlives the resets of the module scope, so that recompiling a
+  * module can reuse the definitions that did not change since the last
+  * compilation. Reusing a method keeps its call targets, and with them the
+  * code that Graal has already compiled for it, instead of recompiling the
+  * whole module after every edit.
+  *
+  * @param atoms the atom constructors, by name
+  * @param methods the method functions, by type name and method name
+  */
+final class CodegenCache(
+  val atoms: Map[String, CodegenCache.Entry[AtomConstructor]],
+  val methods: Map[(String, String), CodegenCache.Entry[RuntimeFunction]]
+) {
+
+  /** Looks up an atom constructor that can be reused for a definition.
+    *
+    * @param name the name of the atom
+    * @param fingerprint the fingerprint of the atom definition
+    * @return the cached atom constructor, if the definition did not change
+    */
+  def getAtom(
+    name: String,
+    fingerprint: CodegenCache.Fingerprint
+  ): Option[AtomConstructor] =
+    atoms
+      .get(name)
+      .filter(_.fingerprint == fingerprint)
+      .map(_.definition)
+
+  /** Looks up a method function that can be reused for a definition.
+    *
+    * A method can only be reused if its definition did not change and all
+    * the names it refers to still resolve to the same entities in `scope`.
+    *
+    * @param typeName the name of the type the method is defined on
+    * @param methodName the name of the method
+    * @param fingerprint the fingerprint of the method definition
+    * @param scope the module scope in which the method is being defined
+    * @return the cache entry of the method, if it can be reused
+    */
+  def getMethod(
+    typeName: String,
+    methodName: String,
+    fingerprint: CodegenCache.Fingerprint,
+    scope: ModuleScope
+  ): Option[CodegenCache.Entry[RuntimeFunction]] =
+    methods
+      .get((typeName, methodName))
+      .filter(_.fingerprint == fingerprint)
+      .filter(_.dependencies.forall {
+        case (name, resolution) =>
+          resolution.isSameAs(CodegenCache.Resolution(name, scope))
+      })
+}
+object CodegenCache {
+
+  /** A cache containing no definitions. */
+  val empty: CodegenCache = new CodegenCache(Map(), Map())
+
+  /** A cached runtime definition.
+    *
+    * @param fingerprint the fingerprint of the IR the definition was
+    *                    generated from
+    * @param dependencies the resolutions of the names the definition refers
+    *                     to, by name
+    * @param callTargets the call targets created for the definition
+    * @param definition the runtime definition
+    * @tparam T the type of the runtime definition
+    */
+  sealed case class Entry[+T](
+    fingerprint: Fingerprint,
+    dependencies: Map[String, Resolution],
+    callTargets: List[RootCallTarget],
+    definition: T
+  )
+
+  /** A structural fingerprint of a top-level definition.
+    *
+    * The generated code depends on the source text of the definition, on its
+    * position in the source and on the identifiers of its expressions, so all
+    * of these are part of the fingerprint. The code of the IR is included as
+    * well, to account for the desugarings that depend on the context of the
+    * definition.
+    *
+    * @param code the code of the IR of the definition
+    * @param text the source text of the definition
+    * @param locations the locations of the IR nodes of the definition
+    */
+  sealed case class Fingerprint(
+    code: String,
+    text: String,
+    locations: List[IdentifiedLocation]
+  )
+  object Fingerprint {
+
+    /** Computes the fingerprint of a top-level definition.
+      *
+      * @param ir the definition
+      * @param source the source the definition was compiled from
+      * @return the fingerprint of `ir`, if it has a location in `source`
+      */
+    def apply(
+      ir: IR.Module.Scope.Definition,
+      source: Source
+    ): Option[Fingerprint] =
+      ir.location.map(location =>
+        Fingerprint(
+          ir.showCode(),
+          source.getCharacters
+            .subSequence(location.start, location.end)
+            .toString,
+          ir.preorder.flatMap(_.location)
+        )
+      )
+  }
+
+  /** The entities a name resolves to in a module scope.
+    *
+    * @param constructor the atom constructor of the name
+    * @param polyglotSymbol the polyglot symbol of the name
+    */
+  sealed case class Resolution(
+    constructor: Option[AtomConstructor],
+    polyglotSymbol: Option[AnyRef]
+  ) {
+
+    /** Checks whether `this` and `that` resolve to the same entities.
+      *
+      * @param that the resolution to compare with
+      * @return `true` if the resolutions are the same, otherwise `false`
+      */
+    def isSameAs(that: Resolution): Boolean = {
+      val isSameConstructor = (constructor, that.constructor) match {
+        case (Some(cons), Some(thatCons)) => cons eq thatCons
+        case (None, None)                 => true
+        case _                            => false
+      }
+
+      isSameConstructor && polyglotSymbol == that.polyglotSymbol
+    }
+  }
+  object Resolution {
+
+    /** Resolves a name in a module scope.
+      *
+      * @param name the name to resolve
+      * @param scope the scope in which to resolve `name`
+      * @return the entities `name` resolves to in `scope`
+      */
+    def apply(name: String, scope: ModuleScope): Resolution =
+      Resolution(
+        scope.getConstructor(name).toScala,
+        scope.lookupPolyglotSymbol(name).toScala
+      )
+  }
+}
@@ -1,6 +1,7 @@
 package org.enso.compiler.codegen
 
-import com.oracle.truffle.api.Truffle
+import com.oracle.truffle.api.nodes.RootNode
+import com.oracle.truffle.api.{RootCallTarget, Truffle}
 import com.oracle.truffle.api.source.{Source, SourceSection}
 import org.enso.compiler.core.IR
 import org.enso.compiler.core.IR.Module.Scope.Import
@@ -17,7 +18,8 @@ import org.enso.compiler.pass.optimise.ApplicationSaturation
 import org.enso.interpreter.node.callable.argument.ReadArgumentNode
 import org.enso.interpreter.node.callable.function.{
   BlockNode,
-  CreateFunctionNode
+  CreateFunctionNode,
+  LazyBodyNode
 }
 import org.enso.interpreter.node.callable.thunk.{CreateThunkNode, ForceNode}
 import org.enso.interpreter.node.callable.{
@@ -61,7 +63,6 @@ import org.enso.interpreter.{Constants, Language}
 
 import scala.collection.mutable
 import scala.collection.mutable.ArrayBuffer
-import scala.jdk.OptionConverters._
 
 /** This is an implementation of a codegeneration pass that lowers the Enso
   * [[IR]] into the truffle [[org.enso.compiler.core.Core.Node]] structures that
@@ -83,6 +84,16 @@ class IrToTruffle(
 
   val language: Language = context.getLanguage
 
+  /** The resolutions of the names referred to by the definition for which
+    * code is being generated.
+    */
+  private val dependencies = mutable.HashMap[String, CodegenCache.Resolution]()
+
+  /** The call targets created for the definition for which code is being
+    * generated.
+    */
+  private val callTargets = ArrayBuffer[RootCallTarget]()
+
   // ==========================================================================
   // === Top-Level Runners ====================================================
   // ==========================================================================
@@ -126,6 +137,11 @@ class IrToTruffle(
     * It does not directly return any constructs, but instead registers these
     * constructs for later access in the compiler and language context.
     *
+    * The definitions that did not change since the last compilation of the
+    * module are not generated again. Their runtime counterparts are taken from
+    * the [[CodegenCache]] of the module scope instead, so that the code Graal
+    * has compiled for them stays valid.
+    *
     * @param module the module for which code should be generated
     */
   private def processModule(module: IR.Module): Unit = {
@@ -146,113 +162,224 @@ class IrToTruffle(
           context.getEnvironment.lookupHostSymbol(fullName)
         )
       case i: Import.Module =>
-        this.moduleScope.addImport(context.getCompiler.processImport(i.name))
+        this.moduleScope.addImport(
+          context.getCompiler.processImport(i.name, moduleScope)
+        )
       case _: Error =>
     }
 
-    // Register the atoms and their constructors in scope
-    val atomConstructors =
-      atomDefs.map(t => new AtomConstructor(t.name.name, moduleScope))
+    val previousDefinitions = moduleScope.getCodegenCache
+    val atomEntries =
+      mutable.HashMap[String, CodegenCache.Entry[AtomConstructor]]()
+    val methodEntries =
+      mutable.HashMap[(String, String), CodegenCache.Entry[RuntimeFunction]]()
+
+    // Register the atoms and their constructors in scope, reusing the
+    // constructors of the atoms that did not change since the last compilation
+    val atoms = atomDefs.map(atomDefn => {
+      val fingerprint = CodegenCache.Fingerprint(atomDefn, source)
+      val cachedAtom =
+        fingerprint.flatMap(previousDefinitions.getAtom(atomDefn.name.name, _))
+      (atomDefn, fingerprint, cachedAtom)
+    })
+    val atomConstructors = atoms.map {
+      case (atomDefn, _, cachedAtom) =>
+        cachedAtom.getOrElse(
+          new AtomConstructor(atomDefn.name.name, moduleScope)
+        )
+    }
     atomConstructors.foreach(moduleScope.registerConstructor)
 
     atomConstructors
-      .zip(atomDefs)
+      .zip(atoms)
       .foreach {
-        case (atomCons, atomDefn) =>
-          val scopeInfo = atomDefn
-            .unsafeGetMetadata(
-              AliasAnalysis,
-              "No root scope on an atom definition."
-            )
-            .unsafeAs[AliasAnalysis.Info.Scope.Root]
-
-          val dataflowInfo = atomDefn.unsafeGetMetadata(
-            DataflowAnalysis,
-            "No dataflow information associated with an atom."
-          )
+        case (atomCons, (atomDefn, fingerprint, cachedAtom)) =>
+          if (cachedAtom.isEmpty) {
+            initializeAtom(atomCons, atomDefn)
+          }
 
-          val argFactory =
-            new DefinitionArgumentProcessor(
-              scope = new LocalScope(
-                None,
-                scopeInfo.graph,
-                scopeInfo.graph.rootScope,
-                dataflowInfo
-              )
+          // The default arguments may refer to the other definitions of the
+          // module, so the atoms that have them are never reused
+          if (atomDefn.arguments.forall(_.defaultValue.isEmpty)) {
+            fingerprint.foreach(fingerprint =>
+              atomEntries(atomDefn.name.name) =
+                CodegenCache.Entry(fingerprint, Map(), List(), atomCons)
             )
-          val argDefs =
-            new Array[ArgumentDefinition](atomDefn.arguments.size)
-
-          for (idx <- atomDefn.arguments.indices) {
-            argDefs(idx) = argFactory.run(atomDefn.arguments(idx), idx)
           }
-
-          atomCons.initializeFields(argDefs: _*)
       }
 
-    // Register the method definitions in scope
+    // Register the method definitions in scope, reusing the functions of the
+    // methods that did not change since the last compilation
     methodDefs.foreach(methodDef => {
-      val scopeInfo = methodDef
-        .unsafeGetMetadata(
-          AliasAnalysis,
-          "Missing scope information for method."
-        )
-        .unsafeAs[AliasAnalysis.Info.Scope.Root]
-      val dataflowInfo = methodDef.unsafeGetMetadata(
-        DataflowAnalysis,
-        "Method definition missing dataflow information."
-      )
-
       val typeName =
         if (methodDef.typeName.name == Constants.Names.CURRENT_MODULE) {
           moduleScope.getAssociatedType.getName
         } else {
           methodDef.typeName.name
         }
-
-      val expressionProcessor = new ExpressionProcessor(
-        typeName ++ Constants.SCOPE_SEPARATOR ++ methodDef.methodName.name,
-        scopeInfo.graph,
-        scopeInfo.graph.rootScope,
-        dataflowInfo
+      val methodName  = methodDef.methodName.name
+      val fingerprint = CodegenCache.Fingerprint(methodDef, source)
+      val cachedMethod = fingerprint.flatMap(
+        previousDefinitions.getMethod(typeName, methodName, _, moduleScope)
       )
 
-      val funNode = methodDef.body match {
-        case fn: IR.Function =>
-          expressionProcessor.processFunctionBody(
-            fn.arguments,
-            fn.body,
-            methodDef.location,
-            Some(methodDef.methodName.name)
-          )
-        case _ =>
-          throw new CompilerError(
-            "Method bodies must be functions at the point of codegen."
-          )
+      val function = cachedMethod match {
+        case Some(entry) =>
+          methodEntries((typeName, methodName)) = entry
+          entry.definition
+        case None =>
+          dependencies.clear()
+          callTargets.clear()
+          val function = generateMethod(methodDef, typeName)
+
+          // Note [Lazy Method Bodies]
+          if (!context.isLazyCodegen) {
+            fingerprint.foreach(fingerprint =>
+              methodEntries((typeName, methodName)) = CodegenCache.Entry(
+                fingerprint,
+                dependencies.toMap,
+                callTargets.toList,
+                function
+              )
+            )
+          }
+          function
       }
 
-      val function = new RuntimeFunction(
-        funNode.getCallTarget,
-        null,
-        new FunctionSchema(
-          FunctionSchema.CallStrategy.CALL_LOOP,
-          funNode.getArgs: _*
-        )
-      )
-
       val cons = moduleScope
         .getConstructor(typeName)
         .orElseThrow(() =>
           new VariableDoesNotExistException(methodDef.typeName.name)
         )
-      moduleScope.registerMethod(cons, methodDef.methodName.name, function)
+      moduleScope.registerMethod(cons, methodName, function)
     })
+
+    moduleScope.setCodegenCache(
+      new CodegenCache(atomEntries.toMap, methodEntries.toMap)
+    )
+  }
+
+  /** Generates the fields of an atom constructor from its definition.
+    *
+    * @param atomCons the atom constructor to initialize
+    * @param atomDefn the definition of the atom
+    */
+  private def initializeAtom(
+    atomCons: AtomConstructor,
+    atomDefn: IR.Module.Scope.Definition.Atom
+  ): Unit = {
+    val scopeInfo = atomDefn
+      .unsafeGetMetadata(
+        AliasAnalysis,
+        "No root scope on an atom definition."
+      )
+      .unsafeAs[AliasAnalysis.Info.Scope.Root]
+
+    val dataflowInfo = atomDefn.unsafeGetMetadata(
+      DataflowAnalysis,
+      "No dataflow information associated with an atom."
+    )
+
+    val argFactory =
+      new DefinitionArgumentProcessor(
+        scope = new LocalScope(
+          None,
+          scopeInfo.graph,
+          scopeInfo.graph.rootScope,
+          dataflowInfo
+        )
+      )
+    val argDefs =
+      new Array[ArgumentDefinition](atomDefn.arguments.size)
+
+    for (idx <- atomDefn.arguments.indices) {
+      argDefs(idx) = argFactory.run(atomDefn.arguments(idx), idx)
+    }
+
+    atomCons.initializeFields(argDefs: _*)
+  }
+
+  /** Generates the function of a method from its definition.
+    *
+    * @param methodDef the definition of the method
+    * @param typeName the name of the type the method is defined on
+    * @return the function implementing `methodDef`
+    */
+  private def generateMethod(
+    methodDef: IR.Module.Scope.Definition.Method,
+    typeName: String
+  ): RuntimeFunction = {
+    val scopeInfo = methodDef
+      .unsafeGetMetadata(
+        AliasAnalysis,
+        "Missing scope information for method."
+      )
+      .unsafeAs[AliasAnalysis.Info.Scope.Root]
+    val dataflowInfo = methodDef.unsafeGetMetadata(
+      DataflowAnalysis,
+      "Method definition missing dataflow information."
+    )
+
+    val expressionProcessor = new ExpressionProcessor(
+      typeName ++ Constants.SCOPE_SEPARATOR ++ methodDef.methodName.name,
+      scopeInfo.graph,
+      scopeInfo.graph.rootScope,
+      dataflowInfo
+    )
+
+    val funNode = methodDef.body match {
+      case fn: IR.Function =>
+        expressionProcessor.processFunctionBody(
+          fn.arguments,
+          fn.body,
+          methodDef.location,
+          Some(methodDef.methodName.name),
+          isBodyLazy = context.isLazyCodegen
+        )
+      case _ =>
+        throw new CompilerError(
+          "Method bodies must be functions at the point of codegen."
+        )
+    }
+
+    new RuntimeFunction(
+      funNode.getCallTarget,
+      null,
+      new FunctionSchema(
+        FunctionSchema.CallStrategy.CALL_LOOP,
+        funNode.getArgs: _*
+      )
+    )
   }
 
   // ==========================================================================
   // === Utility Functions ====================================================
   // ==========================================================================
 
+  /** Creates a call target for a root node, recording it as created for the
+    * definition for which code is being generated.
+    *
+    * @param rootNode the root node of the call target
+    * @return a call target for `rootNode`
+    */
+  private def createCallTarget(rootNode: RootNode): RootCallTarget = {
+    val callTarget = Truffle.getRuntime.createCallTarget(rootNode)
+    callTargets += callTarget
+    callTarget
+  }
+
+  /** Resolves a name in the module scope, recording the resolution as a
+    * dependency of the definition for which code is being generated.
+    *
+    * @param name the name to resolve
+    * @return the entities `name` resolves to in the module scope
+    */
+  private def resolveName(name: String): CodegenCache.Resolution = {
+    val resolution = CodegenCache.Resolution(name, moduleScope)
+    dependencies(name) = resolution
+    resolution
+  }
+
   /** Creates a source section from a given location in the code.
     *
     * @param location the location to turn into a section
@@ -417,7 +544,7 @@ class IrToTruffle(
           null
         )
 
-        val callTarget = Truffle.getRuntime.createCallTarget(defaultRootNode)
+        val callTarget = createCallTarget(defaultRootNode)
         setLocation(CreateThunkNode.build(callTarget), block.location)
       } else {
         val statementExprs = block.expressions.map(this.run(_)).toArray
@@ -543,7 +670,7 @@ class IrToTruffle(
             None
           )
 
-          moduleScope.getConstructor(constructor.name).toScala match {
+          resolveName(constructor.name).constructor match {
             case Some(atomCons) =>
               val numExpectedArgs = atomCons.getArity
               val numProvidedArgs = fields.length
@@ -675,21 +802,22 @@ class IrToTruffle(
             )
             .unsafeAs[AliasAnalysis.Info.Occurrence]
 
-          val slot       = scope.getFramePointer(useInfo.id)
-          val atomCons   = moduleScope.getConstructor(nameStr).toScala
-          val polySymbol = moduleScope.lookupPolyglotSymbol(nameStr).toScala
+          val slot = scope.getFramePointer(useInfo.id)
           if (nameStr == Constants.Names.CURRENT_MODULE) {
             ConstructorNode.build(moduleScope.getAssociatedType)
           } else if (slot.isDefined) {
             ReadLocalVariableNode.build(slot.get)
-          } else if (atomCons.isDefined) {
-            ConstructorNode.build(atomCons.get)
-          } else if (polySymbol.isDefined) {
-            ConstantObjectNode.build(polySymbol.get)
           } else {
-            DynamicSymbolNode.build(
-              UnresolvedSymbol.build(nameStr, moduleScope)
-            )
+            val resolution = resolveName(nameStr)
+            if (resolution.constructor.isDefined) {
+              ConstructorNode.build(resolution.constructor.get)
+            } else if (resolution.polyglotSymbol.isDefined) {
+              ConstantObjectNode.build(resolution.polyglotSymbol.get)
+            } else {
+              DynamicSymbolNode.build(
+                UnresolvedSymbol.build(nameStr, moduleScope)
+              )
+            }
           }
         case IR.Name.Here(_, _, _) =>
           ConstructorNode.build(moduleScope.getAssociatedType)
@@ -755,13 +883,16 @@ class IrToTruffle(
       * @param body the body of the function
       * @param location the location at which the function exists in the source
       * @param name the name of the function
+      * @param isBodyLazy whether the code for `body` should only be generated
+      *                   on the first execution of the function
       * @return a truffle node representing the described function
       */
     def processFunctionBody(
       arguments: List[IR.DefinitionArgument],
       body: IR.Expression,
       location: Option[IdentifiedLocation],
-      name: Option[String]
+      name: Option[String],
+      isBodyLazy: Boolean = false
     ): CreateFunctionNode = {
       val argFactory = new DefinitionArgumentProcessor(scopeName, scope)
 
@@ -800,7 +931,13 @@ class IrToTruffle(
         "Function body missing tail call information."
       )
 
-      val bodyExpr = this.run(body)
+      // Note [Lazy Method Bodies]
+      val bodyExpr =
+        if (isBodyLazy) {
+          LazyBodyNode.build(() => IrToTruffle.this.synchronized(run(body)))
+        } else {
+          this.run(body)
+        }
 
       val fnBodyNode = BlockNode.build(argExpressions.toArray, bodyExpr)
       val fnRootNode = ClosureRootNode.build(
@@ -815,7 +952,7 @@ class IrToTruffle(
           .map(_.toString)
           .orNull
       )
-      val callTarget = Truffle.getRuntime.createCallTarget(fnRootNode)
+      val callTarget = createCallTarget(fnRootNode)
 
       val expr = CreateFunctionNode.build(callTarget, argDefinitions)
 
@@ -848,6 +985,21 @@ class IrToTruffle(
      *    into the function body, thus allowing it to be read simply.
      */
 
+    /* Note [Lazy Method Bodies]
+     * ~~~~~~~~~~~~~~~~~~~~~~~~~
+     * With the lazy codegen option set, the body of a method is only generated
+     * when the method is first executed, so that the code is generated only for
+     * the methods that actually run. The arguments are still generated eagerly,
+     * as the function schema and the frame slots of the arguments are needed
+     * before the method can be called.
+     *
+     * The body is generated under the lock of the code generator, as the
+     * generation records the dependencies and call targets of the definition
+     * in the state of the generator. These are not known before the body is
+     * generated, so the lazily generated methods are not kept in the codegen
+     * cache.
+     */
+
     /** Generates code for an Enso function application.
       *
       * @param application the function application to generate code for
@@ -955,8 +1107,8 @@ class IrToTruffle(
         val childScope = if (shouldSuspend) {
           scope.createChild(scopeInfo.scope)
         } else {
-          // Note [Scope Flattening]
-          scope.createChild(scopeInfo.scope, flattenToParent = true)
+          // Note [Strict Call Arguments]
+          scope
         }
         val argumentExpression =
           new ExpressionProcessor(childScope, scopeName).run(value)
@@ -978,7 +1130,7 @@ class IrToTruffle(
             .map(loc => source.createSection(loc.start, loc.end))
             .orNull
 
-          val callTarget = Truffle.getRuntime.createCallTarget(
+          val callTarget = createCallTarget(
             ClosureRootNode.build(
               language,
               childScope,
@@ -997,18 +1149,15 @@ class IrToTruffle(
     }
   }
 
-  /* Note [Scope Flattening]
-   * ~~~~~~~~~~~~~~~~~~~~~~~
-   * Given that we represent _all_ function arguments as thunks at runtime, we
-   * account for this during alias analysis by allocating new scopes for the
-   * function arguments as they are passed. However, in the case of an argument
-   * that is _already_ suspended, we want to pass this directly. However, we do
-   * not have demand information at the point of alias analysis, and so we have
-   * allocated a new scope for it regardless.
+  /* Note [Strict Call Arguments]
+   * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+   * The arguments that do not need to be suspended are evaluated in the frame
+   * of the caller, rather than in a thunk. These are either the arguments that
+   * are _already_ suspended, which are passed directly, or the arguments that
+   * are known to be forced by the call (see `StrictnessAnalysis`).
    *
-   * As a result, we flatten that scope back into the parent during codegen to
-   * work around the differences between the semantic meaning of the language
-   * and the runtime representation of function arguments.
+   * Alias analysis does not allocate a new scope for these arguments, and so
+   * their code is generated in the scope of the call itself.
    */
 
   // ==========================================================================
@@ -1065,9 +1214,7 @@ class IrToTruffle(
             null
           )
 
-          CreateThunkNode.build(
-            Truffle.getRuntime.createCallTarget(defaultRootNode)
-          )
+          CreateThunkNode.build(createCallTarget(defaultRootNode))
         } else {
           defaultExpression
         }
@@ -4,17 +4,22 @@ import org.enso.compiler.core.IR
 
 /** This class provides a supply of fresh names guaranteed not to exist in this
   * program.
+  *
+  * @param prefix the prefix distinguishing the names of a forked supply
   */
-class FreshNameSupply {
+class FreshNameSupply private (prefix: String) {
   private var counter: Long = 0
 
+  /** Creates a new supply of fresh names. */
+  def this() = this("")
+
   /** Creates a new name instance using the provided number.
     *
     * @param numId the numeric identifier to use in the name
     * @return a new name
     */
   private def mkName(numId: Long): IR.Name.Literal =
-    IR.Name.Literal(s"<internal-${numId}>", None)
+    IR.Name.Literal(s"<internal-${prefix}${numId}>", None)
 
   /** Generates a name guaranteed not to exist in this program.
     *
@@ -26,4 +31,20 @@ class FreshNameSupply {
 
     mkName(num)
   }
+
+  /** Creates a supply of names that are distinct from the names generated by
+    * this supply and by its other forks.
+    *
+    * The forks allow the independent parts of a program to be processed
+    * concurrently, while the generated names depend only on the order in
+    * which the forks are created.
+    *
+    * @return a new supply of fresh names
+    */
+  def fork(): FreshNameSupply = {
+    val num = counter
+    counter += 1
+
+    new FreshNameSupply(s"${prefix}${num}-")
+  }
 }
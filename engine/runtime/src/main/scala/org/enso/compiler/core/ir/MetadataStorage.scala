@@ -5,6 +5,11 @@ import org.enso.compiler.exception.CompilerError
 import org.enso.compiler.pass.IRPass
 
 /** Stores metadata for the various passes.
+  *
+  * The metadata is kept in an array indexed by [[IRPass.index]]. The array is
+  * never written to once it is stored, so that it can be shared between the
+  * copies of the storage, and read from multiple threads. Updating the
+  * storage replaces the array with an updated copy.
   *
   * @param startingMeta metadata mappings to initialise the configuration
   *                     storage with
@@ -13,9 +18,12 @@ import org.enso.compiler.pass.IRPass
 class MetadataStorage(
   startingMeta: Seq[MetadataPair[_]] = Seq()
 ) {
-  private var metadata: Map[IRPass, Any] = Map(
-    startingMeta.map(_.asPair.asInstanceOf[(IRPass, Any)]): _*
-  )
+  private var entries: Array[MetadataStorage.Entry] =
+    MetadataStorage.emptyEntries
+
+  startingMeta
+    .map(_.asPair.asInstanceOf[(IRPass, IRPass.Metadata)])
+    .foreach { case (pass, meta) => setEntry(pass, meta) }
 
   /** Adds a metadata pair to the node metadata.
     *
@@ -36,7 +44,7 @@ class MetadataStorage(
     * @tparam K the concrete type of `pass`
     */
   def update[K <: IRPass](pass: K)(newMeta: pass.Metadata): Unit = {
-    metadata = metadata + (pass -> newMeta)
+    setEntry(pass, newMeta)
   }
 
   /** Removes the metadata for the specified pass from the list.
@@ -46,13 +54,11 @@ class MetadataStorage(
     * @return the removed metadata for that pass, if it exists
     */
   def remove[K <: IRPass](pass: K): Option[pass.Metadata] = {
-    if (metadata.contains(pass)) {
-      val res = get(pass)
-      metadata = metadata.filter(t => t._1 != pass)
-      res
-    } else {
-      None
+    val res = get(pass)
+    if (res.isDefined) {
+      store(pass.index, null)
     }
+    res
   }
 
   /** Gets the metadata for the specified pass.
@@ -62,7 +68,7 @@ class MetadataStorage(
     * @return the metadata for `pass`, if it exists
     */
   def get[K <: IRPass](pass: K): Option[pass.Metadata] = {
-    metadata.get(pass).map(_.asInstanceOf[pass.Metadata])
+    entryAt(pass.index).map(_.metadata.asInstanceOf[pass.Metadata])
   }
 
   /** Unsafely gets the metadata for the specified pass, if it exists.
@@ -86,7 +92,7 @@ class MetadataStorage(
     * @return `true` if `this == obj`, otherwise `false`
     */
   override def equals(obj: Any): Boolean = obj match {
-    case that: MetadataStorage => this.metadata == that.metadata
+    case that: MetadataStorage => this.toMap == that.toMap
     case _                     => false
   }
 
@@ -98,7 +104,10 @@ class MetadataStorage(
     * @return a map containing the results of transforming the metadata storage
     */
   def map[K, V](f: (IRPass, IRPass.Metadata) => (K, V)): Map[K, V] = {
-    metadata.asInstanceOf[Map[IRPass, IRPass.Metadata]].map(f.tupled)
+    entries.iterator
+      .filter(_ != null)
+      .map(entry => f(entry.pass, entry.metadata))
+      .toMap
   }
 
   /** Creates a copy of `this`.
@@ -107,27 +116,81 @@ class MetadataStorage(
     */
   def copy: MetadataStorage = {
     val res = new MetadataStorage
-    res.metadata = this.metadata
+    res.entries = this.entries
     res
   }
 
-  override def toString: String = metadata.toString()
+  override def toString: String = toMap.toString()
 
   /** Creates a deep copy of `this`.
-   *
-   * @return a deep copy of `this`
-   */
+    *
+    * @return a deep copy of `this`
+    */
   def duplicate: MetadataStorage = {
     val res = MetadataStorage()
-    res.metadata = this.metadata.map {
-      case (pass, meta) => (pass, meta.asInstanceOf[IRPass.Metadata].duplicate)
-    }
-
+    res.entries = this.entries.map(entry =>
+      if (entry == null) null
+      else MetadataStorage.Entry(entry.pass, entry.metadata.duplicate)
+    )
     res
   }
+
+  /** Gets the stored metadata.
+    *
+    * @return the mapping from the passes to their metadata
+    */
+  private def toMap: Map[IRPass, IRPass.Metadata] = {
+    entries.iterator
+      .filter(_ != null)
+      .map(entry => (entry.pass, entry.metadata))
+      .toMap
+  }
+
+  /** Gets the entry for the pass with the provided index.
+    *
+    * @param index the index of the pass
+    * @return the entry for the pass, if it exists
+    */
+  private def entryAt(index: Int): Option[MetadataStorage.Entry] = {
+    if (index < entries.length) Option(entries(index)) else None
+  }
+
+  /** Stores the metadata for the pass.
+    *
+    * @param pass the pass
+    * @param metadata the metadata for `pass`
+    */
+  private def setEntry(pass: IRPass, metadata: IRPass.Metadata): Unit = {
+    store(pass.index, MetadataStorage.Entry(pass, metadata))
+  }
+
+  /** Replaces the entries with a copy that has the entry at the provided
+    * index updated.
+    *
+    * @param index the index of the pass
+    * @param entry the entry to write, or `null` to remove the entry
+    */
+  private def store(index: Int, entry: MetadataStorage.Entry): Unit = {
+    val updated = java.util.Arrays.copyOf(
+      entries,
+      Math.max(entries.length, index + 1)
+    )
+    updated(index) = entry
+    entries = updated
+  }
 }
 object MetadataStorage extends MetadataStorageSyntax {
 
+  /** The entries of an empty storage. */
+  private val emptyEntries: Array[Entry] = Array()
+
+  /** The metadata stored for a pass.
+    *
+    * @param pass the pass
+    * @param metadata the metadata for `pass`
+    */
+  sealed private case class Entry(pass: IRPass, metadata: IRPass.Metadata)
+
   /** Creates a new pass metadata safely.
     *
     * @param pairs the pairs of (pass, metadata)
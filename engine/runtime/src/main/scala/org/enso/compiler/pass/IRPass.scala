@@ -1,6 +1,7 @@
 package org.enso.compiler.pass
 
 import java.util.UUID
+import java.util.concurrent.atomic.AtomicInteger
 
 import org.enso.compiler.context.{InlineContext, ModuleContext}
 import org.enso.compiler.core.IR
@@ -24,6 +25,9 @@ trait IRPass {
   /** An identifier for the pass. Useful for keying it in maps. */
   val key: IRPass.Identifier = IRPass.genId
 
+  /** A dense index of the pass. Useful for keying it in arrays. */
+  val index: Int = IRPass.genIndex
+
   /** The type of the metadata object that the pass writes to the IR. */
   type Metadata <: IRPass.Metadata
 
@@ -73,6 +77,128 @@ object IRPass {
     UUID.randomUUID()
   }
 
+  private val nextIndex = new AtomicInteger(0)
+
+  /** Generates a pass index, unique among the passes of the program.
+    *
+    * @return a new pass index
+    */
+  def genIndex: Int = {
+    nextIndex.getAndIncrement()
+  }
+
+  /** A compiler pass that processes every top-level binding of a module
+    * independently of the other bindings.
+    *
+    * The pass manager may run such a pass on the bindings of a module in
+    * parallel, so the pass must not share any mutable state between the
+    * bindings other than what it gets from the provided context.
+    */
+  trait BindingLocal extends IRPass {
+
+    /** Executes the pass on a single top-level binding of a module.
+      *
+      * @param ir the module binding to process
+      * @param moduleContext a context object that contains the information
+      *                      needed to process a module
+      * @return `ir`, possibly having made transformations or annotations to
+      *         that IR.
+      */
+    def runBinding(
+      ir: IR.Module.Scope.Definition,
+      moduleContext: ModuleContext
+    ): IR.Module.Scope.Definition
+
+    /** Executes the pass on every top-level binding of the module.
+      *
+      * @param ir the Enso IR to process
+      * @param moduleContext a context object that contains the information
+      *                      needed to process a module
+      * @return `ir`, possibly having made transformations or annotations to
+      *         that IR.
+      */
+    override def runModule(
+      ir: IR.Module,
+      moduleContext: ModuleContext
+    ): IR.Module =
+      ir.copy(bindings = ir.bindings.map(runBinding(_, moduleContext)))
+  }
+
+  /** A compiler pass that rewrites every expression looking only at the
+    * expression itself and at its children, which are rewritten first.
+    *
+    * The pass manager fuses the adjacent local rewrite passes, so that a
+    * single traversal of the IR applies the rewrites of all of them, in
+    * order, at every node.
+    */
+  trait LocalRewrite extends IRPass {
+
+    /** Rewrites a single expression whose children have already been
+      * rewritten.
+      *
+      * @param ir the expression to rewrite
+      * @return `ir`, possibly having made transformations or annotations to
+      *         that IR.
+      */
+    def rewriteExpression(ir: IR.Expression): IR.Expression
+
+    /** Executes the rewrite on every expression in the module.
+      *
+      * @param ir the Enso IR to process
+      * @param moduleContext a context object that contains the information
+      *                      needed to process a module
+      * @return `ir`, possibly having made transformations or annotations to
+      *         that IR.
+      */
+    override def runModule(
+      ir: IR.Module,
+      @unused moduleContext: ModuleContext
+    ): IR.Module = LocalRewrite.runModule(ir, List(this))
+
+    /** Executes the rewrite on every expression in the provided `ir`.
+      *
+      * @param ir the Enso IR to process
+      * @param inlineContext a context object that contains the information
+      *                      needed for inline evaluation
+      * @return `ir`, possibly having made transformations or annotations to
+      *         that IR.
+      */
+    override def runExpression(
+      ir: IR.Expression,
+      @unused inlineContext: InlineContext
+    ): IR.Expression = LocalRewrite.runExpression(ir, List(this))
+  }
+  object LocalRewrite {
+
+    /** Executes the local rewrite passes on a module in a single traversal.
+      *
+      * @param ir the module to process
+      * @param passes the passes to execute, in order
+      * @return `ir`, rewritten by all the `passes`
+      */
+    def runModule(ir: IR.Module, passes: List[LocalRewrite]): IR.Module =
+      ir.copy(bindings =
+        ir.bindings.map(_.mapExpressions(runExpression(_, passes)))
+      )
+
+    /** Executes the local rewrite passes on an expression in a single
+      * traversal.
+      *
+      * @param ir the expression to process
+      * @param passes the passes to execute, in order
+      * @return `ir`, rewritten by all the `passes`
+      */
+    def runExpression(
+      ir: IR.Expression,
+      passes: List[LocalRewrite]
+    ): IR.Expression = {
+      val withChildren = ir.mapExpressions(runExpression(_, passes))
+      passes.foldLeft(withChildren)((expr, pass) =>
+        pass.rewriteExpression(expr)
+      )
+    }
+  }
+
   /** A representation of configuration for a given pass.
     *
     * Configuration must be able to be compared for equality.
@@ -8,6 +8,8 @@ import org.enso.compiler.exception.CompilerError
 
 import scala.annotation.unused
 import scala.collection.mutable
+import scala.concurrent.duration.Duration
+import scala.concurrent.{Await, ExecutionContext, Future}
 
 // TODO [AA] In the future, the pass ordering should be _computed_ from the list
 //  of available passes, rather than just verified.
@@ -16,14 +18,23 @@ import scala.collection.mutable
   *
   * @param passes the specification of the ordering for the passes
   * @param passConfiguration the configuration for the passes
+  * @param parallelBindingsThreshold the number of bindings in a module from
+  *                                  which the binding-local passes are
+  *                                  executed on the bindings in parallel
   */
 //noinspection DuplicatedCode
 class PassManager(
   passes: List[IRPass],
-  passConfiguration: PassConfiguration
+  passConfiguration: PassConfiguration,
+  parallelBindingsThreshold: Int = PassManager.parallelBindingsThreshold
 ) {
   val passOrdering: List[IRPass] = verifyPassOrdering(passes)
 
+  /** The pass ordering, with the runs of adjacent local rewrite passes
+    * grouped, so that each group is executed in a single traversal of the IR.
+    */
+  private val fusedOrdering: List[List[IRPass]] = fusePasses(passOrdering)
+
   /** Computes a valid pass ordering for the compiler.
     *
     * @param passes the input list of passes
@@ -56,6 +67,30 @@ class PassManager(
     passes
   }
 
+  /** Groups the adjacent [[IRPass.LocalRewrite]] passes in the ordering.
+    *
+    * @param passes the pass ordering
+    * @return the groups of passes to execute together, in order
+    */
+  private def fusePasses(passes: List[IRPass]): List[List[IRPass]] = {
+    passes.foldRight(List[List[IRPass]]()) {
+      case (
+            pass: IRPass.LocalRewrite,
+            (group @ (_: IRPass.LocalRewrite) :: _) :: groups
+          ) =>
+        (pass :: group) :: groups
+      case (pass, groups) => List(pass) :: groups
+    }
+  }
+
+  /** Selects the local rewrite passes of a group.
+    *
+    * @param group the group of passes
+    * @return the local rewrite passes in `group`
+    */
+  private def localRewrites(group: List[IRPass]): List[IRPass.LocalRewrite] =
+    group.collect { case pass: IRPass.LocalRewrite => pass }
+
   /** Calculates the number of times each pass occurs in the pass ordering.
     *
     * @return the a mapping from the pass identifier to the number of times the
@@ -78,35 +113,91 @@ class PassManager(
     *
     * @param ir the module to execute the compiler phases on
     * @param moduleContext the module context in which the phases are executed
+    * @param afterPass a callback invoked with each pass and the module it
+    *                  produced, where the passes executed in a single
+    *                  traversal all produce the result of the traversal
     * @return the result of executing [[passOrdering]] on `ir`
     */
   def runPassesOnModule(
     ir: IR.Module,
-    moduleContext: ModuleContext
+    moduleContext: ModuleContext,
+    afterPass: (IRPass, IR.Module) => Unit = (_, _) => ()
   ): IR.Module = {
     val passCounts = calculatePassCounts
 
     val newContext =
       moduleContext.copy(passConfiguration = Some(passConfiguration))
 
-    passOrdering.foldLeft(ir)((intermediateIR, pass) => {
-      val passCount = passCounts(pass.key)
+    fusedOrdering.foldLeft(ir)((intermediateIR, group) => {
+      group.foreach(pass => {
+        val passCount = passCounts(pass.key)
 
-      passConfiguration
-        .get(pass)
-        .foreach(c =>
-          c.shouldWriteToContext =
-            passCount.expected - passCount.completed == 1
-        )
+        passConfiguration
+          .get(pass)
+          .foreach(c =>
+            c.shouldWriteToContext =
+              passCount.expected - passCount.completed == 1
+          )
+      })
 
-      val result = pass.runModule(intermediateIR, newContext)
+      val result = group match {
+        case List(bindingLocal: IRPass.BindingLocal) =>
+          runPassOnBindings(bindingLocal, intermediateIR, newContext)
+        case List(pass) =>
+          pass.runModule(intermediateIR, newContext)
+        case _ =>
+          IRPass.LocalRewrite.runModule(intermediateIR, localRewrites(group))
+      }
 
-      passCounts(pass.key) = passCount.copy(completed = passCount.completed + 1)
+      group.foreach(pass => {
+        val passCount = passCounts(pass.key)
+        passCounts(pass.key) =
+          passCount.copy(completed = passCount.completed + 1)
+        afterPass(pass, result)
+      })
 
       result
     })
   }
 
+  /** Executes a binding-local pass on the bindings of an [[IR.Module]].
+    *
+    * Each binding is processed with its own fork of the fresh name supply. The
+    * forks are created in the order of the bindings, so the result does not
+    * depend on the order in which the bindings are processed, and the bindings
+    * of the large modules are processed in parallel.
+    *
+    * @param pass the pass to execute
+    * @param ir the module to execute the pass on
+    * @param moduleContext the module context in which the pass is executed
+    * @return the result of executing `pass` on `ir`
+    */
+  private def runPassOnBindings(
+    pass: IRPass.BindingLocal,
+    ir: IR.Module,
+    moduleContext: ModuleContext
+  ): IR.Module = {
+    val bindingsWithContexts = ir.bindings.map { binding =>
+      val freshNameSupply = moduleContext.freshNameSupply.map(_.fork())
+      (binding, moduleContext.copy(freshNameSupply = freshNameSupply))
+    }
+
+    val bindings =
+      if (bindingsWithContexts.length < parallelBindingsThreshold) {
+        bindingsWithContexts.map {
+          case (binding, context) => pass.runBinding(binding, context)
+        }
+      } else {
+        implicit val ec: ExecutionContext = ExecutionContext.global
+        val results = bindingsWithContexts.map {
+          case (binding, context) => Future(pass.runBinding(binding, context))
+        }
+        Await.result(Future.sequence(results), Duration.Inf)
+      }
+
+    ir.copy(bindings = bindings)
+  }
+
   /** Executes the passes on an [[IR.Expression]].
     *
     * @param ir the expression to execute the compiler phases on
@@ -123,19 +214,33 @@ class PassManager(
     val newContext =
       inlineContext.copy(passConfiguration = Some(passConfiguration))
 
-    passOrdering.foldLeft(ir)((intermediateIR, pass) => {
-      val passCount = passCounts(pass.key)
+    fusedOrdering.foldLeft(ir)((intermediateIR, group) => {
+      group.foreach(pass => {
+        val passCount = passCounts(pass.key)
 
-      passConfiguration
-        .get(pass)
-        .foreach(c =>
-          c.shouldWriteToContext =
-            passCount.expected - passCount.completed == 1
-        )
+        passConfiguration
+          .get(pass)
+          .foreach(c =>
+            c.shouldWriteToContext =
+              passCount.expected - passCount.completed == 1
+          )
+      })
 
-      val result = pass.runExpression(intermediateIR, newContext)
+      val result = group match {
+        case List(pass) =>
+          pass.runExpression(intermediateIR, newContext)
+        case _ =>
+          IRPass.LocalRewrite.runExpression(
+            intermediateIR,
+            localRewrites(group)
+          )
+      }
 
-      passCounts(pass.key) = passCount.copy(completed = passCount.completed + 1)
+      group.foreach(pass => {
+        val passCount = passCounts(pass.key)
+        passCounts(pass.key) =
+          passCount.copy(completed = passCount.completed + 1)
+      })
 
       result
     })
@@ -148,3 +253,10 @@ class PassManager(
     */
   sealed private case class PassCount(expected: Int = 1, completed: Int = 0)
 }
+object PassManager {
+
+  /** The default number of bindings in a module from which the binding-local
+    * passes are executed on the bindings in parallel.
+    */
+  val parallelBindingsThreshold: Int = 16
+}
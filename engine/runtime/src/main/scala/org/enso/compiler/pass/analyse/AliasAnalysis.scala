@@ -13,7 +13,6 @@ import org.enso.syntax.text.Debug
 
 import scala.annotation.unused
 import scala.collection.mutable
-import scala.collection.mutable.ListBuffer
 import scala.reflect.ClassTag
 
 /** This pass performs scope identification and analysis, as well as symbol
@@ -413,10 +412,19 @@ case object AliasAnalysis extends IRPass {
     parentScope: AliasAnalysis.Graph.Scope
   ): List[IR.CallArgument] = {
     args.map {
-      case arg @ IR.CallArgument.Specified(_, expr, _, _, _, _) =>
+      case arg @ IR.CallArgument.Specified(
+            _,
+            expr,
+            _,
+            shouldBeSuspended,
+            _,
+            _
+          ) =>
+        // The arguments that are not suspended are evaluated in the caller
         val currentScope = expr match {
-          case _: IR.Literal => parentScope
-          case _             => parentScope.addChild()
+          case _: IR.Literal                          => parentScope
+          case _ if shouldBeSuspended.contains(false) => parentScope
+          case _                                      => parentScope.addChild()
         }
 
         arg
@@ -639,10 +647,16 @@ case object AliasAnalysis extends IRPass {
     }
   }
 
-  /** A graph containing aliasing information for a given root scope in Enso. */
+  /** A graph containing aliasing information for a given root scope in Enso.
+    *
+    * The links are indexed by the identifiers of both their ends, and the
+    * indexes are persistent, so that the copies of the graph share them.
+    */
   sealed class Graph {
     var rootScope: Graph.Scope = new Graph.Scope()
-    var links: Set[Graph.Link] = Set()
+
+    private var allLinks: Set[Graph.Link]                 = Set()
+    private var linksById: Map[Graph.Id, Set[Graph.Link]] = Map()
 
     private var globalSymbols: Map[Graph.Symbol, Occurrence.Global] = Map()
 
@@ -658,14 +672,48 @@ case object AliasAnalysis extends IRPass {
       }
     }
 
+    /** Gets all links in the graph.
+      *
+      * @return the links in the graph
+      */
+    def links: Set[Graph.Link] = allLinks
+
+    /** Replaces the links in the graph.
+      *
+      * @param newLinks the new links of the graph
+      */
+    def links_=(newLinks: Set[Graph.Link]): Unit = {
+      allLinks  = Set()
+      linksById = Map()
+      newLinks.foreach(addLink)
+    }
+
+    /** Adds the link to the graph, indexing it by its source and target.
+      *
+      * @param link the link to add
+      */
+    private def addLink(link: Graph.Link): Unit = {
+      if (!allLinks.contains(link)) {
+        allLinks += link
+        linksById = linksById.updated(link.source, linksFor(link.source) + link)
+        linksById = linksById.updated(link.target, linksFor(link.target) + link)
+      }
+    }
+
     /** Creates a deep copy of the aliasing graph structure.
+      *
+      * The immutable parts of the structure, such as the links and the
+      * occurrences, are shared with the copy.
       *
       * @return a copy of the graph structure
       */
     def copy: Graph = {
       val graph = new Graph
-      graph.links     = links
-      graph.rootScope = rootScope.copy
+      graph.allLinks      = allLinks
+      graph.linksById     = linksById
+      graph.globalSymbols = globalSymbols
+      graph.nextIdCounter = nextIdCounter
+      graph.rootScope     = rootScope.copy
 
       graph
     }
@@ -703,7 +751,7 @@ case object AliasAnalysis extends IRPass {
         case Some(scope) =>
           scope.resolveUsage(occurrence) match {
             case Some(link) =>
-              links += link
+              addLink(link)
               Some(link)
             case None =>
               globalSymbols
@@ -738,7 +786,7 @@ case object AliasAnalysis extends IRPass {
       * @return a list of links in which `id` occurs
       */
     def linksFor(id: Graph.Id): Set[Graph.Link] = {
-      links.filter(l => l.source == id || l.target == id)
+      linksById.getOrElse(id, Set())
     }
 
     /** Finds all links in the graph where `symbol` appears in the role
@@ -751,11 +799,7 @@ case object AliasAnalysis extends IRPass {
     def linksFor[T <: Occurrence: ClassTag](
       symbol: Graph.Symbol
     ): Set[Graph.Link] = {
-      val idsForSym = rootScope.symbolToIds[T](symbol)
-
-      links.filter(l =>
-        idsForSym.contains(l.source) || idsForSym.contains(l.target)
-      )
+      rootScope.symbolToIds[T](symbol).toSet.flatMap(linksFor)
     }
 
     /** Obtains the occurrence for a given ID, from whichever scope in which it
@@ -850,9 +894,9 @@ case object AliasAnalysis extends IRPass {
       definition: Occurrence
     ): Set[Graph.Occurrence] = {
       def getShadowedIds(scope: Graph.Scope): Set[Graph.Occurrence] = {
-        scope.occurrences.collect {
-          case d: Occurrence.Def if d.symbol == definition.symbol    => d
-          case g: Occurrence.Global if g.symbol == definition.symbol => g
+        scope.getOccurrences[Occurrence](definition.symbol).collect {
+          case d: Occurrence.Def    => d
+          case g: Occurrence.Global => g
         } ++ scope.parent.map(getShadowedIds).getOrElse(Set())
       }
 
@@ -917,16 +961,35 @@ case object AliasAnalysis extends IRPass {
     type Id = Int
 
     /** A representation of a local scope in Enso.
+      *
+      * The occurrences are indexed by their identifiers and symbols, and all
+      * scopes of a tree share the index from the identifiers of the
+      * occurrences to the scopes in which they occur.
       *
       * @param childScopes all scopes that are _direct_ children of `this`
-      * @param occurrences all symbol occurrences in `this` scope
+      * @param initialOccurrences all symbol occurrences in `this` scope
       */
     sealed class Scope(
-      var childScopes: List[Scope]     = List(),
-      var occurrences: Set[Occurrence] = Set()
+      var childScopes: List[Scope]        = List(),
+      initialOccurrences: Set[Occurrence] = Set()
     ) {
       var parent: Option[Scope] = None
 
+      private var index: ScopeIndex                         = new ScopeIndex
+      private var occurrenceSet: Set[Occurrence]             = Set()
+      private var occurrencesById: Map[Graph.Id, Occurrence] = Map()
+      private var occurrencesBySymbol: Map[Graph.Symbol, Set[Occurrence]] =
+        Map()
+
+      initialOccurrences.foreach(add)
+      childScopes.foreach(_.attach(this))
+
+      /** Gets all symbol occurrences in this scope.
+        *
+        * @return the occurrences in `this` scope
+        */
+      def occurrences: Set[Occurrence] = occurrenceSet
+
       /** Counts the number of scopes from this scope to the root.
         *
         * This count includes the root scope, but not the current scope.
@@ -941,11 +1004,47 @@ case object AliasAnalysis extends IRPass {
         *
         * @return a copy of `this`
         */
-      def copy: Scope = {
-        val childScopeCopies: mutable.ListBuffer[Scope] = ListBuffer()
-        this.childScopes.foreach(scope => childScopeCopies += scope.copy)
+      def copy: Scope = copyWithParent(None)
 
-        new Scope(childScopeCopies.toList, occurrences)
+      /** Creates a structural copy of this scope as a child of the provided
+        * scope, sharing the occurrences with `this`.
+        *
+        * @param newParent the parent of the copy
+        * @return a copy of `this`
+        */
+      private def copyWithParent(newParent: Option[Scope]): Scope = {
+        val scope = new Scope()
+        scope.occurrenceSet       = occurrenceSet
+        scope.occurrencesById     = occurrencesById
+        scope.occurrencesBySymbol = occurrencesBySymbol
+        newParent match {
+          case Some(parentScope) => scope.attach(parentScope)
+          case None              => scope.reindex(scope.index)
+        }
+        scope.childScopes = childScopes.map(_.copyWithParent(Some(scope)))
+
+        scope
+      }
+
+      /** Makes this scope a child of the provided scope, registering the
+        * occurrences of this scope and its children in the parent's index.
+        *
+        * @param parentScope the parent scope
+        */
+      private def attach(parentScope: Scope): Unit = {
+        parent = Some(parentScope)
+        reindex(parentScope.index)
+      }
+
+      /** Registers the occurrences of this scope and its children in the
+        * provided index.
+        *
+        * @param newIndex the index of the scope tree
+        */
+      private def reindex(newIndex: ScopeIndex): Unit = {
+        index = newIndex
+        occurrenceSet.foreach(index.register(this, _))
+        childScopes.foreach(_.reindex(newIndex))
       }
 
       /** Checks whether `this` is equal to `obj`.
@@ -973,7 +1072,7 @@ case object AliasAnalysis extends IRPass {
         */
       def addChild(): Scope = {
         val scope = new Scope()
-        scope.parent = Some(this)
+        scope.attach(this)
         childScopes ::= scope
 
         scope
@@ -984,7 +1083,16 @@ case object AliasAnalysis extends IRPass {
         * @param occurrence the occurrence to add
         */
       def add(occurrence: Occurrence): Unit = {
-        occurrences += occurrence
+        if (getOccurrence(occurrence.id).exists(_ != occurrence)) {
+          index.ambiguous += occurrence.id
+        }
+        occurrenceSet += occurrence
+        occurrencesById = occurrencesById.updated(occurrence.id, occurrence)
+        occurrencesBySymbol = occurrencesBySymbol.updated(
+          occurrence.symbol,
+          occurrencesBySymbol.getOrElse(occurrence.symbol, Set()) + occurrence
+        )
+        index.register(this, occurrence)
       }
 
       /** Finds an occurrence for the provided ID in the current scope, if it
@@ -994,7 +1102,7 @@ case object AliasAnalysis extends IRPass {
         * @return the occurrence for `id`, if it exists
         */
       def getOccurrence(id: Graph.Id): Option[Occurrence] = {
-        occurrences.find(o => o.id == id)
+        occurrencesById.get(id)
       }
 
       /** Finds any occurrences for the provided symbol in the current scope, if
@@ -1007,9 +1115,7 @@ case object AliasAnalysis extends IRPass {
       def getOccurrences[T <: Occurrence: ClassTag](
         symbol: Graph.Symbol
       ): Set[Occurrence] = {
-        occurrences.collect {
-          case o: T if o.symbol == symbol => o
-        }
+        occurrencesBySymbol.getOrElse(symbol, Set()).collect { case o: T => o }
       }
 
       /** Unsafely gets the occurrence for the provided ID in the current scope.
@@ -1034,7 +1140,7 @@ case object AliasAnalysis extends IRPass {
       def hasSymbolOccurrenceAs[T <: Occurrence: ClassTag](
         symbol: Graph.Symbol
       ): Boolean = {
-        occurrences.collect { case x: T if x.symbol == symbol => x }.nonEmpty
+        getOccurrences[T](symbol).nonEmpty
       }
 
       /** Resolves usages of symbols into links where possible, creating an edge
@@ -1049,11 +1155,8 @@ case object AliasAnalysis extends IRPass {
         occurrence: Graph.Occurrence.Use,
         parentCounter: Int = 0
       ): Option[Graph.Link] = {
-        val definition = occurrences.find {
-          case Graph.Occurrence.Def(_, name, _, _, _) =>
-            name == occurrence.symbol
-          case _ => false
-        }
+        val definition =
+          getOccurrences[Graph.Occurrence.Def](occurrence.symbol).headOption
 
         definition match {
           case None =>
@@ -1093,25 +1196,20 @@ case object AliasAnalysis extends IRPass {
         * @return the scope where `id` occurs
         */
       def scopeFor(id: Graph.Id): Option[Scope] = {
-        val possibleCandidates = occurrences.filter(o => o.id == id)
-
-        if (possibleCandidates.size == 1) {
-          Some(this)
-        } else if (possibleCandidates.isEmpty) {
-          val childCandidates = childScopes.map(_.scopeFor(id)).collect {
-            case Some(scope) => scope
-          }
-
-          if (childCandidates.length == 1) {
-            Some(childCandidates.head)
-          } else if (childCandidates.isEmpty) {
-            None
-          } else {
-            throw new CompilerError(s"ID $id defined in multiple scopes.")
-          }
-        } else {
+        if (index.ambiguous.contains(id)) {
           throw new CompilerError(s"Multiple occurrences found for ID $id.")
         }
+        index.scopes.get(id).filter(_.isWithin(this))
+      }
+
+      /** Checks if `this` scope is the provided `scope` or one of its
+        * descendants, walking up the parents.
+        *
+        * @param scope the potential ancestor scope
+        * @return `true` if `this` is within `scope`, otherwise `false`
+        */
+      private def isWithin(scope: Scope): Boolean = {
+        (this eq scope) || parent.exists(_.isWithin(scope))
       }
 
       /** Gets the n-th parent of `this` scope.
@@ -1152,7 +1250,7 @@ case object AliasAnalysis extends IRPass {
         * @return the set of symbols
         */
       def symbols: Set[Graph.Symbol] = {
-        val symbolsInThis        = occurrences.map(_.symbol)
+        val symbolsInThis        = occurrencesBySymbol.keySet
         val symbolsInChildScopes = childScopes.flatMap(_.symbols)
 
         symbolsInThis ++ symbolsInChildScopes
@@ -1198,6 +1296,28 @@ case object AliasAnalysis extends IRPass {
       }
     }
 
+    /** The index of the occurrences in a tree of scopes.
+      *
+      * It maps the identifiers of the occurrences to the scopes in which they
+      * occur, and records the identifiers that occur more than once.
+      */
+    final private class ScopeIndex {
+      val scopes: mutable.HashMap[Id, Scope] = mutable.HashMap()
+      val ambiguous: mutable.Set[Id]         = mutable.Set()
+
+      /** Registers the occurrence in the scope.
+        *
+        * @param scope the scope of the occurrence
+        * @param occurrence the occurrence
+        */
+      def register(scope: Scope, occurrence: Occurrence): Unit = {
+        scopes.get(occurrence.id) match {
+          case Some(other) if other ne scope => ambiguous += occurrence.id
+          case _                             => scopes(occurrence.id) = scope
+        }
+      }
+    }
+
     /** A link in the [[Graph]].
       *
       * The source of the link should always be an [[Occurrence.Use]] while the
@@ -569,8 +569,7 @@ case object DataflowAnalysis extends IRPass {
     *                     components
     */
   sealed case class DependencyInfo(
-    dependencies: mutable.Map[DependencyInfo.Type, Set[DependencyInfo.Type]] =
-      mutable.Map()
+    dependencies: DependencyInfo.Graph = new DependencyInfo.Graph
   ) extends IRPass.Metadata {
     override val metadataName: String = "DataflowAnalysis.Dependencies"
 
@@ -607,7 +606,7 @@ case object DataflowAnalysis extends IRPass {
     def getDirect(
       key: DependencyInfo.Type
     ): Option[Set[DependencyInfo.Type]] = {
-      dependencies.get(key)
+      dependencies.getDirect(key)
     }
 
     /** Obtains the external identifiers of the _direct_ dependents of a given
@@ -631,28 +630,8 @@ case object DataflowAnalysis extends IRPass {
       * @param key the key to get the dependents of
       * @return the set of all dependencies on `key`, if key exists
       */
-    def get(key: DependencyInfo.Type): Option[Set[DependencyInfo.Type]] = {
-      val visited = mutable.Set[DependencyInfo.Type]()
-
-      def go(key: DependencyInfo.Type): Set[DependencyInfo.Type] = {
-        if (!visited.contains(key)) {
-          visited += key
-
-          dependencies.get(key) match {
-            case Some(deps) => deps ++ deps.map(go).reduceLeft(_ ++ _)
-            case None       => Set()
-          }
-        } else {
-          Set()
-        }
-      }
-
-      if (dependencies.contains(key)) {
-        Some(go(key))
-      } else {
-        None
-      }
-    }
+    def get(key: DependencyInfo.Type): Option[Set[DependencyInfo.Type]] =
+      dependencies.getTransitive(key)
 
     /** Safely gets the external identifiers for all dependents of the provided
       * key.
@@ -665,9 +644,8 @@ case object DataflowAnalysis extends IRPass {
       * @return the set of all external identifiers of dependents on `key`, if
       *         it exists
       */
-    def getExternal(key: DependencyInfo.Type): Option[Set[IR.ExternalId]] = {
-      get(key).map(_.flatMap(_.externalId))
-    }
+    def getExternal(key: DependencyInfo.Type): Option[Set[IR.ExternalId]] =
+      dependencies.getTransitiveExternal(key)
 
     /** Executes an update on the dependency information.
       *
@@ -690,10 +668,9 @@ case object DataflowAnalysis extends IRPass {
       key: DependencyInfo.Type,
       dependents: Set[DependencyInfo.Type]
     ): Unit = {
-      if (dependencies.contains(key)) {
-        dependencies(key) ++= dependents
-      } else {
-        dependencies(key) = dependents
+      dependencies.getDirect(key) match {
+        case Some(deps) => dependencies(key) = deps ++ dependents
+        case None       => dependencies(key) = dependents
       }
     }
 
@@ -717,8 +694,8 @@ case object DataflowAnalysis extends IRPass {
     def ++(that: DependencyInfo): DependencyInfo = {
       val combinedModule = new DependencyInfo(this.dependencies)
 
-      for ((key, value) <- that.dependencies) {
-        combinedModule.dependencies.get(key) match {
+      for ((key, value) <- that.dependencies.toMap) {
+        combinedModule.dependencies.getDirect(key) match {
           case Some(xs) => combinedModule(key) = value ++ xs
           case None     => combinedModule(key) = value
         }
@@ -737,6 +714,251 @@ case object DataflowAnalysis extends IRPass {
     /** The type of symbols in this analysis. */
     type Symbol = String
 
+    /** The direct dependencies between program components.
+      *
+      * The components are interned as dense integer indices, and the
+      * dependents of each component are stored as a bit set of these indices.
+      *
+      * The transitive dependents are computed on the condensation of the
+      * graph, where each strongly connected component is collapsed into a
+      * single node, and they are memoized per component. The condensation is
+      * computed when the transitive dependents are first requested, and it is
+      * dropped when the graph changes. As the graph is only changed while the
+      * analysis runs, all the later queries share a single condensation.
+      */
+    final class Graph {
+      private val indices    = mutable.HashMap[Type, Int]()
+      private val components = mutable.ArrayBuffer[Type]()
+      private val dependents = mutable.ArrayBuffer[Option[mutable.BitSet]]()
+
+      private var condensation: Option[Condensation] = None
+
+      /** Checks if the dependents of a component are defined.
+        *
+        * @param key the component
+        * @return `true` if the dependents of `key` are defined
+        */
+      def contains(key: Type): Boolean =
+        synchronized {
+          indices.get(key).exists(dependents(_).isDefined)
+        }
+
+      /** Gets the _direct_ dependents of a component.
+        *
+        * @param key the component
+        * @return the direct dependents of `key`, if they are defined
+        */
+      def getDirect(key: Type): Option[Set[Type]] =
+        synchronized {
+          indices.get(key).flatMap(dependents(_)).map(toSet)
+        }
+
+      /** Gets _all_ the dependents of a component.
+        *
+        * @param key the component
+        * @return the transitive dependents of `key`, if they are defined
+        */
+      def getTransitive(key: Type): Option[Set[Type]] =
+        synchronized {
+          definedIndex(key).map(getCondensation.closure(_, components))
+        }
+
+      /** Gets the external identifiers of _all_ the dependents of a
+        * component.
+        *
+        * @param key the component
+        * @return the external identifiers of the transitive dependents of
+        *         `key`, if they are defined
+        */
+      def getTransitiveExternal(key: Type): Option[Set[IR.ExternalId]] =
+        synchronized {
+          definedIndex(key).map(getCondensation.externalClosure(_, components))
+        }
+
+      /** Sets the direct dependents of a component.
+        *
+        * @param key the component
+        * @param deps the direct dependents of `key`
+        */
+      def update(key: Type, deps: Set[Type]): Unit =
+        synchronized {
+          val bits = mutable.BitSet()
+          deps.foreach(dep => bits += intern(dep))
+          dependents(intern(key)) = Some(bits)
+          condensation = None
+        }
+
+      /** Returns the defined dependents of all the components.
+        *
+        * @return a mapping from components to their direct dependents
+        */
+      def toMap: Map[Type, Set[Type]] =
+        synchronized {
+          components.indices.flatMap { index =>
+            dependents(index).map(deps => components(index) -> toSet(deps))
+          }.toMap
+        }
+
+      override def equals(obj: Any): Boolean =
+        obj match {
+          case that: Graph => (this eq that) || toMap == that.toMap
+          case _           => false
+        }
+
+      override def hashCode(): Int = toMap.hashCode()
+
+      private def definedIndex(key: Type): Option[Int] =
+        indices.get(key).filter(dependents(_).isDefined)
+
+      private def getCondensation: Condensation =
+        condensation.getOrElse {
+          val computed = new Condensation(adjacency)
+          condensation = Some(computed)
+          computed
+        }
+
+      private def intern(key: Type): Int =
+        indices.getOrElseUpdate(key, {
+          components += key
+          dependents += None
+          components.length - 1
+        })
+
+      private def toSet(bits: mutable.BitSet): Set[Type] =
+        bits.iterator.map(components).toSet
+
+      private def adjacency: Array[Array[Int]] =
+        dependents.map(_.fold(Array[Int]())(_.toArray)).toArray
+    }
+
+    /** The condensation of a dependency graph.
+      *
+      * The strongly connected components are found using an iterative
+      * version of Tarjan's algorithm, so that long dependency chains don't
+      * overflow the stack.
+      *
+      * @param adjacency the direct dependents of each node
+      */
+    final private class Condensation(adjacency: Array[Array[Int]]) {
+      private val nodeCount = adjacency.length
+
+      private val component = Array.fill(nodeCount)(-1)
+      private val members   = mutable.ArrayBuffer[Array[Int]]()
+      private val cyclic    = mutable.ArrayBuffer[Boolean]()
+      private val closures  = mutable.HashMap[Int, Set[Type]]()
+      private val externals = mutable.HashMap[Int, Set[IR.ExternalId]]()
+
+      findComponents()
+
+      private val successors: Array[Array[Int]] = {
+        val bits = Array.fill(members.length)(mutable.BitSet())
+        for (node <- 0 until nodeCount; dep <- adjacency(node)) {
+          if (component(node) != component(dep)) {
+            bits(component(node)) += component(dep)
+          }
+        }
+        bits.map(_.toArray)
+      }
+
+      /** Gets all the nodes reachable from the node.
+        *
+        * @param node the node
+        * @param keys the components of the graph by their indices
+        * @return the components reachable from `node`
+        */
+      def closure(node: Int, keys: mutable.ArrayBuffer[Type]): Set[Type] = {
+        val start = component(node)
+        closures.getOrElseUpdate(
+          start, {
+            val visited = mutable.BitSet(start)
+            val pending = mutable.Stack(start)
+            val result  = Set.newBuilder[Type]
+            if (cyclic(start)) members(start).foreach(result += keys(_))
+            while (pending.nonEmpty) {
+              successors(pending.pop()).foreach { next =>
+                if (visited.add(next)) {
+                  members(next).foreach(result += keys(_))
+                  pending.push(next)
+                }
+              }
+            }
+            result.result()
+          }
+        )
+      }
+
+      /** Gets the external identifiers of all the nodes reachable from the
+        * node.
+        *
+        * @param node the node
+        * @param keys the components of the graph by their indices
+        * @return the external identifiers of the components reachable from
+        *         `node`
+        */
+      def externalClosure(
+        node: Int,
+        keys: mutable.ArrayBuffer[Type]
+      ): Set[IR.ExternalId] =
+        externals.getOrElseUpdate(
+          component(node),
+          closure(node, keys).flatMap(_.externalId)
+        )
+
+      private def findComponents(): Unit = {
+        val index    = Array.fill(nodeCount)(-1)
+        val low      = new Array[Int](nodeCount)
+        val position = new Array[Int](nodeCount)
+        val onStack  = mutable.BitSet()
+        val stack    = mutable.Stack[Int]()
+        val work     = mutable.Stack[Int]()
+        var counter  = 0
+
+        def visit(node: Int): Unit = {
+          index(node) = counter
+          low(node)   = counter
+          counter += 1
+          stack.push(node)
+          onStack += node
+          work.push(node)
+        }
+
+        for (root <- 0 until nodeCount if index(root) < 0) {
+          visit(root)
+          while (work.nonEmpty) {
+            val node  = work.top
+            val edges = adjacency(node)
+            if (position(node) < edges.length) {
+              val next = edges(position(node))
+              position(node) += 1
+              if (index(next) < 0) {
+                visit(next)
+              } else if (onStack.contains(next)) {
+                low(node) = Math.min(low(node), index(next))
+              }
+            } else {
+              work.pop()
+              if (work.nonEmpty) {
+                low(work.top) = Math.min(low(work.top), low(node))
+              }
+              if (low(node) == index(node)) {
+                val id      = members.length
+                val nodes   = mutable.ArrayBuffer[Int]()
+                var current = -1
+                while (current != node) {
+                  current = stack.pop()
+                  onStack -= current
+                  component(current) = id
+                  nodes += current
+                }
+                members += nodes.toArray
+                cyclic += nodes.length > 1 || edges.contains(node)
+              }
+            }
+          }
+        }
+      }
+    }
+
     /** The type of identification for a program component. */
     sealed trait Type {
       val externalId: Option[IR.ExternalId]
@@ -19,7 +19,7 @@ import org.enso.compiler.pass.resolve.OverloadsResolution
   * Additionally, all members of [[IR.IRKind.Primitive]] must have been removed
   * from the IR by the time it runs.
   */
-case object DemandAnalysis extends IRPass {
+case object DemandAnalysis extends IRPass.BindingLocal {
   override type Metadata = IRPass.Metadata.Empty
   override type Config   = IRPass.Configuration.Default
 
@@ -31,7 +31,7 @@ case object DemandAnalysis extends IRPass {
 
   override val invalidatedPasses: Seq[IRPass] = List(AliasAnalysis)
 
-  /** Executes the demand analysis process on an Enso module.
+  /** Executes the demand analysis process on an Enso module binding.
     *
     * @param ir the Enso IR to process
     * @param moduleContext a context object that contains the information needed
@@ -39,13 +39,11 @@ case object DemandAnalysis extends IRPass {
     * @return `ir`, possibly having made transformations or annotations to that
     *         IR.
     */
-  override def runModule(
-    ir: IR.Module,
+  override def runBinding(
+    ir: IR.Module.Scope.Definition,
     moduleContext: ModuleContext
-  ): IR.Module = {
-    ir.copy(bindings =
-      ir.bindings.map(t => t.mapExpressions(runExpression(_, InlineContext())))
-    )
+  ): IR.Module.Scope.Definition = {
+    ir.mapExpressions(runExpression(_, InlineContext()))
   }
 
   /** Executes the demand analysis process on an Enso expression.
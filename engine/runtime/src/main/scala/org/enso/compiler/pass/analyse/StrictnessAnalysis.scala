@@ -0,0 +1,215 @@
+package org.enso.compiler.pass.analyse
+
+import org.enso.compiler.context.{InlineContext, ModuleContext}
+import org.enso.compiler.core.IR
+import org.enso.compiler.pass.IRPass
+import org.enso.compiler.pass.optimise.LambdaConsolidate
+import org.enso.interpreter.Constants
+
+/** This pass implements strictness analysis for Enso.
+  *
+  * The runtime passes all function arguments as thunks, leaving it to the
+  * called function to decide when to evaluate them. Creating a thunk allocates
+  * a closure and materializes the frame of the caller, which is wasted work for
+  * the arguments that are forced as soon as the call is made. This pass finds
+  * the arguments that are known to be forced on the call, and marks them as not
+  * needing to be suspended, so that they are evaluated at the call site.
+  *
+  * An argument is known to be forced if it is:
+  *
+  * - The `this` argument of a method call, as it is evaluated to resolve the
+  *   method being called.
+  * - Passed to a non-suspended argument of a lambda bound to a local variable,
+  *   as the lambda evaluates these arguments before running its body.
+  *
+  * The arguments that are already suspended terms are passed as they are.
+  *
+  * This pass requires the context to provide:
+  *
+  * - Nothing
+  */
+case object StrictnessAnalysis extends IRPass.BindingLocal {
+  override type Metadata = IRPass.Metadata.Empty
+  override type Config   = IRPass.Configuration.Default
+
+  override val precursorPasses: Seq[IRPass] = List(
+    AliasAnalysis,
+    DemandAnalysis,
+    LambdaConsolidate
+  )
+
+  override val invalidatedPasses: Seq[IRPass] = List(AliasAnalysis, TailCall)
+
+  /** For each local variable bound to a lambda, whether each of the arguments
+    * of the lambda is suspended.
+    */
+  type LocalFunctions = Map[AliasAnalysis.Graph.Id, List[Boolean]]
+
+  /** Executes the strictness analysis process on an Enso module binding.
+    *
+    * @param ir the Enso IR to process
+    * @param moduleContext a context object that contains the information needed
+    *                      to process a module
+    * @return `ir`, with the strict call arguments marked as not suspended
+    */
+  override def runBinding(
+    ir: IR.Module.Scope.Definition,
+    moduleContext: ModuleContext
+  ): IR.Module.Scope.Definition = {
+    val localFunctions = collectLocalFunctions(ir)
+    ir.mapExpressions(analyseExpression(_, localFunctions))
+  }
+
+  /** Executes the strictness analysis process on an Enso expression.
+    *
+    * @param ir the Enso IR to process
+    * @param inlineContext a context object that contains the information needed
+    *                      for inline evaluation
+    * @return `ir`, with the strict call arguments marked as not suspended
+    */
+  override def runExpression(
+    ir: IR.Expression,
+    inlineContext: InlineContext
+  ): IR.Expression = analyseExpression(ir, collectLocalFunctions(ir))
+
+  /** Finds the local variables bound to lambdas.
+    *
+    * @param ir the IR to search
+    * @return the argument suspension of the lambdas bound in `ir`, by the
+    *         identifier of the variable definition
+    */
+  def collectLocalFunctions(ir: IR): LocalFunctions =
+    ir.preorder.collect {
+      case binding @ IR.Expression.Binding(
+            _,
+            lambda: IR.Function.Lambda,
+            _,
+            _,
+            _
+          ) =>
+        val definition = binding
+          .unsafeGetMetadata(
+            AliasAnalysis,
+            "Missing alias occurrence information for a binding"
+          )
+          .unsafeAs[AliasAnalysis.Info.Occurrence]
+        definition.id -> lambda.arguments.map(_.suspended)
+    }.toMap
+
+  /** Performs strictness analysis on an arbitrary program expression.
+    *
+    * @param expression the expression to perform strictness analysis on
+    * @param localFunctions the local variables bound to lambdas
+    * @return `expression`, with the strict call arguments marked as not
+    *         suspended
+    */
+  def analyseExpression(
+    expression: IR.Expression,
+    localFunctions: LocalFunctions
+  ): IR.Expression =
+    expression.transformExpressions {
+      case app: IR.Application.Prefix =>
+        analyseApplication(app, localFunctions)
+    }
+
+  /** Performs strictness analysis on a function application.
+    *
+    * @param application the application to perform strictness analysis on
+    * @param localFunctions the local variables bound to lambdas
+    * @return `application`, with the strict arguments marked as not suspended
+    */
+  def analyseApplication(
+    application: IR.Application.Prefix,
+    localFunctions: LocalFunctions
+  ): IR.Application.Prefix = {
+    val isStrict = strictPositions(application, localFunctions)
+    application.copy(
+      function = analyseExpression(application.function, localFunctions),
+      arguments = application.arguments.zipWithIndex.map {
+        case (arg, position) =>
+          analyseCallArgument(arg, isStrict(position), localFunctions)
+      }
+    )
+  }
+
+  /** Performs strictness analysis on a function call argument.
+    *
+    * @param arg the argument to perform strictness analysis on
+    * @param isStrict whether the argument is known to be forced on the call
+    * @param localFunctions the local variables bound to lambdas
+    * @return `arg`, marked as not suspended if it is strict
+    */
+  def analyseCallArgument(
+    arg: IR.CallArgument,
+    isStrict: Boolean,
+    localFunctions: LocalFunctions
+  ): IR.CallArgument = {
+    arg match {
+      case spec: IR.CallArgument.Specified =>
+        val value = analyseExpression(spec.value, localFunctions)
+        if (isStrict && spec.shouldBeSuspended.contains(true)) {
+          spec.copy(value = value, shouldBeSuspended = Some(false))
+        } else {
+          spec.copy(value = value)
+        }
+    }
+  }
+
+  /** Determines the positions of the arguments of an application that are
+    * known to be forced when the call is made.
+    *
+    * @param application the function application
+    * @param localFunctions the local variables bound to lambdas
+    * @return a predicate on the positions of the arguments of `application`
+    */
+  def strictPositions(
+    application: IR.Application.Prefix,
+    localFunctions: LocalFunctions
+  ): Int => Boolean = {
+    val arguments = application.arguments
+    application.function match {
+      case name: IR.Name.Literal
+          if name.name != Constants.Names.CURRENT_MODULE =>
+        getDefinition(name) match {
+          case Some(definition) =>
+            localFunctions.get(definition) match {
+              case Some(suspended) if arguments.forall(_.name.isEmpty) =>
+                position =>
+                  position < suspended.length && !suspended(position)
+              case _ => _ => false
+            }
+          case None if isMethodName(name) =>
+            position =>
+              position == 0 && arguments.headOption.exists(_.name.isEmpty)
+          case None => _ => false
+        }
+      case _ => _ => false
+    }
+  }
+
+  /** Finds the definition a name refers to.
+    *
+    * @param name the name
+    * @return the identifier of the local definition of `name`, if it refers
+    *         to a local variable
+    */
+  def getDefinition(name: IR.Name): Option[AliasAnalysis.Graph.Id] =
+    name.getMetadata(AliasAnalysis).flatMap {
+      case AliasAnalysis.Info.Occurrence(graph, id) =>
+        graph.defLinkFor(id).map(_.target)
+      case _ => None
+    }
+
+  /** Checks whether a name that does not refer to a local variable is resolved
+    * to a method.
+    *
+    * The names of atom constructors and polyglot symbols are capitalised, so
+    * that the other names, including the operators, are resolved dynamically,
+    * based on the `this` argument of the call.
+    *
+    * @param name the name
+    * @return `true` if `name` is resolved to a method, otherwise `false`
+    */
+  def isMethodName(name: IR.Name): Boolean =
+    name.name.headOption.exists(!_.isUpper)
+}
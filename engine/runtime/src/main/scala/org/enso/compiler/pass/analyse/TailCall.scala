@@ -18,7 +18,7 @@ import org.enso.compiler.pass.desugar._
   *
   * - The tail position of its expression, where relevant.
   */
-case object TailCall extends IRPass {
+case object TailCall extends IRPass.BindingLocal {
 
   /** The annotation metadata type associated with IR nodes by this pass. */
   override type Metadata = TailPosition
@@ -35,7 +35,7 @@ case object TailCall extends IRPass {
 
   override val invalidatedPasses: Seq[IRPass] = List()
 
-  /** Analyses tail call state for expressions in a module.
+  /** Analyses tail call state for expressions in a module binding.
     *
     * @param ir the Enso IR to process
     * @param moduleContext a context object that contains the information needed
@@ -43,11 +43,11 @@ case object TailCall extends IRPass {
     * @return `ir`, possibly having made transformations or annotations to that
     *         IR.
     */
-  override def runModule(
-    ir: IR.Module,
+  override def runBinding(
+    ir: IR.Module.Scope.Definition,
     moduleContext: ModuleContext
-  ): IR.Module = {
-    ir.copy(bindings = ir.bindings.map(analyseModuleBinding))
+  ): IR.Module.Scope.Definition = {
+    analyseModuleBinding(ir)
   }
 
   /** Analyses tail call state for an arbitrary expression.
@@ -235,11 +235,21 @@ case object TailCall extends IRPass {
     */
   def analyseCallArg(argument: IR.CallArgument): IR.CallArgument = {
     argument match {
-      case arg @ IR.CallArgument.Specified(_, expr, _, _, _, _) =>
+      case arg @ IR.CallArgument.Specified(
+            _,
+            expr,
+            _,
+            shouldBeSuspended,
+            _,
+            _
+          ) =>
         arg
           .copy(
             // Note [Call Argument Tail Position]
-            value = analyseExpression(expr, isInTailPosition = true)
+            value = analyseExpression(
+              expr,
+              isInTailPosition = !shouldBeSuspended.contains(false)
+            )
           )
           .updateMetadata(this -->> TailPosition.Tail)
     }
@@ -266,6 +276,10 @@ case object TailCall extends IRPass {
    *
    * Quite obviously, the arguments `a`, `b` and `c` are in tail position in
    * these closures, and hence should be marked as tail.
+   *
+   * The exception are the arguments that are not suspended, which are
+   * evaluated by the caller instead (see `StrictnessAnalysis`). These are not
+   * in tail position.
    */
 
   /** Performs tail call analysis on an expression involving type operators.
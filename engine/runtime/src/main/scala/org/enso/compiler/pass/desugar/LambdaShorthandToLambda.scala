@@ -29,7 +29,7 @@ import org.enso.compiler.pass.resolve.{
   *
   * - A [[FreshNameSupply]]
   */
-case object LambdaShorthandToLambda extends IRPass {
+case object LambdaShorthandToLambda extends IRPass.BindingLocal {
   override type Metadata = IRPass.Metadata.Empty
   override type Config   = IRPass.Configuration.Default
 
@@ -53,7 +53,7 @@ case object LambdaShorthandToLambda extends IRPass {
     UnusedBindings
   )
 
-  /** Desugars underscore arguments to lambdas for a module.
+  /** Desugars underscore arguments to lambdas for a module binding.
     *
     * @param ir the Enso IR to process
     * @param moduleContext a context object that contains the information needed
@@ -61,10 +61,10 @@ case object LambdaShorthandToLambda extends IRPass {
     * @return `ir`, possibly having made transformations or annotations to that
     *         IR.
     */
-  override def runModule(
-    ir: IR.Module,
+  override def runBinding(
+    ir: IR.Module.Scope.Definition,
     moduleContext: ModuleContext
-  ): IR.Module = ir.transformExpressions {
+  ): IR.Module.Scope.Definition = ir.mapExpressions(_.transformExpressions {
     case x =>
       x.mapExpressions(
         runExpression(
@@ -72,7 +72,7 @@ case object LambdaShorthandToLambda extends IRPass {
           InlineContext(freshNameSupply = moduleContext.freshNameSupply)
         )
       )
-  }
+  })
 
   /** Desugars underscore arguments to lambdas for an arbitrary expression.
     *
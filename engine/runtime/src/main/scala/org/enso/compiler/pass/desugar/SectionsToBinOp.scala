@@ -16,7 +16,7 @@ import org.enso.compiler.pass.lint.UnusedBindings
   *
   * - A [[FreshNameSupply]].
   */
-case object SectionsToBinOp extends IRPass {
+case object SectionsToBinOp extends IRPass.BindingLocal {
   override type Metadata = IRPass.Metadata.Empty
   override type Config   = IRPass.Configuration.Default
 
@@ -32,7 +32,7 @@ case object SectionsToBinOp extends IRPass {
     UnusedBindings
   )
 
-  /** Performs section to binary operator conversion on an IR module.
+  /** Performs section to binary operator conversion on a module binding.
     *
     * @param ir the Enso IR to process
     * @param moduleContext a context object that contains the information needed
@@ -40,16 +40,16 @@ case object SectionsToBinOp extends IRPass {
     * @return `ir`, possibly having made transformations or annotations to that
     *         IR.
     */
-  override def runModule(
-    ir: IR.Module,
+  override def runBinding(
+    ir: IR.Module.Scope.Definition,
     moduleContext: ModuleContext
-  ): IR.Module = ir.transformExpressions {
+  ): IR.Module.Scope.Definition = ir.mapExpressions(_.transformExpressions {
     case x =>
       runExpression(
         x,
         new InlineContext(freshNameSupply = moduleContext.freshNameSupply)
       )
-  }
+  })
 
   /** Performs section to binary operator conversion on an IR expression.
     *
@@ -1,6 +1,5 @@
 package org.enso.compiler.pass.lint
 
-import org.enso.compiler.context.{InlineContext, ModuleContext}
 import org.enso.compiler.core.IR
 import org.enso.compiler.core.IR.Pattern
 import org.enso.compiler.exception.CompilerError
@@ -14,7 +13,6 @@ import org.enso.compiler.pass.analyse.{
 import org.enso.compiler.pass.desugar.{GenerateMethodBodies, NestedPatternMatch}
 import org.enso.compiler.pass.resolve.IgnoredBindings
 
-import scala.annotation.unused
 import scala.collection.mutable
 
 /** This pass detects and renames shadowed pattern fields.
@@ -28,7 +26,7 @@ import scala.collection.mutable
   *
   * - Nothing
   */
-case object ShadowedPatternFields extends IRPass {
+case object ShadowedPatternFields extends IRPass.LocalRewrite {
   override type Metadata = IRPass.Metadata.Empty
   override type Config   = IRPass.Configuration.Default
 
@@ -44,55 +42,22 @@ case object ShadowedPatternFields extends IRPass {
     TailCall
   )
 
-  /** Lints for shadowed pattern fields.
+  /** Lints for shadowed pattern fields in an expression whose children have
+    * already been linted.
     *
     * @param ir the Enso IR to process
-    * @param moduleContext a context object that contains the information needed
-    *                      to process a module
     * @return `ir`, possibly having made transformations or annotations to that
     *         IR.
     */
-  override def runModule(
-    ir: IR.Module,
-    @unused moduleContext: ModuleContext
-  ): IR.Module = {
-    ir.transformExpressions {
-      case x => lintExpression(x)
-    }
-  }
-
-  /** Lints for shadowed pattern fields.
-    *
-    * @param ir the Enso IR to process
-    * @param inlineContext a context object that contains the information needed
-    *                      for inline evaluation
-    * @return `ir`, possibly having made transformations or annotations to that
-    *         IR.
-    */
-  override def runExpression(
-    ir: IR.Expression,
-    @unused inlineContext: InlineContext
-  ): IR.Expression = {
-    ir.transformExpressions {
-      case x => lintExpression(x)
+  override def rewriteExpression(ir: IR.Expression): IR.Expression = {
+    ir match {
+      case cse: IR.Case => lintCase(cse)
+      case _            => ir
     }
   }
 
   // === Pass Internals =======================================================
 
-  /** Lints for shadowed pattern variables on an arbitrary expression.
-    *
-    * @param expression the expression to lint
-    * @return `expression`, with warnings for any shadowed pattern variables
-    */
-  def lintExpression(
-    expression: IR.Expression
-  ): IR.Expression = {
-    expression.transformExpressions {
-      case cse: IR.Case => lintCase(cse)
-    }
-  }
-
   /** Lints for shadowed pattern variables in a case expression.
     *
     * @param cse the expression to lint
@@ -100,11 +65,8 @@ case object ShadowedPatternFields extends IRPass {
     */
   def lintCase(cse: IR.Case): IR.Case = {
     cse match {
-      case expr @ IR.Case.Expr(scrutinee, branches, _, _, _) =>
-        expr.copy(
-          scrutinee = lintExpression(scrutinee),
-          branches  = branches.map(lintCaseBranch)
-        )
+      case expr @ IR.Case.Expr(_, branches, _, _, _) =>
+        expr.copy(branches = branches.map(lintCaseBranch))
       case _: IR.Case.Branch =>
         throw new CompilerError("Unexpected case branch.")
     }
@@ -118,10 +80,7 @@ case object ShadowedPatternFields extends IRPass {
   def lintCaseBranch(
     branch: IR.Case.Branch
   ): IR.Case.Branch = {
-    branch.copy(
-      pattern    = lintPattern(branch.pattern),
-      expression = lintExpression(branch.expression)
-    )
+    branch.copy(pattern = lintPattern(branch.pattern))
   }
 
   /** Lints a pattern for shadowed pattern variables.
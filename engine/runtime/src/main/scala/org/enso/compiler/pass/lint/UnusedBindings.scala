@@ -19,7 +19,7 @@ import scala.annotation.unused
   *
   * - Nothing
   */
-case object UnusedBindings extends IRPass {
+case object UnusedBindings extends IRPass.BindingLocal {
   override type Metadata = IRPass.Metadata.Empty
   override type Config   = IRPass.Configuration.Default
 
@@ -35,7 +35,7 @@ case object UnusedBindings extends IRPass {
   )
   override val invalidatedPasses: Seq[IRPass] = List()
 
-  /** Lints a module.
+  /** Lints a module binding.
     *
     * @param ir the Enso IR to process
     * @param moduleContext a context object that contains the information needed
@@ -43,12 +43,12 @@ case object UnusedBindings extends IRPass {
     * @return `ir`, possibly having made transformations or annotations to that
     *         IR.
     */
-  override def runModule(
-    ir: IR.Module,
+  override def runBinding(
+    ir: IR.Module.Scope.Definition,
     moduleContext: ModuleContext
-  ): IR.Module = ir.transformExpressions {
+  ): IR.Module.Scope.Definition = ir.mapExpressions(_.transformExpressions {
     case x => x.mapExpressions(runExpression(_, InlineContext()))
-  }
+  })
 
   /** Lints an arbitrary expression.
     *
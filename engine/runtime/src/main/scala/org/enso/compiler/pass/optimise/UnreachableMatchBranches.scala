@@ -1,6 +1,5 @@
 package org.enso.compiler.pass.optimise
 
-import org.enso.compiler.context.{InlineContext, ModuleContext}
 import org.enso.compiler.core.IR
 import org.enso.compiler.core.IR.{IdentifiedLocation, Pattern}
 import org.enso.compiler.exception.CompilerError
@@ -15,8 +14,6 @@ import org.enso.compiler.pass.desugar._
 import org.enso.compiler.pass.resolve.{DocumentationComments, IgnoredBindings}
 import org.enso.syntax.text.Location
 
-import scala.annotation.unused
-
 /** This pass discovers and optimised away unreachable case branches.
   *
   * It removes these unreachable expressions from the IR, and attaches a
@@ -37,7 +34,7 @@ import scala.annotation.unused
   *
   * - Nothing
   */
-case object UnreachableMatchBranches extends IRPass {
+case object UnreachableMatchBranches extends IRPass.LocalRewrite {
   override type Metadata = IRPass.Metadata.Empty
   override type Config   = IRPass.Configuration.Default
 
@@ -57,54 +54,22 @@ case object UnreachableMatchBranches extends IRPass {
     TailCall
   )
 
-  /** Runs unreachable branch optimisation on a module.
-    *
-    * @param ir the Enso IR to process
-    * @param moduleContext a context object that contains the information needed
-    *                      to process a module
-    * @return `ir`, possibly having made transformations or annotations to that
-    *         IR.
-    */
-  override def runModule(
-    ir: IR.Module,
-    @unused moduleContext: ModuleContext
-  ): IR.Module = {
-    ir.transformExpressions {
-      case x => optimizeExpression(x)
-    }
-  }
-
-  /** Runs unreachable branch optimisation on an expression.
+  /** Runs unreachable branch optimisation on an expression whose children
+    * have already been optimised.
     *
     * @param ir the Enso IR to process
-    * @param inlineContext a context object that contains the information needed
-    *                      for inline evaluation
     * @return `ir`, possibly having made transformations or annotations to that
     *         IR.
     */
-  override def runExpression(
-    ir: IR.Expression,
-    @unused inlineContext: InlineContext
-  ): IR.Expression = {
-    ir.transformExpressions {
-      case x => optimizeExpression(x)
+  override def rewriteExpression(ir: IR.Expression): IR.Expression = {
+    ir match {
+      case cse: IR.Case => optimizeCase(cse)
+      case _            => ir
     }
   }
 
   // === Pass Internals =======================================================
 
-  /** Optimizes an expression by removing unreachable branches in case
-    * expressions.
-    *
-    * @param expression the expression to optimize
-    * @return `expression` with unreachable case branches removed
-    */
-  def optimizeExpression(expression: IR.Expression): IR.Expression = {
-    expression.transformExpressions {
-      case cse: IR.Case => optimizeCase(cse)
-    }
-  }
-
   /** Optimizes a case expression by removing unreachable branches.
     *
     * Additionally, it will attach a warning about unreachable branches to the
@@ -116,7 +81,7 @@ case object UnreachableMatchBranches extends IRPass {
   //noinspection DuplicatedCode
   def optimizeCase(cse: IR.Case): IR.Case = {
     cse match {
-      case expr @ IR.Case.Expr(scrutinee, branches, _, _, _) =>
+      case expr @ IR.Case.Expr(_, branches, _, _, _) =>
         val reachableNonCatchAllBranches = branches.takeWhile(!isCatchAll(_))
         val firstCatchAll                = branches.find(isCatchAll)
         val unreachableBranches =
@@ -127,12 +92,7 @@ case object UnreachableMatchBranches extends IRPass {
           .toList
 
         if (unreachableBranches.isEmpty) {
-          expr.copy(
-            scrutinee = optimizeExpression(scrutinee),
-            branches = branches.map(b =>
-              b.copy(expression = optimizeExpression(b.expression))
-            )
-          )
+          expr
         } else {
           val unreachableLocation =
             unreachableBranches.foldLeft(None: Option[IdentifiedLocation])(
@@ -157,11 +117,7 @@ case object UnreachableMatchBranches extends IRPass {
           val diagnostic = IR.Warning.Unreachable.Branches(unreachableLocation)
 
           expr
-            .copy(
-              scrutinee = optimizeExpression(scrutinee),
-              branches = reachableBranches
-                .map(b => b.copy(expression = optimizeExpression(b.expression)))
-            )
+            .copy(branches = reachableBranches)
             .addDiagnostic(diagnostic)
         }
       case _: IR.Case.Branch =>
@@ -36,6 +36,7 @@ class EnsureCompiledJob(protected val files: List[File])
       val modules = files.flatMap(compile)
       runInvalidation(files)
       modules.foreach(compile)
+      compileDependents(modules)
     } finally {
       ctx.locking.releaseWriteCompilationLock()
     }
@@ -62,6 +63,23 @@ class EnsureCompiledJob(protected val files: List[File])
   private def compile(module: Module)(implicit ctx: RuntimeContext): Module =
     module.parseScope(ctx.executionService.getContext).getModule
 
+  /**
+    * Compiles the modules invalidated by the recompilation of the given
+    * modules, each after the modules it imports.
+    *
+    * @param modules the recompiled modules
+    */
+  private def compileDependents(
+    modules: List[Module]
+  )(implicit ctx: RuntimeContext): Unit = {
+    val topScope = ctx.executionService.getContext.getTopScope
+    topScope.getDependencyGraph
+      .getDependents(modules.map(_.getName.toString).asJava)
+      .asScala
+      .flatMap(topScope.getModule(_).toScala)
+      .foreach(compile)
+  }
+
   private def applyEdits(file: File, edits: Seq[TextEdit])(
     implicit ctx: RuntimeContext
   ): Iterable[CacheInvalidation] = {
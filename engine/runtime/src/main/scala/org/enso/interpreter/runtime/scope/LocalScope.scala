@@ -21,17 +21,12 @@ import scala.jdk.CollectionConverters._
   * mapping between the interpreter's concept of stack frames and the guest
   * language's concept of stack frames.
   *
-  * Please note that `flattenToParent` is a _hack_ and will be removed once we
-  * have demand analysis.
-  *
   * @param parentScope the parent local scope for this scope, if it exists
   * @param aliasingGraph the graph containing aliasing information for the tree
   *                      of scopes within which this local scope exists
   * @param scope the particular scope in `aliasingGraph` represented by this
   *              [[LocalScope]].
   * @param dataflowInfo information on the dataflow analysis for this scope
-  * @param flattenToParent whether or not the frame should be flattened into its
-  *                        parent
   * @param frameSlots a mapping from symbol definition identifiers to slots in
   *                   the Enso frame
   */
@@ -40,7 +35,6 @@ class LocalScope(
   final val aliasingGraph: AliasAnalysis.Graph,
   final val scope: AliasAnalysis.Graph.Scope,
   final val dataflowInfo: DataflowAnalysis.Metadata,
-  final val flattenToParent: Boolean                     = false,
   final val frameSlots: mutable.Map[Graph.Id, FrameSlot] = mutable.Map()
 ) {
 
@@ -56,20 +50,14 @@ class LocalScope(
   /** Creates a child using a known aliasing scope.
     *
     * @param childScope the known child
-    * @param flattenToParent whether or not the child scope should be flattened
-    *                        with its parent
     * @return a child of this scope
     */
-  def createChild(
-    childScope: AliasScope,
-    flattenToParent: Boolean = false
-  ): LocalScope = {
+  def createChild(childScope: AliasScope): LocalScope = {
     new LocalScope(
       Some(this),
       aliasingGraph,
       childScope,
       dataflowInfo,
-      flattenToParent,
       frameSlots
     )
   }
@@ -95,12 +83,7 @@ class LocalScope(
   def getFramePointer(id: Graph.Id): Option[FramePointer] = {
     aliasingGraph.defLinkFor(id).flatMap { link =>
       val slot = frameSlots.get(link.target)
-      slot.map(
-        new FramePointer(
-          if (flattenToParent) link.scopeCount - 1 else link.scopeCount,
-          _
-        )
-      )
+      slot.map(new FramePointer(link.scopeCount, _))
     }
   }
 
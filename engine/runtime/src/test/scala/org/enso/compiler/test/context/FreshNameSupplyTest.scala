@@ -24,5 +24,20 @@ class FreshNameSupplyTest extends CompilerTest {
         succeed
       }
     }
+
+    "generate names distinct from the names of its forks" in {
+      val supply = new FreshNameSupply
+      val fork   = supply.fork()
+
+      val names = List(
+        supply.newName(),
+        fork.newName(),
+        fork.fork().newName(),
+        supply.fork().newName(),
+        supply.newName()
+      ).map(_.name)
+
+      names.distinct shouldEqual names
+    }
   }
 }
@@ -9,6 +9,9 @@ import org.enso.compiler.pass.IRPass
 import org.enso.compiler.test.CompilerTest
 import shapeless.test.illTyped
 
+import scala.concurrent.duration._
+import scala.concurrent.{Await, ExecutionContext, Future}
+
 class MetadataStorageTest extends CompilerTest {
 
   // === Test Utilities =======================================================
@@ -61,6 +64,30 @@ class MetadataStorageTest extends CompilerTest {
     }
   }
 
+  case object TestPass3 extends IRPass {
+    override type Metadata = Metadata3
+    override type Config   = IRPass.Configuration.Default
+
+    override val precursorPasses: Seq[IRPass] = List()
+    override val invalidatedPasses: Seq[IRPass] = List()
+
+    override def runModule(
+      ir: IR.Module,
+      moduleContext: ModuleContext
+    ): IR.Module = ir
+
+    override def runExpression(
+      ir: IR.Expression,
+      inlineContext: InlineContext
+    ): IR.Expression = ir
+
+    sealed case class Metadata3(var value: Int) extends IRPass.Metadata {
+      override val metadataName: String = "TestPass3.Metadata3"
+
+      override def duplicate: IRPass.Metadata = Metadata3(value)
+    }
+  }
+
   // === The Tests ============================================================
 
   "The metadata storage" should {
@@ -172,6 +199,60 @@ class MetadataStorageTest extends CompilerTest {
       meta.copy shouldEqual expected
     }
 
+    "not change the copies when updated" in {
+      val meta = MetadataStorage(TestPass1 -->> TestPass1.Metadata1())
+      val copy = meta.copy
+
+      copy.update(TestPass2)(TestPass2.Metadata2())
+      meta.remove(TestPass1)
+
+      meta.get(TestPass2) shouldEqual None
+      copy.get(TestPass1) shouldEqual Some(TestPass1.Metadata1())
+    }
+
+    "duplicate the metadata when it is duplicated" in {
+      val passMeta = TestPass1.Metadata1()
+      val meta     = MetadataStorage(TestPass1 -->> passMeta)
+
+      val duplicate = meta.duplicate
+
+      duplicate shouldEqual meta
+      duplicate.get(TestPass1).get should not be theSameInstanceAs(passMeta)
+      meta.get(TestPass1).get shouldBe theSameInstanceAs(passMeta)
+    }
+
+    "not change the duplicates when the metadata is mutated" in {
+      val passMeta = TestPass3.Metadata3(1)
+      val meta     = MetadataStorage(TestPass3 -->> passMeta)
+
+      val duplicate = meta.duplicate
+      passMeta.value = 2
+
+      duplicate.get(TestPass3).get.value shouldEqual 1
+    }
+
+    "hand out the same metadata to concurrent readers" in {
+      implicit val ec: ExecutionContext = ExecutionContext.global
+      val meta = MetadataStorage(
+        TestPass1 -->> TestPass1.Metadata1(),
+        TestPass2 -->> TestPass2.Metadata2()
+      )
+      val duplicate = meta.duplicate
+      val copy      = duplicate.copy
+
+      val reads = Future.sequence((1 to 16).map { _ =>
+        Future {
+          (duplicate.get(TestPass1).get, copy.get(TestPass2).get)
+        }
+      })
+      val results = Await.result(reads, 10.seconds)
+
+      val meta1 = duplicate.get(TestPass1).get
+      val meta2 = copy.get(TestPass2).get
+      all(results.map(_._1)) shouldBe theSameInstanceAs(meta1)
+      all(results.map(_._2)) shouldBe theSameInstanceAs(meta2)
+    }
+
     "enforce safe construction" in {
       val test1 = TestPass1 -->> TestPass1.Metadata1()
       val test2 = TestPass2 -->> TestPass2.Metadata2()
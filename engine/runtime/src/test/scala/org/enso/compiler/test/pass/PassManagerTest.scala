@@ -1,12 +1,15 @@
 package org.enso.compiler.test.pass
 
 import org.enso.compiler.Passes
+import org.enso.compiler.context.{FreshNameSupply, ModuleContext}
+import org.enso.compiler.core.IR
 import org.enso.compiler.exception.CompilerError
+import org.enso.compiler.pass.PassConfiguration._
 import org.enso.compiler.pass.{IRPass, PassConfiguration, PassManager}
 import org.enso.compiler.pass.analyse.{AliasAnalysis, DataflowAnalysis, DemandAnalysis, TailCall}
 import org.enso.compiler.pass.desugar._
-import org.enso.compiler.pass.lint.UnusedBindings
-import org.enso.compiler.pass.optimise.{ApplicationSaturation, LambdaConsolidate}
+import org.enso.compiler.pass.lint.{ShadowedPatternFields, UnusedBindings}
+import org.enso.compiler.pass.optimise.{ApplicationSaturation, LambdaConsolidate, UnreachableMatchBranches}
 import org.enso.compiler.pass.resolve.{IgnoredBindings, OverloadsResolution}
 import org.enso.compiler.test.CompilerTest
 
@@ -51,5 +54,77 @@ class PassManagerTest extends CompilerTest {
         new PassManager(validOrdering, passConfiguration)
       )
     }
+
+    "run the binding-local passes deterministically" in {
+      val passes = new Passes
+      val source = (1 to 2 * PassManager.parallelBindingsThreshold)
+        .map(i => s"method_$i a = (+ a) <| (f _ a)")
+        .mkString("\n")
+
+      def compile(parallelBindingsThreshold: Int): IR.Module = {
+        val passManager = new PassManager(
+          passes.passOrdering,
+          PassConfiguration(
+            ApplicationSaturation -->> ApplicationSaturation.Configuration(),
+            AliasAnalysis         -->> AliasAnalysis.Configuration()
+          ),
+          parallelBindingsThreshold
+        )
+        val moduleContext =
+          ModuleContext(freshNameSupply = Some(new FreshNameSupply))
+        source.toIrModule.runPasses(passManager, moduleContext)
+      }
+
+      val parallel   = compile(PassManager.parallelBindingsThreshold)
+      val sequential = compile(Int.MaxValue)
+
+      parallel.showCode() shouldEqual sequential.showCode()
+
+      val generatedNames = parallel.bindings.map { binding =>
+        binding.preorder.collect {
+          case name: IR.Name.Literal if name.name.startsWith("<internal-") =>
+            name.name
+        }.toSet
+      }
+      generatedNames.foreach(_ should not be empty)
+      generatedNames.flatten.toSet.size shouldEqual
+      generatedNames.map(_.size).sum
+    }
+
+    "fuse the adjacent local rewrite passes" in {
+      val passes = new Passes
+      val source =
+        """
+          |main x =
+          |    case x of
+          |        Cons a a -> a
+          |        _ -> 0
+          |        Nil -> 1
+          |""".stripMargin
+
+      val precursors = passes.getPrecursors(ShadowedPatternFields).get
+      val moduleContext =
+        ModuleContext(freshNameSupply = Some(new FreshNameSupply))
+      val passManager = new PassManager(
+        precursors ++ List(ShadowedPatternFields, UnreachableMatchBranches),
+        passConfiguration
+      )
+      val ir = source.toIrModule.runPasses(passManager, moduleContext)
+
+      val cse = ir.preorder.collectFirst { case cse: IR.Case.Expr => cse }.get
+      cse.branches.length shouldEqual 2
+      atLeast(1, cse.diagnostics.toList) shouldBe a[
+        IR.Warning.Unreachable.Branches
+      ]
+
+      val pattern =
+        cse.branches.head.pattern.asInstanceOf[IR.Pattern.Constructor]
+      val shadowed = pattern.fields.head.asInstanceOf[IR.Pattern.Name]
+      shadowed.name shouldBe an[IR.Name.Blank]
+      atLeast(1, shadowed.diagnostics.toList) shouldBe a[
+        IR.Warning.Shadowed.PatternBinding
+      ]
+      cse.branches(1).pattern shouldBe an[IR.Pattern.Name]
+    }
   }
 }
@@ -242,6 +242,11 @@ class AliasAnalysisTest extends CompilerTest {
       val graphCopy = graph.copy
 
       graphCopy shouldEqual graph
+      graphCopy.scopeFor(aUse2Id).flatMap(_.parent) shouldEqual Some(
+        graphCopy.rootScope
+      )
+      graphCopy.defLinkFor(aUse2Id) shouldEqual use2Link
+      graphCopy.nextId() should not equal cUseId
     }
 
     "generate monotonically increasing identifiers" in {
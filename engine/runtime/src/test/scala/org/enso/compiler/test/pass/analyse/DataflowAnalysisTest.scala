@@ -272,6 +272,33 @@ class DataflowAnalysisTest extends CompilerTest {
       combinedModule(symbol2) shouldEqual symbol2DependentIdsInModule1
       combinedModule(symbol3) shouldEqual symbol3DependentIdsInModule2
     }
+
+    "reflect the updates in the queried dependents" in {
+      val dependencies = new DependencyInfo
+      val ids          = List.fill(4)(genStaticDep)
+
+      dependencies(ids.head) = Set(ids(1))
+      dependencies(ids(1))   = Set(ids(2))
+      dependencies(ids.head) shouldEqual Set(ids(1), ids(2))
+
+      dependencies(ids(2)) = Set(ids(3), ids(1))
+      dependencies(ids.head) shouldEqual Set(ids(1), ids(2), ids(3))
+      dependencies(ids(1)) shouldEqual Set(ids(1), ids(2), ids(3))
+    }
+
+    "handle long dependency chains" in {
+      val dependencies = new DependencyInfo
+      val ids          = List.fill(100000)(mkStaticDep(genId, Some(genId)))
+
+      ids.zip(ids.tail).foreach {
+        case (id, next) => dependencies(id) = Set(next)
+      }
+
+      dependencies(ids.head) shouldEqual ids.tail.toSet
+      dependencies.getExternal(ids.head) shouldEqual Some(
+        ids.tail.flatMap(_.externalId).toSet
+      )
+    }
   }
 
   "Whole-module dataflow analysis" should {
@@ -0,0 +1,174 @@
+package org.enso.compiler.test.pass.analyse
+
+import org.enso.compiler.Passes
+import org.enso.compiler.context.{FreshNameSupply, InlineContext}
+import org.enso.compiler.core.IR
+import org.enso.compiler.pass.PassConfiguration._
+import org.enso.compiler.pass.analyse.{AliasAnalysis, StrictnessAnalysis}
+import org.enso.compiler.pass.{IRPass, PassConfiguration, PassManager}
+import org.enso.compiler.test.CompilerTest
+import org.enso.interpreter.runtime.scope.LocalScope
+
+class StrictnessAnalysisTest extends CompilerTest {
+
+  // === Test Setup ===========================================================
+
+  val passes = new Passes
+
+  /** The passes that must be run before the strictness analysis pass. */
+  val precursorPasses: List[IRPass] =
+    passes.getPrecursors(StrictnessAnalysis).get
+
+  val passConfig: PassConfiguration = PassConfiguration(
+    AliasAnalysis -->> AliasAnalysis.Configuration()
+  )
+
+  implicit val passManager: PassManager =
+    new PassManager(precursorPasses, passConfig)
+
+  /** Adds an extension method to run strictness analysis on an
+    * [[IR.Expression]].
+    *
+    * @param ir the expression to run strictness analysis on
+    */
+  implicit class AnalyseExpression(ir: IR.Expression) {
+
+    /** Runs strictness analysis on an expression.
+      *
+      * @param inlineContext the inline context in which to process the
+      *                      expression
+      * @return [[ir]], transformed by the strictness analysis pass
+      */
+    def analyse(implicit inlineContext: InlineContext): IR.Expression = {
+      StrictnessAnalysis.runExpression(ir, inlineContext)
+    }
+  }
+
+  /** Makes an inline context.
+    *
+    * @return a new inline context
+    */
+  def mkContext: InlineContext = {
+    InlineContext(
+      localScope      = Some(LocalScope.root),
+      freshNameSupply = Some(new FreshNameSupply)
+    )
+  }
+
+  /** Gets the suspension of the arguments of an application.
+    *
+    * @param app the application
+    * @return whether each of the arguments of `app` should be suspended
+    */
+  def suspension(app: IR.Expression): List[Option[Boolean]] =
+    app
+      .asInstanceOf[IR.Application.Prefix]
+      .arguments
+      .map(_.asInstanceOf[IR.CallArgument.Specified].shouldBeSuspended)
+
+  // === The Tests ============================================================
+
+  "Method calls" should {
+    implicit val ctx: InlineContext = mkContext
+
+    val ir =
+      """
+        |x -> foo (x + 1) (x + 2)
+        |""".stripMargin.preprocessExpression.get.analyse
+
+    val app = ir.asInstanceOf[IR.Function.Lambda].body
+
+    "evaluate the `this` argument strictly" in {
+      suspension(app).head shouldEqual Some(false)
+    }
+
+    "suspend the other arguments" in {
+      suspension(app)(1) shouldEqual Some(true)
+    }
+
+    "be analysed inside the arguments" in {
+      val innerApp = app
+        .asInstanceOf[IR.Application.Prefix]
+        .arguments(1)
+        .value
+
+      suspension(innerApp) shouldEqual List(Some(false), Some(true))
+    }
+  }
+
+  "Constructor calls" should {
+    "suspend all the arguments" in {
+      implicit val ctx: InlineContext = mkContext
+
+      val ir =
+        """
+          |x -> Cons (x + 1) (x + 2)
+          |""".stripMargin.preprocessExpression.get.analyse
+
+      val app = ir.asInstanceOf[IR.Function.Lambda].body
+
+      suspension(app) shouldEqual List(Some(true), Some(true))
+    }
+  }
+
+  "Calls to local functions" should {
+    implicit val ctx: InlineContext = mkContext
+
+    val ir =
+      """
+        |x ->
+        |    f = a -> ~b -> a
+        |    f (x + 1) (x + 2) (x + 3)
+        |""".stripMargin.preprocessExpression.get.analyse
+
+    val app = ir
+      .asInstanceOf[IR.Function.Lambda]
+      .body
+      .asInstanceOf[IR.Expression.Block]
+      .returnValue
+
+    "evaluate the arguments passed to non-suspended arguments strictly" in {
+      suspension(app).head shouldEqual Some(false)
+    }
+
+    "suspend the arguments passed to suspended arguments" in {
+      suspension(app)(1) shouldEqual Some(true)
+    }
+
+    "suspend the oversaturated arguments" in {
+      suspension(app)(2) shouldEqual Some(true)
+    }
+
+    "suspend the arguments passed by name" in {
+      val ir =
+        """
+          |x ->
+          |    f = a -> ~b -> a
+          |    f (a = x + 1) (b = x + 2)
+          |""".stripMargin.preprocessExpression.get.analyse
+
+      val app = ir
+        .asInstanceOf[IR.Function.Lambda]
+        .body
+        .asInstanceOf[IR.Expression.Block]
+        .returnValue
+
+      suspension(app) shouldEqual List(Some(true), Some(true))
+    }
+  }
+
+  "Suspended terms" should {
+    "still be passed directly" in {
+      implicit val ctx: InlineContext = mkContext
+
+      val ir =
+        """
+          |~x -> foo x
+          |""".stripMargin.preprocessExpression.get.analyse
+
+      val app = ir.asInstanceOf[IR.Function.Lambda].body
+
+      suspension(app) shouldEqual List(Some(false))
+    }
+  }
+}
@@ -0,0 +1,50 @@
+package org.enso.interpreter.test.semantic
+
+import java.nio.file.{Files, Path}
+
+import io.circe.Json
+import io.circe.parser.parse
+import org.enso.interpreter.test.{InterpreterContext, InterpreterTest}
+import org.enso.polyglot.RuntimeOptions
+import org.graalvm.polyglot.Context
+
+class IrDumpTest extends InterpreterTest {
+  override def subject: String = "IR Dumps"
+
+  lazy val dumpDirectory: Path = Files.createTempDirectory(null)
+
+  override def contextModifiers: Context#Builder => Context#Builder =
+    _.option(RuntimeOptions.DUMP_IR_PATH, dumpDirectory.toString)
+      .option(RuntimeOptions.DUMP_IR_PASSES, "AliasAnalysis, TailCall")
+
+  def readDump(fileName: String): Json =
+    parse(Files.readString(dumpDirectory.resolve(fileName))).toOption.get
+
+  override def specify(
+    implicit interpreterContext: InterpreterContext
+  ): Unit = {
+
+    "contain the IR after the selected passes" in {
+      eval("main = 1 + 2") shouldEqual 3
+
+      val passes = readDump("Test.passes.json").hcursor
+        .downField("passes")
+        .values
+        .get
+        .map(_.hcursor.downField("pass").as[String].toOption.get)
+        .toSet
+      passes shouldEqual Set("AliasAnalysis", "TailCall")
+    }
+
+    "contain the sizes of the generated methods" in {
+      eval("main = 1 + 2") shouldEqual 3
+
+      val main = readDump("Test.codegen.json").hcursor
+        .downField("methods")
+        .downArray
+      main.downField("method").as[String] shouldEqual Right("main")
+      main.downField("callTargetCount").as[Int].toOption.get should be >= 1
+      main.downField("nodeCount").as[Int].toOption.get should be > 0
+    }
+  }
+}
@@ -0,0 +1,77 @@
+package org.enso.interpreter.test.semantic
+
+import com.oracle.truffle.api.interop.InteropLibrary
+import com.oracle.truffle.api.nodes.NodeUtil
+import org.enso.interpreter.node.callable.function.LazyBodyNode
+import org.enso.interpreter.runtime.callable.function.Function
+import org.enso.interpreter.runtime.{Context, Module}
+import org.enso.interpreter.test.{InterpreterContext, InterpreterTest}
+import org.enso.pkg.QualifiedName
+import org.enso.polyglot.{LanguageInfo, MethodNames, RuntimeOptions}
+import org.graalvm.polyglot.{Context => PolyglotContext}
+
+class LazyCodegenTest extends InterpreterTest {
+  override def subject: String = "Lazy Codegen"
+
+  override def contextModifiers
+    : PolyglotContext#Builder => PolyglotContext#Builder =
+    _.option(RuntimeOptions.LAZY_CODEGEN, "true")
+
+  override def specify(
+    implicit interpreterContext: InterpreterContext
+  ): Unit = {
+
+    "generate the method bodies that are executed" in {
+      val code =
+        """
+          |Unit.sumTo = n -> (acc = 0) ->
+          |    ifZero n acc (sumTo Unit n-1 acc+n)
+          |
+          |main = sumTo Unit 10
+          |""".stripMargin
+
+      eval(code) shouldEqual 55
+    }
+
+    "not generate the method bodies before they are executed" in {
+      val langCtx = interpreterContext.ctx
+        .getBindings(LanguageInfo.ID)
+        .invokeMember(MethodNames.TopScope.LEAK_CONTEXT)
+        .asHostObject[Context]()
+      val module = Module.empty(QualifiedName.simpleName("Test"))
+      module.setLiteralSource(
+        """
+          |foo = 1
+          |
+          |bar = 2
+          |
+          |main = here.foo + 1
+          |""".stripMargin
+      )
+      val scope   = module.parseScope(langCtx)
+      val methods = scope.getMethods.get(scope.getAssociatedType)
+
+      def isGenerated(function: Function): Boolean =
+        NodeUtil
+          .findAllNodeInstances(
+            function.getCallTarget.getRootNode,
+            classOf[LazyBodyNode]
+          )
+          .isEmpty
+
+      isGenerated(methods.get("main")) shouldBe false
+
+      interpreterContext.ctx.enter()
+      try {
+        InteropLibrary.getUncached
+          .execute(methods.get("main"), scope.getAssociatedType)
+      } finally {
+        interpreterContext.ctx.leave()
+      }
+
+      isGenerated(methods.get("main")) shouldBe true
+      isGenerated(methods.get("foo")) shouldBe true
+      isGenerated(methods.get("bar")) shouldBe false
+    }
+  }
+}
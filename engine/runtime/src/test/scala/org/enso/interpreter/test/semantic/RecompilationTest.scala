@@ -0,0 +1,120 @@
+package org.enso.interpreter.test.semantic
+
+import org.enso.interpreter.runtime.callable.function.Function
+import org.enso.interpreter.runtime.{Context, Module}
+import org.enso.interpreter.test.{InterpreterContext, InterpreterTest}
+import org.enso.pkg.QualifiedName
+import org.enso.polyglot.{LanguageInfo, MethodNames}
+
+import scala.jdk.CollectionConverters._
+
+class RecompilationTest extends InterpreterTest {
+  override def subject: String = "Module recompilation"
+
+  override def specify(
+    implicit interpreterContext: InterpreterContext
+  ): Unit = {
+
+    def leakContext(): Context =
+      interpreterContext.ctx
+        .getBindings(LanguageInfo.ID)
+        .invokeMember(MethodNames.TopScope.LEAK_CONTEXT)
+        .asHostObject[Context]()
+
+    def compile(module: Module, code: String): Map[String, Function] = {
+      val langCtx = leakContext()
+      module.setLiteralSource(code)
+      val scope = module.parseScope(langCtx)
+      scope.getMethods.get(scope.getAssociatedType).asScala.toMap
+    }
+
+    def newModule: Module = Module.empty(QualifiedName.simpleName("Test"))
+
+    "reuse the methods that did not change" in {
+      val module = newModule
+      val code =
+        """
+          |foo = 1
+          |
+          |bar = 2
+          |
+          |main = here.foo + here.bar
+          |""".stripMargin
+
+      val before = compile(module, code)
+      val after  = compile(module, code.replace("bar = 2", "bar = 3"))
+
+      after("foo") shouldBe theSameInstanceAs(before("foo"))
+      after("main") shouldBe theSameInstanceAs(before("main"))
+      after("bar") should not be theSameInstanceAs(before("bar"))
+    }
+
+    "dispatch the reused methods to the methods that changed" in {
+      val module = interpreterContext.executionContext.getTopScope
+        .createModule("Test.Recompiled")
+      val code =
+        """
+          |bar = 2
+          |
+          |main = here.bar
+          |""".stripMargin
+
+      def runMain(): Long = {
+        val assocCons = module.getAssociatedConstructor
+        module.getMethod(assocCons, "main").execute(assocCons).asLong
+      }
+
+      module.setSource(code)
+      runMain() shouldEqual 2L
+
+      module.setSource(code.replace("bar = 2", "bar = 3"))
+      runMain() shouldEqual 3L
+    }
+
+    "not invalidate a changed module again through an import cycle" in {
+      val topScope = interpreterContext.executionContext.getTopScope
+      val moduleA  = topScope.createModule("Cycle.A")
+      val moduleB  = topScope.createModule("Cycle.B")
+      moduleA.setSource("""
+                        |import Cycle.B
+                        |
+                        |foo = 1
+                        |""".stripMargin)
+      moduleB.setSource("""
+                        |import Cycle.A
+                        |
+                        |bar = 2
+                        |""".stripMargin)
+      moduleA.getAssociatedConstructor
+      moduleB.getAssociatedConstructor
+
+      moduleA.setSource("""
+                        |import Cycle.B
+                        |
+                        |foo = 3
+                        |""".stripMargin)
+      moduleA.getAssociatedConstructor
+      moduleB.getAssociatedConstructor
+
+      val langCtx = leakContext()
+      langCtx.getTopScope.getModule("Cycle.A").get.isParsed shouldBe true
+      langCtx.getTopScope.getModule("Cycle.B").get.isParsed shouldBe true
+    }
+
+    "regenerate the methods referring to the atoms that changed" in {
+      val module = newModule
+      val code =
+        """
+          |unwrap x = case x of
+          |    Foo a -> a
+          |
+          |type Foo a
+          |""".stripMargin
+
+      val before = compile(module, code)
+      val after  = compile(module, code.replace("type Foo a", "type Foo b"))
+
+      after("unwrap") should not be theSameInstanceAs(before("unwrap"))
+    }
+  }
+}
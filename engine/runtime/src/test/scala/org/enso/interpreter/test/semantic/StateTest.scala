@@ -42,6 +42,24 @@ class StateTest extends InterpreterTest {
       eval(code) shouldEqual 5
     }
 
+    "be threaded through the evaluation of the `this` argument" in {
+      val code =
+        """
+          |Unit.bump =
+          |    x = State.get
+          |    State.put x+1
+          |    this
+          |
+          |Unit.read = State.get
+          |
+          |main =
+          |    State.put 10
+          |    Unit.bump.read
+          |""".stripMargin
+
+      eval(code) shouldEqual 11
+    }
+
     "be localized with State.run" in {
       val code =
         """
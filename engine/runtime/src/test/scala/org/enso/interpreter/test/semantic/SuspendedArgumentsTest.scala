@@ -87,6 +87,28 @@ class SuspendedArgumentsTest extends InterpreterTest {
       consumeOut shouldEqual List("1", "4")
     }
 
+    "not get executed when passed to local functions by name" in {
+      val code =
+        """
+          |main =
+          |    foo = x -> ~y -> x
+          |    foo (y = IO.println 1) (x = IO.println 2)
+          |""".stripMargin
+      eval(code)
+      consumeOut shouldEqual List("2")
+    }
+
+    "keep the evaluation order of strict arguments" in {
+      val code =
+        """
+          |main =
+          |    foo = x -> ~y -> z -> 0
+          |    foo (IO.println 1) (IO.println 2) (IO.println 3)
+          |""".stripMargin
+      eval(code) shouldEqual 0
+      consumeOut shouldEqual List("1", "3")
+    }
+
     "work properly with defaulted arguments" in {
       val code =
         """
@@ -139,6 +139,23 @@ case class Package[F](
     sources.map { path => SourceFile(moduleNameForFile(path), path) }
   }
 
+  /**
+    * Finds the source file of a module in this package, without listing the
+    * other sources.
+    *
+    * @param qualifiedName the qualified name of the module.
+    * @return the source file of the module, if it exists in this package.
+    */
+  def findSource(qualifiedName: QualifiedName): Option[SourceFile[F]] =
+    qualifiedName.path match {
+      case pkgName :: dirSegments if pkgName == name =>
+        val file = dirSegments
+          .foldLeft(sourceDir)(_.getChild(_))
+          .getChild(s"${qualifiedName.module}.${Package.fileExtension}")
+        Option.when(file.isRegularFile)(SourceFile(qualifiedName, file))
+      case _ => None
+    }
+
   /**
     * Lists contents of the polyglot extensions directory for a given language.
     *
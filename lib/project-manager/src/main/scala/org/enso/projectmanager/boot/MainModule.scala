@@ -10,7 +10,7 @@ import org.enso.projectmanager.control.core.CovariantFlatMap
 import org.enso.projectmanager.control.effect.{Async, ErrorChannel, Exec, Sync}
 import org.enso.projectmanager.infrastructure.file.{
   BlockingFileSystem,
-  SynchronizedFileStorage
+  JournaledFileStorage
 }
 import org.enso.projectmanager.infrastructure.languageserver.{
   LanguageServerRegistry,
@@ -60,10 +60,12 @@ class MainModule[F[+_, +_]: Sync: ErrorChannel: Exec: CovariantFlatMap: Async](
   lazy val fileSystem =
     new BlockingFileSystem[F](config.timeout.ioTimeout)
 
-  lazy val indexStorage = new SynchronizedFileStorage[ProjectIndex, F](
-    config.storage.projectIndexPath,
-    fileSystem
-  )
+  lazy val indexStorage =
+    new JournaledFileStorage[ProjectIndex, ProjectIndex.Change, F](
+      config.storage.projectIndexPath,
+      config.storage.projectIndexCompactionThreshold,
+      fileSystem
+    )
 
   lazy val projectRepository =
     new ProjectFileRepository[F](
@@ -83,7 +85,8 @@ class MainModule[F[+_, +_]: Sync: ErrorChannel: Exec: CovariantFlatMap: Async](
           config.network,
           config.bootloader,
           config.supervision,
-          config.timeout
+          config.timeout,
+          config.pool
         ),
       "language-server-registry"
     )
@@ -17,7 +17,8 @@ object configuration {
     timeout: TimeoutConfig,
     network: NetworkConfig,
     bootloader: BootloaderConfig,
-    supervision: SupervisionConfig
+    supervision: SupervisionConfig,
+    pool: PoolConfig
   )
 
   /**
@@ -34,11 +35,15 @@ object configuration {
     * @param projectsRoot a project root
     * @param projectIndexPath a path to the index
     * @param userProjectsPath a user project root
+    * @param projectIndexCompactionThreshold a number of changes in the index
+    *                                        journal that triggers writing
+    *                                        a new index snapshot
     */
   case class StorageConfig(
     projectsRoot: File,
     projectIndexPath: File,
-    userProjectsPath: File
+    userProjectsPath: File,
+    projectIndexCompactionThreshold: Int
   )
 
   /**
@@ -91,4 +96,14 @@ object configuration {
     numberOfRestarts: Int,
     delayBetweenRestarts: FiniteDuration
   )
+
+  /**
+    * A configuration object for the pool of idle language servers.
+    *
+    * @param maxIdleServers a maximum number of servers kept running after
+    *                       their projects were closed
+    * @param idleTimeout a time after which an idle server is shut down
+    */
+  case class PoolConfig(maxIdleServers: Int, idleTimeout: FiniteDuration)
+
 }
@@ -1,6 +1,11 @@
 package org.enso.projectmanager.infrastructure.file
 import java.io.{File, FileNotFoundException}
-import java.nio.file.{AccessDeniedException, NoSuchFileException}
+import java.nio.file.{
+  AccessDeniedException,
+  Files,
+  NoSuchFileException,
+  StandardCopyOption
+}
 
 import org.apache.commons.io.{FileExistsException, FileUtils}
 import org.enso.projectmanager.control.effect.syntax._
@@ -48,6 +53,47 @@ class BlockingFileSystem[F[+_, +_]: Sync: ErrorChannel](
       .mapError(toFsFailure)
       .timeoutFail(OperationTimeout)(ioTimeout)
 
+  /**
+    * Appends textual content to a file, creating the file if it doesn't
+    * exist.
+    *
+    * @param file path to the file
+    * @param contents a textual contents to append
+    * @return either [[FileSystemFailure]] or Unit
+    */
+  override def appendFile(
+    file: File,
+    contents: String
+  ): F[FileSystemFailure, Unit] =
+    Sync[F]
+      .blockingOp { FileUtils.write(file, contents, Encoding, true) }
+      .mapError(toFsFailure)
+      .timeoutFail(OperationTimeout)(ioTimeout)
+
+  /**
+    * Atomically replaces the target file with the source file.
+    *
+    * @param source path to the source file
+    * @param target path to the target file
+    * @return either [[FileSystemFailure]] or Unit
+    */
+  override def replaceFile(
+    source: File,
+    target: File
+  ): F[FileSystemFailure, Unit] =
+    Sync[F]
+      .blockingOp {
+        Files.move(
+          source.toPath,
+          target.toPath,
+          StandardCopyOption.ATOMIC_MOVE,
+          StandardCopyOption.REPLACE_EXISTING
+        )
+        ()
+      }
+      .mapError(toFsFailure)
+      .timeoutFail(OperationTimeout)(ioTimeout)
+
   /**
     * Deletes the specified directory recursively.
     *
@@ -29,6 +29,28 @@ trait FileSystem[F[+_, +_]] {
     contents: String
   ): F[FileSystemFailure, Unit]
 
+  /**
+    * Appends textual content to a file, creating the file if it doesn't
+    * exist.
+    *
+    * @param file path to the file
+    * @param contents a textual contents to append
+    * @return either [[FileSystemFailure]] or Unit
+    */
+  def appendFile(
+    file: File,
+    contents: String
+  ): F[FileSystemFailure, Unit]
+
+  /**
+    * Atomically replaces the target file with the source file.
+    *
+    * @param source path to the source file
+    * @param target path to the target file
+    * @return either [[FileSystemFailure]] or Unit
+    */
+  def replaceFile(source: File, target: File): F[FileSystemFailure, Unit]
+
   /**
     * Deletes the specified directory recursively.
     *
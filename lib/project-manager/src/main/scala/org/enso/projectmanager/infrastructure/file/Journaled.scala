@@ -0,0 +1,28 @@
+package org.enso.projectmanager.infrastructure.file
+
+/**
+  * A class for data objects that are modified by applying changes, which
+  * allows persisting the changes instead of the whole object.
+  *
+  * @tparam A a datatype
+  * @tparam C a type of changes
+  */
+trait Journaled[A, C] {
+
+  /**
+    * Applies the change to the data object.
+    *
+    * @param data a data object
+    * @param change a change to apply
+    * @return an updated data object
+    */
+  def applyChange(data: A, change: C): A
+
+}
+
+object Journaled {
+
+  def apply[A, C](implicit journaled: Journaled[A, C]): Journaled[A, C] =
+    journaled
+
+}
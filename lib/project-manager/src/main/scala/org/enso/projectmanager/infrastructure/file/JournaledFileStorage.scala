@@ -0,0 +1,214 @@
+package org.enso.projectmanager.infrastructure.file
+
+import java.io.File
+
+import io.circe.parser._
+import io.circe.syntax._
+import io.circe.{Decoder, Encoder}
+import org.enso.projectmanager.control.core.CovariantFlatMap
+import org.enso.projectmanager.control.core.syntax._
+import org.enso.projectmanager.control.effect.syntax._
+import org.enso.projectmanager.control.effect.{ErrorChannel, Semaphore, Sync}
+import org.enso.projectmanager.data.Default
+import org.enso.projectmanager.infrastructure.file.FileStorage._
+import org.enso.projectmanager.infrastructure.file.FileSystemFailure.FileNotFound
+import shapeless._
+
+/**
+  * ZIO implementation of [[JournaledStorage]]. It keeps the current version
+  * of the object in memory, so that loading the object never touches the
+  * disk after the first load.
+  *
+  * The object is stored on the disk as a snapshot and a journal of changes
+  * applied after the snapshot was taken. Modifying the object appends the
+  * changes to the journal. When the number of journal entries reaches the
+  * `compactionThreshold`, a new snapshot is written to a temporary file that
+  * atomically replaces the old snapshot, and the journal is truncated. The
+  * changes should be idempotent, so that replaying the journal that wasn't
+  * truncated after an interrupted compaction yields the same object. A journal
+  * ending with an incomplete entry, left by an interrupted append, is compacted
+  * on load, so that the following appends don't end up after the fragment.
+  *
+  * @param path a path to a file that stores the snapshot
+  * @param compactionThreshold a number of journal entries triggering the
+  *                            compaction
+  * @param fileSystem a filesystem algebra
+  * @tparam A a datatype to store
+  * @tparam C a type of changes
+  */
+class JournaledFileStorage[
+  A: Encoder: Decoder: Default,
+  C: Encoder: Decoder,
+  F[+_, +_]: Sync: ErrorChannel: CovariantFlatMap
+](
+  path: File,
+  compactionThreshold: Int,
+  fileSystem: FileSystem[F]
+)(implicit journaled: Journaled[A, C])
+    extends JournaledStorage[A, C, F] {
+
+  private val journalPath =
+    new File(path.getParentFile, s"${path.getName}.journal")
+
+  private val tmpPath = new File(path.getParentFile, s"${path.getName}.tmp")
+
+  private val semaphore = Semaphore.unsafeMake[F](1)
+
+  @volatile private var cache: Option[A] = None
+
+  private var journalSize: Int = 0
+
+  /** @inheritdoc **/
+  override def load(): F[LoadFailure, A] =
+    cache match {
+      case Some(data) => CovariantFlatMap[F].pure(data)
+      case None       => semaphore.withPermit(loadCached())
+    }
+
+  /** @inheritdoc **/
+  override def modify[B](f: A => (List[C], B)): F[LoadFailure, B] =
+    // format: off
+    semaphore.withPermit {
+      for {
+        data              <- loadCached()
+        (changes, output)  = f(data)
+        updated            = changes.foldLeft(data)(journaled.applyChange)
+        _                 <- appendChanges(changes).mapError(Coproduct[LoadFailure](_))
+        _                 <- updateCache(updated, changes.size)
+        _                 <- compactIfNeeded(updated).mapError(Coproduct[LoadFailure](_))
+      } yield output
+    }
+    // format: on
+
+  /** @inheritdoc **/
+  override def compact(): F[LoadFailure, Unit] =
+    semaphore.withPermit {
+      loadCached().flatMap { data =>
+        writeSnapshot(data).mapError(Coproduct[LoadFailure](_))
+      }
+    }
+
+  private def loadCached(): F[LoadFailure, A] =
+    cache match {
+      case Some(data) =>
+        CovariantFlatMap[F].pure(data)
+
+      case None =>
+        for {
+          snapshot <- loadSnapshot()
+          journal  <- loadJournal()
+          data      = journal.changes.foldLeft(snapshot)(journaled.applyChange)
+          entries  <- repairJournal(data, journal)
+          _        <- updateCache(data, entries)
+        } yield data
+    }
+
+  /**
+    * Compacts the journal if its last entry is incomplete.
+    *
+    * @param data the object restored from the snapshot and the journal
+    * @param journal the loaded journal
+    * @return the number of entries left in the journal
+    */
+  private def repairJournal(
+    data: A,
+    journal: Journal
+  ): F[LoadFailure, Int] =
+    if (journal.isTorn) {
+      writeSnapshot(data).map(_ => 0).mapError(Coproduct[LoadFailure](_))
+    } else {
+      CovariantFlatMap[F].pure(journal.changes.size)
+    }
+
+  private def updateCache(data: A, newEntries: Int): F[Nothing, Unit] =
+    Sync[F].effect {
+      cache = Some(data)
+      journalSize += newEntries
+    }
+
+  private def loadSnapshot(): F[LoadFailure, A] =
+    fileSystem
+      .readFile(path)
+      .mapError(Coproduct[LoadFailure](_))
+      .flatMap(contents => liftDecodingResult(decode[A](contents)))
+      .recover {
+        case Inr(Inl(FileNotFound)) => Default[A].value
+      }
+
+  private def loadJournal(): F[LoadFailure, Journal] =
+    fileSystem
+      .readFile(journalPath)
+      .mapError(Coproduct[LoadFailure](_))
+      .flatMap(decodeJournal)
+      .recover {
+        case Inr(Inl(FileNotFound)) => Journal(List(), isTorn = false)
+      }
+
+  private def decodeJournal(contents: String): F[LoadFailure, Journal] = {
+    val entries =
+      contents.linesIterator.filter(_.nonEmpty).map(line => decode[C](line))
+    // the last entry may be incomplete if the append was interrupted
+    val isTerminated = contents.isEmpty || contents.endsWith("\n")
+    val (decoded, isTorn) = entries.toList match {
+      case init :+ Left(_) => (init, true)
+      case all             => (all, !isTerminated)
+    }
+    val result = decoded.foldRight[Either[io.circe.Error, List[C]]](
+      Right(List())
+    ) { (entry, acc) =>
+      for {
+        change  <- entry
+        changes <- acc
+      } yield change :: changes
+    }
+    liftDecodingResult(result.map(Journal(_, isTorn)))
+  }
+
+  private def liftDecodingResult[B](
+    result: Either[io.circe.Error, B]
+  ): F[LoadFailure, B] =
+    result match {
+      case Left(failure) =>
+        ErrorChannel[F].fail(
+          Coproduct[LoadFailure](CannotDecodeData(failure.getMessage))
+        )
+
+      case Right(value) => CovariantFlatMap[F].pure(value)
+    }
+
+  private def appendChanges(changes: List[C]): F[FileSystemFailure, Unit] =
+    if (changes.isEmpty) {
+      CovariantFlatMap[F].pure(())
+    } else {
+      val entries = changes.map(_.asJson.noSpaces + System.lineSeparator())
+      fileSystem.appendFile(journalPath, entries.mkString)
+    }
+
+  /**
+    * Compacts the journal if it's too big. The failure of compaction is
+    * ignored, because the changes are already persisted in the journal, and
+    * the compaction will be retried on the next modification.
+    */
+  private def compactIfNeeded(data: A): F[FileSystemFailure, Unit] =
+    Sync[F].effect(journalSize >= compactionThreshold).flatMap { isFull =>
+      if (isFull) writeSnapshot(data).recover { case _ => () }
+      else CovariantFlatMap[F].pure(())
+    }
+
+  private def writeSnapshot(data: A): F[FileSystemFailure, Unit] =
+    for {
+      _ <- fileSystem.overwriteFile(tmpPath, data.asJson.spaces2)
+      _ <- fileSystem.replaceFile(tmpPath, path)
+      _ <- fileSystem.overwriteFile(journalPath, "")
+      _ <- Sync[F].effect { journalSize = 0 }
+    } yield ()
+
+  /**
+    * The changes read from the journal.
+    *
+    * @param changes the decoded journal entries
+    * @param isTorn whether the journal ends with an incomplete entry
+    */
+  private case class Journal(changes: List[C], isTorn: Boolean)
+
+}
@@ -0,0 +1,40 @@
+package org.enso.projectmanager.infrastructure.file
+
+import org.enso.projectmanager.infrastructure.file.FileStorage.LoadFailure
+
+/**
+  * An abstraction for storing data object that is modified by changes.
+  *
+  * @tparam A a datatype to store
+  * @tparam C a type of changes
+  * @tparam F a monadic context
+  */
+trait JournaledStorage[A, C, F[+_, +_]] {
+
+  /**
+    * Loads the current version of the object.
+    *
+    * @return either [[LoadFailure]] or the object
+    */
+  def load(): F[LoadFailure, A]
+
+  /**
+    * Atomically modifies the object with changes computed by function `f`.
+    *
+    * @param f the update function that takes the current version of the object
+    *          and returns a tuple containing the changes to apply and value to
+    *          return
+    * @tparam B a type of returned value
+    * @return either [[LoadFailure]] or the result of updating object
+    */
+  def modify[B](f: A => (List[C], B)): F[LoadFailure, B]
+
+  /**
+    * Persists the current version of the object and discards the recorded
+    * changes.
+    *
+    * @return either [[LoadFailure]] or success
+    */
+  def compact(): F[LoadFailure, Unit]
+
+}
@@ -23,6 +23,7 @@ import org.enso.languageserver.boot.{
 import org.enso.projectmanager.boot.configuration.{
   BootloaderConfig,
   NetworkConfig,
+  PoolConfig,
   SupervisionConfig,
   TimeoutConfig
 }
@@ -36,11 +37,16 @@ import org.enso.projectmanager.infrastructure.languageserver.LanguageServerBootL
 import org.enso.projectmanager.infrastructure.languageserver.LanguageServerController.{
   Boot,
   BootTimeout,
+  IdleTimeout,
+  RetireServer,
   ServerDied,
   ShutdownTimeout
 }
 import org.enso.projectmanager.infrastructure.languageserver.LanguageServerProtocol._
-import org.enso.projectmanager.infrastructure.languageserver.LanguageServerRegistry.ServerShutDown
+import org.enso.projectmanager.infrastructure.languageserver.LanguageServerRegistry.{
+  ServerIdle,
+  ServerShutDown
+}
 import org.enso.projectmanager.model.Project
 import org.enso.projectmanager.util.UnhandledLogging
 
@@ -50,18 +56,24 @@ import scala.concurrent.duration._
   * A language server controller responsible for managing the server lifecycle.
   * It delegates all tasks to other actors like bootloader or supervisor.
   *
+  * When the last client disconnects, the server is kept idle for the time
+  * defined by the pool config, so that it can be reused when the project is
+  * opened again.
+  *
   * @param project a project open by the server
   * @param networkConfig a net config
   * @param bootloaderConfig a bootloader config
   * @param supervisionConfig a supervision config
   * @param timeoutConfig a timeout config
+  * @param poolConfig a config of the idle servers pool
   */
 class LanguageServerController(
   project: Project,
   networkConfig: NetworkConfig,
   bootloaderConfig: BootloaderConfig,
   supervisionConfig: SupervisionConfig,
-  timeoutConfig: TimeoutConfig
+  timeoutConfig: TimeoutConfig,
+  poolConfig: PoolConfig
 ) extends Actor
     with ActorLogging
     with Stash
@@ -152,12 +164,7 @@ class LanguageServerController(
     clients: Set[UUID] = Set.empty
   ): Receive = {
     case StartServer(clientId, _) =>
-      sender() ! ServerStarted(
-        LanguageServerSockets(
-          Socket(config.interface, config.rpcPort),
-          Socket(config.interface, config.dataPort)
-        )
-      )
+      sender() ! ServerStarted(sockets(config))
       context.become(supervising(config, server, clients + clientId))
 
     case Terminated(_) =>
@@ -172,8 +179,46 @@ class LanguageServerController(
     case ServerDied =>
       log.error(s"Language server died [$config]")
       context.stop(self)
+
+    case IdleTimeout | RetireServer =>
+      log.debug(s"Language server is in use [$config].")
   }
 
+  private def idle(
+    config: LanguageServerConfig,
+    server: LanguageServerComponent,
+    timeoutCancellable: Cancellable
+  ): Receive = {
+    case StartServer(clientId, _) =>
+      log.info(s"Reusing idle language server [$config].")
+      timeoutCancellable.cancel()
+      sender() ! ServerStarted(sockets(config))
+      context.become(supervising(config, server, Set(clientId)))
+
+    case StopServer(_, _) =>
+      sender() ! ServerNotRunning
+
+    case IdleTimeout | RetireServer =>
+      log.info(s"Retiring idle language server [$config].")
+      timeoutCancellable.cancel()
+      shutDown(server, None)
+
+    case ClientDisconnected(_) =>
+
+    case Terminated(_) =>
+      log.debug(s"Bootloader for $project terminated.")
+
+    case ServerDied =>
+      log.error(s"Language server died [$config]")
+      context.stop(self)
+  }
+
+  private def sockets(config: LanguageServerConfig): LanguageServerSockets =
+    LanguageServerSockets(
+      Socket(config.interface, config.rpcPort),
+      Socket(config.interface, config.dataPort)
+    )
+
   private def removeClient(
     config: LanguageServerConfig,
     server: LanguageServerComponent,
@@ -182,19 +227,34 @@ class LanguageServerController(
     maybeRequester: Option[ActorRef]
   ): Unit = {
     val updatedClients = clients - clientId
-    if (updatedClients.isEmpty) {
-      context.children.foreach(_ ! GracefulStop)
-      server.stop() pipeTo self
+    if (updatedClients.isEmpty && poolConfig.maxIdleServers > 0) {
+      log.info(s"Language server became idle [$config].")
+      maybeRequester.foreach(_ ! ServerStopped)
+      context.parent ! ServerIdle(project.id)
       val cancellable =
         context.system.scheduler
-          .scheduleOnce(timeoutConfig.shutdownTimeout, self, ShutdownTimeout)
-      context.become(stopping(cancellable, maybeRequester))
+          .scheduleOnce(poolConfig.idleTimeout, self, IdleTimeout)
+      context.become(idle(config, server, cancellable))
+    } else if (updatedClients.isEmpty) {
+      shutDown(server, maybeRequester)
     } else {
       sender() ! CannotDisconnectOtherClients
       context.become(supervising(config, server, updatedClients))
     }
   }
 
+  private def shutDown(
+    server: LanguageServerComponent,
+    maybeRequester: Option[ActorRef]
+  ): Unit = {
+    context.children.foreach(_ ! GracefulStop)
+    server.stop() pipeTo self
+    val cancellable =
+      context.system.scheduler
+        .scheduleOnce(timeoutConfig.shutdownTimeout, self, ShutdownTimeout)
+    context.become(stopping(cancellable, maybeRequester))
+  }
+
   private def bootFailed(failure: ServerStartupFailure): Receive = {
     case StartServer(_, _) =>
       sender() ! failure
@@ -259,6 +319,7 @@ object LanguageServerController {
     * @param bootloaderConfig a bootloader config
     * @param supervisionConfig a supervision config
     * @param timeoutConfig a timeout config
+    * @param poolConfig a config of the idle servers pool
     * @return a configuration object
     */
   def props(
@@ -266,7 +327,8 @@ object LanguageServerController {
     networkConfig: NetworkConfig,
     bootloaderConfig: BootloaderConfig,
     supervisionConfig: SupervisionConfig,
-    timeoutConfig: TimeoutConfig
+    timeoutConfig: TimeoutConfig,
+    poolConfig: PoolConfig
   ): Props =
     Props(
       new LanguageServerController(
@@ -274,7 +336,8 @@ object LanguageServerController {
         networkConfig,
         bootloaderConfig,
         supervisionConfig,
-        timeoutConfig
+        timeoutConfig,
+        poolConfig
       )
     )
 
@@ -293,6 +356,16 @@ object LanguageServerController {
     */
   case object ShutdownTimeout
 
+  /**
+    * Signals that the server was idle for too long.
+    */
+  case object IdleTimeout
+
+  /**
+    * Command to shut down an idle server.
+    */
+  case object RetireServer
+
   case object ServerDied
 
 }
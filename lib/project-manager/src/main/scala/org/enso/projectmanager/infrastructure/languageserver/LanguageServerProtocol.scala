@@ -111,4 +111,18 @@ object LanguageServerProtocol {
     */
   case object CheckTimeout
 
+  /**
+    * Request to shut down the idle server of a project. The reply is sent when
+    * the server has shut down, or immediately if the project has no idle
+    * server.
+    *
+    * @param projectId the project id
+    */
+  case class RetireIdleServer(projectId: UUID)
+
+  /**
+    * Signals that the project has no idle server.
+    */
+  case object IdleServerRetired
+
 }
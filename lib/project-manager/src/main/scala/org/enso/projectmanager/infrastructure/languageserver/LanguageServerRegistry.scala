@@ -6,16 +6,23 @@ import akka.actor.{Actor, ActorLogging, ActorRef, Props, Terminated}
 import org.enso.projectmanager.boot.configuration.{
   BootloaderConfig,
   NetworkConfig,
+  PoolConfig,
   SupervisionConfig,
   TimeoutConfig
 }
+import org.enso.projectmanager.infrastructure.languageserver.LanguageServerController.RetireServer
 import org.enso.projectmanager.infrastructure.languageserver.LanguageServerProtocol.{
   CheckIfServerIsRunning,
+  IdleServerRetired,
+  RetireIdleServer,
   ServerNotRunning,
   StartServer,
   StopServer
 }
-import org.enso.projectmanager.infrastructure.languageserver.LanguageServerRegistry.ServerShutDown
+import org.enso.projectmanager.infrastructure.languageserver.LanguageServerRegistry.{
+  ServerIdle,
+  ServerShutDown
+}
 import org.enso.projectmanager.util.UnhandledLogging
 
 /**
@@ -23,16 +30,25 @@ import org.enso.projectmanager.util.UnhandledLogging
   * right controller that manages the server.
   * It creates a controller actor, if a server doesn't exists.
   *
+  * Servers of closed projects are kept running for some time, so that
+  * reopening the project doesn't pay for booting a new server. The registry
+  * keeps track of these idle servers and retires the least recently used ones
+  * when there are more than the pool allows. The servers being retired are
+  * tracked until they shut down, so that the requests to retire them can be
+  * answered only when the servers are gone.
+  *
   * @param networkConfig a net config
   * @param bootloaderConfig a bootloader config
   * @param supervisionConfig a supervision config
   * @param timeoutConfig a timeout config
+  * @param poolConfig a config of the idle servers pool
   */
 class LanguageServerRegistry(
   networkConfig: NetworkConfig,
   bootloaderConfig: BootloaderConfig,
   supervisionConfig: SupervisionConfig,
-  timeoutConfig: TimeoutConfig
+  timeoutConfig: TimeoutConfig,
+  poolConfig: PoolConfig
 ) extends Actor
     with ActorLogging
     with UnhandledLogging {
@@ -40,11 +56,20 @@ class LanguageServerRegistry(
   override def receive: Receive = running()
 
   private def running(
-    serverControllers: Map[UUID, ActorRef] = Map.empty
+    serverControllers: Map[UUID, ActorRef]    = Map.empty,
+    idleServers: Vector[UUID]                 = Vector.empty,
+    retiredServers: Map[UUID, List[ActorRef]] = Map.empty
   ): Receive = {
     case msg @ StartServer(_, project) =>
       if (serverControllers.contains(project.id)) {
         serverControllers(project.id).forward(msg)
+        context.become(
+          running(
+            serverControllers,
+            idleServers.filterNot(_ == project.id),
+            retiredServers
+          )
+        )
       } else {
         val controller = context.actorOf(
           LanguageServerController
@@ -53,13 +78,20 @@ class LanguageServerRegistry(
               networkConfig,
               bootloaderConfig,
               supervisionConfig,
-              timeoutConfig
+              timeoutConfig,
+              poolConfig
             ),
           s"language-server-controller-${project.id}"
         )
         context.watch(controller)
         controller.forward(msg)
-        context.become(running(serverControllers + (project.id -> controller)))
+        context.become(
+          running(
+            serverControllers + (project.id -> controller),
+            idleServers,
+            retiredServers
+          )
+        )
       }
 
     case msg @ StopServer(_, projectId) =>
@@ -69,17 +101,73 @@ class LanguageServerRegistry(
         sender() ! ServerNotRunning
       }
 
+    case ServerIdle(projectId) =>
+      val (retired, kept) =
+        (idleServers :+ projectId).splitAt(
+          idleServers.size + 1 - poolConfig.maxIdleServers
+        )
+      retired.flatMap(serverControllers.get).foreach(_ ! RetireServer)
+      context.become(
+        running(
+          serverControllers,
+          kept,
+          retiredServers ++ retired.map(_ -> List.empty[ActorRef])
+        )
+      )
+
+    case RetireIdleServer(projectId) =>
+      if (idleServers.contains(projectId)) {
+        serverControllers.get(projectId).foreach(_ ! RetireServer)
+        context.become(
+          running(
+            serverControllers,
+            idleServers.filterNot(_ == projectId),
+            retiredServers + (projectId -> List(sender()))
+          )
+        )
+      } else if (retiredServers.contains(projectId)) {
+        val requesters = sender() :: retiredServers(projectId)
+        context.become(
+          running(
+            serverControllers,
+            idleServers,
+            retiredServers + (projectId -> requesters)
+          )
+        )
+      } else {
+        sender() ! IdleServerRetired
+      }
+
     case ServerShutDown(projectId) =>
-      context.become(running(serverControllers - projectId))
+      shutDown(serverControllers, idleServers, retiredServers, Set(projectId))
 
     case Terminated(ref) =>
-      context.become(running(serverControllers.filterNot(_._2 == ref)))
+      val terminated = serverControllers.filter(_._2 == ref).keySet
+      shutDown(serverControllers, idleServers, retiredServers, terminated)
 
     case CheckIfServerIsRunning(projectId) =>
       sender() ! serverControllers.contains(projectId)
 
   }
 
+  private def shutDown(
+    serverControllers: Map[UUID, ActorRef],
+    idleServers: Vector[UUID],
+    retiredServers: Map[UUID, List[ActorRef]],
+    projectIds: Set[UUID]
+  ): Unit = {
+    projectIds
+      .flatMap(retiredServers.get)
+      .foreach(_.foreach(_ ! IdleServerRetired))
+    context.become(
+      running(
+        serverControllers -- projectIds,
+        idleServers.filterNot(projectIds.contains),
+        retiredServers -- projectIds
+      )
+    )
+  }
+
 }
 
 object LanguageServerRegistry {
@@ -91,6 +179,14 @@ object LanguageServerRegistry {
     */
   case class ServerShutDown(projectId: UUID)
 
+  /**
+    * A notification informing that all clients have disconnected from
+    * a server, and the server is kept running until it's reused or retired.
+    *
+    * @param projectId a project id
+    */
+  case class ServerIdle(projectId: UUID)
+
   /**
     *  Creates a configuration object used to create a [[LanguageServerRegistry]].
     *
@@ -98,20 +194,23 @@ object LanguageServerRegistry {
     * @param bootloaderConfig a bootloader config
     * @param supervisionConfig a supervision config
     * @param timeoutConfig a timeout config
+    * @param poolConfig a config of the idle servers pool
     * @return
     */
   def props(
     networkConfig: NetworkConfig,
     bootloaderConfig: BootloaderConfig,
     supervisionConfig: SupervisionConfig,
-    timeoutConfig: TimeoutConfig
+    timeoutConfig: TimeoutConfig,
+    poolConfig: PoolConfig
   ): Props =
     Props(
       new LanguageServerRegistry(
         networkConfig,
         bootloaderConfig,
         supervisionConfig,
-        timeoutConfig
+        timeoutConfig,
+        poolConfig
       )
     )
 
@@ -67,4 +67,18 @@ class LanguageServerRegistryProxy[F[+_, +_]: Async: ErrorChannel: CovariantFlatM
       }
       .mapError(_ => CheckTimeout)
 
+  /** @inheritdoc **/
+  override def retireIdleServer(
+    projectId: UUID
+  ): F[ServerShutdownFailure, Unit] = {
+    // the reply is sent after the server shuts down or its shutdown times out
+    val retireTimeout = Timeout(timeoutConfig.shutdownTimeout * 2)
+    Async[F]
+      .fromFuture { () =>
+        registry.ask(RetireIdleServer(projectId))(retireTimeout)
+      }
+      .mapError(_ => ServerShutdownTimedOut)
+      .map(_ => ())
+  }
+
 }
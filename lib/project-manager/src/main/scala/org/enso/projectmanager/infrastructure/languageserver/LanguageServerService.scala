@@ -49,4 +49,12 @@ trait LanguageServerService[F[+_, +_]] {
     */
   def isRunning(projectId: UUID): F[CheckTimeout.type, Boolean]
 
+  /**
+    * Shuts down the server kept idle for a closed project.
+    *
+    * @param projectId a project id
+    * @return either failure or Unit, when the project has no idle server
+    */
+  def retireIdleServer(projectId: UUID): F[ServerShutdownFailure, Unit]
+
 }
@@ -9,7 +9,14 @@ import org.enso.projectmanager.control.core.CovariantFlatMap
 import org.enso.projectmanager.control.core.syntax._
 import org.enso.projectmanager.control.effect.syntax._
 import org.enso.projectmanager.control.effect.{ErrorChannel, Sync}
-import org.enso.projectmanager.infrastructure.file.{FileStorage, FileSystem}
+import org.enso.projectmanager.infrastructure.file.{
+  FileSystem,
+  JournaledStorage
+}
+import org.enso.projectmanager.infrastructure.repository.ProjectIndex.{
+  ProjectAdded,
+  ProjectRemoved
+}
 import org.enso.projectmanager.infrastructure.repository.ProjectRepositoryFailure.{
   InconsistentStorage,
   ProjectNotFoundInIndex,
@@ -27,7 +34,7 @@ import org.enso.projectmanager.model.Project
 class ProjectFileRepository[F[+_, +_]: Sync: ErrorChannel: CovariantFlatMap](
   storageConfig: StorageConfig,
   fileSystem: FileSystem[F],
-  indexStorage: FileStorage[ProjectIndex, F]
+  indexStorage: JournaledStorage[ProjectIndex, ProjectIndex.Change, F]
 ) extends ProjectRepository[F] {
 
   /** @inheritdoc **/
@@ -73,9 +80,8 @@ class ProjectFileRepository[F[+_, +_]: Sync: ErrorChannel: CovariantFlatMap](
 
     createProjectStructure(project, projectPath) *>
     indexStorage
-      .modify { index =>
-        val updated = index.add(projectWithPath)
-        (updated, ())
+      .modify { _ =>
+        (List(ProjectAdded(projectWithPath)), ())
       }
       .mapError(_.fold(convertFileStorageFailure))
   }
@@ -95,7 +101,7 @@ class ProjectFileRepository[F[+_, +_]: Sync: ErrorChannel: CovariantFlatMap](
     indexStorage
       .modify { index =>
         val maybeProject = index.findById(projectId)
-        index.remove(projectId) -> maybeProject
+        maybeProject.map(_ => ProjectRemoved(projectId)).toList -> maybeProject
       }
       .mapError(_.fold(convertFileStorageFailure))
       .flatMap {
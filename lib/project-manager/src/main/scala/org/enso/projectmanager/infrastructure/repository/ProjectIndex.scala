@@ -3,6 +3,7 @@ package org.enso.projectmanager.infrastructure.repository
 import java.util.UUID
 
 import org.enso.projectmanager.data.Default
+import org.enso.projectmanager.infrastructure.file.Journaled
 import org.enso.projectmanager.model.Project
 
 /**
@@ -64,4 +65,30 @@ object ProjectIndex {
 
   implicit val indexDefault: Default[ProjectIndex] = Default.Val(Empty)
 
+  /**
+    * A change of the project index.
+    */
+  sealed trait Change
+
+  /**
+    * Signals that a project was added to the index.
+    *
+    * @param project the added project
+    */
+  case class ProjectAdded(project: Project) extends Change
+
+  /**
+    * Signals that a project was removed from the index.
+    *
+    * @param projectId the removed project id
+    */
+  case class ProjectRemoved(projectId: UUID) extends Change
+
+  implicit val indexJournaled: Journaled[ProjectIndex, Change] =
+    (index, change) =>
+      change match {
+        case ProjectAdded(project)     => index.add(project)
+        case ProjectRemoved(projectId) => index.remove(projectId)
+      }
+
 }
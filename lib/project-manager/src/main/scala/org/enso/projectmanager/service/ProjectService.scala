@@ -75,10 +75,18 @@ class ProjectService[F[+_, +_]: ErrorChannel: CovariantFlatMap](
     projectId: UUID
   ): F[ProjectServiceFailure, Unit] =
     log.debug(s"Deleting project $projectId.") *>
+    retireIdleServer(projectId) *>
     ensureProjectIsNotRunning(projectId) *>
     repo.delete(projectId).mapError(toServiceFailure) *>
     log.info(s"Project $projectId deleted.")
 
+  private def retireIdleServer(
+    projectId: UUID
+  ): F[ProjectServiceFailure, Unit] =
+    languageServerService
+      .retireIdleServer(projectId)
+      .mapError(_ => ProjectOperationTimeout)
+
   private def ensureProjectIsNotRunning(
     projectId: UUID
   ): F[ProjectServiceFailure, Unit] =
@@ -0,0 +1,114 @@
+package org.enso.projectmanager.infrastructure.file
+
+import java.io.File
+import java.nio.file.Files
+import java.time.{OffsetDateTime, ZoneOffset}
+import java.util.UUID
+
+import io.circe.generic.auto._
+import org.apache.commons.io.FileUtils
+import org.enso.projectmanager.infrastructure.repository.ProjectIndex
+import org.enso.projectmanager.infrastructure.repository.ProjectIndex.{
+  ProjectAdded,
+  ProjectRemoved
+}
+import org.enso.projectmanager.model.{Project, ProjectKind}
+import org.scalatest.BeforeAndAfterEach
+import org.scalatest.flatspec.AnyFlatSpec
+import org.scalatest.matchers.should.Matchers
+import zio.{Runtime, ZEnv, ZIO}
+
+import scala.concurrent.duration._
+
+class JournaledFileStorageSpec
+    extends AnyFlatSpec
+    with Matchers
+    with BeforeAndAfterEach {
+
+  var root: File = _
+
+  override def beforeEach(): Unit = {
+    root = Files.createTempDirectory(null).toFile
+  }
+
+  override def afterEach(): Unit = {
+    FileUtils.deleteDirectory(root)
+  }
+
+  "A journaled storage" should "record changes in the journal" in {
+    val foo     = project("foo")
+    val bar     = project("bar")
+    val storage = newStorage(compactionThreshold = 100)
+
+    run(storage.modify(_ => (List(ProjectAdded(foo)), ())))
+    run(storage.modify(_ => (List(ProjectAdded(bar)), ())))
+    run(storage.modify(_ => (List(ProjectRemoved(foo.id)), ())))
+
+    indexFile.exists() shouldBe false
+    journalFile.exists() shouldBe true
+    run(newStorage(100).load()) shouldEqual ProjectIndex.Empty.add(bar)
+  }
+
+  it should "serve reads from memory" in {
+    val foo     = project("foo")
+    val storage = newStorage(compactionThreshold = 100)
+
+    run(storage.modify(_ => (List(ProjectAdded(foo)), ())))
+    FileUtils.deleteDirectory(root)
+
+    run(storage.load()) shouldEqual ProjectIndex.Empty.add(foo)
+  }
+
+  it should "compact the journal" in {
+    val foo     = project("foo")
+    val bar     = project("bar")
+    val storage = newStorage(compactionThreshold = 2)
+
+    run(storage.modify(_ => (List(ProjectAdded(foo)), ())))
+    run(storage.modify(_ => (List(ProjectAdded(bar)), ())))
+
+    indexFile.exists() shouldBe true
+    FileUtils.readFileToString(journalFile, "UTF-8") shouldBe empty
+    run(newStorage(100).load()) shouldEqual
+    ProjectIndex.Empty.add(foo).add(bar)
+  }
+
+  it should "ignore an incomplete journal entry" in {
+    val foo     = project("foo")
+    val bar     = project("bar")
+    val storage = newStorage(compactionThreshold = 100)
+
+    run(storage.modify(_ => (List(ProjectAdded(foo)), ())))
+    FileUtils.write(journalFile, """{"ProjectAdd""", "UTF-8", true)
+
+    val reloaded = newStorage(100)
+    run(reloaded.load()) shouldEqual ProjectIndex.Empty.add(foo)
+    run(reloaded.modify(_ => (List(ProjectAdded(bar)), ())))
+
+    run(newStorage(100).load()) shouldEqual
+    ProjectIndex.Empty.add(foo).add(bar)
+  }
+
+  private def indexFile: File = new File(root, "project-index.json")
+
+  private def journalFile: File = new File(root, "project-index.json.journal")
+
+  private def newStorage(compactionThreshold: Int) =
+    new JournaledFileStorage[
+      ProjectIndex,
+      ProjectIndex.Change,
+      ZIO[ZEnv, +*, +*]
+    ](indexFile, compactionThreshold, new BlockingFileSystem(5.seconds))
+
+  private def project(name: String): Project =
+    Project(
+      id      = UUID.randomUUID(),
+      name    = name,
+      kind    = ProjectKind.UserProject,
+      created = OffsetDateTime.now(ZoneOffset.UTC)
+    )
+
+  private def run[E, A](action: ZIO[ZEnv, E, A]): A =
+    Runtime.default.unsafeRun(action)
+
+}
@@ -6,20 +6,24 @@ import java.time.{OffsetDateTime, ZoneOffset}
 import java.util.UUID
 
 import io.circe.generic.auto._
+import io.circe.literal._
+import io.circe.parser.parse
 import org.apache.commons.io.FileUtils
 import org.enso.jsonrpc.test.JsonRpcServerTestKit
 import org.enso.jsonrpc.{ClientControllerFactory, Protocol}
 import org.enso.projectmanager.boot.configuration.{
   BootloaderConfig,
   NetworkConfig,
+  PoolConfig,
   StorageConfig,
   SupervisionConfig,
   TimeoutConfig
 }
 import org.enso.projectmanager.control.effect.ZioEnvExec
+import org.enso.projectmanager.data.Socket
 import org.enso.projectmanager.infrastructure.file.{
   BlockingFileSystem,
-  SynchronizedFileStorage
+  JournaledFileStorage
 }
 import org.enso.projectmanager.infrastructure.languageserver.{
   LanguageServerRegistry,
@@ -59,9 +63,10 @@ class BaseServerSpec extends JsonRpcServerTestKit {
   val indexFile = new File(testProjectsRoot, "project-index.json")
 
   lazy val testStorageConfig = StorageConfig(
-    projectsRoot     = testProjectsRoot,
-    projectIndexPath = indexFile,
-    userProjectsPath = userProjectDir
+    projectsRoot                    = testProjectsRoot,
+    projectIndexPath                = indexFile,
+    userProjectsPath                = userProjectDir,
+    projectIndexCompactionThreshold = 100
   )
 
   lazy val bootloaderConfig = BootloaderConfig(3, 1.second)
@@ -74,6 +79,8 @@ class BaseServerSpec extends JsonRpcServerTestKit {
   lazy val supervisionConfig =
     SupervisionConfig(5.seconds, 10.seconds, 5.seconds, 3, 1.seconds)
 
+  lazy val poolConfig = PoolConfig(maxIdleServers = 0, idleTimeout = 1.minute)
+
   implicit val exec = new ZioEnvExec(Runtime.default)
 
   lazy val fileSystem = new BlockingFileSystem(5.seconds)
@@ -81,13 +88,19 @@ class BaseServerSpec extends JsonRpcServerTestKit {
   lazy val storageSemaphore =
     Runtime.default.unsafeRun(Semaphore.make(1))
 
-  lazy val indexStorage =
-    new SynchronizedFileStorage[ProjectIndex, ZIO[ZEnv, +*, +*]](
+  // the storage caches the index, so it's recreated for every test
+  def indexStorage =
+    new JournaledFileStorage[
+      ProjectIndex,
+      ProjectIndex.Change,
+      ZIO[ZEnv, +*, +*]
+    ](
       testStorageConfig.projectIndexPath,
+      testStorageConfig.projectIndexCompactionThreshold,
       fileSystem
     )
 
-  lazy val projectRepository =
+  def projectRepository =
     new ProjectFileRepository(
       testStorageConfig,
       fileSystem,
@@ -99,7 +112,13 @@ class BaseServerSpec extends JsonRpcServerTestKit {
   lazy val languageServerRegistry =
     system.actorOf(
       LanguageServerRegistry
-        .props(netConfig, bootloaderConfig, supervisionConfig, timeoutConfig)
+        .props(
+          netConfig,
+          bootloaderConfig,
+          supervisionConfig,
+          timeoutConfig,
+          poolConfig
+        )
     )
 
   lazy val languageServerService =
@@ -108,7 +127,7 @@ class BaseServerSpec extends JsonRpcServerTestKit {
       timeoutConfig
     )
 
-  lazy val projectService =
+  def projectService =
     new ProjectService[ZIO[ZEnv, +*, +*]](
       projectValidator,
       projectRepository,
@@ -131,4 +150,92 @@ class BaseServerSpec extends JsonRpcServerTestKit {
     FileUtils.deleteDirectory(testProjectsRoot)
   }
 
+  def createProject(name: String)(implicit client: WsTestClient): UUID = {
+    client.send(json"""
+            { "jsonrpc": "2.0",
+              "method": "project/create",
+              "id": 0,
+              "params": {
+                "name": $name
+              }
+            }
+          """)
+    val projectId = getGeneratedUUID
+    client.expectJson(json"""
+          {
+            "jsonrpc":"2.0",
+            "id":0,
+            "result": {
+              "projectId": $projectId
+            }
+          }
+          """)
+    projectId
+  }
+
+  def openProject(
+    projectId: UUID
+  )(implicit client: WsTestClient): Socket = {
+    client.send(json"""
+            { "jsonrpc": "2.0",
+              "method": "project/open",
+              "id": 0,
+              "params": {
+                "projectId": $projectId
+              }
+            }
+          """)
+    val Right(openReply) = parse(client.expectMessage())
+    val socketField = openReply.hcursor
+      .downField("result")
+      .downField("languageServerJsonAddress")
+    val Right(host) = socketField.downField("host").as[String]
+    val Right(port) = socketField.downField("port").as[Int]
+    Socket(host, port)
+  }
+
+  def closeProject(
+    projectId: UUID
+  )(implicit client: WsTestClient): Unit = {
+    client.send(json"""
+            { "jsonrpc": "2.0",
+              "method": "project/close",
+              "id": 0,
+              "params": {
+                "projectId": $projectId
+              }
+            }
+          """)
+    client.expectJson(json"""
+          {
+            "jsonrpc":"2.0",
+            "id":0,
+            "result": null
+          }
+          """)
+    ()
+  }
+
+  def deleteProject(
+    projectId: UUID
+  )(implicit client: WsTestClient): Unit = {
+    client.send(json"""
+            { "jsonrpc": "2.0",
+              "method": "project/delete",
+              "id": 0,
+              "params": {
+                "projectId": $projectId
+              }
+            }
+          """)
+    client.expectJson(json"""
+          {
+            "jsonrpc":"2.0",
+            "id":0,
+            "result": null
+          }
+          """)
+    ()
+  }
+
 }
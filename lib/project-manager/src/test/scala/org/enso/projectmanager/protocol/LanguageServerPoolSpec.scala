@@ -0,0 +1,65 @@
+package org.enso.projectmanager.protocol
+
+import java.io.File
+
+import io.circe.literal._
+import org.enso.projectmanager.boot.configuration.PoolConfig
+
+import scala.concurrent.duration._
+
+class LanguageServerPoolSpec extends BaseServerSpec {
+
+  override lazy val poolConfig =
+    PoolConfig(maxIdleServers = 1, idleTimeout = 1.minute)
+
+  "project/open" must {
+
+    "reuse the Language Server of a closed project" in {
+      //given
+      implicit val client = new WsTestClient(address)
+      val projectId       = createProject("foo")
+      val socket1         = openProject(projectId)
+      closeProject(projectId)
+      //when
+      val socket2 = openProject(projectId)
+      //then
+      socket2 shouldBe socket1
+      val languageServerClient =
+        new WsTestClient(s"ws://${socket2.host}:${socket2.port}")
+      languageServerClient.send("test")
+      languageServerClient.expectJson(json"""
+          {
+            "jsonrpc" : "2.0",
+            "id" : null,
+            "error" : {
+              "code" : -32700,
+              "message" : "Parse error"
+            }
+          }
+            """)
+      //teardown
+      closeProject(projectId)
+      deleteProject(projectId)
+    }
+
+  }
+
+  "project/delete" must {
+
+    "remove a project served by an idle Language Server" in {
+      //given
+      val projectName     = "to-remove"
+      val projectDir      = new File(userProjectDir, projectName)
+      implicit val client = new WsTestClient(address)
+      val projectId       = createProject(projectName)
+      openProject(projectId)
+      closeProject(projectId)
+      //when
+      deleteProject(projectId)
+      //then
+      projectDir.exists() shouldBe false
+    }
+
+  }
+
+}
@@ -0,0 +1,95 @@
+package org.enso.searcher.index
+
+import org.enso.searcher.Suggestion
+import org.scalameter.{Bench, Gen}
+
+object SearchIndexBench extends Bench.LocalTime {
+
+  val words: Vector[String] = Vector(
+    "to",
+    "text",
+    "length",
+    "map",
+    "filter",
+    "fold",
+    "each",
+    "at",
+    "head",
+    "tail",
+    "read",
+    "write",
+    "file",
+    "vector",
+    "number",
+    "parse",
+    "index",
+    "of",
+    "sum",
+    "table"
+  )
+
+  val types: Vector[String] =
+    Vector("Any", "Text", "Number", "Vector", "File", "Table", "Json")
+
+  def genSuggestions(num: Int): Vector[Suggestion] = {
+    var seed = 13
+    def next(bound: Int): Int = {
+      seed = (seed * 1103515245 + 12345) & Int.MaxValue
+      seed % bound
+    }
+    Vector.tabulate(num) { i =>
+      val name = Vector.fill(1 + next(3))(words(next(words.length)))
+        .mkString("_") + i
+      Suggestion.Method(
+        name          = name,
+        arguments     = Seq(),
+        selfType      = types(next(types.length)),
+        returnType    = types(next(types.length)),
+        documentation = None
+      )
+    }
+  }
+
+  def genIndex(suggestions: Vector[Suggestion]): SearchIndex = {
+    val index = new SearchIndex
+    suggestions.zipWithIndex.foreach {
+      case (suggestion, id) => index.add(id.toLong, suggestion)
+    }
+    index
+  }
+
+  val numSuggestions: Gen[Int] = Gen.single("suggestions")(100000)
+  val suggestions: Gen[Vector[Suggestion]] =
+    numSuggestions.map(genSuggestions)
+  val index: Gen[SearchIndex] = suggestions.map(genIndex)
+
+  performance of "SearchIndex" in {
+    measure method "add" in {
+      using(suggestions) in genIndex
+    }
+
+    measure method "search prefix" in {
+      using(index) in { index =>
+        index.search("text", 20)
+      }
+    }
+
+    measure method "search words" in {
+      using(index) in { index =>
+        index.search("tlen", 20)
+      }
+    }
+
+    measure method "search subsequence" in {
+      using(index) in { index =>
+        index.search("xtgh", 20)
+      }
+    }
+
+    measure method "search types" in {
+      using(index) in { index =>
+        index.search("Json", 20)
+      }
+    }
+  }
+}
@@ -12,6 +12,27 @@ trait SuggestionsRepo[F[_]] {
     */
   def findBy(returnType: String): F[Seq[Suggestion]]
 
+  /** Search suggestions by the query.
+    *
+    * The query is matched against the suggestion name using the prefix and
+    * the camel/snake case fuzzy matching. The self type, the return type and
+    * the documentation of a suggestion are matched with the lower priority.
+    *
+    * @param query the search query
+    * @param limit the maximum number of returned suggestions
+    * @return the list of suggestions ordered by relevance
+    */
+  def search(query: String, limit: Int): F[Seq[Suggestion]]
+
+  /** Find local suggestions visible at the given position.
+    *
+    * @param module the module name
+    * @param offset the position in the module
+    * @return the list of suggestions which scope contains the position,
+    * from the innermost to the outermost scope
+    */
+  def findByScope(module: String, offset: Int): F[Seq[Suggestion]]
+
   /** Select the suggestion by id.
     *
     * @param id the id of a suggestion
@@ -25,4 +46,43 @@ trait SuggestionsRepo[F[_]] {
     * @return the id of an inserted suggestion
     */
   def insert(suggestion: Suggestion): F[Long]
+
+  /** Insert the list of suggestions defined in the module in a batch.
+    *
+    * @param module the module that defines the suggestions
+    * @param entries the suggestions to insert
+    * @return the ids of inserted suggestions
+    */
+  def insertAll(module: String, entries: Seq[Suggestion]): F[Seq[Long]]
+
+  /** Remove all suggestions defined in the module.
+    *
+    * @param module the module name
+    * @return the ids of removed suggestions
+    */
+  def removeByModule(module: String): F[Seq[Long]]
+
+  /** Replace the suggestions defined in the module with the new ones.
+    *
+    * Only the difference between the stored and the new suggestions is
+    * written, so the suggestions that didn't change keep their ids.
+    *
+    * @param module the module name
+    * @param entries the current list of suggestions defined in the module
+    * @return the ids of removed and inserted suggestions
+    */
+  def applyUpdates(
+    module: String,
+    entries: Seq[Suggestion]
+  ): F[SuggestionsRepo.ModuleUpdate]
+}
+
+object SuggestionsRepo {
+
+  /** The result of updating the suggestions of a module.
+    *
+    * @param removed the ids of removed suggestions
+    * @param added the ids of inserted suggestions
+    */
+  case class ModuleUpdate(removed: Seq[Long], added: Seq[Long])
 }
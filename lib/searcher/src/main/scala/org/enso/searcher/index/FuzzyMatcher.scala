@@ -0,0 +1,187 @@
+package org.enso.searcher.index
+
+/** Scores how well a search query matches a text.
+  *
+  * The matching is case-insensitive and recognizes the following kinds of
+  * matches, ordered from the best to the worst:
+  *  - exact match, `toText` matches `to_text`
+  *  - prefix match, `to` and `tot` match `to_text`
+  *  - word match, where the query is split between the prefixes of the
+  *    words of the text (both camel and snake case), `tt` and `text` match
+  *    `to_text` and `toText`
+  *  - subsequence match, where the query characters appear in the text in the
+  *    same order, `oex` matches `to_text`
+  *
+  * Non-alphanumeric characters of the query are ignored.
+  */
+object FuzzyMatcher {
+
+  /** The score of the text that does not match the query. */
+  val NoMatch: Int = -1
+
+  /** The score of the exact match. */
+  val Exact: Int = 1000
+
+  /** The base score of the prefix match. */
+  val Prefix: Int = 800
+
+  /** The base score of the word match. */
+  val Word: Int = 600
+
+  /** The base score of the subsequence match. */
+  val Subsequence: Int = 300
+
+  /** The maximum penalty subtracted from the base score. It is lower than
+    * the difference between the base scores, so that the worse kind of match
+    * never outranks the better one.
+    */
+  private val MaxPenalty: Int = 199
+
+  /** Compute the score of the text.
+    *
+    * @param query the search query
+    * @param text the text to match
+    * @return the match score, or [[NoMatch]] if the text doesn't match the
+    * query
+    */
+  def score(query: String, text: String): Int = {
+    val q = normalize(query)
+    val t = normalize(text)
+    if (q.isEmpty) {
+      0
+    } else if (t.equalsIgnoreCase(q)) {
+      Exact
+    } else if (t.regionMatches(true, 0, q, 0, q.length)) {
+      Prefix - penalty(t.length - q.length)
+    } else {
+      val skipped = matchWords(q, text)
+      if (skipped != NoMatch) {
+        Word - penalty(skipped)
+      } else {
+        val gaps = matchSubsequence(q, text)
+        if (gaps != NoMatch) Subsequence - penalty(gaps) else NoMatch
+      }
+    }
+  }
+
+  /** Remove the characters that are ignored by the matcher.
+    *
+    * @param query the search query
+    * @return the query containing only alphanumeric characters
+    */
+  def normalize(query: String): String =
+    if (query.forall(Character.isLetterOrDigit)) query
+    else query.filter(Character.isLetterOrDigit)
+
+  /** Match the query against the prefixes of the words of the text.
+    *
+    * @param query the normalized query
+    * @param text the text to match
+    * @return the number of skipped words, or [[NoMatch]]
+    */
+  private def matchWords(query: String, text: String): Int =
+    matchWordsFrom(query, 0, text, 0)
+
+  /** Match the query suffix against the prefixes of the words of the text
+    * suffix. The first character of the query suffix should start a word.
+    *
+    * The longest word prefix is tried first, and the shorter ones are tried
+    * when the rest of the query doesn't match.
+    *
+    * @param query the normalized query
+    * @param queryIx the start of the query suffix
+    * @param text the text to match
+    * @param textIx the start of the text suffix
+    * @return the number of skipped words, or [[NoMatch]]
+    */
+  private def matchWordsFrom(
+    query: String,
+    queryIx: Int,
+    text: String,
+    textIx: Int
+  ): Int = {
+    if (queryIx == query.length) {
+      0
+    } else {
+      var result  = NoMatch
+      var skipped = 0
+      var ix      = textIx
+      while (result == NoMatch && ix < text.length) {
+        if (isWordStart(text, ix)) {
+          if (charEquals(text.charAt(ix), query.charAt(queryIx))) {
+            var length = 1
+            while (continuesWord(query, queryIx + length, text, ix + length)) {
+              length += 1
+            }
+            while (result == NoMatch && length > 0) {
+              val rest =
+                matchWordsFrom(query, queryIx + length, text, ix + length)
+              if (rest != NoMatch) result = skipped + rest
+              length -= 1
+            }
+          }
+          skipped += 1
+        }
+        ix += 1
+      }
+      result
+    }
+  }
+
+  /** Check if the query character matches the text character continuing
+    * the current word.
+    */
+  private def continuesWord(
+    query: String,
+    queryIx: Int,
+    text: String,
+    textIx: Int
+  ): Boolean =
+    queryIx < query.length && textIx < text.length &&
+    !isWordStart(text, textIx) &&
+    charEquals(text.charAt(textIx), query.charAt(queryIx))
+
+  /** Match the query as a subsequence of the text.
+    *
+    * @param query the normalized query
+    * @param text the text to match
+    * @return the number of unmatched characters between the first and the
+    * last matched character, or [[NoMatch]]
+    */
+  private def matchSubsequence(query: String, text: String): Int = {
+    var qi    = 0
+    var ti    = 0
+    var first = -1
+    while (qi < query.length && ti < text.length) {
+      if (charEquals(text.charAt(ti), query.charAt(qi))) {
+        if (first < 0) first = ti
+        qi += 1
+      }
+      ti += 1
+    }
+    if (qi < query.length) NoMatch else ti - first - query.length
+  }
+
+  /** Check if the character at the given position starts a new word, either
+    * in camel or in snake case.
+    */
+  private def isWordStart(text: String, ix: Int): Boolean = {
+    val ch = text.charAt(ix)
+    if (!Character.isLetterOrDigit(ch)) {
+      false
+    } else if (ix == 0) {
+      true
+    } else {
+      val prev = text.charAt(ix - 1)
+      !Character.isLetterOrDigit(prev) ||
+      (Character.isUpperCase(ch) && !Character.isUpperCase(prev)) ||
+      (Character.isDigit(ch) && !Character.isDigit(prev))
+    }
+  }
+
+  private def charEquals(a: Char, b: Char): Boolean =
+    a == b || Character.toLowerCase(a) == Character.toLowerCase(b)
+
+  private def penalty(value: Int): Int =
+    Math.min(value, MaxPenalty)
+}
@@ -0,0 +1,177 @@
+package org.enso.searcher.index
+
+import org.enso.searcher.Suggestion
+
+import scala.collection.mutable
+
+/** An in-memory index of the suggestion scopes.
+  *
+  * The index answers which local suggestions are visible at a position in a
+  * module. The scopes of every module are kept in an interval tree, that is
+  * rebuilt lazily on the first query after the module is modified, so the
+  * bulk updates of a module don't pay for the rebuild per suggestion.
+  */
+final class ScopeIndex {
+
+  private val modules  = mutable.HashMap[String, ScopeIndex.ModuleScopes]()
+  private val moduleOf = mutable.LongMap[String]()
+
+  /** Add the suggestion to the index. Only the suggestions having a scope
+    * are indexed.
+    *
+    * @param id the suggestion id
+    * @param module the module that defines the suggestion
+    * @param suggestion the suggestion to index
+    */
+  def add(id: Long, module: String, suggestion: Suggestion): Unit =
+    ScopeIndex.scopeOf(suggestion).foreach { scope =>
+      synchronized {
+        remove(id)
+        modules.getOrElseUpdate(module, new ScopeIndex.ModuleScopes)
+          .add(id, scope)
+        moduleOf.update(id, module)
+      }
+    }
+
+  /** Remove the suggestion from the index.
+    *
+    * @param id the suggestion id
+    */
+  def remove(id: Long): Unit =
+    synchronized {
+      moduleOf.remove(id).foreach { module =>
+        modules.get(module).foreach { scopes =>
+          scopes.remove(id)
+          if (scopes.isEmpty) modules.remove(module)
+        }
+      }
+    }
+
+  /** Remove all suggestions from the index. */
+  def clear(): Unit =
+    synchronized {
+      modules.clear()
+      moduleOf.clear()
+    }
+
+  /** Find the suggestions visible at the given position.
+    *
+    * @param module the module name
+    * @param offset the position in the module
+    * @return the ids of suggestions which scope contains the position, from
+    * the innermost to the outermost scope
+    */
+  def find(module: String, offset: Int): Seq[Long] =
+    synchronized {
+      modules.get(module).fold(Seq[Long]())(_.find(offset))
+    }
+}
+
+object ScopeIndex {
+
+  /** Get the scope of the suggestion. */
+  private def scopeOf(suggestion: Suggestion): Option[Suggestion.Scope] =
+    suggestion match {
+      case function: Suggestion.Function => Some(function.scope)
+      case local: Suggestion.Local       => Some(local.scope)
+      case _: Suggestion.Atom            => None
+      case _: Suggestion.Method          => None
+    }
+
+  /** The scopes of a single module. */
+  private class ModuleScopes {
+
+    private val scopes = mutable.LongMap[Suggestion.Scope]()
+    private var tree: IntervalTree = _
+
+    def isEmpty: Boolean = scopes.isEmpty
+
+    def add(id: Long, scope: Suggestion.Scope): Unit = {
+      scopes.update(id, scope)
+      tree = null
+    }
+
+    def remove(id: Long): Unit =
+      if (scopes.remove(id).isDefined) tree = null
+
+    def find(offset: Int): Seq[Long] = {
+      if (tree eq null) tree = IntervalTree(scopes)
+      tree.find(offset)
+    }
+  }
+
+  /** A static interval tree.
+    *
+    * The intervals are sorted by their start, and the sorted array is viewed
+    * as an implicit balanced binary tree, where the root of a range is its
+    * middle element. Each node is augmented with the maximum end of the
+    * intervals in its subtree, which allows skipping the subtrees that end
+    * before the queried position. The query takes `O(log n + k)` time, where
+    * `k` is the number of reported intervals.
+    *
+    * @param ids the interval ids
+    * @param starts the interval starts in the ascending order
+    * @param ends the interval ends
+    * @param maxEnds the maximum end in the subtree of each node
+    */
+  private class IntervalTree(
+    ids: Array[Long],
+    starts: Array[Int],
+    ends: Array[Int],
+    maxEnds: Array[Int]
+  ) {
+
+    /** Find the intervals containing the position.
+      *
+      * @param offset the position
+      * @return the ids of intervals containing the position, ordered by
+      * their start in the descending order
+      */
+    def find(offset: Int): Seq[Long] = {
+      val result = Vector.newBuilder[Long]
+      def go(lo: Int, hi: Int): Unit =
+        if (lo <= hi) {
+          val mid = (lo + hi) >>> 1
+          if (maxEnds(mid) >= offset) {
+            if (starts(mid) <= offset) {
+              go(mid + 1, hi)
+              if (ends(mid) >= offset) result += ids(mid)
+            }
+            go(lo, mid - 1)
+          }
+        }
+      go(0, ids.length - 1)
+      result.result()
+    }
+  }
+
+  private object IntervalTree {
+
+    /** Build the interval tree.
+      *
+      * @param scopes the intervals indexed by their ids
+      * @return the interval tree
+      */
+    def apply(scopes: collection.Map[Long, Suggestion.Scope]): IntervalTree = {
+      val sorted  = scopes.toArray.sortBy(_._2.start)
+      val ids     = sorted.map(_._1)
+      val starts  = sorted.map(_._2.start)
+      val ends    = sorted.map(_._2.end)
+      val maxEnds = new Array[Int](sorted.length)
+      def build(lo: Int, hi: Int): Int =
+        if (lo > hi) {
+          Int.MinValue
+        } else {
+          val mid = (lo + hi) >>> 1
+          val max = Math.max(
+            ends(mid),
+            Math.max(build(lo, mid - 1), build(mid + 1, hi))
+          )
+          maxEnds(mid) = max
+          max
+        }
+      build(0, sorted.length - 1)
+      new IntervalTree(ids, starts, ends, maxEnds)
+    }
+  }
+}
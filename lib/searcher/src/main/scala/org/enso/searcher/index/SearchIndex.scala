@@ -0,0 +1,253 @@
+package org.enso.searcher.index
+
+import org.enso.searcher.Suggestion
+
+import scala.collection.mutable
+
+/** An in-memory index for the ranked search of suggestions.
+  *
+  * The index keeps the searchable fields of every suggestion together with
+  * a bitmask of characters appearing in them, which allows rejecting most of
+  * the non-matching entries without running the [[FuzzyMatcher]]. Names are
+  * additionally kept in a sorted map, so that the queries having enough prefix
+  * matches are answered without scanning the whole index.
+  *
+  * The suggestion name has the highest priority in ranking. The self and the
+  * return types are ranked lower, and the documentation is used only as the
+  * last resort.
+  */
+final class SearchIndex {
+
+  import SearchIndex._
+
+  private val entries = mutable.LongMap[Entry]()
+  private val names   = mutable.TreeMap[String, Set[Long]]()
+
+  /** The number of indexed suggestions. */
+  def size: Int =
+    synchronized {
+      entries.size
+    }
+
+  /** Add the suggestion to the index.
+    *
+    * @param id the suggestion id
+    * @param suggestion the suggestion to index
+    */
+  def add(id: Long, suggestion: Suggestion): Unit =
+    synchronized {
+      remove(id)
+      val entry = Entry(id, suggestion)
+      entries.update(id, entry)
+      names.updateWith(entry.key) {
+        case Some(ids) => Some(ids + id)
+        case None      => Some(Set(id))
+      }
+    }
+
+  /** Remove the suggestion from the index.
+    *
+    * @param id the suggestion id
+    */
+  def remove(id: Long): Unit =
+    synchronized {
+      entries.remove(id).foreach { entry =>
+        names.updateWith(entry.key) {
+          case Some(ids) =>
+            val rest = ids - id
+            if (rest.isEmpty) None else Some(rest)
+          case None => None
+        }
+      }
+    }
+
+  /** Remove all suggestions from the index. */
+  def clear(): Unit =
+    synchronized {
+      entries.clear()
+      names.clear()
+    }
+
+  /** Search the index.
+    *
+    * @param query the search query
+    * @param limit the maximum number of results
+    * @return the ids of matching suggestions ordered by relevance
+    */
+  def search(query: String, limit: Int): Seq[Long] =
+    synchronized {
+      val q = FuzzyMatcher.normalize(query).toLowerCase
+      if (limit <= 0) {
+        Seq()
+      } else if (q.isEmpty) {
+        names.valuesIterator.flatten.take(limit).toSeq
+      } else {
+        val prefixed = names.rangeFrom(q).iterator.takeWhile {
+          case (name, _) => name.startsWith(q)
+        }
+        val results = new Results(limit)
+        prefixed.foreach {
+          case (_, ids) =>
+            ids.foreach(id => results.offer(entries(id), q))
+        }
+        if (results.size < limit) {
+          val mask = charMask(q)
+          entries.foreachValue { entry =>
+            if ((entry.mask & mask) == mask && !entry.key.startsWith(q)) {
+              results.offer(entry, q)
+            }
+          }
+        }
+        results.result()
+      }
+    }
+}
+
+object SearchIndex {
+
+  /** The weight of the self and the return type scores relative to the name
+    * score.
+    */
+  private val TypeWeight: Int = 2
+
+  /** The score of the documentation containing the query. */
+  private val DocumentationScore: Int = 50
+
+  /** An indexed suggestion.
+    *
+    * @param id the suggestion id
+    * @param name the suggestion name
+    * @param selfType the self type of a suggestion
+    * @param returnType the return type of a suggestion
+    * @param documentation the lower-cased documentation
+    * @param key the normalized name used as the key of the names map
+    * @param mask the bitmask of characters appearing in the suggestion
+    */
+  private case class Entry(
+    id: Long,
+    name: String,
+    selfType: Option[String],
+    returnType: String,
+    documentation: Option[String],
+    key: String,
+    mask: Long
+  ) {
+
+    /** Compute the relevance score of the entry.
+      *
+      * @param query the normalized query
+      * @return the score, or [[FuzzyMatcher.NoMatch]]
+      */
+    def score(query: String): Int = {
+      val nameScore = FuzzyMatcher.score(query, name)
+      if (nameScore >= FuzzyMatcher.Prefix) {
+        nameScore
+      } else {
+        val typeScore = Math.max(
+          selfType.fold(FuzzyMatcher.NoMatch)(FuzzyMatcher.score(query, _)),
+          FuzzyMatcher.score(query, returnType)
+        )
+        val docScore =
+          if (documentation.exists(_.contains(query))) DocumentationScore
+          else FuzzyMatcher.NoMatch
+        Math.max(nameScore, Math.max(typeScore / TypeWeight, docScore))
+      }
+    }
+  }
+
+  private object Entry {
+
+    /** Create an index entry from the suggestion. */
+    def apply(id: Long, suggestion: Suggestion): Entry = {
+      val (name, selfType, returnType, doc) = suggestion match {
+        case Suggestion.Atom(name, _, returnType, doc) =>
+          (name, None, returnType, doc)
+        case Suggestion.Method(name, _, selfType, returnType, doc) =>
+          (name, Some(selfType), returnType, doc)
+        case Suggestion.Function(name, _, returnType, _) =>
+          (name, None, returnType, None)
+        case Suggestion.Local(name, returnType, _) =>
+          (name, None, returnType, None)
+      }
+      val documentation = doc.map(_.toLowerCase)
+      val mask =
+        charMask(name) | selfType.fold(0L)(charMask) | charMask(returnType) |
+        documentation.fold(0L)(charMask)
+      new Entry(
+        id            = id,
+        name          = name,
+        selfType      = selfType,
+        returnType    = returnType,
+        documentation = documentation,
+        key           = FuzzyMatcher.normalize(name).toLowerCase,
+        mask          = mask
+      )
+    }
+  }
+
+  /** A scored search result. */
+  private case class Result(entry: Entry, score: Int)
+
+  /** Orders the results from the worst to the best one. */
+  private val resultOrdering: Ordering[Result] =
+    Ordering
+      .by[Result, Int](_.score)
+      .orElseBy(-_.entry.name.length)
+      .orElse(Ordering.by[Result, String](_.entry.name).reverse)
+      .orElseBy(-_.entry.id)
+
+  /** Keeps the best `limit` results.
+    *
+    * @param limit the maximum number of results
+    */
+  private class Results(limit: Int) {
+
+    private val queue = new java.util.PriorityQueue[Result](resultOrdering)
+
+    /** The number of collected results. */
+    def size: Int = queue.size()
+
+    /** Score the entry and add it to the results if it is good enough.
+      *
+      * @param entry the index entry
+      * @param query the normalized query
+      */
+    def offer(entry: Entry, query: String): Unit = {
+      val score = entry.score(query)
+      if (score != FuzzyMatcher.NoMatch) {
+        val result = Result(entry, score)
+        if (queue.size() < limit) {
+          queue.add(result)
+        } else if (resultOrdering.gt(result, queue.peek())) {
+          queue.poll()
+          queue.add(result)
+        }
+      }
+    }
+
+    /** @return the ids of collected entries from the best to the worst one */
+    def result(): Seq[Long] = {
+      val builder = Vector.newBuilder[Long]
+      while (!queue.isEmpty) builder += queue.poll().entry.id
+      builder.result().reverse
+    }
+  }
+
+  /** Compute the bitmask of alphanumeric characters appearing in the text. */
+  private def charMask(text: String): Long = {
+    var mask = 0L
+    var ix   = 0
+    while (ix < text.length) {
+      val ch = Character.toLowerCase(text.charAt(ix))
+      if (ch >= 'a' && ch <= 'z') {
+        mask |= 1L << (ch - 'a')
+      } else if (ch >= '0' && ch <= '9') {
+        mask |= 1L << (ch - '0' + 26)
+      } else if (Character.isLetterOrDigit(ch)) {
+        mask |= 1L << 63
+      }
+      ix += 1
+    }
+    mask
+  }
+}
@@ -1,14 +1,29 @@
 package org.enso.searcher.sql
 
 import org.enso.searcher.Suggestion
+import org.enso.searcher.index.{ScopeIndex, SearchIndex}
 import slick.jdbc.SQLiteProfile.api._
 
+import scala.collection.mutable
 import scala.concurrent.ExecutionContext
 
-/** The object for accessing the suggestions database. */
+/** The object for accessing the suggestions database.
+  *
+  * The repo keeps the in-memory [[SearchIndex]] and [[ScopeIndex]] in sync
+  * with the suggestions table. The indexes are updated after the modifying
+  * actions commit, so that a rolled back transaction leaves them unchanged,
+  * and should be populated with the [[init]] action when the repo is created
+  * for an existing database.
+  */
 final class SqlSuggestionsRepo(implicit ec: ExecutionContext)
     extends SuggestionsRepo[DBIO] {
 
+  /** The index used to search suggestions. */
+  private val searchIndex: SearchIndex = new SearchIndex
+
+  /** The index used to find suggestions by position. */
+  private val scopeIndex: ScopeIndex = new ScopeIndex
+
   /** The query returning the arguments joined with the corresponding
     * suggestions. */
   private val joined: Query[
@@ -29,6 +44,21 @@ final class SqlSuggestionsRepo(implicit ec: ExecutionContext)
     query.result.map(joinedToSuggestion)
   }
 
+  /** @inheritdoc **/
+  override def search(query: String, limit: Int): DBIO[Seq[Suggestion]] =
+    DBIO.successful(query).flatMap { q =>
+      selectAllQuery(searchIndex.search(q, limit))
+    }
+
+  /** @inheritdoc **/
+  override def findByScope(
+    module: String,
+    offset: Int
+  ): DBIO[Seq[Suggestion]] =
+    DBIO.successful(offset).flatMap { position =>
+      selectAllQuery(scopeIndex.find(module, position))
+    }
+
   /** @inheritdoc **/
   override def select(id: Long): DBIO[Option[Suggestion]] = {
     val query = for {
@@ -41,10 +71,233 @@ final class SqlSuggestionsRepo(implicit ec: ExecutionContext)
   /** @inheritdoc **/
   override def insert(suggestion: Suggestion): DBIO[Long] = {
     val (suggestionRow, args) = toSuggestionRow(suggestion)
-    for {
+    val query = for {
       id <- suggestions.returning(suggestions.map(_.id)) += suggestionRow
       _  <- arguments ++= args.map(toArgumentRow(id, _))
     } yield id
+    query.transactionally.map { id =>
+      searchIndex.add(id, suggestion)
+      id
+    }
+  }
+
+  /** @inheritdoc **/
+  override def insertAll(
+    module: String,
+    entries: Seq[Suggestion]
+  ): DBIO[Seq[Long]] =
+    insertAllQuery(module, entries).transactionally.map { ids =>
+      addToIndexes(module, ids.zip(entries))
+      ids
+    }
+
+  /** @inheritdoc **/
+  override def removeByModule(module: String): DBIO[Seq[Long]] =
+    removeByModuleQuery(module).transactionally.map { ids =>
+      ids.foreach(removeFromIndexes)
+      ids
+    }
+
+  /** @inheritdoc **/
+  override def applyUpdates(
+    module: String,
+    entries: Seq[Suggestion]
+  ): DBIO[SuggestionsRepo.ModuleUpdate] = {
+    val query = selectByModuleQuery(module).flatMap { stored =>
+      val (removed, added) = diff(stored, entries)
+      for {
+        _        <- removeQuery(removed)
+        addedIds <- insertAllQuery(module, added)
+      } yield (SuggestionsRepo.ModuleUpdate(removed, addedIds), added)
+    }
+    query.transactionally.map {
+      case (update, added) =>
+        update.removed.foreach(removeFromIndexes)
+        addToIndexes(module, update.added.zip(added))
+        update
+    }
+  }
+
+  /** Create the database schema and populate the search index with the
+    * suggestions stored in the database.
+    */
+  def init: DBIO[Unit] =
+    for {
+      _    <- (suggestions.schema ++ arguments.schema).createIfNotExists
+      coll <- joined.result
+    } yield {
+      searchIndex.clear()
+      scopeIndex.clear()
+      joinedToSuggestionRows(coll).foreach {
+        case (row, suggestion) =>
+          val id = row.id.get
+          searchIndex.add(id, suggestion)
+          row.module.foreach(scopeIndex.add(id, _, suggestion))
+      }
+    }
+
+  /** The query to insert suggestions in a batch.
+    *
+    * SQLite doesn't return the generated keys of the batch insert, so the ids
+    * of new suggestions are allocated upfront and inserted explicitly. The ids
+    * are allocated after the largest id ever used in the table, recorded by
+    * SQLite for the `AUTOINCREMENT` key, so that the ids of removed
+    * suggestions are never reused. The query should run in a transaction.
+    *
+    * @param module the module that defines the suggestions
+    * @param entries the suggestions to insert
+    * @return the ids of inserted suggestions
+    */
+  private def insertAllQuery(
+    module: String,
+    entries: Seq[Suggestion]
+  ): DBIO[Seq[Long]] =
+    if (entries.isEmpty) {
+      DBIO.successful(Seq())
+    } else {
+      for {
+        lastId <- lastIdQuery
+        firstId = lastId + 1
+        ids     = entries.indices.map(firstId + _)
+        rows    = ids.zip(entries.map(toSuggestionRow))
+        _ <- suggestions.forceInsertAll(rows.map {
+          case (id, (row, _)) => row.copy(id = Some(id), module = Some(module))
+        })
+        _ <- arguments ++= rows.flatMap {
+          case (id, (_, args)) => args.map(toArgumentRow(id, _))
+        }
+      } yield ids
+    }
+
+  /** The query returning the largest suggestion id ever allocated.
+    *
+    * @return the last allocated id, or zero if the table was always empty
+    */
+  private def lastIdQuery: DBIO[Long] = {
+    val tableName = suggestions.baseTableRow.tableName
+    for {
+      seq   <- sql"SELECT seq FROM sqlite_sequence WHERE name = $tableName"
+        .as[Long]
+        .headOption
+      maxId <- suggestions.map(_.id).max.result
+    } yield seq.getOrElse(0L).max(maxId.getOrElse(0L))
+  }
+
+  /** The query to remove all suggestions defined in the module.
+    *
+    * @param module the module name
+    * @return the ids of removed suggestions
+    */
+  private def removeByModuleQuery(module: String): DBIO[Seq[Long]] = {
+    val moduleSuggestions = suggestions.filter(_.module === module)
+    for {
+      ids <- moduleSuggestions.map(_.id).result
+      _ <- arguments
+        .filter(_.suggestionId in moduleSuggestions.map(_.id))
+        .delete
+      _ <- moduleSuggestions.delete
+    } yield ids
+  }
+
+  /** The query to remove suggestions by ids.
+    *
+    * @param ids the ids of suggestions to remove
+    */
+  private def removeQuery(ids: Seq[Long]): DBIO[Unit] =
+    if (ids.isEmpty) {
+      DBIO.successful(())
+    } else {
+      for {
+        _ <- arguments.filter(_.suggestionId inSet ids).delete
+        _ <- suggestions.filter(_.id inSet ids).delete
+      } yield ()
+    }
+
+  /** The query to select suggestions by ids.
+    *
+    * @param ids the ids of suggestions
+    * @return the list of suggestions in the order of provided ids
+    */
+  private def selectAllQuery(ids: Seq[Long]): DBIO[Seq[Suggestion]] = {
+    val query = for {
+      (argument, suggestion) <- joined
+      if suggestion.id inSet ids
+    } yield (argument, suggestion)
+    query.result.map { coll =>
+      val entries = joinedToSuggestionEntries(coll).toMap
+      ids.flatMap(entries.get)
+    }
+  }
+
+  /** Add the module suggestions to the in-memory indexes.
+    *
+    * @param module the module that defines the suggestions
+    * @param entries the suggestions with their ids
+    */
+  private def addToIndexes(
+    module: String,
+    entries: Seq[(Long, Suggestion)]
+  ): Unit =
+    entries.foreach {
+      case (id, suggestion) =>
+        searchIndex.add(id, suggestion)
+        scopeIndex.add(id, module, suggestion)
+    }
+
+  /** Remove the suggestion from the in-memory indexes.
+    *
+    * @param id the suggestion id
+    */
+  private def removeFromIndexes(id: Long): Unit = {
+    searchIndex.remove(id)
+    scopeIndex.remove(id)
+  }
+
+  /** The query to select suggestions defined in the module.
+    *
+    * @param module the module name
+    * @return the list of suggestions with their ids
+    */
+  private def selectByModuleQuery(
+    module: String
+  ): DBIO[Seq[(Long, Suggestion)]] = {
+    val query = for {
+      (argument, suggestion) <- joined
+      if suggestion.module === module
+    } yield (argument, suggestion)
+    query.result.map(joinedToSuggestionEntries)
+  }
+
+  /** Compute the difference between the stored and the new suggestions.
+    *
+    * The suggestions are compared by value, so unchanged suggestions are
+    * kept together with their ids.
+    *
+    * @param stored the stored suggestions with their ids
+    * @param entries the new suggestions
+    * @return the ids of stored suggestions to remove and the list of
+    * suggestions to insert
+    */
+  private def diff(
+    stored: Seq[(Long, Suggestion)],
+    entries: Seq[Suggestion]
+  ): (Seq[Long], Seq[Suggestion]) = {
+    val storedIds = mutable.HashMap[Suggestion, List[Long]]()
+    stored.foreach {
+      case (id, suggestion) =>
+        storedIds.update(suggestion, id :: storedIds.getOrElse(suggestion, Nil))
+    }
+    val added = entries.filter { suggestion =>
+      storedIds.get(suggestion) match {
+        case Some(_ :: rest) =>
+          if (rest.isEmpty) storedIds.remove(suggestion)
+          else storedIds.update(suggestion, rest)
+          false
+        case _ =>
+          true
+      }
+    }
+    (storedIds.valuesIterator.flatten.toSeq, added)
   }
 
   private def joinedToSuggestion(
@@ -58,6 +311,25 @@ final class SqlSuggestionsRepo(implicit ec: ExecutionContext)
       .toSeq
   }
 
+  private def joinedToSuggestionEntries(
+    coll: Seq[(Option[ArgumentRow], SuggestionRow)]
+  ): Seq[(Long, Suggestion)] =
+    joinedToSuggestionRows(coll).map {
+      case (row, suggestion) => row.id.get -> suggestion
+    }
+
+  private def joinedToSuggestionRows(
+    coll: Seq[(Option[ArgumentRow], SuggestionRow)]
+  ): Seq[(SuggestionRow, Suggestion)] = {
+    coll
+      .groupBy(_._2)
+      .view
+      .map {
+        case (row, rows) => row -> toSuggestion(row, rows.flatMap(_._1))
+      }
+      .toSeq
+  }
+
   private def toSuggestionRow(
     suggestion: Suggestion
   ): (SuggestionRow, Seq[Suggestion.Argument]) =
@@ -65,6 +337,7 @@ final class SqlSuggestionsRepo(implicit ec: ExecutionContext)
       case Suggestion.Atom(name, args, returnType, doc) =>
         val row = SuggestionRow(
           id            = None,
+          module        = None,
           kind          = SuggestionKind.ATOM,
           name          = name,
           selfType      = None,
@@ -77,6 +350,7 @@ final class SqlSuggestionsRepo(implicit ec: ExecutionContext)
       case Suggestion.Method(name, args, selfType, returnType, doc) =>
         val row = SuggestionRow(
           id            = None,
+          module        = None,
           kind          = SuggestionKind.METHOD,
           name          = name,
           selfType      = Some(selfType),
@@ -89,6 +363,7 @@ final class SqlSuggestionsRepo(implicit ec: ExecutionContext)
       case Suggestion.Function(name, args, returnType, scope) =>
         val row = SuggestionRow(
           id            = None,
+          module        = None,
           kind          = SuggestionKind.FUNCTION,
           name          = name,
           selfType      = None,
@@ -101,6 +376,7 @@ final class SqlSuggestionsRepo(implicit ec: ExecutionContext)
       case Suggestion.Local(name, returnType, scope) =>
         val row = SuggestionRow(
           id            = None,
+          module        = None,
           kind          = SuggestionKind.LOCAL,
           name          = name,
           selfType      = None,
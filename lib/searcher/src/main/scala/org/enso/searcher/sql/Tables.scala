@@ -25,6 +25,7 @@ case class ArgumentRow(
 /** A row in the suggestions table.
   *
   * @param id the id of a suggestion
+  * @param module the module that defines a suggestion
   * @param kind the type of a suggestion
   * @param name the suggestion name
   * @param selfType the self type of a suggestion
@@ -35,6 +36,7 @@ case class ArgumentRow(
   */
 case class SuggestionRow(
   id: Option[Long],
+  module: Option[String],
   kind: Byte,
   name: String,
   selfType: Option[String],
@@ -81,6 +83,7 @@ final class SuggestionsTable(tag: Tag)
     extends Table[SuggestionRow](tag, "suggestions") {
 
   def id            = column[Long]("id", O.PrimaryKey, O.AutoInc)
+  def module        = column[Option[String]]("module")
   def kind          = column[Byte]("kind")
   def name          = column[String]("name")
   def selfType      = column[Option[String]]("self_type")
@@ -91,6 +94,7 @@ final class SuggestionsTable(tag: Tag)
   def * =
     (
       id.?,
+      module,
       kind,
       name,
       selfType,
@@ -101,8 +105,10 @@ final class SuggestionsTable(tag: Tag)
     ) <>
     (SuggestionRow.tupled, SuggestionRow.unapply)
 
+  def moduleIdx     = index("module_idx", module)
+  def nameIdx       = index("name_idx", name)
   def selfTypeIdx   = index("self_type_idx", selfType)
-  def returnTypeIdx = index("return_type_idx", name)
+  def returnTypeIdx = index("return_type_idx", returnType)
 }
 
 object arguments extends TableQuery(new ArgumentsTable(_))
@@ -0,0 +1,73 @@
+package org.enso.searcher.index
+
+import org.enso.searcher.Suggestion
+import org.scalatest.matchers.should.Matchers
+import org.scalatest.wordspec.AnyWordSpec
+
+import scala.util.Random
+
+class ScopeIndexTest extends AnyWordSpec with Matchers {
+
+  "ScopeIndex" should {
+
+    "find nested scopes from the innermost one" in {
+      val index = new ScopeIndex
+      index.add(1, "Main", local(0, 100))
+      index.add(2, "Main", local(10, 50))
+      index.add(3, "Main", local(20, 30))
+      index.add(4, "Main", local(60, 90))
+
+      index.find("Main", 25) shouldEqual Seq(3L, 2L, 1L)
+      index.find("Main", 55) shouldEqual Seq(1L)
+      index.find("Main", 101) shouldEqual Seq()
+    }
+
+    "separate modules" in {
+      val index = new ScopeIndex
+      index.add(1, "Main", local(0, 100))
+      index.add(2, "Other", local(0, 100))
+
+      index.find("Main", 50) shouldEqual Seq(1L)
+    }
+
+    "ignore suggestions without scope" in {
+      val index = new ScopeIndex
+      index.add(1, "Main", Suggestion.Atom("Pair", Seq(), "Pair", None))
+
+      index.find("Main", 0) shouldEqual Seq()
+    }
+
+    "update the scopes" in {
+      val index = new ScopeIndex
+      index.add(1, "Main", local(0, 10))
+      index.find("Main", 5) shouldEqual Seq(1L)
+
+      index.add(2, "Main", local(5, 10))
+      index.remove(1)
+      index.find("Main", 5) shouldEqual Seq(2L)
+    }
+
+    "agree with the linear scan" in {
+      val random = new Random(42)
+      val scopes = (1 to 1000).map { id =>
+        val start = random.nextInt(10000)
+        id.toLong -> Suggestion.Scope(start, start + random.nextInt(500))
+      }
+      val index = new ScopeIndex
+      scopes.foreach {
+        case (id, scope) => index.add(id, "Main", local(scope.start, scope.end))
+      }
+
+      (0 until 100).foreach { _ =>
+        val offset   = random.nextInt(10500)
+        val expected = scopes.collect {
+          case (id, scope) if scope.start <= offset && offset <= scope.end => id
+        }
+        index.find("Main", offset) should contain theSameElementsAs expected
+      }
+    }
+  }
+
+  private def local(start: Int, end: Int): Suggestion =
+    Suggestion.Local("x", "Any", Suggestion.Scope(start, end))
+}
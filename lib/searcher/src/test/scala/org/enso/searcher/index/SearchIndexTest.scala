@@ -0,0 +1,81 @@
+package org.enso.searcher.index
+
+import org.enso.searcher.Suggestion
+import org.scalatest.matchers.should.Matchers
+import org.scalatest.wordspec.AnyWordSpec
+
+class SearchIndexTest extends AnyWordSpec with Matchers {
+
+  "FuzzyMatcher" should {
+
+    "match exactly ignoring case and separators" in {
+      FuzzyMatcher.score("toText", "to_text") shouldEqual FuzzyMatcher.Exact
+    }
+
+    "match prefixes" in {
+      FuzzyMatcher.score("to", "to_text") shouldEqual FuzzyMatcher.Prefix - 4
+    }
+
+    "match camel and snake case words" in {
+      FuzzyMatcher.score("tt", "to_text") shouldEqual FuzzyMatcher.Word
+      FuzzyMatcher.score("tt", "toText") shouldEqual FuzzyMatcher.Word
+      FuzzyMatcher.score("text", "to_text") shouldEqual FuzzyMatcher.Word - 1
+    }
+
+    "match subsequences" in {
+      FuzzyMatcher.score("oex", "to_text") shouldEqual
+      FuzzyMatcher.Subsequence - 2
+    }
+
+    "not match unrelated text" in {
+      FuzzyMatcher.score("foo", "to_text") shouldEqual FuzzyMatcher.NoMatch
+    }
+  }
+
+  "SearchIndex" should {
+
+    "rank better matches first" in {
+      val index = new SearchIndex
+      index.add(1, method("text_length"))
+      index.add(2, method("to_text"))
+      index.add(3, method("take_text"))
+      index.add(4, method("text"))
+
+      index.search("text", 10) shouldEqual Seq(4L, 1L, 2L, 3L)
+    }
+
+    "limit the number of results" in {
+      val index = new SearchIndex
+      (1 to 100).foreach(i => index.add(i.toLong, method(s"foo$i")))
+
+      index.search("foo", 3) shouldEqual Seq(1L, 2L, 3L)
+    }
+
+    "match self and return types" in {
+      val index = new SearchIndex
+      index.add(1, method("length", selfType = "Text"))
+      index.add(2, method("to_text"))
+
+      index.search("text", 10) shouldEqual Seq(2L, 1L)
+    }
+
+    "remove suggestions" in {
+      val index = new SearchIndex
+      index.add(1, method("to_text"))
+      index.add(2, method("text"))
+      index.remove(2)
+
+      index.search("text", 10) shouldEqual Seq(1L)
+      index.size shouldEqual 1
+    }
+  }
+
+  private def method(name: String, selfType: String = "Any"): Suggestion =
+    Suggestion.Method(
+      name          = name,
+      arguments     = Seq(),
+      selfType      = selfType,
+      returnType    = "Any",
+      documentation = None
+    )
+}
@@ -6,7 +6,7 @@ import org.scalatest.matchers.should.Matchers
 import org.scalatest.wordspec.AnyWordSpec
 import slick.jdbc.SQLiteProfile.api._
 
-import scala.concurrent.Await
+import scala.concurrent.{Await, Future}
 import scala.concurrent.ExecutionContext.Implicits.global
 import scala.concurrent.duration._
 
@@ -21,16 +21,19 @@ class SuggestionsRepoTest
   val repo = new SqlSuggestionsRepo()
 
   override def beforeAll(): Unit = {
-    Await.ready(
-      db.run((suggestions.schema ++ arguments.schema).createIfNotExists),
-      Timeout
-    )
+    Await.ready(db.run(repo.init), Timeout)
   }
 
   override def afterAll(): Unit = {
     db.close()
   }
 
+  /** Removes all the suggestions stored in the database. The repo should be
+    * initialized again to clear its indexes.
+    */
+  def clean: DBIO[Unit] =
+    DBIO.seq(arguments.delete, suggestions.delete)
+
   "SuggestionsDBIO" should {
 
     "select suggestion by id" in {
@@ -57,6 +60,109 @@ class SuggestionsRepoTest
         suggestion.function
       )
     }
+
+    "search suggestions by name" in {
+      val action =
+        for {
+          _   <- db.run(repo.insert(suggestion.method))
+          _   <- db.run(repo.insert(suggestion.toText))
+          _   <- db.run(repo.insert(suggestion.textLength))
+          res <- db.run(repo.search("tt", 10))
+        } yield res
+
+      Await.result(action, Timeout) shouldEqual Seq(
+        suggestion.toText,
+        suggestion.textLength
+      )
+    }
+
+    "rank name prefix matches first" in {
+      val action =
+        for {
+          _   <- db.run(clean >> repo.init)
+          _   <- db.run(repo.insert(suggestion.toText))
+          _   <- db.run(repo.insert(suggestion.textLength))
+          res <- db.run(repo.search("Text", 10))
+        } yield res
+
+      Await.result(action, Timeout) shouldEqual Seq(
+        suggestion.textLength,
+        suggestion.toText
+      )
+    }
+
+    "populate search index from the database" in {
+      val action =
+        for {
+          _   <- db.run(repo.insert(suggestion.toText))
+          _   <- db.run(repo.init)
+          res <- db.run(repo.search("to_text", 1))
+        } yield res
+
+      Await.result(action, Timeout) shouldEqual Seq(suggestion.toText)
+    }
+
+    "insert suggestions in a batch" in {
+      val entries = Seq(suggestion.atom, suggestion.method, suggestion.function)
+      val action =
+        for {
+          ids <- db.run(repo.insertAll("Test.Insert", entries))
+          res <- Future.traverse(ids)(id => db.run(repo.select(id)))
+        } yield res
+
+      Await.result(action, Timeout) shouldEqual entries.map(Some(_))
+    }
+
+    "remove suggestions by module" in {
+      val entries = Seq(suggestion.atom, suggestion.local)
+      val action =
+        for {
+          ids     <- db.run(repo.insertAll("Test.Remove", entries))
+          removed <- db.run(repo.removeByModule("Test.Remove"))
+          res     <- Future.traverse(ids)(id => db.run(repo.select(id)))
+        } yield (ids, removed, res)
+
+      val (ids, removed, res) = Await.result(action, Timeout)
+      removed should contain theSameElementsAs ids
+      res shouldEqual Seq(None, None)
+    }
+
+    "apply module updates" in {
+      val entries = Seq(suggestion.method, suggestion.local)
+      val updated = Seq(suggestion.method, suggestion.function)
+      val action =
+        for {
+          ids    <- db.run(repo.insertAll("Test.Update", entries))
+          update <- db.run(repo.applyUpdates("Test.Update", updated))
+          kept   <- db.run(repo.select(ids(0)))
+          added  <- Future.traverse(update.added)(id => db.run(repo.select(id)))
+        } yield (ids, update, kept, added)
+
+      val (ids, update, kept, added) = Await.result(action, Timeout)
+      update.removed shouldEqual Seq(ids(1))
+      update.added.intersect(ids) shouldBe empty
+      kept shouldEqual Some(suggestion.method)
+      added shouldEqual Seq(Some(suggestion.function))
+    }
+
+    "find suggestions by scope" in {
+      val entries = Seq(suggestion.method, suggestion.function, suggestion.local)
+      val action =
+        for {
+          _     <- db.run(repo.insertAll("Test.Scope", entries))
+          inner <- db.run(repo.findByScope("Test.Scope", 7))
+          outer <- db.run(repo.findByScope("Test.Scope", 40))
+          none  <- db.run(repo.findByScope("Test.Scope", 100))
+        } yield (inner, outer, none)
+
+      Await.result(action, Timeout) shouldEqual (
+        (
+          Seq(suggestion.function),
+          Seq(suggestion.local),
+          Seq()
+        )
+      )
+    }
   }
 
   object suggestion {
@@ -91,6 +197,24 @@ class SuggestionsRepoTest
         scope      = Suggestion.Scope(5, 9)
       )
 
+    val toText: Suggestion.Method =
+      Suggestion.Method(
+        name          = "to_text",
+        arguments     = Seq(),
+        selfType      = "Any",
+        returnType    = "Text",
+        documentation = None
+      )
+
+    val textLength: Suggestion.Method =
+      Suggestion.Method(
+        name          = "text_length",
+        arguments     = Seq(),
+        selfType      = "Text",
+        returnType    = "Number",
+        documentation = Some("Get the length of a text.")
+      )
+
     val local: Suggestion.Local =
       Suggestion.Local(
         name       = "bazz",
@@ -0,0 +1,86 @@
+package org.enso.text.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.enso.text.buffer.CharView;
+import org.enso.text.buffer.Rope;
+import org.enso.text.buffer.RopeBuilder;
+import org.enso.text.editing.RopeTextEditor;
+import org.enso.text.editing.model;
+import org.openjdk.jmh.annotations.*;
+
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class RopeBenchmarks {
+
+  private static final int DOCUMENT_SIZE = 10 * 1024 * 1024;
+  private static final int LINE_LENGTH = 80;
+  private static final int CHUNK_SIZE = 64 * 1024;
+  private static final int BRANCHING = 8;
+
+  private final Random random = new Random(42);
+  private String document;
+  private int lines;
+  private Rope rope;
+
+  @Param({"256", "1024", "4096"})
+  public int leafSize;
+
+  @Setup
+  public void setup() {
+    StringBuilder builder = new StringBuilder(DOCUMENT_SIZE);
+    while (builder.length() < DOCUMENT_SIZE) {
+      for (int i = 0; i < LINE_LENGTH - 1; i++) {
+        builder.append((char) ('a' + random.nextInt(26)));
+      }
+      builder.append('\n');
+      lines++;
+    }
+    document = builder.toString();
+    rope = new RopeBuilder(leafSize, BRANCHING).append(document).result();
+  }
+
+  @Benchmark
+  public Rope benchBuildFromString() {
+    return new RopeBuilder(leafSize, BRANCHING).append(document).result();
+  }
+
+  @Benchmark
+  public Rope benchBuildFromChunks() {
+    RopeBuilder builder = new RopeBuilder(leafSize, BRANCHING);
+    for (int start = 0; start < document.length(); start += CHUNK_SIZE) {
+      int end = Math.min(start + CHUNK_SIZE, document.length());
+      builder.append(document.subSequence(start, end));
+    }
+    return builder.result();
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public Rope benchRandomEdit() {
+    model.Position position =
+        new model.Position(random.nextInt(lines), random.nextInt(LINE_LENGTH - 1));
+    model.TextEdit edit =
+        new model.TextEdit(new model.Range(position, position), "edit");
+    return RopeTextEditor.edit(rope, edit);
+  }
+
+  @Benchmark
+  public long benchSequentialScan() {
+    CharView chars = rope.characters();
+    long checksum = 0;
+    for (int i = 0; i < chars.length(); i++) {
+      checksum += chars.charAt(i);
+    }
+    return checksum;
+  }
+
+  @Benchmark
+  public String benchToString() {
+    return rope.toString();
+  }
+}
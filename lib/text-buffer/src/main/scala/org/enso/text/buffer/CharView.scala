@@ -4,10 +4,16 @@ package org.enso.text.buffer
   * Exposes a character-based API for rope operations.
   * Also exposes a [[CharSequence]] interface, for no-copy use with Java APIs.
   *
+  * The view remembers the leaf containing the last accessed character, so
+  * that sequential scans, e.g. by regular expressions, read the consecutive
+  * characters from the leaf instead of looking each of them up in the tree.
+  *
   * @param rope the underlying rope.
   */
 case class CharView(rope: Rope) extends CharSequence {
 
+  private var cursor: CharView.Cursor = CharView.Cursor(0, "")
+
   /**
     * Splits the rope into two parts at a given offset.
     *
@@ -58,7 +64,16 @@ case class CharView(rope: Rope) extends CharSequence {
     * @param index the index of the character to get.
     * @return the character at `index`
     */
-  override def charAt(index: Int): Char = rope.getWith(index, CharView.Ops)
+  override def charAt(index: Int): Char = {
+    val leaf = cursor
+    if (index >= leaf.start && index < leaf.end) {
+      leaf.chars.charAt(index - leaf.start)
+    } else {
+      val next = CharView.leafAt(rope.root, index, 0)
+      cursor = next
+      next.chars.charAt(index - next.start)
+    }
+  }
 
   /**
     * Takes a substring of the rope, with the first character at `start`
@@ -77,6 +92,41 @@ case class CharView(rope: Rope) extends CharSequence {
 }
 
 object CharView {
+
+  /**
+    * A leaf of the rope.
+    *
+    * @param start the offset of the first character of the leaf.
+    * @param chars the characters stored in the leaf.
+    */
+  private case class Cursor(start: Int, chars: String) {
+    def end: Int = start + chars.length
+  }
+
+  @scala.annotation.tailrec
+  private def leafAt(
+    node: Node[String, StringMeasure],
+    index: Int,
+    acc: Int
+  ): Cursor =
+    node.value match {
+      case Leaf(str) if index >= 0 && index < str.length => Cursor(acc, str)
+      case Internal(children) =>
+        var remaining = index
+        var start     = acc
+        val next = children.find { child =>
+          if (remaining >= child.measure.utf16Size) {
+            remaining -= child.measure.utf16Size
+            start += child.measure.utf16Size
+            false
+          } else true
+        }
+        next match {
+          case Some(child) => leafAt(child, remaining, start)
+          case None        => throw new ArrayIndexOutOfBoundsException
+        }
+      case _ => throw new ArrayIndexOutOfBoundsException
+    }
   object Ops
       extends RangeOps[Int, String, StringMeasure]
       with ElemOps[Int, String, StringMeasure] {
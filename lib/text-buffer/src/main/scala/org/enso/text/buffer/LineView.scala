@@ -38,9 +38,86 @@ case class LineView(rope: Rope) {
     * @return the length of this rope.
     */
   def length: Int = rope.measure.linesCount
+
+  /**
+    * Gets the character offset of the beginning of a line.
+    *
+    * The offset is computed by descending the tree and summing up the
+    * measures of the skipped subtrees, without splitting the rope. For the
+    * lines past the end of the rope, the length of the rope is returned.
+    *
+    * @param line the line number.
+    * @return the number of characters before the line.
+    */
+  def offsetOf(line: Int): Int = LineView.offsetOf(rope.root, line, 0)
+
+  /**
+    * Gets the number of the line containing a character offset.
+    *
+    * The line is computed by descending the tree and summing up the measures
+    * of the skipped subtrees, without splitting the rope. For the offsets
+    * past the end of the rope, the number of the last line is returned.
+    *
+    * @param offset the character offset.
+    * @return the number of the line containing the offset.
+    */
+  def lineOf(offset: Int): Int = LineView.lineOf(rope.root, offset, 0)
 }
 
 object LineView {
+
+  @scala.annotation.tailrec
+  private def offsetOf(
+    node: Node[String, StringMeasure],
+    line: Int,
+    acc: Int
+  ): Int =
+    node.value match {
+      case _ if line <= 0 => acc
+      case Empty()        => acc
+      case Leaf(str)      => acc + str.length
+      case Internal(children) =>
+        var remaining = line
+        var offset    = acc
+        val next = children.find { child =>
+          if (child.measure.fullLines < remaining) {
+            remaining -= child.measure.fullLines
+            offset += child.measure.utf16Size
+            false
+          } else true
+        }
+        next match {
+          case Some(child) => offsetOf(child, remaining, offset)
+          case None        => offset
+        }
+    }
+
+  @scala.annotation.tailrec
+  private def lineOf(
+    node: Node[String, StringMeasure],
+    offset: Int,
+    acc: Int
+  ): Int =
+    node.value match {
+      case Empty() => acc
+      case Leaf(str) =>
+        if (offset >= str.length) acc + node.measure.fullLines else acc
+      case Internal(children) =>
+        var remaining = offset
+        var line      = acc
+        val next = children.find { child =>
+          if (remaining >= child.measure.utf16Size) {
+            remaining -= child.measure.utf16Size
+            line += child.measure.fullLines
+            false
+          } else true
+        }
+        next match {
+          case Some(child) => lineOf(child, remaining, line)
+          case None        => line
+        }
+    }
+
   object Ops extends RangeOps[Int, String, StringMeasure] {
     override def isOffsetBeforeEnd(
       index: Int,
@@ -135,17 +135,31 @@ object Rope {
       )
     }
 
+  /**
+    * The default maximum number of characters stored in a leaf.
+    */
+  val defaultLeafSize: Int = 1024
+
   /**
     * Creates a new Rope from a given string.
     *
     * @param str a string to convert into a rope.
     * @return a rope with the same contents as `str`
     */
-  def apply(str: String): Rope = {
-    val lines = StringUtils.getLines(str)
-    val nodes = lines.map(Node(_))
-    Rope(Node.mergeTrees(nodes))
-  }
+  def apply(str: String): Rope = builder().append(str).result()
+
+  /**
+    * Creates a builder constructing a rope from the consecutive chunks of a
+    * text.
+    *
+    * @param leafSize the maximum number of characters stored in a leaf.
+    * @param branching the number of children of the internal nodes.
+    * @return a new rope builder.
+    */
+  def builder(
+    leafSize: Int  = defaultLeafSize,
+    branching: Int = treeShape.maxChildren
+  ): RopeBuilder = new RopeBuilder(leafSize, branching)
 
   /**
     * Creates an empty rope.
@@ -0,0 +1,113 @@
+package org.enso.text.buffer
+
+import scala.collection.mutable.ArrayBuffer
+
+/**
+  * Builds a rope from the consecutive chunks of a text, e.g. a large input
+  * read from a stream.
+  *
+  * The input is split into leaves that end at the line breaks, as required
+  * by the [[Rope]] invariants, and the long lines are split into leaves of
+  * at most `leafSize` characters. The tree is then created bottom-up, level
+  * by level, which is much cheaper than concatenating the leaves one by one
+  * and results in a balanced tree.
+  *
+  * A leaf may slightly exceed the size when splitting it would separate a
+  * surrogate pair or a `\r\n` line break.
+  *
+  * @param leafSize the maximum number of characters stored in a leaf
+  * @param branching the number of children of the internal nodes, between
+  *                  the minimum and the maximum number of children allowed
+  *                  by the rope's [[TreeShape]]
+  */
+final class RopeBuilder(leafSize: Int, branching: Int) {
+
+  import Rope._
+
+  require(leafSize > 0, "Leaf size must be positive.")
+  require(
+    branching >= treeShape.minChildren && branching <= treeShape.maxChildren,
+    s"Branching must be between ${treeShape.minChildren} and " +
+    s"${treeShape.maxChildren}."
+  )
+
+  private val leaves  = ArrayBuffer[Node[String, StringMeasure]]()
+  private val pending = new java.lang.StringBuilder(leafSize)
+
+  /**
+    * Appends the characters to the rope.
+    *
+    * @param chars the characters to append
+    * @return this builder
+    */
+  def append(chars: CharSequence): RopeBuilder = {
+    var index = 0
+    while (index < chars.length) {
+      val char = chars.charAt(index)
+      pending.append(char)
+      if (char == '\n') {
+        addLeaf()
+      } else if (
+        pending.length >= leafSize &&
+        char != '\r' &&
+        !Character.isHighSurrogate(char)
+      ) {
+        addLeaf()
+      }
+      index += 1
+    }
+    this
+  }
+
+  /**
+    * Creates the rope from the appended characters.
+    *
+    * @return the rope containing all the appended characters
+    */
+  def result(): Rope = {
+    if (pending.length > 0) addLeaf()
+    if (leaves.isEmpty) Rope.empty
+    else {
+      var level = leaves.toVector
+      while (level.length > 1) {
+        level = parents(level)
+      }
+      Rope(level.head)
+    }
+  }
+
+  private def addLeaf(): Unit = {
+    leaves += Node(pending.toString)
+    pending.setLength(0)
+  }
+
+  /**
+    * Groups the nodes of one level of the tree into their parents.
+    *
+    * The nodes are grouped by `branching`, and the remainder is merged with
+    * the last group or split evenly between two groups, so that all the
+    * groups have at least the minimum number of children. A single group
+    * becomes the root, which is allowed to have fewer children.
+    *
+    * @param nodes the nodes of a level
+    * @return the parents of the nodes
+    */
+  private def parents(
+    nodes: Vector[Node[String, StringMeasure]]
+  ): Vector[Node[String, StringMeasure]] = {
+    val parents = Vector.newBuilder[Node[String, StringMeasure]]
+    var start   = 0
+    while (start < nodes.length) {
+      val remaining = nodes.length - start
+      val size =
+        if (remaining >= branching + treeShape.minChildren) branching
+        else if (remaining <= treeShape.maxChildren) remaining
+        else remaining / 2
+      parents += Node.unsafeFromChildren(
+        nodes.slice(start, start + size).toArray
+      )
+      start += size
+    }
+    parents.result()
+  }
+}
@@ -25,13 +25,16 @@ object IndexedSource {
 
   implicit val CharSequenceIndexedSource: IndexedSource[CharSequence] =
     (pos: Position, source: CharSequence) => {
-      val prefix = source.toString.linesIterator.take(pos.line)
-      prefix.mkString("\n").length + pos.character
+      var line   = 0
+      var offset = 0
+      while (line < pos.line && offset < source.length) {
+        if (source.charAt(offset) == '\n') line += 1
+        offset += 1
+      }
+      offset + pos.character
     }
 
   implicit val RopeIndexedSource: IndexedSource[Rope] =
-    (pos: Position, source: Rope) => {
-      val prefix = source.lines.take(pos.line)
-      prefix.characters.length + pos.character
-    }
+    (pos: Position, source: Rope) =>
+      source.lines.offsetOf(pos.line) + pos.character
 }
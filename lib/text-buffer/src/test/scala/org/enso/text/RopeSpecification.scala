@@ -3,7 +3,7 @@ package org.enso.text
 import org.enso.text.buffer.Rope
 import org.scalacheck.Prop.forAll
 import org.scalacheck.Arbitrary._
-import org.scalacheck.Properties
+import org.scalacheck.{Gen, Properties}
 
 object RopeSpecification extends Properties("Rope") {
 
@@ -23,6 +23,18 @@ object RopeSpecification extends Properties("Rope") {
       Rope(string).toString == string
     }
 
+  property("builder is consistent with strings") = forAll(
+    Generators.newLinedStrings,
+    Gen.choose(1, 16),
+    Gen.choose(4, 8)
+  ) { (strings, leafSize, branching) =>
+    val builder = Rope.builder(leafSize, branching)
+    strings.foreach(builder.append)
+    val rope = builder.result()
+    rope.toString == strings.mkString("") &&
+    rope.lines.length == ropeFromStrings(strings).lines.length
+  }
+
   property("++ is consistent with strings") = forAll { strings: List[String] =>
     val fromRope = ropeFromStrings(strings).toString
     val naive    = strings.mkString("")
@@ -73,6 +85,17 @@ object RopeSpecification extends Properties("Rope") {
       } else true
   }
 
+  property("characters scan is consistent with strings") = forAll(
+    Generators.newLinedStrings,
+    Gen.choose(1, 16)
+  ) { (strings, leafSize) =>
+    val naiveStr = strings.mkString("")
+    val builder  = Rope.builder(leafSize)
+    strings.foreach(builder.append)
+    val chars = builder.result().characters
+    naiveStr.indices.forall(index => chars.charAt(index) == naiveStr(index))
+  }
+
   // === CodePoints ==========================================================
 
   property("codePoints.take is consistent with strings") = forAll {
@@ -161,4 +184,22 @@ object RopeSpecification extends Properties("Rope") {
       leftCorrect && rightCorrect
     }
 
+  property("lines.offsetOf is consistent with list-based operations") =
+    forAll(Generators.newLinedStrings, arbitrary[Int]) { (str, len) =>
+      val rope       = ropeFromStrings(str)
+      val mockBuffer = MockBuffer(str.mkString(""))
+      val line       = normalizeOffset(len, str.length)
+
+      rope.lines.offsetOf(line) == mockBuffer.take(line).toString.length
+    }
+
+  property("lines.lineOf is consistent with strings") =
+    forAll(Generators.newLinedStrings, arbitrary[Int]) { (str, count) =>
+      val naiveStr = str.mkString("")
+      val offset   = normalizeOffset(count, naiveStr.length)
+      val rope     = ropeFromStrings(str)
+
+      rope.lines.lineOf(offset) == naiveStr.take(offset).count(_ == '\n')
+    }
+
 }